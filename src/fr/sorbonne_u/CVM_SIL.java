@@ -44,6 +44,7 @@ import fr.sorbonne_u.production_unities.windTurbine.SelfControlWindTurbine;
 import fr.sorbonne_u.storage.battery.Battery;
 import fr.sorbonne_u.hem.HEM;
 import fr.sorbonne_u.meter.ElectricMeter;
+import fr.sorbonne_u.utils.DirectBinding;
 
 // -----------------------------------------------------------------------------
 /**
@@ -84,6 +85,10 @@ extends		AbstractCVM
 	public static final long		DELAY_TO_START_SIMULATION = 1000L;
 	/** duration  of the simulation.										*/
 	public static final double		SIMULATION_DURATION = 10.0;
+	/** true if the connectors bind directly to the components they connect
+	 *  to, which all live in this JVM (see {@code DirectBinding}); they can
+	 *  also be enabled by the system property of {@code DirectBinding}.	*/
+	public static final boolean		DIRECT_BINDINGS = false;
 
 	public				CVM_SIL() throws Exception
 	{
@@ -96,6 +101,10 @@ extends		AbstractCVM
 	@Override
 	public void			deploy() throws Exception
 	{
+		if (DIRECT_BINDINGS) {
+			DirectBinding.setEnabled(true);
+		}
+
 		//fan
 		AbstractComponent.createComponent(
 				Fan.class.getCanonicalName(),
@@ -303,7 +303,8 @@ extends		AbstractCyPhyComponent
 						new Class[]{},
 						new Class[]{
 								SwitchOnWaterHeater.class, SwitchOffWaterHeater.class,
-								HeatWater.class, DoNotHeatWater.class},
+								HeatWater.class, DoNotHeatWater.class,
+								SetPowerLevelWaterHeater.class},
 						TimeUnit.SECONDS,
 						ThermostatedWaterHeater.REFLECTION_INBOUND_PORT_URI));
 		
@@ -372,6 +373,7 @@ extends		AbstractCyPhyComponent
 						new Class[]{
 								SwitchOnWaterHeater.class, SwitchOffWaterHeater.class,
 								HeatWater.class, DoNotHeatWater.class,
+								SetPowerLevelWaterHeater.class,
 								SwitchOnFan.class,
 								SwitchOffFan.class,
 								SetHighFan.class, SetLowFan.class, SwitchOnVacuumCleaner.class,
@@ -493,6 +495,13 @@ extends		AbstractCyPhyComponent
 						new EventSink(ElectricMeterCoupledModel.URI,
 									  DoNotHeatWater.class)
 				});
+		connections.put(
+				new EventSource(WaterHeaterCoupledModel.URI,
+								SetPowerLevelWaterHeater.class),
+				new EventSink[] {
+						new EventSink(ElectricMeterCoupledModel.URI,
+									  SetPowerLevelWaterHeater.class)
+				});
 		
 		//refrigerator
 		connections.put(
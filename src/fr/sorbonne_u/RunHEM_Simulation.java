@@ -34,6 +34,8 @@ import fr.sorbonne_u.components.waterHeater.mil.events.SwitchOnWaterHeater;
 import fr.sorbonne_u.components.waterHeater.mil.events.HeatWater;
 import fr.sorbonne_u.components.waterHeater.mil.events.DoNotHeatWater;
 import fr.sorbonne_u.components.waterHeater.mil.events.SwitchOffWaterHeater;
+import fr.sorbonne_u.components.waterHeater.mil.events.SuspendWaterHeater;
+import fr.sorbonne_u.components.waterHeater.mil.events.ResumeWaterHeater;
 
 //Washing machine
 import fr.sorbonne_u.components.washingMachine.mil.WashingMachineExternalTemperatureModel;
@@ -45,6 +47,9 @@ import fr.sorbonne_u.components.washingMachine.mil.events.*;
 //meter
 import fr.sorbonne_u.meter.mil.ElectricMeterElectricityModel;
 
+//HEM
+import fr.sorbonne_u.hem.mil.HEM_PolicyModel;
+
 //Battery
 import fr.sorbonne_u.storage.battery.mil.BatteryElectricityModel;
 import fr.sorbonne_u.storage.battery.mil.BatteryPercentageModel;
@@ -114,6 +119,16 @@ import fr.sorbonne_u.devs_simulation.simulators.SimulationEngine;
  * simulation reports from the models after the simulation run.
  * </p>
  * <p>
+ * The HEM policy model reads the consumption exported by the electric meter
+ * model and suspends and resumes the water heater and the refrigerator. The
+ * optional arguments give the end time of the simulation in seconds, the
+ * consumption budget in watts and the maximal suspension duration in seconds,
+ * so that the control policy can be evaluated over long simulated periods:
+ * </p>
+ * <pre>
+ * java fr.sorbonne_u.RunHEM_Simulation [endTime [budget [maxSuspension]]]
+ * </pre>
+ * <p>
  * The descriptors and maps can be viewed as kinds of nodes in the abstract
  * syntax tree of an architectural language that does not have a concrete
  * syntax yet.
@@ -302,6 +317,16 @@ public class			RunHEM_Simulation
                             null,
                             SimulationEngineCreationMode.ATOMIC_ENGINE));
 
+            // the HEM policy model
+            atomicModelDescriptors.put(
+                    HEM_PolicyModel.URI,
+                    AtomicHIOA_Descriptor.create(
+                            HEM_PolicyModel.class,
+                            HEM_PolicyModel.URI,
+                            TimeUnit.SECONDS,
+                            null,
+                            SimulationEngineCreationMode.ATOMIC_ENGINE));
+
             //The battery model
             atomicModelDescriptors.put(
             		BatteryElectricityModel.URI,
@@ -424,6 +449,9 @@ public class			RunHEM_Simulation
             //meter
             submodels.add(ElectricMeterElectricityModel.URI);
 
+            //HEM
+            submodels.add(HEM_PolicyModel.URI);
+
             //battery
             submodels.add(BatteryElectricityModel.URI);
             submodels.add(BatteryPercentageModel.URI);
@@ -581,6 +609,36 @@ public class			RunHEM_Simulation
                                     OpenRefrigeratorDoor.class)
                     });
 
+            //HEM policy
+            connections.put(
+                    new EventSource(HEM_PolicyModel.URI,
+                            SuspendWaterHeater.class),
+                    new EventSink[] {
+                            new EventSink(WaterHeaterElectricityModel.URI,
+                                    SuspendWaterHeater.class)
+                    });
+            connections.put(
+                    new EventSource(HEM_PolicyModel.URI,
+                            ResumeWaterHeater.class),
+                    new EventSink[] {
+                            new EventSink(WaterHeaterElectricityModel.URI,
+                                    ResumeWaterHeater.class)
+                    });
+            connections.put(
+                    new EventSource(HEM_PolicyModel.URI,
+                            SuspendRefrigerator.class),
+                    new EventSink[] {
+                            new EventSink(RefrigeratorElectricityModel.URI,
+                                    SuspendRefrigerator.class)
+                    });
+            connections.put(
+                    new EventSource(HEM_PolicyModel.URI,
+                            ResumeRefrigerator.class),
+                    new EventSink[] {
+                            new EventSink(RefrigeratorElectricityModel.URI,
+                                    ResumeRefrigerator.class)
+                    });
+
             //washing machine
             connections.put(
                     new EventSource(WashingMachineUnitTesterModel.URI,
@@ -835,7 +893,10 @@ public class			RunHEM_Simulation
                     new VariableSink[] {
                             new VariableSink("currentWaterHeaterIntensity",
                                     Double.class,
-                                    ElectricMeterElectricityModel.URI)
+                                    ElectricMeterElectricityModel.URI),
+                            new VariableSink("currentWaterHeaterIntensity",
+                                    Double.class,
+                                    HEM_PolicyModel.URI)
                     };
             bindings.put(source9, sinks9);
 
@@ -848,7 +909,10 @@ public class			RunHEM_Simulation
                     new VariableSink[] {
                             new VariableSink("currentRefrigeratorIntensity",
                                     Double.class,
-                                    ElectricMeterElectricityModel.URI)
+                                    ElectricMeterElectricityModel.URI),
+                            new VariableSink("currentRefrigeratorIntensity",
+                                    Double.class,
+                                    HEM_PolicyModel.URI)
                     };
             bindings.put(source10, sinks10);
             
@@ -916,6 +980,20 @@ public class			RunHEM_Simulation
                                     ElectricMeterElectricityModel.URI)
                     };
             bindings.put(source15, sinks15);
+
+            // binding between the electric meter model and the HEM policy
+            // model
+            VariableSource source16 =
+                    new VariableSource("currentIntensity_consumption",
+                            Double.class,
+                            ElectricMeterElectricityModel.URI);
+            VariableSink[] sinks16 =
+                    new VariableSink[] {
+                            new VariableSink("currentIntensity_consumption",
+                                    Double.class,
+                                    HEM_PolicyModel.URI)
+                    };
+            bindings.put(source16, sinks16);
             
             // coupled model descriptor: an HIOA requires a
             // CoupledHIOA_Descriptor
@@ -962,13 +1040,29 @@ public class			RunHEM_Simulation
 
             se.setSimulationRunParameters(simParams);
            */
+            Map<String, Object> simParams = new HashMap<String, Object>();
+            if (args.length > 1) {
+                simParams.put(HEM_PolicyModel.BUDGET_RUNPNAME,
+                        Double.parseDouble(args[1]));
+            }
+            if (args.length > 2) {
+                simParams.put(HEM_PolicyModel.MAX_SUSPENSION_RUNPNAME,
+                        Double.parseDouble(args[2]));
+            }
+            se.setSimulationRunParameters(simParams);
 
             // this add additional time at each simulation step in
             // standard simulations (useful for debugging)
             SimulationEngine.SIMULATION_STEP_SLEEP_TIME = 0L;
             // run a simulation with the simulation beginning at 0.0 and
-            // ending at 10.0
-            se.doStandAloneSimulation(0.0, 10.0);
+            // ending at 10.0 unless another end time is given
+            double endTime = args.length > 0 ? Double.parseDouble(args[0]) : 10.0;
+            long start = System.currentTimeMillis();
+            se.doStandAloneSimulation(0.0, endTime);
+            long elapsed = Math.max(1L, System.currentTimeMillis() - start);
+            System.out.println("simulated " + endTime + " seconds in " +
+                    elapsed + " ms (" + (long)(endTime*1000.0/elapsed) +
+                    " times real time).");
 
             // Optional: simulation report
             HEM_Report r = (HEM_Report) se.getFinalReport();
@@ -33,6 +33,7 @@ package fr.sorbonne_u.components.fan;
 // knowledge of the CeCILL-C license and that you accept its terms.
 
 import fr.sorbonne_u.components.annotations.OfferedInterfaces;
+import fr.sorbonne_u.components.annotations.RequiredInterfaces;
 import fr.sorbonne_u.components.fan.FanImplementation;
 import fr.sorbonne_u.components.cyphy.AbstractCyPhyComponent;
 import fr.sorbonne_u.components.fan.FanCI;
@@ -47,6 +48,10 @@ import fr.sorbonne_u.components.fan.sil.FanStateModel;
 import fr.sorbonne_u.components.exceptions.ComponentShutdownException;
 import fr.sorbonne_u.components.exceptions.ComponentStartException;
 import fr.sorbonne_u.exceptions.PreconditionException;
+import fr.sorbonne_u.hem.HEM;
+import fr.sorbonne_u.hem.registration.RegistrationCI;
+import fr.sorbonne_u.hem.registration.RegistrationConnector;
+import fr.sorbonne_u.hem.registration.RegistrationOutboundPort;
 import java.util.HashMap;
 
 // -----------------------------------------------------------------------------
@@ -87,6 +92,7 @@ import java.util.HashMap;
  *              <a href="maedeh.daemi@etu.sorbonne-universite.fr">DAEMI Maedeh</a>
  */
 @OfferedInterfaces(offered={FanCI.class})
+@RequiredInterfaces(required={RegistrationCI.class})
 public class			Fan
 extends		AbstractCyPhyComponent
 implements	FanImplementation
@@ -100,6 +106,9 @@ implements	FanImplementation
 	/** URI of the hair dryer inbound port used in tests.					*/
 	public static final String			INBOUND_PORT_URI =
 												"FAN-INBOUND-PORT-URI";
+	/** control adapter description registered with the HEM.				*/
+	public static final String			ADAPTER_DESCRIPTION =
+												"src/fr/sorbonne_u/xml/fan.xml";
 
 	/** when true, methods trace their actions.								*/
 	public static final boolean			VERBOSE = true;
@@ -113,6 +122,9 @@ implements	FanImplementation
 
 	/** inbound port offering the <code>fanCI</code> interface.		*/
 	protected FanInboundPort	hdip;
+	/** port registering the fan with the HEM, or null when the fan
+	 *  executes as a unit test, without HEM.								*/
+	protected RegistrationOutboundPort	rop;
 
 	// SIL simulation
 
@@ -291,6 +303,22 @@ implements	FanImplementation
 
 		this.traceMessage("fan starts.\n");
 
+		if (!this.executesAsUnitTest) {
+			// the HEM controls the speed of the fan through its modes
+			try {
+				this.rop = new RegistrationOutboundPort(this);
+				this.rop.publishPort();
+				this.doPortConnection(
+						this.rop.getPortURI(),
+						HEM.INBOUND_PORT_URI,
+						RegistrationConnector.class.getCanonicalName());
+				this.rop.register("", this.hdip.getPortURI(),
+								  ADAPTER_DESCRIPTION);
+			} catch (Exception e) {
+				throw new ComponentStartException(e) ;
+			}
+		}
+
 		if (this.isSILsimulated) {
 			this.createNewExecutorService(
 								SCHEDULED_EXECUTOR_SERVICE_URI, 1, true);
@@ -338,6 +366,9 @@ implements	FanImplementation
 
 		try {
 			this.hdip.unpublishPort();
+			if (this.rop != null) {
+				this.rop.unpublishPort();
+			}
 		} catch (Exception e) {
 			throw new ComponentShutdownException(e) ;
 		}
@@ -5,6 +5,7 @@ package fr.sorbonne_u.components.refrigerator;
 
 import fr.sorbonne_u.components.interfaces.OfferedCI;
 import fr.sorbonne_u.components.interfaces.RequiredCI;
+import fr.sorbonne_u.interfaces.EquipmentSnapshot;
 
 /**
  * The interface <code>RefrigeratorCI</code> defines the signatures of
@@ -62,5 +63,17 @@ extends		RefrigeratorImplementationI,
 	 */
 	@Override
 	public double		getCurrentTemperature() throws Exception;
+
+	/**
+	 * return the whole state of the refrigerator as seen by a control
+	 * connector, which suspended it or not; the inbound port reads it in
+	 * one request of the refrigerator instead of one per value.
+	 *
+	 * @param suspended		true if the connector suspended the refrigerator.
+	 * @return				the state of the refrigerator.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	public EquipmentSnapshot	readSnapshot(boolean suspended)
+	throws Exception;
 }
 // -----------------------------------------------------------------------------
\ No newline at end of file
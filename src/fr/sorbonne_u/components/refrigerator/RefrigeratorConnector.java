@@ -1,6 +1,7 @@
 package fr.sorbonne_u.components.refrigerator;
 
 import fr.sorbonne_u.components.connectors.AbstractConnector;
+import fr.sorbonne_u.interfaces.EquipmentSnapshot;
 import fr.sorbonne_u.interfaces.SuspensionEquipmentControlCI;
 //-----------------------------------------------------------------------------
 /**
@@ -193,10 +194,15 @@ implements	SuspensionEquipmentControlCI
 	@Override
 	public double		emergency() throws Exception
 	{
-		double currentTemperature =
-					((RefrigeratorCI)this.offering).getCurrentTemperature();
-		double targetTemperature =
-					((RefrigeratorCI)this.offering).getTargetTemperature();
+		return emergency((RefrigeratorCI)this.offering);
+	}
+
+	// return the emergency of the refrigerator r from its temperatures.
+	protected static double	emergency(RefrigeratorImplementationI r)
+	throws Exception
+	{
+		double currentTemperature = r.getCurrentTemperature();
+		double targetTemperature = r.getTargetTemperature();
 		double delta = Math.abs(targetTemperature - currentTemperature);
 		if (currentTemperature < RefrigeratorConnector.MIN_ADMISSIBLE_TEMP ||
 							delta >= RefrigeratorConnector.MAX_ADMISSIBLE_DELTA) {
@@ -205,6 +211,28 @@ implements	SuspensionEquipmentControlCI
 			return delta/RefrigeratorConnector.MAX_ADMISSIBLE_DELTA;
 		}
 	}
+
+	/**
+	 * @see fr.sorbonne_u.interfaces.SuspensionEquipmentControlCI#snapshot()
+	 */
+	@Override
+	public EquipmentSnapshot	snapshot() throws Exception
+	{
+		// the whole state in one request of the refrigerator
+		return ((RefrigeratorCI)this.offering).readSnapshot(this.isSuspended);
+	}
+
+	// return the state of the refrigerator r as seen by a connector which
+	// suspended it or not.
+	protected static EquipmentSnapshot	snapshot(
+		RefrigeratorImplementationI r,
+		boolean suspended
+		) throws Exception
+	{
+		// No mode in Refrigerator, so 1 becomes the sole "mode".
+		return new EquipmentSnapshot(suspended || r.isRunning(), 1, 1,
+									 suspended, emergency(r));
+	}
 }
 // -----------------------------------------------------------------------------
 
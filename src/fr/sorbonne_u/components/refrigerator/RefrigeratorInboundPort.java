@@ -2,6 +2,10 @@ package fr.sorbonne_u.components.refrigerator;
 
 import fr.sorbonne_u.components.ComponentI;
 import fr.sorbonne_u.components.ports.AbstractInboundPort;
+import fr.sorbonne_u.interfaces.EquipmentSnapshot;
+import fr.sorbonne_u.utils.ReadCoalescer;
+
+import java.util.concurrent.TimeUnit;
 
 //-----------------------------------------------------------------------------
 /**
@@ -10,6 +14,13 @@ import fr.sorbonne_u.components.ports.AbstractInboundPort;
 *
 * <p><strong>Description</strong></p>
 * 
+* <p>
+* The identical reads of the state of the refrigerator made at the same time
+* or within the staleness window of the port share one request to the
+* refrigerator and its result (see {@code ReadCoalescer}); the writes made
+* through the port invalidate the results of the reads started before them.
+* </p>
+* 
 * <p><strong>Invariant</strong></p>
 * 
 * <pre>
@@ -20,10 +31,13 @@ import fr.sorbonne_u.components.ports.AbstractInboundPort;
  * 
  * @author	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
 */
-public class RefrigeratorInboundPort extends AbstractInboundPort implements RefrigeratorCI {
+public class RefrigeratorInboundPort extends AbstractInboundPort implements RefrigeratorCI, ReadCoalescer.Holder {
 	
 	private static final long serialVersionUID = 1L;
 
+	/** coalescer of the concurrent identical reads of the refrigerator.	*/
+	protected final ReadCoalescer<String> reads = new ReadCoalescer<>();
+
 	public RefrigeratorInboundPort(ComponentI owner) throws Exception {
 		super(RefrigeratorCI.class, owner);
 	}
@@ -33,14 +47,35 @@ public class RefrigeratorInboundPort extends AbstractInboundPort implements Refr
 		super(uri, RefrigeratorCI.class, owner);
 	}
 
+	/**
+	 * set the staleness window within which identical reads of the refrigerator
+	 * share one execution and one result.
+	 *
+	 * @param window	staleness window, 0 to share only the reads in progress.
+	 * @param u			time unit of {@code window}.
+	 */
+	public void setReadStalenessWindow(long window, TimeUnit u) {
+		this.reads.setWindow(window, u);
+	}
+
+	/**
+	 * @see fr.sorbonne_u.utils.ReadCoalescer.Holder#getReadCoalescer()
+	 */
+	@Override
+	public ReadCoalescer<String> getReadCoalescer() {
+		return this.reads;
+	}
+
 	/**
 	 * @see fr.sorbonne_u.components.Refrigerator.RefrigeratorCI#isRunning()
 	 */
 
 	@Override
 	public boolean isRunning() throws Exception {
-		return this.getOwner().handleRequest(
-				o -> ((RefrigeratorImplementationI)o).isRunning());
+		return this.reads.read(
+				"isRunning",
+				() -> this.getOwner().handleRequest(
+							o -> ((RefrigeratorImplementationI)o).isRunning()));
 	}
 	
 	/**
@@ -53,6 +88,7 @@ public class RefrigeratorInboundPort extends AbstractInboundPort implements Refr
 				o -> {	((RefrigeratorImplementationI)o).startRefrigerator();
 						return null;
 					 });
+		this.reads.invalidate();
 	}
 
 	/**
@@ -65,6 +101,7 @@ public class RefrigeratorInboundPort extends AbstractInboundPort implements Refr
 				o -> {	((RefrigeratorImplementationI)o).stopRefrigerator();
 						return null;
 					 });
+		this.reads.invalidate();
 
 	}
 
@@ -78,6 +115,7 @@ public class RefrigeratorInboundPort extends AbstractInboundPort implements Refr
 				o -> {	((RefrigeratorImplementationI)o).setTargetTemperature(target);
 						return null;
 					 });
+		this.reads.invalidate();
 
 	}
 	
@@ -87,8 +125,10 @@ public class RefrigeratorInboundPort extends AbstractInboundPort implements Refr
 	
 	@Override
 	public double getTargetTemperature() throws Exception {
-		return this.getOwner().handleRequest(
-				o -> ((RefrigeratorImplementationI)o).getTargetTemperature());
+		return this.reads.read(
+				"getTargetTemperature",
+				() -> this.getOwner().handleRequest(
+							o -> ((RefrigeratorImplementationI)o).getTargetTemperature()));
 	}
 	
 	/**
@@ -97,7 +137,23 @@ public class RefrigeratorInboundPort extends AbstractInboundPort implements Refr
 	
 	@Override
 	public double getCurrentTemperature() throws Exception {
-		return this.getOwner().handleRequest(
-				o -> ((RefrigeratorImplementationI)o).getCurrentTemperature());
+		return this.reads.read(
+				"getCurrentTemperature",
+				() -> this.getOwner().handleRequest(
+							o -> ((RefrigeratorImplementationI)o).getCurrentTemperature()));
+	}
+
+	/**
+	 * read the whole state in one request of the refrigerator.
+	 * 
+	 * @see fr.sorbonne_u.components.refrigerator.RefrigeratorCI#readSnapshot(boolean)
+	 */
+	@Override
+	public EquipmentSnapshot readSnapshot(boolean suspended) throws Exception {
+		return this.reads.read(
+				"readSnapshot" + suspended,
+				() -> this.getOwner().handleRequest(
+							o -> RefrigeratorConnector.snapshot(
+										(RefrigeratorImplementationI)o, suspended)));
 	}
 }
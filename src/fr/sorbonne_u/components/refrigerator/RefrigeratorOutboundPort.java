@@ -2,6 +2,7 @@ package fr.sorbonne_u.components.refrigerator;
 
 import fr.sorbonne_u.components.ComponentI;
 import fr.sorbonne_u.components.ports.AbstractOutboundPort;
+import fr.sorbonne_u.interfaces.EquipmentSnapshot;
 
 //-----------------------------------------------------------------------------
 /**
@@ -91,4 +92,13 @@ implements	RefrigeratorCI
 	{
 		return ((RefrigeratorCI)this.getConnector()).getCurrentTemperature();
 	}
+
+	/**
+	 * @see fr.sorbonne_u.components.refrigerator.RefrigeratorCI#readSnapshot(boolean)
+	 */
+	@Override
+	public EquipmentSnapshot	readSnapshot(boolean suspended) throws Exception
+	{
+		return ((RefrigeratorCI)this.getConnector()).readSnapshot(suspended);
+	}
 }
@@ -25,7 +25,9 @@ import fr.sorbonne_u.utils.Electricity;
         OffRefrigerator.class,
         OnRefrigerator.class,
         Resting.class,
-        OpenRefrigeratorDoor.class
+        OpenRefrigeratorDoor.class,
+        SuspendRefrigerator.class,
+        ResumeRefrigerator.class
 })
 // -----------------------------------------------------------------------------
 public class			RefrigeratorElectricityModel
@@ -66,6 +68,9 @@ public class			RefrigeratorElectricityModel
             new Value<Double>(this, 0.0, 0);
     /** current state of the Refrigerator.										*/
     protected State					currentState = State.OFF;
+    /** true if the Refrigerator is suspended by the home energy manager;
+     *  a suspended Refrigerator keeps its state but consumes nothing.		*/
+    protected boolean				suspended = false;
     /** true when the electricity consumption of the Refrigerator has changed
      *  after executing an external event; the external event changes the
      *  value of <code>currentState</code> and then an internal transition
@@ -107,6 +112,19 @@ public class			RefrigeratorElectricityModel
         return this.currentState;
     }
 
+    public void			setSuspended(boolean suspended)
+    {
+        if (this.suspended != suspended) {
+            this.suspended = suspended;
+            this.consumptionHasChanged = true;
+        }
+    }
+
+    public boolean		isSuspended()
+    {
+        return this.suspended;
+    }
+
     // -------------------------------------------------------------------------
     // DEVS simulation protocol
     // -------------------------------------------------------------------------
@@ -117,6 +135,7 @@ public class			RefrigeratorElectricityModel
         super.initialiseState(initialTime);
 
         this.currentState = State.OFF;
+        this.suspended = false;
         this.consumptionHasChanged = false;
         this.totalConsumption = 0.0;
 
@@ -167,7 +186,9 @@ public class			RefrigeratorElectricityModel
     {
         super.userDefinedInternalTransition(elapsedTime);
 
-        if (this.currentState == State.ON) {
+        if (this.suspended) {
+            this.currentIntensity.v = 0.0;
+        } else if (this.currentState == State.ON) {
             this.currentIntensity.v =
                     RefrigeratorElectricityModel.NOT_FREEZING_POWER/
                             RefrigeratorElectricityModel.TENSION;
@@ -194,30 +215,32 @@ public class			RefrigeratorElectricityModel
     {
         // get the vector of current external events
         ArrayList<EventI> currentEvents = this.getStoredEventAndReset();
-        // when this method is called, there is at least one external event,
-        // and for the Refrigerator model, there will be exactly one by
-        // construction.
-        assert	currentEvents != null && currentEvents.size() == 1;
-
-        Event ce = (Event) currentEvents.get(0);
-        assert	ce instanceof RefrigeratorEventI;
+        // when this method is called, there is at least one external event;
+        // the user and the home energy manager may both send one at the
+        // same time.
+        assert	currentEvents != null && currentEvents.size() > 0;
 
         // compute the total consumption for the simulation report.
         this.totalConsumption +=
                 Electricity.computeConsumption(elapsedTime,
                         TENSION*this.currentIntensity.v);
 
-        StringBuffer sb = new StringBuffer("execute the external event: ");
-        sb.append(ce.eventAsString());
-        sb.append(".\n");
-        this.logMessage(sb.toString());
-
-        // the next call will update the current state of the Refrigerator and if
-        // this state has changed, it put the boolean consumptionHasChanged
-        // at true, which in turn will trigger an immediate internal transition
-        // to update the current intensity of the Refrigerator electricity
-        // consumption.
-        ce.executeOn(this);
+        for (EventI e : currentEvents) {
+            Event ce = (Event) e;
+            assert	ce instanceof RefrigeratorEventI;
+
+            StringBuffer sb = new StringBuffer("execute the external event: ");
+            sb.append(ce.eventAsString());
+            sb.append(".\n");
+            this.logMessage(sb.toString());
+
+            // the next call will update the current state of the Refrigerator
+            // and if this state has changed, it put the boolean
+            // consumptionHasChanged at true, which in turn will trigger an
+            // immediate internal transition to update the current intensity
+            // of the Refrigerator electricity consumption.
+            ce.executeOn(this);
+        }
 
         super.userDefinedExternalTransition(elapsedTime);
     }
@@ -0,0 +1,52 @@
+package fr.sorbonne_u.components.refrigerator.mil.events;
+
+import fr.sorbonne_u.components.refrigerator.mil.RefrigeratorElectricityModel;
+import fr.sorbonne_u.devs_simulation.models.events.Event;
+import fr.sorbonne_u.devs_simulation.models.events.EventI;
+import fr.sorbonne_u.devs_simulation.models.time.Time;
+import fr.sorbonne_u.devs_simulation.models.AtomicModel;
+
+// -----------------------------------------------------------------------------
+public class			SuspendRefrigerator
+        extends		Event
+        implements	RefrigeratorEventI
+{
+    // -------------------------------------------------------------------------
+    // Constants and variables
+    // -------------------------------------------------------------------------
+
+    private static final long serialVersionUID = 1L;
+
+    // -------------------------------------------------------------------------
+    // Constructors
+    // -------------------------------------------------------------------------
+    public				SuspendRefrigerator(
+            Time timeOfOccurrence
+    )
+    {
+        super(timeOfOccurrence, null);
+    }
+
+    // -------------------------------------------------------------------------
+    // Methods
+    // -------------------------------------------------------------------------
+
+    @Override
+    public boolean		hasPriorityOver(EventI e)
+    {
+        // the commands of the user are executed before the ones of the
+        // home energy manager.
+        return false;
+    }
+
+    @Override
+    public void			executeOn(AtomicModel model)
+    {
+        // the suspend event is sent by the home energy manager to the
+        // Refrigerator electricity model only
+        assert	model instanceof RefrigeratorElectricityModel;
+
+        ((RefrigeratorElectricityModel)model).setSuspended(true);
+    }
+}
+// -----------------------------------------------------------------------------
@@ -86,7 +86,7 @@ import fr.sorbonne_u.components.AbstractComponent;
  * <p><strong>Invariant</strong></p>
  * 
  * <pre>
- * invariant	{@code targetTemperature >= -50.0 && targetTemperature <= 50.0}
+ * invariant	{@code targetTemperature >= 10 && targetTemperature <= 95}
  * </pre>
  * 
  * <p>Created on : 2021-09-10</p>
@@ -660,7 +660,8 @@ implements	WashingMachineImplementationI
 		}
 
 		assert	this.internalIsRunning();
-		assert	target >= -50.0 && target <= 50.0;
+		assert	target == 10 || target == 20 || target == 30 || target == 40 ||
+				target == 60 || target == 95;
 
 		this.targetTemperature = target;
 	}
@@ -70,6 +70,9 @@ implements	WashingMachineImplementationI {
 	/** URI of the washing inbound port used in tests.					*/
 	public static final String		INBOUND_PORT_URI =
 												"WASHING-MACHINE-INBOUND-PORT-URI";
+	/** unique identifier of the washing machine, as given in its control
+	 *  adapter description.												*/
+	public static final String		UID = "1A10002";
 	/** when true, methods trace their actions.								*/
 	public static final boolean		VERBOSE = true;
 	/** fake current 	*/
@@ -285,6 +288,7 @@ implements	WashingMachineImplementationI {
 		assert	!this.internalIsRunning();
 
 		this.currentState = WashingMachineState.ON;
+		this.rop.stateChanged(UID);
 	}
 
 	/**
@@ -299,6 +303,7 @@ implements	WashingMachineImplementationI {
 		assert	this.internalIsRunning();
 
 		this.currentState = WashingMachineState.OFF;
+		this.rop.stateChanged(UID);
 	}
 
 	/**
@@ -6,6 +6,7 @@ import java.time.LocalTime;
 import java.util.Timer;
 
 import fr.sorbonne_u.components.connectors.AbstractConnector;
+import fr.sorbonne_u.interfaces.EquipmentSnapshot;
 import fr.sorbonne_u.interfaces.PlanningEquipmentControlCI;
 
 //-----------------------------------------------------------------------------
@@ -28,6 +29,11 @@ import fr.sorbonne_u.interfaces.PlanningEquipmentControlCI;
 
 public class WashingMachineConnector extends AbstractConnector implements PlanningEquipmentControlCI {
 
+	/** washing temperatures of the modes, the mode {@code i} washing at
+	 *  {@code MODE_TEMPERATURES[i - 1]}; the programs are kept out of the
+	 *  modes as they are not ordered by consumption.						*/
+	protected static final int[]	MODE_TEMPERATURES = {10, 20, 30, 40, 60, 95};
+
 	public	WashingMachineConnector()
 	{
 		super();
@@ -52,58 +58,58 @@ public class WashingMachineConnector extends AbstractConnector implements Planni
 
 	@Override
 	public int maxMode() throws Exception {
-		return 1;
+		return MODE_TEMPERATURES.length;
 	}
 
 	@Override
 	public boolean upMode() throws Exception {
-		return false;
+		if (!((WashingMachineCI)this.offering).isRunning()) {
+			return false;
+		}
+		int mode = this.currentMode();
+		if (mode >= MODE_TEMPERATURES.length) {
+			return false;
+		}
+		((WashingMachineCI)this.offering).setTargetTemperature(
+													MODE_TEMPERATURES[mode]);
+		return true;
 	}
 
 	@Override
 	public boolean downMode() throws Exception {
-		return false;
+		if (!((WashingMachineCI)this.offering).isRunning()) {
+			return false;
+		}
+		int mode = this.currentMode();
+		if (mode <= 1) {
+			return false;
+		}
+		((WashingMachineCI)this.offering).setTargetTemperature(
+												MODE_TEMPERATURES[mode - 2]);
+		return true;
 	}
 
 	@Override
 	public boolean setMode(int modeIndex) throws Exception {
-		Program program = Program.COTON;
-		
-		switch(modeIndex) {
-		  case 2:
-			  program = Program.COTONCI;
-		  case 3:
-			  program = Program.MIX40C;
-		  case 4:
-			  program = Program.SYNTETHETIQUES;
-		  case 5:
-			  program = Program.COUETTE;
-	       default:
-	    	   break;
+		if (modeIndex < 1 || modeIndex > MODE_TEMPERATURES.length ||
+						!((WashingMachineCI)this.offering).isRunning()) {
+			return false;
 		}
-		
-		((WashingMachineCI)this.offering).setMode(program);
+		((WashingMachineCI)this.offering).setTargetTemperature(
+												MODE_TEMPERATURES[modeIndex - 1]);
 		return true;
 	}
 
 	@Override
 	public int currentMode() throws Exception {
-		Program program = ((WashingMachineCI)this.offering).getMode();
-		
-		switch(program) {
-		  case COTON:
-		    return 1;
-		  case COTONCI:
-		    return 2;
-		  case MIX40C:
-			  return 3;
-		  case SYNTETHETIQUES:
-			  return 4;
-		  case COUETTE:
-			  return 5;
-	       default:
-	    	   return 6;
+		// a temperature between two modes is seen as the upper one
+		int target = ((WashingMachineCI)this.offering).getTargetTemperature();
+		int mode = 1;
+		while (mode < MODE_TEMPERATURES.length &&
+									MODE_TEMPERATURES[mode - 1] < target) {
+			mode++;
 		}
+		return mode;
 	}
 
 	@Override
@@ -199,4 +205,11 @@ public class WashingMachineConnector extends AbstractConnector implements Planni
 	public Duration getCurrentDuration() throws Exception {
 		return ((WashingMachineCI)this.offering).getCurrentDuration();
 	}
+
+	@Override
+	public EquipmentSnapshot snapshot() throws Exception {
+		boolean on = ((WashingMachineCI)this.offering).isRunning();
+		int mode = on ? this.currentMode() : 1;
+		return new EquipmentSnapshot(on, mode, this.maxMode());
+	}
 }
@@ -33,10 +33,12 @@ package fr.sorbonne_u.components.waterHeater;
 // knowledge of the CeCILL-C license and that you accept its terms.
 
 import fr.sorbonne_u.components.annotations.OfferedInterfaces;
+import fr.sorbonne_u.components.annotations.RequiredInterfaces;
 import fr.sorbonne_u.components.cyphy.AbstractCyPhyComponent;
 import fr.sorbonne_u.components.waterHeater.mil.WaterHeaterCoupledModel;
 import fr.sorbonne_u.components.waterHeater.mil.events.DoNotHeatWater;
 import fr.sorbonne_u.components.waterHeater.mil.events.HeatWater;
+import fr.sorbonne_u.components.waterHeater.mil.events.SetPowerLevelWaterHeater;
 import fr.sorbonne_u.components.waterHeater.mil.events.SwitchOffWaterHeater;
 import fr.sorbonne_u.components.waterHeater.mil.events.SwitchOnWaterHeater;
 import fr.sorbonne_u.CVM_SIL;
@@ -44,6 +46,10 @@ import fr.sorbonne_u.components.waterHeater.sil.WaterHeaterStateModel;
 import fr.sorbonne_u.components.waterHeater.sil.WaterHeaterTemperatureSILModel;
 import fr.sorbonne_u.components.exceptions.ComponentShutdownException;
 import fr.sorbonne_u.components.exceptions.ComponentStartException;
+import fr.sorbonne_u.hem.HEM;
+import fr.sorbonne_u.hem.registration.RegistrationCI;
+import fr.sorbonne_u.hem.registration.RegistrationConnector;
+import fr.sorbonne_u.hem.registration.RegistrationOutboundPort;
 import java.util.HashMap;
 import java.util.concurrent.TimeUnit;
 import fr.sorbonne_u.components.AbstractComponent;
@@ -90,6 +96,7 @@ import fr.sorbonne_u.components.AbstractComponent;
  *              <a href="maedeh.daemi@etu.sorbonne-universite.fr">DAEMI Maedeh</a>
  */
 @OfferedInterfaces(offered={WaterHeaterCI.class})
+@RequiredInterfaces(required={RegistrationCI.class})
 public class			ThermostatedWaterHeater
 extends		AbstractCyPhyComponent
 implements	WaterHeaterImplementationI
@@ -127,6 +134,8 @@ implements	WaterHeaterImplementationI
 	/** URI of the hair dryer inbound port used in tests.					*/
 	public static final String		INBOUND_PORT_URI =
 												"WATER-HEATER-INBOUND-PORT-URI";
+	/** unique identifier under which the HEM controls the water heater.	*/
+	public static final String		UID = "1A10001";
 	/** when true, methods trace their actions.								*/
 	public static final boolean		VERBOSE = true;
 
@@ -136,6 +145,11 @@ implements	WaterHeaterImplementationI
 	protected WaterHeaterInboundPort		hip;
 	/** target temperature for the heating.	*/
 	protected double				targetTemperature;
+	/** heating power level, from 1 to {@code MAX_POWER_LEVEL}.			*/
+	protected int					powerLevel;
+	/** outbound port notifying the HEM of the changes of state, null when
+	 *  the component executes as a unit test, without HEM.				*/
+	protected RegistrationOutboundPort	rop;
 
 	// SIL simulation
 
@@ -297,6 +311,7 @@ implements	WaterHeaterImplementationI
 		this.executesAsUnitTest = executesAsUnitTest;
 		this.currentState = WaterHeaterState.OFF;
 		this.targetTemperature = 20.0;
+		this.powerLevel = MAX_POWER_LEVEL;
 		this.accFactor = this.composesAsUnitTest ?
 							ACC_FACTOR
 						 :	CVM_SIL.ACC_FACTOR;
@@ -343,6 +358,18 @@ implements	WaterHeaterImplementationI
 				throw new ComponentStartException(e) ;
 			}
 		}
+		if (!this.executesAsUnitTest) {
+			try {
+				this.rop = new RegistrationOutboundPort(this);
+				this.rop.publishPort();
+				this.doPortConnection(
+						this.rop.getPortURI(),
+						HEM.INBOUND_PORT_URI,
+						RegistrationConnector.class.getCanonicalName());
+			} catch (Exception e) {
+				throw new ComponentStartException(e) ;
+			}
+		}
 	}
 
 	/**
@@ -416,6 +443,18 @@ implements	WaterHeaterImplementationI
 		}
 	}
 
+	/**
+	 * @see fr.sorbonne_u.components.AbstractComponent#finalise()
+	 */
+	@Override
+	public synchronized void	finalise() throws Exception
+	{
+		if (this.rop != null) {
+			this.doPortDisconnection(this.rop.getPortURI());
+		}
+		super.finalise();
+	}
+
 	/**
 	 * @see fr.sorbonne_u.components.AbstractComponent#shutdown()
 	 */
@@ -427,6 +466,9 @@ implements	WaterHeaterImplementationI
 
 		try {
 			this.hip.unpublishPort();
+			if (this.rop != null) {
+				this.rop.unpublishPort();
+			}
 		} catch (Exception e) {
 			throw new ComponentShutdownException(e) ;
 		}
@@ -454,6 +496,27 @@ implements	WaterHeaterImplementationI
 		return this.currentState == WaterHeaterState.ON;
 	}
 
+	/**
+	 * notify the HEM that the state it controls changed, so that it reads it
+	 * again instead of using the state it cached; nothing is done when the
+	 * component executes without HEM.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	true		// no precondition.
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @throws Exception	<i>to do</i>.
+	 */
+	protected void		notifyStateChanged() throws Exception
+	{
+		if (this.rop != null) {
+			this.rop.stateChanged(UID);
+		}
+	}
+
 	/**
 	 * make the thermostated heater start heating; this internal method is
 	 * meant to be executed by the heater thermostat when the room temperature
@@ -603,6 +666,8 @@ implements	WaterHeaterImplementationI
 				o -> ((ThermostatedWaterHeater)o).
 							internalController(accPeriod, CONTROL_TIME_UNIT),
 				accPeriod, CONTROL_TIME_UNIT);
+
+		this.notifyStateChanged();
 	}
 
 	/**
@@ -623,6 +688,7 @@ implements	WaterHeaterImplementationI
 												WaterHeaterStateModel.URI,
 												t -> new SwitchOffWaterHeater(t));
 		}
+		this.notifyStateChanged();
 	}
 
 	/**
@@ -682,5 +748,44 @@ implements	WaterHeaterImplementationI
 		}
 		return currentTemperature;
 	}
+
+	/**
+	 * @see fr.sorbonne_u.components.waterHeater.WaterHeaterImplementationI#getPowerLevel()
+	 */
+	@Override
+	public int			getPowerLevel() throws Exception
+	{
+		if (ThermostatedWaterHeater.VERBOSE) {
+			this.traceMessage("Thermostated water heater returns its power"
+							+ " level " + this.powerLevel + ".\n");
+		}
+
+		return this.powerLevel;
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.waterHeater.WaterHeaterImplementationI#setPowerLevel(int)
+	 */
+	@Override
+	public void			setPowerLevel(int level) throws Exception
+	{
+		if (ThermostatedWaterHeater.VERBOSE) {
+			this.traceMessage("Thermostated water heater sets a new power "
+										+ "level: " + level + ".\n");
+		}
+
+		assert	this.internalIsRunning();
+		assert	level >= 1 && level <= MAX_POWER_LEVEL;
+
+		this.powerLevel = level;
+
+		// the power drawn when heating follows the level
+		if (this.isSILsimulated) {
+			this.simulatorPlugin.triggerExternalEvent(
+										WaterHeaterStateModel.URI,
+										t -> new SetPowerLevelWaterHeater(t, level));
+		}
+		this.notifyStateChanged();
+	}
 }
 // -----------------------------------------------------------------------------
@@ -56,6 +56,7 @@ import java.util.concurrent.TimeUnit;
 import fr.sorbonne_u.components.waterHeater.mil.WaterHeaterCoupledModel;
 import fr.sorbonne_u.components.waterHeater.mil.events.DoNotHeatWater;
 import fr.sorbonne_u.components.waterHeater.mil.events.HeatWater;
+import fr.sorbonne_u.components.waterHeater.mil.events.SetPowerLevelWaterHeater;
 import fr.sorbonne_u.components.waterHeater.mil.events.SwitchOffWaterHeater;
 import fr.sorbonne_u.components.waterHeater.mil.events.SwitchOnWaterHeater;
 import fr.sorbonne_u.components.waterHeater.sil.WaterHeaterExternalTemperatureSILModel;
@@ -279,6 +280,13 @@ extends		RTAtomicSimulatorPlugin
 							new EventSink(WaterHeaterTemperatureSILModel.URI,
 										  DoNotHeatWater.class)
 					});
+			connections.put(
+					new EventSource(WaterHeaterStateModel.URI,
+									SetPowerLevelWaterHeater.class),
+					new EventSink[] {
+							new EventSink(WaterHeaterElectricitySILModel.URI,
+										  SetPowerLevelWaterHeater.class)
+					});
 		} else {
 			// when *not* executed as a unit test, the simulation architecture
 			// does not include the hair dryer electricity model and events
@@ -313,6 +321,9 @@ extends		RTAtomicSimulatorPlugin
 			reexported.put(DoNotHeatWater.class,
 					   new ReexportedEvent(WaterHeaterStateModel.URI,
 							   			   DoNotHeatWater.class));
+			reexported.put(SetPowerLevelWaterHeater.class,
+					   new ReexportedEvent(WaterHeaterStateModel.URI,
+							   			   SetPowerLevelWaterHeater.class));
 		}
 
 		// variable bindings between exporting and importing models
@@ -5,6 +5,7 @@ import fr.sorbonne_u.components.annotations.OfferedInterfaces;
 import fr.sorbonne_u.components.annotations.RequiredInterfaces;
 import fr.sorbonne_u.components.exceptions.ComponentShutdownException;
 import fr.sorbonne_u.components.refrigerator.RefrigeratorCI;
+import fr.sorbonne_u.components.waterHeater.mil.WaterHeaterElectricityModel;
 import fr.sorbonne_u.hem.HEM;
 import fr.sorbonne_u.hem.registration.RegistrationCI;
 import fr.sorbonne_u.hem.registration.RegistrationConnector;
@@ -71,6 +72,8 @@ implements	WaterHeaterImplementationI {
 	protected WaterHeaterInboundPort	wip;
 	/** target temperature for the water heating.	*/
 	protected double			targetTemperature;
+	/** heating power level, from 1 to {@code MAX_POWER_LEVEL}.			*/
+	protected int				powerLevel;
 	protected RegistrationOutboundPort rop;
 
 	// -------------------------------------------------------------------------
@@ -164,6 +167,7 @@ implements	WaterHeaterImplementationI {
 
 		this.currentState = WaterHeaterState.OFF;
 		this.targetTemperature = 80.0;
+		this.powerLevel = MAX_POWER_LEVEL;
 		this.wip = new WaterHeaterInboundPort(waterHeaterInboundPortURI, this);
 		this.wip.publishPort();
 
@@ -309,6 +313,39 @@ implements	WaterHeaterImplementationI {
 
 			return  currentTemperature;
 		}
+
+	/**
+	 * @see fr.sorbonne_u.components.waterHeater.WaterHeaterImplementationI#getPowerLevel()
+	 */
+	@Override
+	public int			getPowerLevel() throws Exception
+	{
+		if (WaterHeater.VERBOSE) {
+			this.traceMessage("Water Heater returns its power level "
+												+ this.powerLevel + ".\n");
+		}
+
+		return this.powerLevel;
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.waterHeater.WaterHeaterImplementationI#setPowerLevel(int)
+	 */
+	@Override
+	public void			setPowerLevel(int level) throws Exception
+	{
+		if (WaterHeater.VERBOSE) {
+			this.traceMessage("Water Heater sets a new power level: "
+						+ level + " ("
+						+ WaterHeaterElectricityModel.heatingPower(level)
+						+ " W when heating).\n");
+		}
+
+		assert	this.internalIsRunning();
+		assert	level >= 1 && level <= MAX_POWER_LEVEL;
+
+		this.powerLevel = level;
+	}
 }
 	// -----------------------------------------------------------------------------
 
@@ -3,6 +3,7 @@ package fr.sorbonne_u.components.waterHeater;
 
 import fr.sorbonne_u.components.interfaces.OfferedCI;
 import fr.sorbonne_u.components.interfaces.RequiredCI;
+import fr.sorbonne_u.interfaces.EquipmentSnapshot;
 
 /**
  * The interface <code>WaterWaterHeaterCI</code> defines the signatures of
@@ -60,5 +61,29 @@ extends		WaterHeaterImplementationI,
 	 */
 	@Override
 	public double		getCurrentTemperature() throws Exception;
+
+	/**
+	 * @see fr.sorbonne_u.components.WaterHeater.WaterHeaterImplementationI#getPowerLevel()
+	 */
+	@Override
+	public int			getPowerLevel() throws Exception;
+
+	/**
+	 * @see fr.sorbonne_u.components.WaterHeater.WaterHeaterImplementationI#setPowerLevel(int)
+	 */
+	@Override
+	public void			setPowerLevel(int level) throws Exception;
+
+	/**
+	 * return the whole state of the water heater as seen by a control
+	 * connector, which suspended it or not; the inbound port reads it in
+	 * one request of the water heater instead of one per value.
+	 *
+	 * @param suspended		true if the connector suspended the water heater.
+	 * @return				the state of the water heater.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	public EquipmentSnapshot	readSnapshot(boolean suspended)
+	throws Exception;
 }
 // -----------------------------------------------------------------------------
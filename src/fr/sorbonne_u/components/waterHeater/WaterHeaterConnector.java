@@ -1,7 +1,11 @@
 package fr.sorbonne_u.components.waterHeater;
 
 import fr.sorbonne_u.components.connectors.AbstractConnector;
+import fr.sorbonne_u.components.interfaces.OfferedCI;
+import fr.sorbonne_u.components.interfaces.RequiredCI;
+import fr.sorbonne_u.interfaces.EquipmentSnapshot;
 import fr.sorbonne_u.interfaces.SuspensionEquipmentControlCI;
+import fr.sorbonne_u.utils.DirectBinding;
 
 //-----------------------------------------------------------------------------
 /**
@@ -10,6 +14,15 @@ import fr.sorbonne_u.interfaces.SuspensionEquipmentControlCI;
 *
 * <p><strong>Description</strong></p>
 * 
+* <p>
+* Each operation of the control interface is written once against the
+* {@code WaterHeaterImplementationI} interface. When the water heater lives
+* in the same JVM and the direct bindings are enabled, an operation is
+* performed as one request of the water heater component, whatever the
+* number of its calls, instead of one request per call through its inbound
+* port (see {@code DirectBinding}).
+* </p>
+* 
 * <p><strong>Invariant</strong></p>
 * 
 * <pre>
@@ -35,6 +48,9 @@ implements	SuspensionEquipmentControlCI
 	protected static final double	MAX_ADMISSIBLE_DELTA = 10.0;
 	// true if the water heater has been suspended, false otherwise.				
 	protected boolean	isSuspended;
+	// direct binding to the water heater component, or null if the calls go
+	// through its inbound port.
+	protected DirectBinding<WaterHeaterImplementationI>	direct;
 
 	public				WaterHeaterConnector()
 	{
@@ -42,61 +58,123 @@ implements	SuspensionEquipmentControlCI
 		this.isSuspended = false;
 	}
 
+	@Override
+	public void			connect(OfferedCI offering, RequiredCI requiring)
+	throws Exception
+	{
+		super.connect(offering, requiring);
+		this.direct =
+				DirectBinding.bind(offering, WaterHeaterImplementationI.class);
+	}
+
+	// perform an operation against the water heater, in one request when
+	// it is directly bound.
+	protected <T> T		perform(
+		DirectBinding.Operation<WaterHeaterImplementationI,T> op
+		) throws Exception
+	{
+		if (this.direct != null) {
+			return this.direct.call(op);
+		}
+		return op.apply((WaterHeaterCI)this.offering);
+	}
+
+	// perform an operation which does not change the water heater, so that
+	// it does not invalidate the reads coalesced by its inbound port.
+	protected <T> T		read(
+		DirectBinding.Operation<WaterHeaterImplementationI,T> op
+		) throws Exception
+	{
+		if (this.direct != null) {
+			return this.direct.read(op);
+		}
+		return op.apply((WaterHeaterCI)this.offering);
+	}
 
 	@Override
 	public boolean		on() throws Exception
 	{
-		return this.isSuspended || ((WaterHeaterCI)this.offering).isRunning();
+		return this.isSuspended || this.read(wh -> wh.isRunning());
 	}
 
 	
 	@Override
 	public boolean		switchOn() throws Exception
 	{
-		((WaterHeaterCI)this.offering).startWaterHeater();
-		return true;
+		return this.perform(wh -> {	wh.startWaterHeater();
+									return true;
+								  });
 	}
 
 	
 	@Override
 	public boolean		switchOff() throws Exception
 	{
-		((WaterHeaterCI)this.offering).stopWaterHeater();
-		return true;
+		return this.perform(wh -> {	wh.stopWaterHeater();
+									return true;
+								  });
 	}
 
 	
 	@Override
 	public int			maxMode() throws Exception
 	{
-		// No mode in waterheater, so 1 becomes the sole "mode".
-		return 1;
+		// the modes are the heating power levels of the water heater
+		return WaterHeaterCI.MAX_POWER_LEVEL;
 	}
 
 	@Override
 	public boolean		upMode() throws Exception
 	{
-		return false;
+		return this.perform(
+				wh -> {	if (!wh.isRunning()) {
+							return false;
+						}
+						int level = wh.getPowerLevel();
+						if (level >= WaterHeaterCI.MAX_POWER_LEVEL) {
+							return false;
+						}
+						wh.setPowerLevel(level + 1);
+						return true;
+					  });
 	}
 
 	@Override
 	public boolean		downMode() throws Exception
 	{
-		return false;
+		return this.perform(
+				wh -> {	if (!wh.isRunning()) {
+							return false;
+						}
+						int level = wh.getPowerLevel();
+						if (level <= 1) {
+							return false;
+						}
+						wh.setPowerLevel(level - 1);
+						return true;
+					  });
 	}
 
 
 	@Override
 	public boolean		setMode(int modeIndex) throws Exception
 	{
-		return true;
+		if (modeIndex < 1 || modeIndex > WaterHeaterCI.MAX_POWER_LEVEL) {
+			return false;
+		}
+		return this.perform(
+				wh -> {	if (!wh.isRunning()) {
+							return false;
+						}
+						wh.setPowerLevel(modeIndex);
+						return true;
+					  });
 	}
 
 	@Override
 	public int			currentMode() throws Exception
 	{
-		// No mode in waterheater, so 1 becomes the sole "mode".
-		return 1;
+		return this.read(wh -> wh.getPowerLevel());
 	}
 
 	@Override
@@ -108,7 +186,9 @@ implements	SuspensionEquipmentControlCI
 	@Override
 	public boolean		suspend() throws Exception
 	{
-		((WaterHeaterCI)this.offering).stopWaterHeater();
+		this.perform(wh -> {	wh.stopWaterHeater();
+								return null;
+							  });
 		this.isSuspended = true;
 		return true;
 	}
@@ -116,7 +196,9 @@ implements	SuspensionEquipmentControlCI
 	@Override
 	public boolean		resume() throws Exception
 	{
-		((WaterHeaterCI)this.offering).startWaterHeater();
+		this.perform(wh -> {	wh.startWaterHeater();
+								return null;
+							  });
 		this.isSuspended = false;
 		return true;
 	}
@@ -124,10 +206,15 @@ implements	SuspensionEquipmentControlCI
 	@Override
 	public double		emergency() throws Exception
 	{
-		double currentTemperature =
-					((WaterHeaterCI)this.offering).getCurrentTemperature();
-		double targetTemperature =
-					((WaterHeaterCI)this.offering).getTargetTemperature();
+		return this.read(wh -> emergency(wh));
+	}
+
+	// return the emergency of the water heater from its temperatures.
+	protected static double	emergency(WaterHeaterImplementationI wh)
+	throws Exception
+	{
+		double currentTemperature = wh.getCurrentTemperature();
+		double targetTemperature = wh.getTargetTemperature();
 		double delta = Math.abs(targetTemperature - currentTemperature);
 		if (currentTemperature < WaterHeaterConnector.MIN_ADMISSIBLE_TEMP ||
 							delta >= WaterHeaterConnector.MAX_ADMISSIBLE_DELTA) {
@@ -136,6 +223,32 @@ implements	SuspensionEquipmentControlCI
 			return delta/WaterHeaterConnector.MAX_ADMISSIBLE_DELTA;
 		}
 	}
+
+	// return the state of the water heater wh as seen by a connector which
+	// suspended it or not.
+	protected static EquipmentSnapshot	snapshot(
+		WaterHeaterImplementationI wh,
+		boolean suspended
+		) throws Exception
+	{
+		return new EquipmentSnapshot(suspended || wh.isRunning(),
+									 wh.getPowerLevel(),
+									 WaterHeaterCI.MAX_POWER_LEVEL,
+									 suspended,
+									 emergency(wh));
+	}
+
+	@Override
+	public EquipmentSnapshot	snapshot() throws Exception
+	{
+		boolean suspended = this.isSuspended;
+		// the whole state in one request of the water heater, directly or
+		// through its inbound port
+		if (this.direct != null) {
+			return this.direct.read(wh -> snapshot(wh, suspended));
+		}
+		return ((WaterHeaterCI)this.offering).readSnapshot(suspended);
+	}
 }
 // -----------------------------------------------------------------------------
 
@@ -18,6 +18,14 @@ package fr.sorbonne_u.components.waterHeater;
  */
 
 public interface WaterHeaterImplementationI {
+	// -------------------------------------------------------------------------
+	// Constants
+	// -------------------------------------------------------------------------
+
+	/** number of heating power levels of the water heater, the level
+	 *  {@code MAX_POWER_LEVEL} heating at full power.						*/
+	public static final int	MAX_POWER_LEVEL = 3;
+
 	// -------------------------------------------------------------------------
 	// Component services signatures
 	// -------------------------------------------------------------------------
@@ -111,6 +119,38 @@ public interface WaterHeaterImplementationI {
 	 * @throws Exception	<i>to do</i>.
 	 */
 	public double		getCurrentTemperature() throws Exception;
+
+	/**
+	 * return the current heating power level of the water heater, the
+	 * power used when heating being proportional to it.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	true		// no precondition.
+	 * post	{@code return >= 1 && return <= MAX_POWER_LEVEL}
+	 * </pre>
+	 *
+	 * @return				the current heating power level.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	public int			getPowerLevel() throws Exception;
+
+	/**
+	 * set the heating power level of the water heater.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code isRunning()}
+	 * pre	{@code level >= 1 && level <= MAX_POWER_LEVEL}
+	 * post	{@code level == getPowerLevel()}
+	 * </pre>
+	 *
+	 * @param level			the new heating power level.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	public void			setPowerLevel(int level) throws Exception;
 }
 // -----------------------------------------------------------------------------
 
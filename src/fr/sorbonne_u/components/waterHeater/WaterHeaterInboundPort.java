@@ -2,6 +2,10 @@ package fr.sorbonne_u.components.waterHeater;
 
 import fr.sorbonne_u.components.ComponentI;
 import fr.sorbonne_u.components.ports.AbstractInboundPort;
+import fr.sorbonne_u.interfaces.EquipmentSnapshot;
+import fr.sorbonne_u.utils.ReadCoalescer;
+
+import java.util.concurrent.TimeUnit;
 
 //-----------------------------------------------------------------------------
 /**
@@ -10,6 +14,15 @@ import fr.sorbonne_u.components.ports.AbstractInboundPort;
 *
 * <p><strong>Description</strong></p>
 * 
+* <p>
+* The identical reads of the state of the water heater made at the same time
+* or within the staleness window of the port share one request to the water
+* heater and its result (see {@code ReadCoalescer}); the writes made through
+* the port, or by the connectors bound directly to the water heater (see
+* {@code DirectBinding}), invalidate the results of the reads started before
+* them.
+* </p>
+* 
 * <p><strong>Invariant</strong></p>
 * 
 * <pre>
@@ -23,10 +36,13 @@ import fr.sorbonne_u.components.ports.AbstractInboundPort;
 
 public class			WaterHeaterInboundPort
 extends		AbstractInboundPort
-implements	WaterHeaterCI
+implements	WaterHeaterCI, ReadCoalescer.Holder
 {
 	private static final long serialVersionUID = 1L;
 
+	/** coalescer of the concurrent identical reads of the water heater.	*/
+	protected final ReadCoalescer<String>	reads = new ReadCoalescer<>();
+
 	public				WaterHeaterInboundPort(ComponentI owner) throws Exception
 	{
 		super(WaterHeaterCI.class, owner);
@@ -38,14 +54,44 @@ implements	WaterHeaterCI
 		super(uri, WaterHeaterCI.class, owner);
 	}
 
+	/**
+	 * set the staleness window within which identical reads of the water heater
+	 * share one execution and one result.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code window >= 0}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param window	staleness window, 0 to share only the reads in progress.
+	 * @param u			time unit of {@code window}.
+	 */
+	public void			setReadStalenessWindow(long window, TimeUnit u)
+	{
+		this.reads.setWindow(window, u);
+	}
+
+	/**
+	 * @see fr.sorbonne_u.utils.ReadCoalescer.Holder#getReadCoalescer()
+	 */
+	@Override
+	public ReadCoalescer<String>	getReadCoalescer()
+	{
+		return this.reads;
+	}
+
 	/**
 	 * @see fr.sorbonne_u.components.WaterHeater.WaterHeaterCI#isRunning()
 	 */
 	@Override
 	public boolean		isRunning() throws Exception
 	{
-		return this.getOwner().handleRequest(
-				o -> ((WaterHeaterImplementationI)o).isRunning());
+		return this.reads.read(
+				"isRunning",
+				() -> this.getOwner().handleRequest(
+							o -> ((WaterHeaterImplementationI)o).isRunning()));
 	}
 
 	/**
@@ -58,6 +104,7 @@ implements	WaterHeaterCI
 				o -> {	((WaterHeaterImplementationI)o).startWaterHeater();
 						return null;
 					 });
+		this.reads.invalidate();
 	}
 
 	/**
@@ -70,6 +117,7 @@ implements	WaterHeaterCI
 				o -> {	((WaterHeaterImplementationI)o).stopWaterHeater();
 						return null;
 					 });
+		this.reads.invalidate();
 	}
 
 	/**
@@ -82,6 +130,7 @@ implements	WaterHeaterCI
 				o -> {	((WaterHeaterImplementationI)o).setTargetTemperature(target);
 						return null;
 					 });
+		this.reads.invalidate();
 	}
 
 	/**
@@ -90,8 +139,10 @@ implements	WaterHeaterCI
 	@Override
 	public double		getTargetTemperature() throws Exception
 	{
-		return this.getOwner().handleRequest(
-				o -> ((WaterHeaterImplementationI)o).getTargetTemperature());
+		return this.reads.read(
+				"getTargetTemperature",
+				() -> this.getOwner().handleRequest(
+							o -> ((WaterHeaterImplementationI)o).getTargetTemperature()));
 	}
 
 	/**
@@ -100,8 +151,51 @@ implements	WaterHeaterCI
 	@Override
 	public double		getCurrentTemperature() throws Exception
 	{
-		return this.getOwner().handleRequest(
-				o -> ((WaterHeaterImplementationI)o).getCurrentTemperature());
+		return this.reads.read(
+				"getCurrentTemperature",
+				() -> this.getOwner().handleRequest(
+							o -> ((WaterHeaterImplementationI)o).getCurrentTemperature()));
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.WaterHeater.WaterHeaterCI#getPowerLevel()
+	 */
+	@Override
+	public int			getPowerLevel() throws Exception
+	{
+		return this.reads.read(
+				"getPowerLevel",
+				() -> this.getOwner().handleRequest(
+							o -> ((WaterHeaterImplementationI)o).getPowerLevel()));
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.WaterHeater.WaterHeaterCI#setPowerLevel(int)
+	 */
+	@Override
+	public void			setPowerLevel(int level) throws Exception
+	{
+		this.getOwner().handleRequest(
+				o -> {	((WaterHeaterImplementationI)o).setPowerLevel(level);
+						return null;
+					 });
+		this.reads.invalidate();
+	}
+
+	/**
+	 * read the whole state in one request of the water heater.
+	 * 
+	 * @see fr.sorbonne_u.components.waterHeater.WaterHeaterCI#readSnapshot(boolean)
+	 */
+	@Override
+	public EquipmentSnapshot	readSnapshot(boolean suspended) throws Exception
+	{
+		return this.reads.read(
+				"readSnapshot" + suspended,
+				() -> this.getOwner().handleRequest(
+							o -> WaterHeaterConnector.snapshot(
+										(WaterHeaterImplementationI)o,
+										suspended)));
 	}
 }
 // -----------------------------------------------------------------------------
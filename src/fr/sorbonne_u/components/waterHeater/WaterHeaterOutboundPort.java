@@ -2,6 +2,7 @@ package fr.sorbonne_u.components.waterHeater;
 
 import fr.sorbonne_u.components.ComponentI;
 import fr.sorbonne_u.components.ports.AbstractOutboundPort;
+import fr.sorbonne_u.interfaces.EquipmentSnapshot;
 
 //-----------------------------------------------------------------------------
 /**
@@ -91,4 +92,31 @@ implements	WaterHeaterCI
 	{
 		return ((WaterHeaterCI)this.getConnector()).getCurrentTemperature();
 	}
+
+	/**
+	 * @see fr.sorbonne_u.components.WaterHeater.WaterHeaterCI#getPowerLevel()
+	 */
+	@Override
+	public int			getPowerLevel() throws Exception
+	{
+		return ((WaterHeaterCI)this.getConnector()).getPowerLevel();
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.WaterHeater.WaterHeaterCI#setPowerLevel(int)
+	 */
+	@Override
+	public void			setPowerLevel(int level) throws Exception
+	{
+		((WaterHeaterCI)this.getConnector()).setPowerLevel(level);
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.waterHeater.WaterHeaterCI#readSnapshot(boolean)
+	 */
+	@Override
+	public EquipmentSnapshot	readSnapshot(boolean suspended) throws Exception
+	{
+		return ((WaterHeaterCI)this.getConnector()).readSnapshot(suspended);
+	}
 }
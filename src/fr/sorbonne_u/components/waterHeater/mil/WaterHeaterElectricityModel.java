@@ -7,8 +7,12 @@ import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import fr.sorbonne_u.HEM_ReportI;
+import fr.sorbonne_u.components.waterHeater.WaterHeaterImplementationI;
 import fr.sorbonne_u.components.waterHeater.mil.events.DoNotHeatWater;
 import fr.sorbonne_u.components.waterHeater.mil.events.HeatWater;
+import fr.sorbonne_u.components.waterHeater.mil.events.ResumeWaterHeater;
+import fr.sorbonne_u.components.waterHeater.mil.events.SetPowerLevelWaterHeater;
+import fr.sorbonne_u.components.waterHeater.mil.events.SuspendWaterHeater;
 import fr.sorbonne_u.components.waterHeater.mil.events.SwitchOffWaterHeater;
 import fr.sorbonne_u.components.waterHeater.mil.events.SwitchOnWaterHeater;
 import fr.sorbonne_u.components.waterHeater.mil.events.WaterHeaterEventI;
@@ -35,15 +39,26 @@ import fr.sorbonne_u.utils.Electricity;
  * The model is a simple state-based one: the electricity consumption is
  * assumed to be constant in each possible state of the heater
  * ({@code State.OFF => 0.0}, {@code State.ON => NOT_HEATING_POWER} and
- * {@code State.HEATING => HEATING_POWER}). The state of the heater is
+ * {@code State.HEATING => heatingPower(powerLevel)}). The state of the heater is
  * modified by the reception of external events ({@code SwitchOnHeater},
  * {@code SwitchOffHeater}, {@code Heat} and {@code DoNotHeat}). The
  * electricity consumption is stored in the exported variable
  * {@code currentIntensity}.
  * </p>
  * <p>
- * Initially, the mode is in state {@code State.OFF} and the electricity
- * consumption at 0.0.
+ * The home energy manager can suspend the heater ({@code SuspendWaterHeater})
+ * and resume it ({@code ResumeWaterHeater}); while suspended, the heater
+ * keeps its state but does not consume any electricity.
+ * </p>
+ * <p>
+ * When heating, the heater consumes a share of {@code HEATING_POWER}
+ * proportional to its power level, from 1 to {@code MAX_POWER_LEVEL}, which
+ * is changed by {@code SetPowerLevelWaterHeater} events; the level is kept
+ * when the heater is switched off.
+ * </p>
+ * <p>
+ * Initially, the mode is in state {@code State.OFF}, the power level at
+ * {@code MAX_POWER_LEVEL} and the electricity consumption at 0.0.
  * </p>
  * 
  * <p><strong>Invariant</strong></p>
@@ -62,7 +77,10 @@ import fr.sorbonne_u.utils.Electricity;
 @ModelExternalEvents(imported = {SwitchOnWaterHeater.class,
 								 SwitchOffWaterHeater.class,
 								 HeatWater.class,
-								 DoNotHeatWater.class})
+								 DoNotHeatWater.class,
+								 SuspendWaterHeater.class,
+								 ResumeWaterHeater.class,
+								 SetPowerLevelWaterHeater.class})
 // -----------------------------------------------------------------------------
 public class			WaterHeaterElectricityModel
 extends		AtomicHIOA
@@ -103,6 +121,11 @@ extends		AtomicHIOA
 											new Value<Double>(this, 0.0, 0);
 	/** power of the heater in watts.										*/
 	protected State					currentState = State.OFF;
+	/** true if the heater is suspended by the home energy manager.		*/
+	protected boolean				suspended = false;
+	/** heating power level, from 1 to {@code MAX_POWER_LEVEL}.			*/
+	protected int					powerLevel =
+									WaterHeaterImplementationI.MAX_POWER_LEVEL;
 	/** power of the heater in watts.										*/
 	protected boolean				consumptionHasChanged = false;
 	/** power of the heater in watts.										*/
@@ -176,6 +199,106 @@ extends		AtomicHIOA
 		return this.currentState;
 	}
 
+	/**
+	 * return the power of the heater when heating at {@code level}.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code level >= 1 && level <= WaterHeaterImplementationI.MAX_POWER_LEVEL}
+	 * post	{@code ret > 0.0 && ret <= HEATING_POWER}
+	 * </pre>
+	 *
+	 * @param level	heating power level.
+	 * @return		the power of the heater in watts.
+	 */
+	public static double	heatingPower(int level)
+	{
+		assert	level >= 1 &&
+						level <= WaterHeaterImplementationI.MAX_POWER_LEVEL;
+
+		return HEATING_POWER*level/WaterHeaterImplementationI.MAX_POWER_LEVEL;
+	}
+
+	/**
+	 * set the heating power level of the heater.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code level >= 1 && level <= WaterHeaterImplementationI.MAX_POWER_LEVEL}
+	 * post	{@code getPowerLevel() == level}
+	 * </pre>
+	 *
+	 * @param level	new heating power level.
+	 */
+	public void			setPowerLevel(int level)
+	{
+		assert	level >= 1 &&
+						level <= WaterHeaterImplementationI.MAX_POWER_LEVEL;
+
+		if (this.powerLevel != level) {
+			this.powerLevel = level;
+			if (this.currentState == State.HEATING) {
+				this.consumptionHasChanged = true;
+			}
+		}
+	}
+
+	/**
+	 * return the heating power level of the heater.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	true		// no precondition.
+	 * post	{@code ret >= 1 && ret <= WaterHeaterImplementationI.MAX_POWER_LEVEL}
+	 * </pre>
+	 *
+	 * @return	the heating power level.
+	 */
+	public int			getPowerLevel()
+	{
+		return this.powerLevel;
+	}
+
+	/**
+	 * suspend or resume the heater.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	true		// no precondition.
+	 * post	{@code isSuspended() == suspended}
+	 * </pre>
+	 *
+	 * @param suspended	true if the heater must be suspended.
+	 */
+	public void			setSuspended(boolean suspended)
+	{
+		if (this.suspended != suspended) {
+			this.suspended = suspended;
+			this.consumptionHasChanged = true;
+		}
+	}
+
+	/**
+	 * return true if the heater is suspended.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	true		// no precondition.
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @return	true if the heater is suspended.
+	 */
+	public boolean		isSuspended()
+	{
+		return this.suspended;
+	}
+
 	/**
 	 * @see fr.sorbonne_u.devs_simulation.hioa.models.AtomicHIOA#initialiseState(fr.sorbonne_u.devs_simulation.models.time.Time)
 	 */
@@ -185,6 +308,8 @@ extends		AtomicHIOA
 		super.initialiseState(initialTime);
 
 		this.currentState = State.OFF;
+		this.suspended = false;
+		this.powerLevel = WaterHeaterImplementationI.MAX_POWER_LEVEL;
 		this.consumptionHasChanged = false;
 		this.totalConsumption = 0.0;
 
@@ -242,13 +367,15 @@ extends		AtomicHIOA
 	{
 		super.userDefinedInternalTransition(elapsedTime);
 
-		if (this.currentState == State.ON) {
+		if (this.suspended) {
+			this.currentIntensity.v = 0.0;
+		} else if (this.currentState == State.ON) {
 			this.currentIntensity.v =
 					WaterHeaterElectricityModel.NOT_HEATING_POWER/
 											WaterHeaterElectricityModel.TENSION;
 		} else if (this.currentState == State.HEATING) {
 			this.currentIntensity.v =
-					WaterHeaterElectricityModel.HEATING_POWER/
+					heatingPower(this.powerLevel)/
 											WaterHeaterElectricityModel.TENSION;
 		} else {
 			assert	this.currentState == State.OFF;
@@ -272,20 +399,24 @@ extends		AtomicHIOA
 	{
 		ArrayList<EventI> currentEvents = this.getStoredEventAndReset();
 
-		assert	currentEvents != null && currentEvents.size() == 1;
+		// the user and the home energy manager may both send an event at
+		// the same time.
+		assert	currentEvents != null && currentEvents.size() > 0;
 
-		Event ce = (Event) currentEvents.get(0);
-		assert	ce instanceof WaterHeaterEventI;
-		
 		this.totalConsumption +=
 				Electricity.computeConsumption(elapsedTime,
 											   TENSION*this.currentIntensity.v);
 
-		StringBuffer sb = new StringBuffer("execute the external event: ");
-		sb.append(ce.eventAsString());
-		sb.append(".\n");
-		this.logMessage(sb.toString());
-		ce.executeOn(this);
+		for (EventI e : currentEvents) {
+			Event ce = (Event) e;
+			assert	ce instanceof WaterHeaterEventI;
+
+			StringBuffer sb = new StringBuffer("execute the external event: ");
+			sb.append(ce.eventAsString());
+			sb.append(".\n");
+			this.logMessage(sb.toString());
+			ce.executeOn(this);
+		}
 
 		super.userDefinedExternalTransition(elapsedTime);
 	}
@@ -0,0 +1,103 @@
+package fr.sorbonne_u.components.waterHeater.mil.events;
+
+import fr.sorbonne_u.devs_simulation.models.events.Event;
+import fr.sorbonne_u.devs_simulation.models.events.EventI;
+import fr.sorbonne_u.devs_simulation.models.time.Time;
+import fr.sorbonne_u.components.waterHeater.WaterHeaterImplementationI;
+import fr.sorbonne_u.components.waterHeater.mil.WaterHeaterElectricityModel;
+import fr.sorbonne_u.devs_simulation.models.AtomicModel;
+
+/**
+ * The class <code>SetPowerLevelWaterHeater</code> defines the simulation event
+ * of the water heater changing its heating power level.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p><strong>Invariant</strong></p>
+ *
+ * <pre>
+ * invariant	{@code level >= 1 && level <= WaterHeaterImplementationI.MAX_POWER_LEVEL}
+ * </pre>
+ *
+ * <p>Created on : 2026-10-17</p>
+ *
+ *  @authors	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+ *              <a href="maedeh.daemi@etu.sorbonne-universite.fr">DAEMI Maedeh</a>
+ */
+public class			SetPowerLevelWaterHeater
+extends		Event
+implements	WaterHeaterEventI
+{
+
+	private static final long serialVersionUID = 1L;
+	/** new heating power level.											*/
+	protected final int		level;
+
+	/**
+	 * create a <code>SetPowerLevelWaterHeater</code> event.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code timeOfOccurrence != null}
+	 * pre	{@code level >= 1 && level <= WaterHeaterImplementationI.MAX_POWER_LEVEL}
+	 * post	{@code this.getTimeOfOccurrence().equals(timeOfOccurrence)}
+	 * post	{@code getLevel() == level}
+	 * </pre>
+	 *
+	 * @param timeOfOccurrence	time of occurrence of the event.
+	 * @param level				new heating power level.
+	 */
+	public				SetPowerLevelWaterHeater(
+		Time timeOfOccurrence,
+		int level
+		)
+	{
+		super(timeOfOccurrence, null);
+
+		assert	level >= 1 &&
+						level <= WaterHeaterImplementationI.MAX_POWER_LEVEL;
+
+		this.level = level;
+	}
+
+	/**
+	 * return the new heating power level.
+	 *
+	 * @return	the new heating power level.
+	 */
+	public int			getLevel()
+	{
+		return this.level;
+	}
+
+	/**
+	 * @see fr.sorbonne_u.devs_simulation.models.events.Event#eventContentAsString()
+	 */
+	@Override
+	public String		eventContentAsString()
+	{
+		return "level = " + this.level;
+	}
+
+	/**
+	 * @see fr.sorbonne_u.devs_simulation.models.events.Event#hasPriorityOver(fr.sorbonne_u.devs_simulation.models.events.EventI)
+	 */
+	@Override
+	public boolean		hasPriorityOver(EventI e)
+	{
+		// the level is applied after a simultaneous change of state
+		return false;
+	}
+
+	/**
+	 * @see fr.sorbonne_u.devs_simulation.models.events.Event#executeOn(fr.sorbonne_u.devs_simulation.models.AtomicModel)
+	 */
+	@Override
+	public void			executeOn(AtomicModel model)
+	{
+		assert	model instanceof WaterHeaterElectricityModel;
+
+		((WaterHeaterElectricityModel)model).setPowerLevel(this.level);
+	}
+}
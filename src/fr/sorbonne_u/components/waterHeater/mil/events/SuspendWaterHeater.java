@@ -0,0 +1,74 @@
+package fr.sorbonne_u.components.waterHeater.mil.events;
+
+import fr.sorbonne_u.devs_simulation.models.events.Event;
+import fr.sorbonne_u.devs_simulation.models.events.EventI;
+import fr.sorbonne_u.devs_simulation.models.time.Time;
+import fr.sorbonne_u.components.waterHeater.mil.WaterHeaterElectricityModel;
+import fr.sorbonne_u.devs_simulation.models.AtomicModel;
+
+/**
+ * The class <code>SuspendWaterHeater</code> defines the simulation event of the home
+ * energy manager suspending the water heater.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p><strong>Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	true
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-17</p>
+ * 
+ *  @authors	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+ *              <a href="maedeh.daemi@etu.sorbonne-universite.fr">DAEMI Maedeh</a>
+ */
+public class			SuspendWaterHeater
+extends		Event
+implements	WaterHeaterEventI
+{
+	
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * create a <code>SuspendWaterHeater</code> event.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code timeOfOccurrence != null}
+	 * post	{@code this.getTimeOfOccurrence().equals(timeOfOccurrence)}
+	 * post	{@code this.getEventInformation.equals(content)}
+	 * </pre>
+	 *
+	 * @param timeOfOccurrence	time of occurrence of the event.
+	 */
+	public				SuspendWaterHeater(
+		Time timeOfOccurrence
+		)
+	{
+		super(timeOfOccurrence, null);
+	}
+
+	/**
+	 * @see fr.sorbonne_u.devs_simulation.models.events.Event#hasPriorityOver(fr.sorbonne_u.devs_simulation.models.events.EventI)
+	 */
+	@Override
+	public boolean		hasPriorityOver(EventI e)
+	{
+		// the commands of the user are executed before the ones of the
+		// home energy manager.
+		return false;
+	}
+	
+	/**
+	 * @see fr.sorbonne_u.devs_simulation.models.events.Event#executeOn(fr.sorbonne_u.devs_simulation.models.AtomicModel)
+	 */
+	@Override
+	public void			executeOn(AtomicModel model)
+	{
+		assert	model instanceof WaterHeaterElectricityModel;
+
+		((WaterHeaterElectricityModel)model).setSuspended(true);
+	}
+}
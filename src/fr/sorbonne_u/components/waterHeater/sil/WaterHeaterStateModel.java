@@ -42,6 +42,7 @@ import fr.sorbonne_u.components.waterHeater.ThermostatedWaterHeater;
 import fr.sorbonne_u.components.cyphy.plugins.devs.utils.StandardComponentLogger;
 import fr.sorbonne_u.components.waterHeater.mil.events.DoNotHeatWater;
 import fr.sorbonne_u.components.waterHeater.mil.events.HeatWater;
+import fr.sorbonne_u.components.waterHeater.mil.events.SetPowerLevelWaterHeater;
 import fr.sorbonne_u.components.waterHeater.mil.events.SwitchOffWaterHeater;
 import fr.sorbonne_u.components.waterHeater.mil.events.SwitchOnWaterHeater;
 import fr.sorbonne_u.components.waterHeater.mil.events.WaterHeaterEventI;
@@ -96,9 +97,11 @@ import fr.sorbonne_u.devs_simulation.simulators.interfaces.SimulatorI;
 // -----------------------------------------------------------------------------
 @ModelExternalEvents(
 		imported = {SwitchOnWaterHeater.class,SwitchOffWaterHeater.class,
-					HeatWater.class,DoNotHeatWater.class},
+					HeatWater.class,DoNotHeatWater.class,
+					SetPowerLevelWaterHeater.class},
 		exported = {SwitchOnWaterHeater.class,SwitchOffWaterHeater.class,
-					HeatWater.class,DoNotHeatWater.class})
+					HeatWater.class,DoNotHeatWater.class,
+					SetPowerLevelWaterHeater.class})
 // -----------------------------------------------------------------------------
 public class			WaterHeaterStateModel
 extends		AtomicModel
@@ -0,0 +1,230 @@
+package fr.sorbonne_u.hem;
+
+
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to provide a basic
+// household management systems as an example of a cyber-physical system.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>AdapterWatcher</code> watches the files of the adapter
+ * descriptions of the registered equipments and reports their changes.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * The watcher registers the directories of the watched files on a
+ * {@code WatchService} and runs a daemon thread waiting for their events.
+ * Editors usually write a file in several steps, so the events of a change
+ * are gathered until none came for {@code SETTLE_DELAY} milliseconds, then
+ * the listener is called once for each watched file created or modified,
+ * from the thread of the watcher. A file replaced by moving another one
+ * onto it, as done by the editors saving atomically, is reported as created.
+ * The listener should only hand the change over to the component owning
+ * the connectors, so that it is handled by the threads of the component and
+ * never concurrently with its other tasks.
+ * </p>
+ * 
+ * <p><strong>Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	true
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-17</p>
+ * 
+ *  @authors	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+ *              <a href="maedeh.daemi@etu.sorbonne-universite.fr">DAEMI Maedeh</a>
+ */
+public class			AdapterWatcher
+implements	AutoCloseable
+{
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	/** delay in milliseconds without events after which a change is
+	 *  reported.															*/
+	public static final long		SETTLE_DELAY = 200;
+
+	/** service notifying the events of the watched directories.			*/
+	protected final WatchService	watchService;
+	/** listener called with the absolute path of each changed file.		*/
+	protected final Consumer<Path>	listener;
+	/** absolute paths of the watched files.								*/
+	protected final Set<Path>		files = ConcurrentHashMap.newKeySet();
+	/** absolute paths of the directories registered on the service.		*/
+	protected final Set<Path>		directories = ConcurrentHashMap.newKeySet();
+	/** thread waiting for the events.										*/
+	protected final Thread			thread;
+
+	// -------------------------------------------------------------------------
+	// Constructors
+	// -------------------------------------------------------------------------
+
+	/**
+	 * create a watcher and start its thread.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code listener != null}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param listener		listener called with the absolute path of each changed file.
+	 * @throws IOException	if the watch service cannot be created.
+	 */
+	public				AdapterWatcher(Consumer<Path> listener)
+	throws IOException
+	{
+		assert	listener != null;
+
+		this.listener = listener;
+		this.watchService = FileSystems.getDefault().newWatchService();
+		this.thread = new Thread(this::run, "HEM-adapter-watcher");
+		this.thread.setDaemon(true);
+		this.thread.start();
+	}
+
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * watch the file {@code file}, registering its directory if it is not
+	 * already watched.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code file != null}
+	 * post	{@code isWatched(file)}
+	 * </pre>
+	 *
+	 * @param file			path of the file to be watched.
+	 * @throws IOException	if the directory of the file cannot be watched.
+	 */
+	public void			watch(Path file) throws IOException
+	{
+		assert	file != null;
+
+		Path f = file.toAbsolutePath().normalize();
+		Path directory = f.getParent();
+		if (this.directories.add(directory)) {
+			try {
+				directory.register(this.watchService,
+								   StandardWatchEventKinds.ENTRY_CREATE,
+								   StandardWatchEventKinds.ENTRY_MODIFY);
+			} catch (IOException e) {
+				this.directories.remove(directory);
+				throw e;
+			}
+		}
+		this.files.add(f);
+	}
+
+	/**
+	 * return true if the file {@code file} is watched.
+	 *
+	 * @param file	path of a file.
+	 * @return		true if the file is watched.
+	 */
+	public boolean		isWatched(Path file)
+	{
+		return this.files.contains(file.toAbsolutePath().normalize());
+	}
+
+	/**
+	 * wait for the events of the watched directories and report the changes
+	 * of the watched files until the watcher is closed.
+	 */
+	protected void		run()
+	{
+		try {
+			while (true) {
+				LinkedHashSet<Path> changed = new LinkedHashSet<>();
+				WatchKey key = this.watchService.take();
+				do {
+					Path directory = (Path) key.watchable();
+					for (WatchEvent<?> e : key.pollEvents()) {
+						if (e.kind() != StandardWatchEventKinds.OVERFLOW) {
+							Path f = directory.resolve((Path) e.context());
+							if (this.files.contains(f)) {
+								changed.add(f);
+							}
+						}
+					}
+					key.reset();
+					key = this.watchService.poll(SETTLE_DELAY,
+												 TimeUnit.MILLISECONDS);
+				} while (key != null);
+				for (Path f : changed) {
+					try {
+						this.listener.accept(f);
+					} catch (RuntimeException e) {
+						// the next changes are still reported
+						e.printStackTrace();
+					}
+				}
+			}
+		} catch (InterruptedException | ClosedWatchServiceException e) {
+			// closed
+		}
+	}
+
+	/**
+	 * stop watching the files.
+	 *
+	 * @see java.lang.AutoCloseable#close()
+	 */
+	@Override
+	public void			close() throws IOException
+	{
+		this.watchService.close();
+	}
+}
+// -----------------------------------------------------------------------------
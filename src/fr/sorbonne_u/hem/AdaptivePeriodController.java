@@ -0,0 +1,241 @@
+package fr.sorbonne_u.hem;
+
+
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to provide a basic
+// household management systems as an example of a cyber-physical system.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>AdaptivePeriodController</code> chooses the period of the
+ * management cycles of the HEM from the recent readings of the electric
+ * meter.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * The controller maintains an exponentially weighted moving average of the
+ * absolute variation of the consumption between two readings, its
+ * volatility. Two urgencies between 0 and 1 are derived from the last
+ * reading: the volatility relative to {@code VOLATILITY_SCALE} times the
+ * budget, and the proximity of the consumption to the budget, which starts
+ * to count above {@code PROXIMITY_START} times the budget. The period is
+ * interpolated geometrically between the maximal period, for an urgency of
+ * 0, and the minimal one, for an urgency of 1, using the largest of the two
+ * urgencies.
+ * </p>
+ * <p>
+ * The period drops at once when the urgency rises, so that transients are
+ * followed closely, but it grows by at most a factor {@code MAX_GROWTH} per
+ * cycle, so that a single quiet reading does not stop the polling in the
+ * middle of a transient.
+ * </p>
+ * <p>
+ * The controller is not thread safe: it is meant to be used by the
+ * management cycles, which are executed one at a time.
+ * </p>
+ * 
+ * <p><strong>Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code minPeriod > 0 && minPeriod <= maxPeriod}
+ * invariant	{@code period >= minPeriod && period <= maxPeriod}
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-17</p>
+ * 
+ *  @authors	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+ *              <a href="maedeh.daemi@etu.sorbonne-universite.fr">DAEMI Maedeh</a>
+ */
+public class			AdaptivePeriodController
+{
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	/** weight of the last variation in the moving average of the
+	 *  volatility.															*/
+	public static final double	SMOOTHING = 0.3;
+	/** volatility, as a fraction of the budget, giving an urgency of 1.	*/
+	public static final double	VOLATILITY_SCALE = 0.1;
+	/** fraction of the budget above which the proximity of the consumption
+	 *  to the budget makes the period decrease.							*/
+	public static final double	PROXIMITY_START = 0.5;
+	/** maximal factor of growth of the period from one cycle to the next.	*/
+	public static final double	MAX_GROWTH = 2.0;
+
+	/** smallest period.													*/
+	protected final long		minPeriod;
+	/** largest period.														*/
+	protected final long		maxPeriod;
+	/** budget on the consumption in watts.									*/
+	protected double			budget;
+	/** moving average of the absolute variation of the consumption.		*/
+	protected double			volatility;
+	/** last reading of the consumption, NaN before the first one.			*/
+	protected double			lastConsumption;
+	/** period chosen after the last reading.								*/
+	protected long				period;
+
+	// -------------------------------------------------------------------------
+	// Constructors
+	// -------------------------------------------------------------------------
+
+	/**
+	 * create a controller which starts at the minimal period, as nothing is
+	 * known yet about the house.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code minPeriod > 0 && minPeriod <= maxPeriod}
+	 * pre	{@code budget > 0.0}
+	 * post	{@code getPeriod() == minPeriod}
+	 * </pre>
+	 *
+	 * @param minPeriod	smallest period, in any time unit.
+	 * @param maxPeriod	largest period, in the same time unit.
+	 * @param budget	budget on the consumption in watts.
+	 */
+	public				AdaptivePeriodController(
+		long minPeriod,
+		long maxPeriod,
+		double budget
+		)
+	{
+		assert	minPeriod > 0 && minPeriod <= maxPeriod;
+		assert	budget > 0.0;
+
+		this.minPeriod = minPeriod;
+		this.maxPeriod = maxPeriod;
+		this.budget = budget;
+		this.volatility = 0.0;
+		this.lastConsumption = Double.NaN;
+		this.period = minPeriod;
+	}
+
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * return the smallest period.
+	 *
+	 * @return	the smallest period.
+	 */
+	public long			getMinPeriod()
+	{
+		return this.minPeriod;
+	}
+
+	/**
+	 * return the largest period.
+	 *
+	 * @return	the largest period.
+	 */
+	public long			getMaxPeriod()
+	{
+		return this.maxPeriod;
+	}
+
+	/**
+	 * return the period chosen after the last reading.
+	 *
+	 * @return	the period chosen after the last reading.
+	 */
+	public long			getPeriod()
+	{
+		return this.period;
+	}
+
+	/**
+	 * set the budget on the consumption.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code budget > 0.0}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param budget	budget on the consumption in watts.
+	 */
+	public void			setBudget(double budget)
+	{
+		assert	budget > 0.0;
+
+		this.budget = budget;
+	}
+
+	/**
+	 * take a reading of the consumption into account and choose the period
+	 * until the next cycle.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code consumption >= 0.0}
+	 * post	{@code return >= getMinPeriod() && return <= getMaxPeriod()}
+	 * </pre>
+	 *
+	 * @param consumption	current consumption in watts.
+	 * @return				the period until the next cycle.
+	 */
+	public long			observe(double consumption)
+	{
+		assert	consumption >= 0.0;
+
+		if (!Double.isNaN(this.lastConsumption)) {
+			this.volatility =
+				SMOOTHING*Math.abs(consumption - this.lastConsumption) +
+				(1.0 - SMOOTHING)*this.volatility;
+		}
+		this.lastConsumption = consumption;
+
+		double volatilityUrgency =
+				this.volatility/(VOLATILITY_SCALE*this.budget);
+		double proximityUrgency =
+				(consumption/this.budget - PROXIMITY_START)/
+													(1.0 - PROXIMITY_START);
+		double urgency = Math.max(0.0, Math.min(1.0,
+							Math.max(volatilityUrgency, proximityUrgency)));
+
+		double target = this.minPeriod*Math.pow(
+							((double) this.maxPeriod)/this.minPeriod,
+							1.0 - urgency);
+		target = Math.min(target, this.period*MAX_GROWTH);
+		this.period = Math.max(this.minPeriod,
+							   Math.min(this.maxPeriod, Math.round(target)));
+		return this.period;
+	}
+}
+// -----------------------------------------------------------------------------
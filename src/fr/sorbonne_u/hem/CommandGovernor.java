@@ -0,0 +1,446 @@
+package fr.sorbonne_u.hem;
+
+
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to provide a basic
+// household management systems as an example of a cyber-physical system.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>CommandGovernor</code> filters the commands decided by the
+ * control policy before the HEM sends them, to prevent the equipments from
+ * flapping between suspension and resumption under an oscillating load.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * The commands of a cycle are first coalesced per equipment: a command
+ * superseded by a later one for the same equipment is not sent, and a
+ * suspension followed by a resumption, or the reverse, cancel each other.
+ * Then, each remaining command must pass two guards:
+ * </p>
+ * <ul>
+ * <li>a dwell time: an equipment is not suspended before it has run for
+ *   {@code minOnDwell} since its last resumption, nor resumed before it has
+ *   been suspended for {@code minOffDwell};</li>
+ * <li>a rate limit: each equipment has a bucket of {@code burst} tokens,
+ *   refilled by one token every {@code refillPeriod}, and each command sent
+ *   to it takes one token.</li>
+ * </ul>
+ * <p>
+ * The resumption of an equipment which emergency is maximal is always
+ * allowed, as it must run whatever the load. The commands which are not
+ * allowed are held, i.e. dropped for this cycle: the policy decides again
+ * from the state of the house at the next cycle.
+ * </p>
+ * <p>
+ * The governor is used by the management cycle only, which never runs
+ * concurrently with itself, except for {@code forget} which can be called
+ * by any thread.
+ * </p>
+ * 
+ * <p><strong>Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code minOnDwell >= 0 && minOffDwell >= 0}
+ * invariant	{@code burst > 0 && refillPeriod > 0}
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-17</p>
+ * 
+ *  @authors	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+ *              <a href="maedeh.daemi@etu.sorbonne-universite.fr">DAEMI Maedeh</a>
+ */
+public class			CommandGovernor
+{
+	// -------------------------------------------------------------------------
+	// Inner classes
+	// -------------------------------------------------------------------------
+
+	/**
+	 * The class <code>Device</code> holds what the governor knows of the
+	 * commands sent to one equipment.
+	 */
+	protected static class	Device
+	{
+		/** time of the last suspension sent, in nanoseconds.				*/
+		protected long		lastSuspension;
+		/** time of the last resumption sent, in nanoseconds.				*/
+		protected long		lastResumption;
+		/** true if a suspension or resumption has been sent.				*/
+		protected boolean	commanded;
+		/** true if the last suspension or resumption sent was a
+		 *  suspension.														*/
+		protected boolean	suspended;
+		/** tokens left in the bucket, scaled by {@code refillPeriod}.		*/
+		protected double	tokens;
+		/** time of the last refill of the bucket, in nanoseconds.			*/
+		protected long		refilled;
+	}
+
+	/**
+	 * The class <code>Verdict</code> gives the commands of a cycle which can
+	 * be sent and the ones which are held.
+	 */
+	public static class		Verdict
+	{
+		/** commands to be sent, in the order of the decision.				*/
+		protected final List<ControlCommand>	allowed = new ArrayList<>();
+		/** commands held, in the reverse order of the decision.			*/
+		protected final List<ControlCommand>	held = new ArrayList<>();
+
+		/**
+		 * return the commands to be sent, in the order of the decision.
+		 *
+		 * @return	the commands to be sent.
+		 */
+		public List<ControlCommand>	allowed()
+		{
+			return this.allowed;
+		}
+
+		/**
+		 * return the commands held, in the reverse order of the decision,
+		 * so that a policy undoing them in this order gets back the state
+		 * it was in before the decision.
+		 *
+		 * @return	the commands held.
+		 */
+		public List<ControlCommand>	held()
+		{
+			return this.held;
+		}
+
+		/**
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String		toString()
+		{
+			return "Verdict[allowed = " + this.allowed +
+				   ", held = " + this.held + "]";
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	/** minimal time between a resumption and a suspension in nanoseconds.	*/
+	protected final long				minOnDwell;
+	/** minimal time between a suspension and a resumption in nanoseconds.	*/
+	protected final long				minOffDwell;
+	/** maximal number of commands sent at once to an equipment.			*/
+	protected final int					burst;
+	/** time to get back one token in nanoseconds.							*/
+	protected final long				refillPeriod;
+	/** devices by identifier of equipment.								*/
+	protected final Map<String,Device>	devices = new ConcurrentHashMap<>();
+
+	/** number of commands allowed.										*/
+	protected long						allowedCommands;
+	/** number of commands held because superseded in their cycle.			*/
+	protected long						coalescedCommands;
+	/** number of commands held by the dwell times.						*/
+	protected long						dwellHeldCommands;
+	/** number of commands held by the rate limit.							*/
+	protected long						rateHeldCommands;
+
+	// -------------------------------------------------------------------------
+	// Constructors
+	// -------------------------------------------------------------------------
+
+	/**
+	 * create a command governor.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code minOnDwell >= 0 && minOffDwell >= 0}
+	 * pre	{@code burst > 0 && refillPeriod > 0}
+	 * pre	{@code unit != null}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param minOnDwell	minimal time between a resumption and a suspension of an equipment.
+	 * @param minOffDwell	minimal time between a suspension and a resumption of an equipment.
+	 * @param burst			maximal number of commands sent at once to an equipment.
+	 * @param refillPeriod	time to get back the right to send one more command to an equipment.
+	 * @param unit			time unit of the durations.
+	 */
+	public				CommandGovernor(
+		long minOnDwell,
+		long minOffDwell,
+		int burst,
+		long refillPeriod,
+		TimeUnit unit
+		)
+	{
+		assert	minOnDwell >= 0 && minOffDwell >= 0;
+		assert	burst > 0 && refillPeriod > 0;
+		assert	unit != null;
+
+		this.minOnDwell = unit.toNanos(minOnDwell);
+		this.minOffDwell = unit.toNanos(minOffDwell);
+		this.burst = burst;
+		this.refillPeriod = unit.toNanos(refillPeriod);
+	}
+
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * coalesce the commands decided for a cycle and sort out the ones which
+	 * can be sent from the ones which are held; the tokens of the commands
+	 * allowed are taken.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code state != null && decided != null}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @param state		state of the house from which the commands were decided.
+	 * @param decided	commands decided by the policy, in their order.
+	 * @param now		current time in nanoseconds, as given by {@code System.nanoTime()}.
+	 * @return			the commands to be sent and the ones held.
+	 */
+	public Verdict		filter(
+		HouseState state,
+		List<ControlCommand> decided,
+		long now
+		)
+	{
+		assert	state != null && decided != null;
+
+		Verdict v = new Verdict();
+		if (decided.isEmpty()) {
+			return v;
+		}
+
+		// the last command of each equipment supersedes the previous ones,
+		// and opposite suspensions and resumptions cancel each other
+		Map<String,ControlCommand> last = new LinkedHashMap<>();
+		Map<String,Integer> balance = new HashMap<>();
+		List<ControlCommand> superseded = new ArrayList<>();
+		for (ControlCommand c : decided) {
+			ControlCommand previous = last.put(c.getUid(), c);
+			if (previous != null) {
+				superseded.add(previous);
+			}
+			int delta = c.getKind() == ControlCommand.Kind.SUSPEND ? 1
+					  : (c.getKind() == ControlCommand.Kind.RESUME ? -1 : 0);
+			balance.merge(c.getUid(), delta, Integer::sum);
+		}
+		Map<String,Double> emergencies = new HashMap<>();
+		for (HouseState.EquipmentState e : state.getEquipments()) {
+			emergencies.put(e.getUid(), e.getSnapshot().emergency());
+		}
+
+		List<ControlCommand> held = new ArrayList<>(superseded);
+		this.coalescedCommands += superseded.size();
+		for (ControlCommand c : last.values()) {
+			if (c.getKind() != ControlCommand.Kind.SET_MODE &&
+											balance.get(c.getUid()) == 0) {
+				// back to the state before the cycle
+				held.add(c);
+				this.coalescedCommands++;
+			} else if (!this.dwellElapsed(c, emergencies.get(c.getUid()),
+										  now)) {
+				held.add(c);
+				this.dwellHeldCommands++;
+			} else if (!this.takeToken(c, emergencies.get(c.getUid()), now)) {
+				held.add(c);
+				this.rateHeldCommands++;
+			} else {
+				v.allowed.add(c);
+				this.allowedCommands++;
+			}
+		}
+		// held commands are undone from the last decided to the first
+		for (int i = decided.size() - 1 ; i >= 0 ; i--) {
+			if (held.contains(decided.get(i))) {
+				v.held.add(decided.get(i));
+			}
+		}
+		return v;
+	}
+
+	/**
+	 * return true if the command is the resumption of an equipment which
+	 * emergency is maximal, which is never held.
+	 *
+	 * @param c			command to be tested.
+	 * @param emergency	emergency of the equipment, or null if unknown.
+	 * @return			true if the command must be sent whatever the guards.
+	 */
+	protected static boolean	isUrgent(ControlCommand c, Double emergency)
+	{
+		return c.getKind() == ControlCommand.Kind.RESUME &&
+			   emergency != null &&
+			   emergency >= LoadSheddingEngine.MAX_EMERGENCY;
+	}
+
+	/**
+	 * return true if the dwell time before the command has elapsed.
+	 *
+	 * @param c			command to be tested.
+	 * @param emergency	emergency of the equipment, or null if unknown.
+	 * @param now		current time in nanoseconds.
+	 * @return			true if the command can be sent as regards the dwell times.
+	 */
+	protected boolean	dwellElapsed(ControlCommand c, Double emergency, long now)
+	{
+		Device d = this.devices.get(c.getUid());
+		if (d == null || !d.commanded || isUrgent(c, emergency)) {
+			return true;
+		}
+		switch (c.getKind()) {
+		case SUSPEND:
+			return d.suspended || now - d.lastResumption >= this.minOnDwell;
+		case RESUME:
+			return !d.suspended || now - d.lastSuspension >= this.minOffDwell;
+		default:
+			return true;
+		}
+	}
+
+	/**
+	 * take a token from the bucket of the equipment if one is left.
+	 *
+	 * @param c			command to be sent.
+	 * @param emergency	emergency of the equipment, or null if unknown.
+	 * @param now		current time in nanoseconds.
+	 * @return			true if the command can be sent as regards the rate limit.
+	 */
+	protected boolean	takeToken(ControlCommand c, Double emergency, long now)
+	{
+		Device d = this.devices.computeIfAbsent(c.getUid(),
+												uid -> this.newDevice(now));
+		d.tokens = Math.min(this.burst,
+							d.tokens + (double) (now - d.refilled)/
+														this.refillPeriod);
+		d.refilled = now;
+		if (d.tokens >= 1.0) {
+			d.tokens -= 1.0;
+			return true;
+		} else if (isUrgent(c, emergency)) {
+			// the urgent commands do not wait, but take their token
+			d.tokens = Math.max(d.tokens - 1.0, -this.burst);
+			return true;
+		} else {
+			return false;
+		}
+	}
+
+	/**
+	 * create the device of an equipment seen for the first time, with a
+	 * full bucket.
+	 *
+	 * @param now	current time in nanoseconds.
+	 * @return		the new device.
+	 */
+	protected Device	newDevice(long now)
+	{
+		Device d = new Device();
+		d.tokens = this.burst;
+		d.refilled = now;
+		return d;
+	}
+
+	/**
+	 * record the outcome of a command allowed by {@code filter}; the dwell
+	 * times start from the commands which succeeded.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code c != null}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param c		command sent.
+	 * @param done	true if the command succeeded.
+	 * @param now	time at which the command was sent, in nanoseconds.
+	 */
+	public void			sent(ControlCommand c, boolean done, long now)
+	{
+		assert	c != null;
+
+		Device d = this.devices.get(c.getUid());
+		if (!done || d == null ||
+							c.getKind() == ControlCommand.Kind.SET_MODE) {
+			return;
+		}
+		d.commanded = true;
+		d.suspended = c.getKind() == ControlCommand.Kind.SUSPEND;
+		if (d.suspended) {
+			d.lastSuspension = now;
+		} else {
+			d.lastResumption = now;
+		}
+	}
+
+	/**
+	 * forget what the governor knows of an equipment, typically when it is
+	 * unregistered.
+	 *
+	 * @param uid	unique identifier of the equipment.
+	 */
+	public void			forget(String uid)
+	{
+		this.devices.remove(uid);
+	}
+
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String		toString()
+	{
+		return "allowed = " + this.allowedCommands +
+			   ", coalesced = " + this.coalescedCommands +
+			   ", held by dwell time = " + this.dwellHeldCommands +
+			   ", held by rate limit = " + this.rateHeldCommands;
+	}
+}
+// -----------------------------------------------------------------------------
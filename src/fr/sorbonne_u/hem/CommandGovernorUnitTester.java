@@ -0,0 +1,195 @@
+package fr.sorbonne_u.hem;
+
+
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to provide a basic
+// household management systems as an example of a cyber-physical system.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import fr.sorbonne_u.interfaces.EquipmentSnapshot;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>CommandGovernorUnitTester</code> performs unit tests for
+ * the command governor.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * The governor under test holds a suspension for 10 s after a resumption
+ * and a resumption for 20 s after a suspension, and allows bursts of 2
+ * commands per equipment, refilled by one every 30 s. The times are given
+ * in seconds and converted in nanoseconds as the HEM does.
+ * </p>
+ * 
+ * <p><strong>Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	true
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-17</p>
+ * 
+ *  @authors	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+ *              <a href="maedeh.daemi@etu.sorbonne-universite.fr">DAEMI Maedeh</a>
+ */
+public class			CommandGovernorUnitTester
+{
+	/** state of the house without any equipment.							*/
+	protected static final HouseState	EMPTY =
+					new HouseState(0, 0.0, 0.0,
+								   Collections.<HouseState.EquipmentState>emptyList());
+
+	protected static CommandGovernor	governor()
+	{
+		return new CommandGovernor(10, 20, 2, 30, TimeUnit.SECONDS);
+	}
+
+	protected static long	at(long seconds)
+	{
+		return TimeUnit.SECONDS.toNanos(seconds);
+	}
+
+	/** filter the commands at the given time and record them as sent with
+	 *  success; return the verdict.										*/
+	protected static CommandGovernor.Verdict	send(
+		CommandGovernor g,
+		HouseState state,
+		long seconds,
+		ControlCommand... decided
+		)
+	{
+		CommandGovernor.Verdict v =
+						g.filter(state, Arrays.asList(decided), at(seconds));
+		for (ControlCommand c : v.allowed()) {
+			g.sent(c, true, at(seconds));
+		}
+		return v;
+	}
+
+	@Test
+	public void			coalescesTheCommandsOfACycle()
+	{
+		CommandGovernor g = governor();
+		CommandGovernor.Verdict v =
+			g.filter(EMPTY,
+					 Arrays.asList(ControlCommand.setMode("a", 1),
+								   ControlCommand.suspend("b"),
+								   ControlCommand.setMode("a", 2),
+								   ControlCommand.resume("b")),
+					 at(0));
+		assertEquals(Arrays.asList(ControlCommand.setMode("a", 2)),
+					 v.allowed());
+		// held from the last decided to the first, to be undone in order
+		assertEquals(Arrays.asList(ControlCommand.resume("b"),
+								   ControlCommand.suspend("b"),
+								   ControlCommand.setMode("a", 1)),
+					 v.held());
+	}
+
+	@Test
+	public void			holdsTheCommandsDuringTheDwellTimes()
+	{
+		CommandGovernor g = governor();
+		ControlCommand suspend = ControlCommand.suspend("a");
+		ControlCommand resume = ControlCommand.resume("a");
+		assertEquals(Arrays.asList(suspend), send(g, EMPTY, 0, suspend).allowed());
+		assertEquals(Arrays.asList(resume), send(g, EMPTY, 10, resume).held());
+		assertEquals(Arrays.asList(resume), send(g, EMPTY, 20, resume).allowed());
+		assertEquals(Arrays.asList(suspend), send(g, EMPTY, 25, suspend).held());
+		// after the dwell time, once a token is back
+		assertEquals(Arrays.asList(suspend), send(g, EMPTY, 35, suspend).allowed());
+	}
+
+	@Test
+	public void			failedCommandsDoNotStartTheDwellTimes()
+	{
+		CommandGovernor g = governor();
+		ControlCommand suspend = ControlCommand.suspend("a");
+		ControlCommand resume = ControlCommand.resume("a");
+		assertEquals(Arrays.asList(suspend),
+					 g.filter(EMPTY, Arrays.asList(suspend), at(0)).allowed());
+		g.sent(suspend, false, at(0));
+		assertEquals(Arrays.asList(resume), send(g, EMPTY, 1, resume).allowed());
+	}
+
+	@Test
+	public void			limitsTheRateOfTheCommands()
+	{
+		CommandGovernor g = governor();
+		assertEquals(1, send(g, EMPTY, 0, ControlCommand.setMode("a", 1))
+														.allowed().size());
+		assertEquals(1, send(g, EMPTY, 0, ControlCommand.setMode("a", 2))
+														.allowed().size());
+		assertEquals(1, send(g, EMPTY, 1, ControlCommand.setMode("a", 1))
+														.held().size());
+		// the buckets are per equipment
+		assertEquals(1, send(g, EMPTY, 1, ControlCommand.setMode("b", 1))
+														.allowed().size());
+		assertEquals(1, send(g, EMPTY, 30, ControlCommand.setMode("a", 1))
+														.allowed().size());
+		assertEquals(1, send(g, EMPTY, 31, ControlCommand.setMode("a", 2))
+														.held().size());
+
+		g.forget("a");
+		assertEquals(1, send(g, EMPTY, 31, ControlCommand.setMode("a", 2))
+														.allowed().size());
+	}
+
+	@Test
+	public void			urgentResumptionsAreNeverHeld()
+	{
+		CommandGovernor g = governor();
+		List<HouseState.EquipmentState> equipments =
+			Arrays.asList(new HouseState.EquipmentState(
+							"a", true, 1000.0,
+							new EquipmentSnapshot(true, 1, 1, true,
+											LoadSheddingEngine.MAX_EMERGENCY)));
+		HouseState urgent = new HouseState(1, 1000.0, 0.0, equipments);
+		ControlCommand suspend = ControlCommand.suspend("a");
+		ControlCommand resume = ControlCommand.resume("a");
+		send(g, EMPTY, 0, suspend);
+		send(g, EMPTY, 0, ControlCommand.setMode("a", 1));
+		// within the dwell time and with an empty bucket
+		assertTrue(send(g, EMPTY, 1, resume).held().contains(resume));
+		assertEquals(Arrays.asList(resume), send(g, urgent, 1, resume).allowed());
+	}
+}
+// -----------------------------------------------------------------------------
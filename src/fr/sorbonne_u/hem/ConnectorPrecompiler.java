@@ -0,0 +1,190 @@
+package fr.sorbonne_u.hem;
+
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to provide a basic
+// household management systems as an example of a cyber-physical system.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import fr.sorbonne_u.treatements.AdapterConnector;
+import fr.sorbonne_u.treatements.ConnectorCache;
+import fr.sorbonne_u.treatements.ConnectorGenerator;
+import fr.sorbonne_u.treatements.StreamParseXML;
+import fr.sorbonne_u.treatements.XML;
+import javassist.CtClass;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>ConnectorPrecompiler</code> compiles ahead of time the
+ * connector classes of a directory of control adapter descriptions.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * The precompiler generates, for each adapter description of the directory,
+ * the connector class that the HEM would generate when the equipment
+ * registers, and writes it as a class file in the output directory, with
+ * the manifest {@code ConnectorCache.MANIFEST} mapping the identifier of
+ * each equipment to the generation key of its description, to the
+ * signature of the interfaces its connector was generated against and to
+ * the name of its connector class. Once the output directory, or a jar made from it, is on
+ * the class path of the HEM, the registration of these equipments loads
+ * their precompiled connector and javassist is only used for the unknown
+ * or modified descriptions and interfaces.
+ * </p>
+ * <p>
+ * Usage: {@code java fr.sorbonne_u.hem.ConnectorPrecompiler <adapter directory> <output directory>}
+ * </p>
+ * 
+ * <p><strong>Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	true
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-17</p>
+ * 
+ *  @authors	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+ *              <a href="maedeh.daemi@etu.sorbonne-universite.fr">DAEMI Maedeh</a>
+ */
+public class			ConnectorPrecompiler
+{
+	/**
+	 * compile the connector classes of the adapter descriptions found in
+	 * {@code adapters} into {@code output} and return the manifest written.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code Files.isDirectory(adapters)}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @param adapters		directory of the adapter descriptions.
+	 * @param output		directory receiving the class files and the manifest.
+	 * @return				the manifest of the precompiled connector classes.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	public static Properties	precompile(Path adapters, Path output)
+	throws Exception
+	{
+		assert	Files.isDirectory(adapters);
+
+		List<Path> files = new ArrayList<>();
+		try (DirectoryStream<Path> ds =
+								Files.newDirectoryStream(adapters, "*.xml")) {
+			for (Path f : ds) {
+				files.add(f);
+			}
+		}
+		Collections.sort(files);
+
+		Files.createDirectories(output);
+		Properties manifest = new Properties();
+		// descriptions with the same generation key share their connector
+		// class, as the equipments of a fleet do
+		Map<String,String> generated = new HashMap<>();
+		for (Path f : files) {
+			byte[] content = Files.readAllBytes(f);
+			XML adapter = StreamParseXML.getXmlElements(content);
+			if (adapter.getUid().isEmpty()) {
+				// the HEM finds the precompiled connectors by identifier
+				System.out.println(f + ": no uid, skipped.");
+				continue;
+			}
+			String key = ConnectorCache.generationKey(adapter);
+			Class<?> controlInterface = HEM.controlInterface(adapter.getType());
+			Class<?> offered = Class.forName(adapter.getOffered());
+			String signature =
+				ConnectorCache.signature(AdapterConnector.class, offered,
+										 controlInterface).substring(0, 16);
+			String className = generated.get(key);
+			if (className == null) {
+				className = ConnectorCache.precompiledClassName(
+									HEM.GENERATED_CONNECTOR_PACKAGE, key);
+				CtClass c = ConnectorGenerator.makeConnectorCtClass(
+									className,
+									AdapterConnector.class,
+									controlInterface,
+									offered,
+									adapter.getMethods(),
+									adapter.getParametersOfOperations(),
+									adapter.getAttributes(),
+									adapter.getPackages());
+				c.writeFile(output.toString());
+				c.detach();
+				generated.put(key, className);
+			}
+			manifest.setProperty(adapter.getUid(),
+								 key + " " + signature + " " + className);
+			System.out.println(f + ": " + adapter.getUid() + " -> " +
+							   className);
+		}
+
+		Path m = output.resolve(ConnectorCache.MANIFEST);
+		Files.createDirectories(m.getParent());
+		try (OutputStream out = Files.newOutputStream(m)) {
+			manifest.store(out, "precompiled connectors: uid = hash signature class");
+		}
+		return manifest;
+	}
+
+	public static void	main(String[] args)
+	{
+		if (args.length != 2) {
+			System.err.println("usage: ConnectorPrecompiler <adapter directory> " +
+							   "<output directory>");
+			System.exit(1);
+		}
+		try {
+			precompile(Paths.get(args[0]), Paths.get(args[1]));
+		} catch (IOException e) {
+			System.err.println("cannot read or write the files: " + e);
+			System.exit(1);
+		} catch (Exception e) {
+			e.printStackTrace();
+			System.exit(1);
+		}
+	}
+}
+// -----------------------------------------------------------------------------
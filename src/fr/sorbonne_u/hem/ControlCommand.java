@@ -0,0 +1,226 @@
+package fr.sorbonne_u.hem;
+
+
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to provide a basic
+// household management systems as an example of a cyber-physical system.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+import java.io.Serializable;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>ControlCommand</code> represents a command decided by a
+ * control policy for one equipment, to be sent by the HEM.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * A command is immutable; two commands are equal when they have the same
+ * kind, equipment and argument, so that the commands decided by different
+ * policies or recorded in a journal can be compared.
+ * </p>
+ * 
+ * <p><strong>Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code uid != null && kind != null}
+ * invariant	{@code kind != Kind.SET_MODE || argument > 0}
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-17</p>
+ * 
+ *  @authors	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+ *              <a href="maedeh.daemi@etu.sorbonne-universite.fr">DAEMI Maedeh</a>
+ */
+public final class		ControlCommand
+implements	Serializable
+{
+	/**
+	 * The enumeration <code>Kind</code> lists the commands a policy can
+	 * decide.
+	 *
+	 * <p>Created on : 2026-10-17</p>
+	 * 
+	 *  @authors	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+	 *              <a href="maedeh.daemi@etu.sorbonne-universite.fr">DAEMI Maedeh</a>
+	 */
+	public static enum	Kind
+	{
+		/** suspend a suspendable equipment.								*/
+		SUSPEND,
+		/** resume a suspended equipment.									*/
+		RESUME,
+		/** set the mode of an equipment to the argument.					*/
+		SET_MODE
+	}
+
+	private static final long serialVersionUID = 1L;
+
+	/** unique identifier of the equipment.									*/
+	protected final String	uid;
+	/** kind of command.													*/
+	protected final Kind	kind;
+	/** argument of the command, the mode for {@code SET_MODE}, else 0.		*/
+	protected final int		argument;
+
+	/**
+	 * create a command.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code uid != null && kind != null}
+	 * pre	{@code kind != Kind.SET_MODE || argument > 0}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param uid		unique identifier of the equipment.
+	 * @param kind		kind of command.
+	 * @param argument	argument of the command, the mode for {@code SET_MODE}, else 0.
+	 */
+	public				ControlCommand(String uid, Kind kind, int argument)
+	{
+		assert	uid != null && kind != null;
+		assert	kind != Kind.SET_MODE || argument > 0;
+
+		this.uid = uid;
+		this.kind = kind;
+		this.argument = argument;
+	}
+
+	/**
+	 * return a command suspending an equipment.
+	 *
+	 * @param uid	unique identifier of the equipment.
+	 * @return		the command.
+	 */
+	public static ControlCommand	suspend(String uid)
+	{
+		return new ControlCommand(uid, Kind.SUSPEND, 0);
+	}
+
+	/**
+	 * return a command resuming an equipment.
+	 *
+	 * @param uid	unique identifier of the equipment.
+	 * @return		the command.
+	 */
+	public static ControlCommand	resume(String uid)
+	{
+		return new ControlCommand(uid, Kind.RESUME, 0);
+	}
+
+	/**
+	 * return a command setting the mode of an equipment.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code mode > 0}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @param uid	unique identifier of the equipment.
+	 * @param mode	mode to be set.
+	 * @return		the command.
+	 */
+	public static ControlCommand	setMode(String uid, int mode)
+	{
+		return new ControlCommand(uid, Kind.SET_MODE, mode);
+	}
+
+	/**
+	 * return the unique identifier of the equipment.
+	 *
+	 * @return	the unique identifier of the equipment.
+	 */
+	public String		getUid()
+	{
+		return this.uid;
+	}
+
+	/**
+	 * return the kind of command.
+	 *
+	 * @return	the kind of command.
+	 */
+	public Kind			getKind()
+	{
+		return this.kind;
+	}
+
+	/**
+	 * return the argument of the command.
+	 *
+	 * @return	the mode for {@code SET_MODE}, else 0.
+	 */
+	public int			getArgument()
+	{
+		return this.argument;
+	}
+
+	/**
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean		equals(Object o)
+	{
+		if (!(o instanceof ControlCommand)) {
+			return false;
+		}
+		ControlCommand c = (ControlCommand) o;
+		return this.kind == c.kind && this.argument == c.argument &&
+			   this.uid.equals(c.uid);
+	}
+
+	/**
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int			hashCode()
+	{
+		return (this.uid.hashCode()*31 + this.kind.ordinal())*31 +
+			   this.argument;
+	}
+
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String		toString()
+	{
+		return this.kind == Kind.SET_MODE ?
+					this.kind + "(" + this.uid + ", " + this.argument + ")"
+				:	this.kind + "(" + this.uid + ")";
+	}
+}
+// -----------------------------------------------------------------------------
@@ -0,0 +1,124 @@
+package fr.sorbonne_u.hem;
+
+
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to provide a basic
+// household management systems as an example of a cyber-physical system.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+import java.util.List;
+
+// -----------------------------------------------------------------------------
+/**
+ * The interface <code>ControlPolicy</code> defines the control policies the
+ * HEM uses to decide, at each management cycle, the commands to be sent to
+ * the equipments from the state of the house.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * A policy is called by one thread at a time, but not always the same: the
+ * HEM calls it from its management cycles once it is installed, and from the
+ * thread installing it before, to warm it up on recent states of the house
+ * which commands are discarded. As the commands decided during the warm
+ * up are never sent, the HEM calls {@code reset} before installing the
+ * policy: a policy which keeps decision state between two calls, such as
+ * the equipments it stepped down, must forget it there, so that the warm
+ * up does not change its later decisions.
+ * </p>
+ * <p>
+ * Policies can be installed in the HEM while it runs, replayed offline on a
+ * journal and evaluated in the MIL simulation.
+ * </p>
+ * 
+ * <p><strong>Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	true
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-17</p>
+ * 
+ *  @authors	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+ *              <a href="maedeh.daemi@etu.sorbonne-universite.fr">DAEMI Maedeh</a>
+ */
+public interface		ControlPolicy
+{
+	/**
+	 * decide the commands to be sent to the equipments given the state of
+	 * the house, in the order in which they must be sent.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code state != null}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @param state	state of the house during the current management cycle.
+	 * @return		the commands to be sent, possibly empty.
+	 */
+	public List<ControlCommand>	decide(HouseState state);
+
+	/**
+	 * signal that a command decided by the last call to {@code decide}
+	 * could not be performed; does nothing by default.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code c != null}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param c	the command which failed.
+	 */
+	public default void	commandFailed(ControlCommand c)
+	{
+	}
+
+	/**
+	 * forget the decision state kept from the previous calls to
+	 * {@code decide}, so that the next decision is the one of a new instance
+	 * of the policy; does nothing by default.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	true		// no precondition.
+	 * post	true		// no postcondition.
+	 * </pre>
+	 */
+	public default void	reset()
+	{
+	}
+}
+// -----------------------------------------------------------------------------
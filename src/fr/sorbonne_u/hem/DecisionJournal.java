@@ -0,0 +1,794 @@
+package fr.sorbonne_u.hem;
+
+
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to provide a basic
+// household management systems as an example of a cyber-physical system.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import fr.sorbonne_u.interfaces.EquipmentSnapshot;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>DecisionJournal</code> implements an append-only binary
+ * journal of the decisions of the HEM, in a memory-mapped file of fixed
+ * size records.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * The file starts with a header record holding {@code MAGIC}, followed by
+ * records of {@code RECORD_SIZE} bytes, each one being:
+ * </p>
+ * <ul>
+ * <li>a {@code METER} record, starting a management cycle, with the
+ *   consumption and the production read on the electric meter;</li>
+ * <li>a {@code STATE} record with the state of an equipment read during the
+ *   cycle, its emergency and its nominal power;</li>
+ * <li>a {@code COMMAND} record with a command sent to an equipment, its
+ *   argument and whether it succeeded, or was still in progress at the end
+ *   of the cycle.</li>
+ * </ul>
+ * <p>
+ * The layout of a record is: time in milliseconds since the epoch (long, at
+ * 0), cycle number (long, at 8), kind (byte, at 16), flags or command code
+ * (byte, at 17), mode (short, at 18), argument (int, at 20), two values
+ * (doubles, at 24 and 32) and the unique identifier of the equipment (at
+ * most {@code UID_SIZE} ASCII bytes, zero padded, at 40). The kind is
+ * written last, and a zero kind marks the end of the journal, as the file is
+ * extended by zero-filled chunks of {@code CHUNK_RECORDS} records.
+ * </p>
+ * <p>
+ * The journal has a single writer, the management cycle of the HEM, which
+ * never runs concurrently with itself: records are appended without locks
+ * by absolute writes in the mapped buffer, without allocation unless a new
+ * chunk has to be mapped. Appending never throws: when the file cannot be
+ * extended, the journal stops and keeps the cause, so that a full disk does
+ * not stop the management of the house. Reading is done by {@code Reader}, which maps the
+ * whole file and exposes the records through a reusable cursor.
+ * </p>
+ * 
+ * <p><strong>Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code position >= RECORD_SIZE && position % RECORD_SIZE == 0}
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-17</p>
+ * 
+ *  @authors	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+ *              <a href="maedeh.daemi@etu.sorbonne-universite.fr">DAEMI Maedeh</a>
+ */
+public class			DecisionJournal
+implements	AutoCloseable
+{
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	/** size of a record in bytes.											*/
+	public static final int		RECORD_SIZE = 64;
+	/** largest number of bytes of a unique identifier.						*/
+	public static final int		UID_SIZE = RECORD_SIZE - 40;
+	/** number of records by which the file is extended when full.			*/
+	public static final int		CHUNK_RECORDS = 16384;
+	/** value of the first long of the header record.						*/
+	public static final long	MAGIC = 0x48454d4a524e4c31L;	// "HEMJRNL1"
+
+	/** kind of the records holding the readings of the electric meter.	*/
+	public static final byte	METER = 1;
+	/** kind of the records holding the state of an equipment.				*/
+	public static final byte	STATE = 2;
+	/** kind of the records holding a command sent to an equipment.		*/
+	public static final byte	COMMAND = 3;
+
+	/** flag of the state records: the equipment is on.						*/
+	public static final byte	ON = 1;
+	/** flag of the state records: the equipment is suspended.				*/
+	public static final byte	SUSPENDED = 2;
+	/** flag of the state records: the equipment can be suspended.			*/
+	public static final byte	SUSPENDABLE = 4;
+	/** flag of the command records: the command succeeded.				*/
+	public static final byte	DONE = (byte) 0x80;
+	/** flag of the command records: the command missed the deadline of
+	 *  the cycle while in progress, its outcome is unknown.				*/
+	public static final byte	PENDING = 0x40;
+
+	/**
+	 * The enumeration <code>Command</code> lists the commands recorded in
+	 * the journal; the code written in the records is the ordinal plus 1.
+	 *
+	 * <p>Created on : 2026-10-17</p>
+	 * 
+	 *  @authors	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+	 *              <a href="maedeh.daemi@etu.sorbonne-universite.fr">DAEMI Maedeh</a>
+	 */
+	public static enum	Command
+	{
+		/** suspension of an equipment.										*/
+		SUSPEND,
+		/** resumption of an equipment.										*/
+		RESUME,
+		/** change of the mode of an equipment, the mode being the
+		 *  argument.														*/
+		SET_MODE,
+		/** postponement of the program of an equipment, the argument
+		 *  being the delay in seconds.										*/
+		POSTPONE
+	}
+
+	/** commands indexed by their code minus 1.							*/
+	protected static final Command[]	COMMANDS = Command.values();
+
+	/** channel on the journal file.										*/
+	protected final FileChannel	channel;
+	/** mapped chunk of the file where records are appended.				*/
+	protected MappedByteBuffer	chunk;
+	/** position in the file of the first byte of {@code chunk}.			*/
+	protected long				chunkStart;
+	/** position in the file of the next record.							*/
+	protected long				position;
+	/** cause of the failure which stopped the journal, null if none.		*/
+	protected IOException		failure;
+
+	// -------------------------------------------------------------------------
+	// Constructors
+	// -------------------------------------------------------------------------
+
+	/**
+	 * open the journal in {@code file}, creating it if it does not exist;
+	 * new records are appended after the existing ones.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code file != null}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param file			path of the journal file.
+	 * @throws IOException	if the file cannot be opened or is not a journal.
+	 */
+	public				DecisionJournal(Path file) throws IOException
+	{
+		assert	file != null;
+
+		this.channel = FileChannel.open(file, StandardOpenOption.CREATE,
+										StandardOpenOption.READ,
+										StandardOpenOption.WRITE);
+		long size = this.channel.size();
+		if (size == 0) {
+			this.map(0);
+			this.chunk.putLong(0, MAGIC);
+			this.position = RECORD_SIZE;
+		} else {
+			if (size % RECORD_SIZE != 0) {
+				this.channel.close();
+				throw new IOException(file + " is not a decision journal.");
+			}
+			// binary search of the end in the zero-filled tail
+			MappedByteBuffer all =
+					this.channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			if (all.getLong(0) != MAGIC) {
+				this.channel.close();
+				throw new IOException(file + " is not a decision journal.");
+			}
+			long low = 1;
+			long high = size/RECORD_SIZE;
+			while (low < high) {
+				long mid = (low + high) >>> 1;
+				if (all.get((int) (mid*RECORD_SIZE + 16)) != 0) {
+					low = mid + 1;
+				} else {
+					high = mid;
+				}
+			}
+			this.position = low*RECORD_SIZE;
+			this.map(this.position);
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * map a new chunk starting at {@code start}, extending the file.
+	 *
+	 * @param start			position in the file of the chunk.
+	 * @throws IOException	if the file cannot be mapped.
+	 */
+	protected void		map(long start) throws IOException
+	{
+		this.chunk = this.channel.map(FileChannel.MapMode.READ_WRITE, start,
+									  ((long) CHUNK_RECORDS)*RECORD_SIZE);
+		this.chunkStart = start;
+	}
+
+	/**
+	 * return the cause of the failure which stopped the journal.
+	 *
+	 * @return	the cause of the failure which stopped the journal, null if none.
+	 */
+	public IOException	getFailure()
+	{
+		return this.failure;
+	}
+
+	/**
+	 * return the offset in {@code chunk} of a new record, mapping a new
+	 * chunk if needed.
+	 *
+	 * @return	the offset of the new record in {@code chunk}, -1 if the journal is stopped.
+	 */
+	protected int		next()
+	{
+		if (this.failure != null) {
+			return -1;
+		}
+		if (this.position - this.chunkStart >= this.chunk.capacity()) {
+			try {
+				this.map(this.position);
+			} catch (IOException e) {
+				this.failure = e;
+				return -1;
+			}
+		}
+		int offset = (int) (this.position - this.chunkStart);
+		this.position += RECORD_SIZE;
+		return offset;
+	}
+
+	/**
+	 * write the common part of a record and its unique identifier, except
+	 * its kind.
+	 *
+	 * @param offset	offset of the record in {@code chunk}.
+	 * @param cycle		number of the management cycle.
+	 * @param uid		unique identifier of the equipment or null.
+	 */
+	protected void		header(int offset, long cycle, String uid)
+	{
+		this.chunk.putLong(offset, System.currentTimeMillis());
+		this.chunk.putLong(offset + 8, cycle);
+		int n = uid == null ? 0 : Math.min(uid.length(), UID_SIZE);
+		for (int i = 0 ; i < UID_SIZE ; i++) {
+			this.chunk.put(offset + 40 + i, i < n ? (byte) uid.charAt(i) : 0);
+		}
+	}
+
+	/**
+	 * append the readings of the electric meter starting a management
+	 * cycle.
+	 *
+	 * @param cycle			number of the management cycle.
+	 * @param consumption	consumption read in watts.
+	 * @param production	production read in watts.
+	 */
+	public void			meter(long cycle, double consumption, double production)
+	{
+		int offset = this.next();
+		if (offset < 0) {
+			return;
+		}
+		this.header(offset, cycle, null);
+		this.chunk.put(offset + 17, (byte) 0);
+		this.chunk.putShort(offset + 18, (short) 0);
+		this.chunk.putInt(offset + 20, 0);
+		this.chunk.putDouble(offset + 24, consumption);
+		this.chunk.putDouble(offset + 32, production);
+		this.chunk.put(offset + 16, METER);
+	}
+
+	/**
+	 * append the state of an equipment read during a management cycle.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code uid != null && s != null}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param cycle			number of the management cycle.
+	 * @param uid			unique identifier of the equipment.
+	 * @param s				state of the equipment.
+	 * @param suspendable	true if the equipment can be suspended.
+	 * @param nominalPower	nominal power of the equipment in watts.
+	 */
+	public void			state(
+		long cycle,
+		String uid,
+		EquipmentSnapshot s,
+		boolean suspendable,
+		double nominalPower
+		)
+	{
+		assert	uid != null && s != null;
+
+		int offset = this.next();
+		if (offset < 0) {
+			return;
+		}
+		this.header(offset, cycle, uid);
+		this.chunk.put(offset + 17,
+					   (byte) ((s.on() ? ON : 0) |
+							   (s.suspended() ? SUSPENDED : 0) |
+							   (suspendable ? SUSPENDABLE : 0)));
+		this.chunk.putShort(offset + 18, (short) s.currentMode());
+		this.chunk.putInt(offset + 20, s.maxMode());
+		this.chunk.putDouble(offset + 24, s.emergency());
+		this.chunk.putDouble(offset + 32, nominalPower);
+		this.chunk.put(offset + 16, STATE);
+	}
+
+	/**
+	 * append a command sent to an equipment during a management cycle.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code uid != null && command != null}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param cycle			number of the management cycle.
+	 * @param uid			unique identifier of the equipment.
+	 * @param command		command sent.
+	 * @param argument		argument of the command, 0 if none.
+	 * @param done			true if the command succeeded.
+	 */
+	public void			command(
+		long cycle,
+		String uid,
+		Command command,
+		int argument,
+		boolean done
+		)
+	{
+		this.command(cycle, uid, command, argument, done ? DONE : 0);
+	}
+
+	/**
+	 * append a command sent to an equipment during a management cycle with
+	 * the given outcome flags.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code uid != null && command != null}
+	 * pre	{@code (flags & ~(DONE | PENDING)) == 0}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param cycle			number of the management cycle.
+	 * @param uid			unique identifier of the equipment.
+	 * @param command		command sent.
+	 * @param argument		argument of the command, 0 if none.
+	 * @param flags			{@code DONE}, {@code PENDING} or 0 for a failed command.
+	 */
+	protected void		command(
+		long cycle,
+		String uid,
+		Command command,
+		int argument,
+		int flags
+		)
+	{
+		assert	uid != null && command != null;
+		assert	(flags & ~(DONE | PENDING)) == 0;
+
+		int offset = this.next();
+		if (offset < 0) {
+			return;
+		}
+		this.header(offset, cycle, uid);
+		this.chunk.put(offset + 17, (byte) ((command.ordinal() + 1) | flags));
+		this.chunk.putShort(offset + 18, (short) 0);
+		this.chunk.putInt(offset + 20, argument);
+		this.chunk.putDouble(offset + 24, 0.0);
+		this.chunk.putDouble(offset + 32, 0.0);
+		this.chunk.put(offset + 16, COMMAND);
+	}
+
+	/**
+	 * append a command decided by the control policy and sent to an
+	 * equipment during a management cycle.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code c != null}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param cycle	number of the management cycle.
+	 * @param c		command sent.
+	 * @param done	true if the command succeeded.
+	 */
+	public void			command(long cycle, ControlCommand c, boolean done)
+	{
+		assert	c != null;
+
+		this.command(cycle, c.getUid(), commandOf(c), c.getArgument(),
+					 done ? DONE : 0);
+	}
+
+	/**
+	 * append a command decided by the control policy which missed the
+	 * deadline of the management cycle while in progress, so that its
+	 * outcome is unknown.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code c != null}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param cycle	number of the management cycle.
+	 * @param c		command sent.
+	 */
+	public void			pending(long cycle, ControlCommand c)
+	{
+		assert	c != null;
+
+		this.command(cycle, c.getUid(), commandOf(c), c.getArgument(),
+					 PENDING);
+	}
+
+	/**
+	 * return the journal command of a command decided by a control policy.
+	 *
+	 * @param c	command decided by a control policy.
+	 * @return	the corresponding journal command.
+	 */
+	protected static Command	commandOf(ControlCommand c)
+	{
+		switch (c.getKind()) {
+		case SUSPEND:
+			return Command.SUSPEND;
+		case RESUME:
+			return Command.RESUME;
+		default:
+			return Command.SET_MODE;
+		}
+	}
+
+	/**
+	 * force the records appended so far to the storage device.
+	 */
+	public void			force()
+	{
+		this.chunk.force();
+	}
+
+	/**
+	 * force the records to the storage device and close the journal; the
+	 * zero-filled tail of the last chunk is kept and overwritten when the
+	 * journal is reopened.
+	 *
+	 * @see java.lang.AutoCloseable#close()
+	 */
+	@Override
+	public void			close() throws IOException
+	{
+		this.force();
+		this.channel.close();
+	}
+
+	// -------------------------------------------------------------------------
+	// Reading
+	// -------------------------------------------------------------------------
+
+	/**
+	 * The class <code>Reader</code> reads the records of a journal in
+	 * order; it is a cursor, which accessors give the fields of the current
+	 * record, so that reading allocates nothing but the unique identifiers.
+	 *
+	 * <p>Created on : 2026-10-17</p>
+	 * 
+	 *  @authors	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+	 *              <a href="maedeh.daemi@etu.sorbonne-universite.fr">DAEMI Maedeh</a>
+	 */
+	public static class	Reader
+	implements	AutoCloseable
+	{
+		/** channel on the journal file.									*/
+		protected final FileChannel			channel;
+		/** the whole journal file.											*/
+		protected final MappedByteBuffer	buffer;
+		/** offset of the current record, 0 before the first one.			*/
+		protected int						offset;
+
+		/**
+		 * open the journal in {@code file} for reading.
+		 *
+		 * @param file			path of the journal file.
+		 * @throws IOException	if the file cannot be opened or is not a journal.
+		 */
+		public			Reader(Path file) throws IOException
+		{
+			this.channel = FileChannel.open(file, StandardOpenOption.READ);
+			this.buffer = this.channel.map(FileChannel.MapMode.READ_ONLY, 0,
+										   this.channel.size());
+			if (this.buffer.capacity() < RECORD_SIZE ||
+									this.buffer.getLong(0) != MAGIC) {
+				this.channel.close();
+				throw new IOException(file + " is not a decision journal.");
+			}
+			this.offset = 0;
+		}
+
+		/**
+		 * move to the next record.
+		 *
+		 * @return	true if there is a next record, false at the end of the journal.
+		 */
+		public boolean	next()
+		{
+			int o = this.offset + RECORD_SIZE;
+			if (o + RECORD_SIZE > this.buffer.capacity() ||
+											this.buffer.get(o + 16) == 0) {
+				return false;
+			}
+			this.offset = o;
+			return true;
+		}
+
+		/**
+		 * return the time of the record in milliseconds since the epoch.
+		 *
+		 * @return	the time of the record in milliseconds since the epoch.
+		 */
+		public long	time()
+		{
+			return this.buffer.getLong(this.offset);
+		}
+
+		/**
+		 * return the number of the management cycle of the record.
+		 *
+		 * @return	the number of the management cycle of the record.
+		 */
+		public long	cycle()
+		{
+			return this.buffer.getLong(this.offset + 8);
+		}
+
+		/**
+		 * return the kind of the record.
+		 *
+		 * @return	the kind of the record.
+		 */
+		public byte	kind()
+		{
+			return this.buffer.get(this.offset + 16);
+		}
+
+		/**
+		 * return true if the equipment of a state record is on.
+		 *
+		 * @return	true if the equipment of a state record is on.
+		 */
+		public boolean	on()
+		{
+			return (this.flags() & ON) != 0;
+		}
+
+		/**
+		 * return true if the equipment of a state record is suspended.
+		 *
+		 * @return	true if the equipment of a state record is suspended.
+		 */
+		public boolean	suspended()
+		{
+			return (this.flags() & SUSPENDED) != 0;
+		}
+
+		/**
+		 * return true if the equipment of a state record can be suspended.
+		 *
+		 * @return	true if the equipment of a state record can be suspended.
+		 */
+		public boolean	suspendable()
+		{
+			return (this.flags() & SUSPENDABLE) != 0;
+		}
+
+		/**
+		 * return the current mode of a state record.
+		 *
+		 * @return	the current mode of a state record.
+		 */
+		public int	mode()
+		{
+			return this.buffer.getShort(this.offset + 18);
+		}
+
+		/**
+		 * return the maximal mode of a state record.
+		 *
+		 * @return	the maximal mode of a state record.
+		 */
+		public int	maxMode()
+		{
+			return this.buffer.getInt(this.offset + 20);
+		}
+
+		/**
+		 * return the argument of a command record.
+		 *
+		 * @return	the argument of a command record.
+		 */
+		public int	argument()
+		{
+			return this.buffer.getInt(this.offset + 20);
+		}
+
+		/**
+		 * return true if the command of a command record succeeded.
+		 *
+		 * @return	true if the command of a command record succeeded.
+		 */
+		public boolean	done()
+		{
+			return (this.flags() & DONE) != 0;
+		}
+
+		/**
+		 * return true if the command of a command record was still in
+		 * progress at the end of its cycle.
+		 *
+		 * @return	true if the outcome of the command is unknown.
+		 */
+		public boolean	pending()
+		{
+			return (this.flags() & PENDING) != 0;
+		}
+
+		/**
+		 * return the consumption of a meter record in watts.
+		 *
+		 * @return	the consumption of a meter record in watts.
+		 */
+		public double	consumption()
+		{
+			return this.buffer.getDouble(this.offset + 24);
+		}
+
+		/**
+		 * return the production of a meter record in watts.
+		 *
+		 * @return	the production of a meter record in watts.
+		 */
+		public double	production()
+		{
+			return this.buffer.getDouble(this.offset + 32);
+		}
+
+		/**
+		 * return the emergency of a state record.
+		 *
+		 * @return	the emergency of a state record.
+		 */
+		public double	emergency()
+		{
+			return this.buffer.getDouble(this.offset + 24);
+		}
+
+		/**
+		 * return the nominal power of a state record in watts.
+		 *
+		 * @return	the nominal power of a state record in watts.
+		 */
+		public double	nominalPower()
+		{
+			return this.buffer.getDouble(this.offset + 32);
+		}
+
+		/**
+		 * return the command of a command record.
+		 *
+		 * @return	the command of a command record.
+		 */
+		public Command	command()
+		{
+			return COMMANDS[(this.flags() & ~(DONE | PENDING)) - 1];
+		}
+
+		/**
+		 * return the command of a command record as decided by a control
+		 * policy, or null for a postponement which is not decided by the
+		 * policies.
+		 *
+		 * @return	the command of a command record, or null for a postponement.
+		 */
+		public ControlCommand	controlCommand()
+		{
+			switch (this.command()) {
+			case SUSPEND:
+				return ControlCommand.suspend(this.uid());
+			case RESUME:
+				return ControlCommand.resume(this.uid());
+			case SET_MODE:
+				return ControlCommand.setMode(this.uid(), this.argument());
+			default:
+				return null;
+			}
+		}
+
+		/**
+		 * return the unique identifier of the equipment of the record.
+		 *
+		 * @return	the unique identifier of the equipment, empty for a meter record.
+		 */
+		public String	uid()
+		{
+			int n = 0;
+			while (n < UID_SIZE && this.buffer.get(this.offset + 40 + n) != 0) {
+				n++;
+			}
+			byte[] b = new byte[n];
+			for (int i = 0 ; i < n ; i++) {
+				b[i] = this.buffer.get(this.offset + 40 + i);
+			}
+			return new String(b, StandardCharsets.US_ASCII);
+		}
+
+		/**
+		 * return the flags of the current record.
+		 *
+		 * @return	the flags of the current record.
+		 */
+		protected int	flags()
+		{
+			return this.buffer.get(this.offset + 17) & 0xff;
+		}
+
+		/**
+		 * @see java.lang.AutoCloseable#close()
+		 */
+		@Override
+		public void		close() throws IOException
+		{
+			this.channel.close();
+		}
+	}
+}
+// -----------------------------------------------------------------------------
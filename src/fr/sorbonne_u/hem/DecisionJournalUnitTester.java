@@ -0,0 +1,219 @@
+package fr.sorbonne_u.hem;
+
+
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to provide a basic
+// household management systems as an example of a cyber-physical system.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import fr.sorbonne_u.interfaces.EquipmentSnapshot;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>DecisionJournalUnitTester</code> performs unit tests for
+ * the decision journal, writing journals in a temporary directory and
+ * reading them back with {@code DecisionJournal.Reader}.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p><strong>Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	true
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-17</p>
+ * 
+ *  @authors	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+ *              <a href="maedeh.daemi@etu.sorbonne-universite.fr">DAEMI Maedeh</a>
+ */
+public class			DecisionJournalUnitTester
+{
+	/** directory of the journals written by the tests.					*/
+	@TempDir
+	protected Path		directory;
+
+	/** return the number of records of the journal in {@code file}.		*/
+	protected static int	count(Path file) throws IOException
+	{
+		int n = 0;
+		try (DecisionJournal.Reader r = new DecisionJournal.Reader(file)) {
+			while (r.next()) {
+				n++;
+			}
+		}
+		return n;
+	}
+
+	@Test
+	public void			readsBackTheRecords() throws IOException
+	{
+		Path file = this.directory.resolve("journal.bin");
+		try (DecisionJournal j = new DecisionJournal(file)) {
+			j.meter(7, 2500.0, 300.0);
+			j.state(7, "1A10003",
+					new EquipmentSnapshot(true, 2, 3, true, 0.75),
+					true, 1200.0);
+			j.command(7, ControlCommand.setMode("1A10001", 2), true);
+			j.command(7, ControlCommand.suspend("1A10003"), false);
+			j.pending(7, ControlCommand.resume("1A10003"));
+			j.command(8, "1A10002", DecisionJournal.Command.POSTPONE, 900,
+					  true);
+			assertNull(j.getFailure());
+		}
+
+		try (DecisionJournal.Reader r = new DecisionJournal.Reader(file)) {
+			assertTrue(r.next());
+			assertEquals(DecisionJournal.METER, r.kind());
+			assertEquals(7, r.cycle());
+			assertEquals(2500.0, r.consumption());
+			assertEquals(300.0, r.production());
+			assertEquals("", r.uid());
+
+			assertTrue(r.next());
+			assertEquals(DecisionJournal.STATE, r.kind());
+			assertEquals("1A10003", r.uid());
+			assertTrue(r.on());
+			assertTrue(r.suspended());
+			assertTrue(r.suspendable());
+			assertEquals(2, r.mode());
+			assertEquals(3, r.maxMode());
+			assertEquals(0.75, r.emergency());
+			assertEquals(1200.0, r.nominalPower());
+
+			assertTrue(r.next());
+			assertEquals(DecisionJournal.COMMAND, r.kind());
+			assertEquals(ControlCommand.setMode("1A10001", 2),
+						 r.controlCommand());
+			assertTrue(r.done());
+			assertFalse(r.pending());
+
+			assertTrue(r.next());
+			assertEquals(ControlCommand.suspend("1A10003"), r.controlCommand());
+			assertFalse(r.done());
+			assertFalse(r.pending());
+
+			assertTrue(r.next());
+			assertEquals(ControlCommand.resume("1A10003"), r.controlCommand());
+			assertFalse(r.done());
+			assertTrue(r.pending());
+
+			assertTrue(r.next());
+			assertEquals(8, r.cycle());
+			assertEquals(DecisionJournal.Command.POSTPONE, r.command());
+			assertEquals(900, r.argument());
+			assertTrue(r.done());
+			assertNull(r.controlCommand());
+
+			assertFalse(r.next());
+		}
+	}
+
+	@Test
+	public void			appendsAfterTheExistingRecords() throws IOException
+	{
+		Path file = this.directory.resolve("journal.bin");
+		try (DecisionJournal j = new DecisionJournal(file)) {
+			j.meter(1, 100.0, 0.0);
+			j.meter(2, 200.0, 0.0);
+		}
+		try (DecisionJournal j = new DecisionJournal(file)) {
+			j.meter(3, 300.0, 0.0);
+		}
+		try (DecisionJournal.Reader r = new DecisionJournal.Reader(file)) {
+			for (long cycle = 1 ; cycle <= 3 ; cycle++) {
+				assertTrue(r.next());
+				assertEquals(cycle, r.cycle());
+				assertEquals(100.0*cycle, r.consumption());
+			}
+			assertFalse(r.next());
+		}
+	}
+
+	@Test
+	public void			extendsTheFileByChunks() throws IOException
+	{
+		Path file = this.directory.resolve("journal.bin");
+		int n = DecisionJournal.CHUNK_RECORDS + 10;
+		try (DecisionJournal j = new DecisionJournal(file)) {
+			for (int i = 0 ; i < n ; i++) {
+				j.meter(i, i, 0.0);
+			}
+		}
+		assertEquals(n, count(file));
+		// the end is found again in the zero-filled tail of the second chunk
+		try (DecisionJournal j = new DecisionJournal(file)) {
+			j.meter(n, n, 0.0);
+		}
+		assertEquals(n + 1, count(file));
+	}
+
+	@Test
+	public void			truncatesTheLongIdentifiers() throws IOException
+	{
+		Path file = this.directory.resolve("journal.bin");
+		StringBuilder uid = new StringBuilder();
+		while (uid.length() < DecisionJournal.UID_SIZE + 8) {
+			uid.append("0123456789");
+		}
+		try (DecisionJournal j = new DecisionJournal(file)) {
+			j.command(1, ControlCommand.suspend(uid.toString()), true);
+		}
+		try (DecisionJournal.Reader r = new DecisionJournal.Reader(file)) {
+			assertTrue(r.next());
+			assertEquals(uid.substring(0, DecisionJournal.UID_SIZE), r.uid());
+		}
+	}
+
+	@Test
+	public void			rejectsOtherFiles() throws IOException
+	{
+		Path file = this.directory.resolve("other.bin");
+		Files.write(file, new byte[DecisionJournal.RECORD_SIZE]);
+		assertThrows(IOException.class, () -> new DecisionJournal(file));
+		assertThrows(IOException.class, () -> new DecisionJournal.Reader(file));
+		Files.write(file, new byte[DecisionJournal.RECORD_SIZE + 1]);
+		assertThrows(IOException.class, () -> new DecisionJournal(file));
+	}
+}
+// -----------------------------------------------------------------------------
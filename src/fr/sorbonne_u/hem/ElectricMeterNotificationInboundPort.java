@@ -0,0 +1,106 @@
+package fr.sorbonne_u.hem;
+
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to provide a basic
+// household management systems as an example of a cyber-physical system.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+import fr.sorbonne_u.components.ComponentI;
+import fr.sorbonne_u.components.ports.AbstractInboundPort;
+import fr.sorbonne_u.meter.ElectricMeterNotificationCI;
+import fr.sorbonne_u.meter.ElectricMeterNotificationImplementationI;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>ElectricMeterNotificationInboundPort</code> implements the
+ * inbound port through which the home energy manager receives the threshold
+ * crossings signalled by the electric meter.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * The notification is executed as a task rather than as a request, so that
+ * the electric meter is never blocked while the home energy manager runs its
+ * management cycle.
+ * </p>
+ * 
+ * <p><strong>Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	true
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-17</p>
+ * 
+ *  @authors	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+ *              <a href="maedeh.daemi@etu.sorbonne-universite.fr">DAEMI Maedeh</a>
+ */
+public class			ElectricMeterNotificationInboundPort
+extends		AbstractInboundPort
+implements	ElectricMeterNotificationCI
+{
+	private static final long serialVersionUID = 1L;
+
+	public				ElectricMeterNotificationInboundPort(ComponentI owner)
+	throws Exception
+	{
+		super(ElectricMeterNotificationCI.class, owner);
+	}
+
+	public				ElectricMeterNotificationInboundPort(
+		String uri,
+		ComponentI owner
+		) throws Exception
+	{
+		super(uri, ElectricMeterNotificationCI.class, owner);
+	}
+
+	/**
+	 * @see fr.sorbonne_u.meter.ElectricMeterNotificationCI#thresholdCrossed(double, double)
+	 */
+	@Override
+	public void			thresholdCrossed(
+		double currentConsumption,
+		double currentProduction
+		) throws Exception
+	{
+		this.getOwner().runTask(
+				o -> {	try {
+							((ElectricMeterNotificationImplementationI)o).
+									thresholdCrossed(currentConsumption,
+													 currentProduction);
+						} catch (Exception e) {
+							e.printStackTrace();
+						}
+					 });
+	}
+}
+// -----------------------------------------------------------------------------
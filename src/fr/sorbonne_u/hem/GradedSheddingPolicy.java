@@ -0,0 +1,395 @@
+package fr.sorbonne_u.hem;
+
+
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to provide a basic
+// household management systems as an example of a cyber-physical system.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import fr.sorbonne_u.interfaces.EquipmentSnapshot;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>GradedSheddingPolicy</code> implements a control policy
+ * which steps the equipments down one mode at a time before suspending them
+ * to keep the consumption of the house under a budget.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * The power of an equipment is taken as proportional to its mode, so that
+ * stepping it down one mode saves {@code nominalPower / maxMode}. Stepping
+ * down from the mode {@code m} has a comfort cost which grows with the
+ * emergency of the equipment and as it gets closer to its lowest mode:
+ * {@code (1 + emergency) * (maxMode - m + 1) / maxMode}.
+ * </p>
+ * <p>
+ * When the consumption goes over the budget, the step downs of the running
+ * equipments are chosen greedily, by increasing comfort cost per watt saved,
+ * until the estimated consumption gets under the budget, each equipment
+ * being stepped down by at most one mode per cycle. If they do not suffice,
+ * the remaining excess is shed by suspending equipments as does the
+ * {@code LoadSheddingPolicy}, an equipment suspended being not stepped down.
+ * When the consumption is under the budget, the equipments stepped down by
+ * the policy are stepped up again, one mode per cycle, by decreasing comfort
+ * cost per watt, as long as the estimated consumption stays under the
+ * budget; the resumptions come first and no equipment is stepped up in a
+ * cycle where others are stepped down. The sorts make a decision
+ * {@code O(n log n)} in the number of equipments.
+ * </p>
+ * <p>
+ * The modes to which the stepped down equipments must be restored are the
+ * only state the policy keeps of its own; as its other caches, it is checked
+ * against each state: an equipment seen off, suspended, absent or in another
+ * mode than the one the policy set is forgotten, so that the policy never
+ * steps up an equipment which mode was changed by its user.
+ * </p>
+ * 
+ * <p><strong>Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code getBudget() >= 0.0}
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-17</p>
+ * 
+ *  @authors	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+ *              <a href="maedeh.daemi@etu.sorbonne-universite.fr">DAEMI Maedeh</a>
+ */
+public class			GradedSheddingPolicy
+implements	ControlPolicy
+{
+	// -------------------------------------------------------------------------
+	// Inner classes
+	// -------------------------------------------------------------------------
+
+	/**
+	 * The class <code>Lowered</code> records an equipment stepped down by the
+	 * policy.
+	 */
+	protected static class	Lowered
+	{
+		/** mode of the equipment before the policy stepped it down.		*/
+		protected final int	restore;
+		/** mode to which the policy set the equipment.					*/
+		protected final int	imposed;
+
+		protected			Lowered(int restore, int imposed)
+		{
+			this.restore = restore;
+			this.imposed = imposed;
+		}
+	}
+
+	/**
+	 * The class <code>Step</code> describes a candidate change of one mode
+	 * of an equipment.
+	 */
+	protected static class	Step
+	{
+		/** state of the equipment.										*/
+		protected final HouseState.EquipmentState	equipment;
+		/** mode after the step.											*/
+		protected final int							mode;
+		/** power saved or added by the step in watts.						*/
+		protected final double						power;
+		/** comfort cost per watt of the step.								*/
+		protected final double						ratio;
+
+		protected			Step(
+			HouseState.EquipmentState equipment,
+			int mode,
+			double power,
+			double ratio
+			)
+		{
+			this.equipment = equipment;
+			this.mode = mode;
+			this.power = power;
+			this.ratio = ratio;
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	/** order of the step downs, cheapest comfort per watt first.			*/
+	protected static final Comparator<Step>	STEP_DOWN_ORDER =
+									Comparator.comparingDouble(s -> s.ratio);
+	/** order of the step ups, most comfort per watt first.				*/
+	protected static final Comparator<Step>	STEP_UP_ORDER =
+												STEP_DOWN_ORDER.reversed();
+
+	/** consumption budget in watts.										*/
+	protected final double					budget;
+	/** policy suspending and resuming the equipments when stepping them
+	 *  down does not suffice.												*/
+	protected final LoadSheddingPolicy		shedding;
+	/** equipments stepped down by the policy by unique identifier.		*/
+	protected final Map<String,Lowered>		lowered = new HashMap<>();
+	/** entries of {@code lowered} before the last decision, null when
+	 *  absent, for the equipments which mode it changes.					*/
+	protected final Map<String,Lowered>		undo = new HashMap<>();
+	/** candidate steps, reused from one decision to the next.				*/
+	protected final List<Step>				steps = new ArrayList<>();
+	/** equipments in the current state.									*/
+	protected final Set<String>				present = new HashSet<>();
+
+	// -------------------------------------------------------------------------
+	// Constructors
+	// -------------------------------------------------------------------------
+
+	/**
+	 * create a graded shedding policy.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code budget >= 0.0}
+	 * post	{@code getBudget() == budget}
+	 * </pre>
+	 *
+	 * @param budget	consumption budget in watts.
+	 */
+	public				GradedSheddingPolicy(double budget)
+	{
+		assert	budget >= 0.0;
+
+		this.budget = budget;
+		this.shedding = new LoadSheddingPolicy(budget);
+	}
+
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * return the consumption budget in watts.
+	 *
+	 * @return	the consumption budget in watts.
+	 */
+	public double		getBudget()
+	{
+		return this.budget;
+	}
+
+	/**
+	 * return the power of one mode of the equipment in watts.
+	 *
+	 * @param e	state of the equipment.
+	 * @return	the power of one mode of the equipment in watts.
+	 */
+	protected static double	modePower(HouseState.EquipmentState e)
+	{
+		return e.getNominalPower()/e.getSnapshot().maxMode();
+	}
+
+	/**
+	 * return the comfort cost of stepping the equipment down from
+	 * {@code mode} to {@code mode - 1}.
+	 *
+	 * @param s		state of the equipment.
+	 * @param mode	mode from which the equipment is stepped down.
+	 * @return		the comfort cost of the step.
+	 */
+	protected static double	comfortCost(EquipmentSnapshot s, int mode)
+	{
+		return (1.0 + s.emergency())*(s.maxMode() - mode + 1)/s.maxMode();
+	}
+
+	/**
+	 * @see fr.sorbonne_u.hem.ControlPolicy#decide(fr.sorbonne_u.hem.HouseState)
+	 */
+	@Override
+	public List<ControlCommand>	decide(HouseState state)
+	{
+		assert	state != null;
+
+		this.undo.clear();
+		this.present.clear();
+		Map<String,HouseState.EquipmentState> equipments = new HashMap<>();
+		for (HouseState.EquipmentState e : state.getEquipments()) {
+			EquipmentSnapshot s = e.getSnapshot();
+			this.present.add(e.getUid());
+			equipments.put(e.getUid(), e);
+			Lowered l = this.lowered.get(e.getUid());
+			if (l != null && (!s.on() || s.suspended() ||
+											s.currentMode() != l.imposed)) {
+				this.lowered.remove(e.getUid());
+			}
+		}
+		this.lowered.keySet().retainAll(this.present);
+
+		List<ControlCommand> ret = new ArrayList<>();
+		double consumption = state.getConsumption();
+		double saved = 0.0;
+		if (consumption > this.budget) {
+			this.steps.clear();
+			for (HouseState.EquipmentState e : state.getEquipments()) {
+				EquipmentSnapshot s = e.getSnapshot();
+				double power = modePower(e);
+				if (s.on() && !s.suspended() && s.currentMode() > 1 &&
+						s.emergency() < LoadSheddingEngine.MAX_EMERGENCY &&
+						power > 0.0) {
+					this.steps.add(new Step(e, s.currentMode() - 1, power,
+									comfortCost(s, s.currentMode())/power));
+				}
+			}
+			this.steps.sort(STEP_DOWN_ORDER);
+			for (Step st : this.steps) {
+				if (consumption - saved <= this.budget) {
+					break;
+				}
+				String uid = st.equipment.getUid();
+				Lowered l = this.lowered.get(uid);
+				this.undo.put(uid, l);
+				this.lowered.put(uid, new Lowered(
+						l == null ? st.equipment.getSnapshot().currentMode()
+								  : l.restore,
+						st.mode));
+				ret.add(ControlCommand.setMode(uid, st.mode));
+				saved += st.power;
+			}
+		}
+
+		// the suspensions and resumptions are decided on the consumption
+		// expected after the step downs
+		List<ControlCommand> sr =
+			this.shedding.decide(
+				saved > 0.0 ?
+					new HouseState(state.getCycle(), consumption - saved,
+								   state.getProduction(),
+								   state.getEquipments())
+				:	state);
+		double headroom = this.budget - consumption + saved;
+		for (ControlCommand c : sr) {
+			if (c.getKind() == ControlCommand.Kind.SUSPEND &&
+											this.undo.containsKey(c.getUid())) {
+				// suspended, hence no need to step it down; the step no
+				// longer saves its power
+				ret.remove(ControlCommand.setMode(
+										c.getUid(),
+										this.lowered.get(c.getUid()).imposed));
+				this.revert(c.getUid());
+				double step = modePower(equipments.get(c.getUid()));
+				saved -= step;
+				headroom -= step;
+			} else if (c.getKind() == ControlCommand.Kind.RESUME) {
+				headroom -= equipments.get(c.getUid()).getNominalPower();
+			}
+		}
+		ret.addAll(sr);
+
+		if (saved == 0.0 && headroom > 0.0 && !this.lowered.isEmpty()) {
+			this.steps.clear();
+			for (HouseState.EquipmentState e : state.getEquipments()) {
+				Lowered l = this.lowered.get(e.getUid());
+				double power = modePower(e);
+				if (l != null && power > 0.0) {
+					this.steps.add(new Step(
+								e, l.imposed + 1, power,
+								comfortCost(e.getSnapshot(), l.imposed + 1)/
+																	power));
+				}
+			}
+			this.steps.sort(STEP_UP_ORDER);
+			for (Step st : this.steps) {
+				if (st.power <= headroom) {
+					String uid = st.equipment.getUid();
+					Lowered l = this.lowered.get(uid);
+					this.undo.put(uid, l);
+					if (st.mode >= l.restore) {
+						this.lowered.remove(uid);
+					} else {
+						this.lowered.put(uid, new Lowered(l.restore, st.mode));
+					}
+					ret.add(ControlCommand.setMode(uid, st.mode));
+					headroom -= st.power;
+				}
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * undo the change of mode decided for the equipment {@code uid} in the
+	 * last decision.
+	 *
+	 * @param uid	unique identifier of the equipment.
+	 */
+	protected void		revert(String uid)
+	{
+		Lowered previous = this.undo.remove(uid);
+		if (previous == null) {
+			this.lowered.remove(uid);
+		} else {
+			this.lowered.put(uid, previous);
+		}
+	}
+
+	/**
+	 * @see fr.sorbonne_u.hem.ControlPolicy#commandFailed(fr.sorbonne_u.hem.ControlCommand)
+	 */
+	@Override
+	public void			commandFailed(ControlCommand c)
+	{
+		assert	c != null;
+
+		if (c.getKind() == ControlCommand.Kind.SET_MODE) {
+			if (this.undo.containsKey(c.getUid())) {
+				this.revert(c.getUid());
+			}
+		} else {
+			this.shedding.commandFailed(c);
+		}
+	}
+
+	/**
+	 * @see fr.sorbonne_u.hem.ControlPolicy#reset()
+	 */
+	@Override
+	public void			reset()
+	{
+		this.lowered.clear();
+		this.undo.clear();
+		this.present.clear();
+		this.shedding.reset();
+	}
+}
+// -----------------------------------------------------------------------------
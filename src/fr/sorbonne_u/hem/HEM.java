@@ -1,10 +1,36 @@
 package fr.sorbonne_u.hem;
 
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import fr.sorbonne_u.components.AbstractComponent;
+import fr.sorbonne_u.components.annotations.OfferedInterfaces;
 import fr.sorbonne_u.components.annotations.RequiredInterfaces;
 import fr.sorbonne_u.components.exceptions.ComponentShutdownException;
 import fr.sorbonne_u.components.exceptions.ComponentStartException;
@@ -12,39 +38,111 @@ import fr.sorbonne_u.components.exceptions.ComponentStartException;
 //refrigerator
 import fr.sorbonne_u.components.refrigerator.RefrigeratorConnector;
 import fr.sorbonne_u.components.refrigerator.ThermostatedRefrigerator;
-import fr.sorbonne_u.components.washingMachine.ThermostatedWashingMachine;
-import fr.sorbonne_u.components.washingMachine.WashingMachineConnector;
+import fr.sorbonne_u.components.refrigerator.mil.RefrigeratorElectricityModel;
 //water heater
 import fr.sorbonne_u.components.waterHeater.ThermostatedWaterHeater;
 import fr.sorbonne_u.components.waterHeater.WaterHeaterConnector;
+import fr.sorbonne_u.components.waterHeater.mil.WaterHeaterElectricityModel;
 
+import fr.sorbonne_u.hem.generated.GeneratedConnectors;
+import fr.sorbonne_u.hem.registration.RegistrationCI;
+import fr.sorbonne_u.hem.registration.RegistrationImplementation;
+import fr.sorbonne_u.hem.registration.RegistrationInboundPort;
+import fr.sorbonne_u.hem.registration.RegistrationRequest;
+import fr.sorbonne_u.interfaces.EquipmentSnapshot;
+import fr.sorbonne_u.interfaces.PlanningEquipmentControlCI;
 import fr.sorbonne_u.interfaces.StandardEquipmentControlCI;
 import fr.sorbonne_u.interfaces.SuspensionEquipmentControlCI;
 import fr.sorbonne_u.meter.ElectricMeter;
 import fr.sorbonne_u.meter.ElectricMeterCI;
 import fr.sorbonne_u.meter.ElectricMeterConnector;
+import fr.sorbonne_u.meter.ElectricMeterNotificationCI;
+import fr.sorbonne_u.meter.ElectricMeterNotificationImplementationI;
 import fr.sorbonne_u.meter.ElectricMeterOutboundPort;
-import fr.sorbonne_u.production_unities.windTurbine.SelfControlWindTurbine;
-import fr.sorbonne_u.production_unities.windTurbine.WindTurbineConnector;
-import fr.sorbonne_u.storage.battery.Battery;
-import fr.sorbonne_u.storage.battery.BatteryConnector;
+import fr.sorbonne_u.treatements.AdapterConnector;
+import fr.sorbonne_u.treatements.AdapterProgram;
+import fr.sorbonne_u.treatements.ConnectorCache;
+import fr.sorbonne_u.treatements.XML;
+import fr.sorbonne_u.utils.LatencyHistogram;
 
 @RequiredInterfaces(required = {StandardEquipmentControlCI.class,
 		SuspensionEquipmentControlCI.class,
 		ElectricMeterCI.class})
+@OfferedInterfaces(offered = {RegistrationCI.class,
+							   ElectricMeterNotificationCI.class})
 
 public class			HEM
 		extends		AbstractComponent
+		implements	RegistrationImplementation,
+					ElectricMeterNotificationImplementationI
 {
 	// -------------------------------------------------------------------------
 	// Constants and variables
 	// -------------------------------------------------------------------------
 
-	/** period at which the HEM looks at the current consumption and makes
-	 *  energy management decisions.									 	*/
-	protected static final long		MANAGEMENT_PERIOD = 1;
-	/** time unit to interpret {@code MANAGEMENT_PERIOD}.					*/
+	/** default smallest period at which the HEM looks at the current
+	 *  consumption and makes energy management decisions, used when the
+	 *  consumption varies a lot or is close to the threshold.				*/
+	public static final long		DEFAULT_MIN_MANAGEMENT_PERIOD = 1000;
+	/** default largest period of the management cycles, used when the
+	 *  house is steady; in reactive mode, it bounds the delay of the cycles
+	 *  when no threshold crossing is signalled.							*/
+	public static final long		DEFAULT_MAX_MANAGEMENT_PERIOD = 30000;
+	/** time unit to interpret the management periods.						*/
 	protected static final TimeUnit	MANAGEMENT_PERIOD_TIME_UNIT =
+			TimeUnit.MILLISECONDS;
+	/** default threshold on the total consumption in watts.				*/
+	public static final double		DEFAULT_CONSUMPTION_THRESHOLD = 3000.0;
+	/** default threshold on the total production in watts.					*/
+	public static final double		DEFAULT_PRODUCTION_THRESHOLD = 500.0;
+	/** default number of threads used to dispatch the calls to the
+	 *  equipments in parallel; 0 means that the calls are made in sequence
+	 *  by the thread executing the management cycle.						*/
+	public static final int			DEFAULT_DISPATCH_THREADS = 4;
+	/** maximal number of threads making in parallel the connectors of the
+	 *  adapter descriptions of a batch of registrations.					*/
+	protected static final int		REGISTRATION_THREADS =
+								Runtime.getRuntime().availableProcessors();
+	/** deadline for the calls dispatched to the equipments during one step
+	 *  of a management cycle.												*/
+	protected static final long		CYCLE_DEADLINE = 500;
+	/** time unit to interpret {@code CYCLE_DEADLINE}.						*/
+	protected static final TimeUnit	CYCLE_DEADLINE_TIME_UNIT =
+			TimeUnit.MILLISECONDS;
+	/** length of the slots used to plan the programs of the planning
+	 *  equipments.															*/
+	protected static final Duration	PLANNING_SLOT = Duration.ofMinutes(15);
+	/** maximal duration of the optimisation of the start times during one
+	 *  management cycle.													*/
+	protected static final long		PLANNING_BUDGET = 20;
+	/** default path of the journal of the decisions.						*/
+	public static final String		DEFAULT_JOURNAL_PATH = "hem-journal.bin";
+	/** default directory of the connector classes generated by javassist,
+	 *  kept from one start to the next.									*/
+	public static final String		DEFAULT_CONNECTOR_CACHE_PATH =
+															"hem-connectors";
+	/** time unit to interpret {@code PLANNING_BUDGET}.						*/
+	protected static final TimeUnit	PLANNING_BUDGET_TIME_UNIT =
+			TimeUnit.MILLISECONDS;
+	/** number of recent states of the house kept to warm up the policies.	*/
+	protected static final int		SHADOW_STATES = 64;
+	/** number of decisions a policy makes on the recent states of the
+	 *  house before being installed, enough for the JIT to compile its
+	 *  code so that the first cycles it manages are not slowed down.		*/
+	protected static final int		WARM_UP_DECISIONS = 20000;
+	/** minimal time an equipment runs after a resumption before it can be
+	 *  suspended again.													*/
+	protected static final long		MIN_ON_DWELL = 60;
+	/** minimal time an equipment stays suspended before it can be resumed,
+	 *  unless its emergency is maximal.									*/
+	protected static final long		MIN_OFF_DWELL = 30;
+	/** maximal number of commands sent at once to an equipment.			*/
+	protected static final int		COMMAND_BURST = 4;
+	/** time to get back the right to send one more command to an
+	 *  equipment.															*/
+	protected static final long		COMMAND_REFILL_PERIOD = 60;
+	/** time unit to interpret the durations of the command governor.		*/
+	protected static final TimeUnit	COMMAND_GOVERNOR_TIME_UNIT =
 			TimeUnit.SECONDS;
 
 	/** true if the component executes in a unit test mode, false
@@ -52,20 +150,142 @@ public class			HEM
 	protected boolean		executesAsUnitTest;
 	/** future allowing to act upon the management task.					*/
 	protected Future<?>		managementTaskFuture;
+	/** true if management cycles are triggered by the threshold crossings
+	 *  signalled by the electric meter, false if the HEM only polls.		*/
+	protected boolean		reactive;
+	/** threshold on the total consumption registered with the meter.		*/
+	protected double		consumptionThreshold;
+	/** threshold on the total production registered with the meter.		*/
+	protected double		productionThreshold;
+	/** number of management cycles requested and not yet performed; used
+	 *  to coalesce the requests arriving while a cycle is in progress.		*/
+	protected final AtomicInteger	managementRequests = new AtomicInteger();
+	/** end-to-end durations of the management cycles.						*/
+	protected final LatencyHistogram	cycleLatencies = new LatencyHistogram();
+	/** number of management periods missed because a cycle lasted longer
+	 *  than the period chosen before it.									*/
+	protected final AtomicLong		missedPeriods = new AtomicLong();
+	/** controller choosing the period of the management cycles.			*/
+	protected AdaptivePeriodController	periodController;
+	/** period until the next management cycle, as chosen by the last one,
+	 *  in {@code MANAGEMENT_PERIOD_TIME_UNIT}.								*/
+	protected volatile long			managementPeriod;
+	/** periods chosen by the management cycles, in nanoseconds.			*/
+	protected final LatencyHistogram	managementPeriods =
+													new LatencyHistogram();
+	/** journal of the inputs and commands of the management cycles, or
+	 *  null if it could not be opened.										*/
+	protected DecisionJournal		journal;
+	/** number of the current management cycle, used in the journal.		*/
+	protected long					cycle;
+	/** true until the component is finalised; stops the rescheduling of
+	 *  the management task.												*/
+	protected volatile boolean		managing = true;
+	/** inbound port receiving the threshold crossings from the meter.		*/
+	protected ElectricMeterNotificationInboundPort	meterNotificationip;
+	/** number of threads used to dispatch the calls to the equipments.		*/
+	protected int				dispatchThreads;
+	/** control policy deciding the commands of the management cycles; it
+	 *  can be replaced at any time by {@code installPolicy}.				*/
+	protected final AtomicReference<ControlPolicy>	policy;
+	/** recent states of the house, indexed by cycle modulo their number,
+	 *  used to warm up the policies before installing them.				*/
+	protected final AtomicReferenceArray<HouseState>	shadowStates =
+							new AtomicReferenceArray<>(SHADOW_STATES);
+	/** governor holding back the commands which would make the equipments
+	 *  flap between suspension and resumption.							*/
+	protected final CommandGovernor	governor =
+			new CommandGovernor(MIN_ON_DWELL, MIN_OFF_DWELL, COMMAND_BURST,
+								COMMAND_REFILL_PERIOD,
+								COMMAND_GOVERNOR_TIME_UNIT);
+	/** optimizer of the start times of the planning equipments.			*/
+	protected StartTimeOptimizer	startTimeOptimizer;
+	/** last start time asked to each planning equipment.					*/
+	protected final Map<String,LocalTime>	requestedStarts = new HashMap<>();
+	/** pool of threads dispatching the calls to the equipments, or null if
+	 *  the calls are made in sequence.										*/
+	protected ExecutorService	dispatcher;
+	/** pool of threads making the connectors of a batch of registrations,
+	 *  or null before the start and after the shutdown of the HEM.		*/
+	protected ExecutorService	registrationPool;
+	/** executor of the asynchronous requests of the ports, running them on
+	 *  the current dispatcher or in the calling thread when there is none.	*/
+	protected final Executor	portExecutor =
+			r -> {	ExecutorService d = this.dispatcher;
+					if (d == null) {
+						r.run();
+					} else {
+						d.execute(r);
+					}
+				 };
+
+	/** registered equipments by unique identifier; the management cycle
+	 *  iterates over a copy of its values, so that equipments can be
+	 *  registered and unregistered at any time without locking it.		*/
+	protected final ConcurrentHashMap<String,RegisteredEquipment>	registry =
+													new ConcurrentHashMap<>();
+	/** connector classes generated from adapter descriptions, shared by
+	 *  the equipments which descriptions only differ by their identifier
+	 *  or their layout (see {@code ConnectorCache.generationKey}).			*/
+	protected final ConnectorCache	connectorCache =
+						new ConnectorCache(GENERATED_CONNECTOR_PACKAGE,
+										   AdapterConnector.class,
+										   HEM::controlInterface,
+										   connectorBackend());
+	/** watcher of the adapter descriptions of the registered equipments,
+	 *  which connectors are made again when their description changes, or
+	 *  null if the descriptions cannot be watched.						*/
+	protected AdapterWatcher	adapterWatcher;
+	/** inbound port offering the registration service.						*/
+	protected RegistrationInboundPort	registrationip;
 
-	protected PlanningEquipmentControlOutboundPort      washingMachineop;
 	protected ElectricMeterOutboundPort					meterop;
+	/** port of the water heater, connected at start-up and registered.		*/
 	protected SuspensionEquipmentControlOutboundPort	waterHeaterop;
-	protected SuspensionEquipmentControlOutboundPort	batteryop;
-	protected SuspensionEquipmentControlOutboundPort	windTurbineop;
+	/** port of the refrigerator, connected at start-up and registered.		*/
 	protected SuspensionEquipmentControlOutboundPort	refrigeratorop;
 
 	public static final String		INBOUND_PORT_URI = "HEM-INBOUND-PORT-URI";
+	/** unique identifier of the water heater connected at start-up.		*/
+	public static final String		WATER_HEATER_UID =
+												ThermostatedWaterHeater.UID;
+	/** unique identifier of the refrigerator connected at start-up.		*/
+	public static final String		REFRIGERATOR_UID = "1A10003";
+	/** package of the connector classes generated from adapter
+	 *  descriptions.														*/
+	protected static final String	GENERATED_CONNECTOR_PACKAGE =
+													"fr.sorbonne_u.hem.generated";
+	/** system property choosing how the connectors of the registered
+	 *  equipments are made from their adapter descriptions: "javassist",
+	 *  the default, generates a class for each description, "handles"
+	 *  interprets them with method handles.								*/
+	public static final String		CONNECTOR_BACKEND_PROPERTY =
+											"fr.sorbonne_u.connectorBackend";
+	/** URI of the inbound port receiving the electric meter notifications.	*/
+	public static final String		METER_NOTIFICATION_INBOUND_PORT_URI =
+									"HEM-METER-NOTIFICATION-INBOUND-PORT-URI";
 
 	// -------------------------------------------------------------------------
 	// Constructors
 	// -------------------------------------------------------------------------
 
+	/**
+	 * create a HEM instance executing its management task.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	true		// no precondition.
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @throws Exception	<i>to do</i>.
+	 */
+	protected			HEM() throws Exception
+	{
+		this(false);
+	}
+
 	/**
 	 * create a HEM instance.
 	 *
@@ -77,14 +297,76 @@ public class			HEM
 	 * </pre>
 	 *
 	 * @param executesAsUnitTest	true if the component executes in a unit test mode, false otherwise.
+	 * @throws Exception			<i>to do</i>.
 	 */
 	protected 			HEM(
 			boolean executesAsUnitTest
-	)
+	) throws Exception
+	{
+		this(executesAsUnitTest, true, DEFAULT_CONSUMPTION_THRESHOLD,
+			 DEFAULT_PRODUCTION_THRESHOLD, DEFAULT_DISPATCH_THREADS,
+			 DEFAULT_MIN_MANAGEMENT_PERIOD, DEFAULT_MAX_MANAGEMENT_PERIOD);
+	}
+
+	/**
+	 * create a HEM instance.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code consumptionThreshold >= 0.0}
+	 * pre	{@code productionThreshold >= 0.0}
+	 * pre	{@code dispatchThreads >= 0}
+	 * pre	{@code minPeriod > 0 && minPeriod <= maxPeriod}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param executesAsUnitTest	true if the component executes in a unit test mode, false otherwise.
+	 * @param reactive				true if management cycles are also triggered by the electric meter threshold crossings, false if the HEM only polls.
+	 * @param consumptionThreshold	threshold on the total consumption in watts.
+	 * @param productionThreshold	threshold on the total production in watts.
+	 * @param dispatchThreads		number of threads dispatching the calls to the equipments in parallel, 0 to make them in sequence.
+	 * @param minPeriod				smallest period of the management cycles in milliseconds.
+	 * @param maxPeriod				largest period of the management cycles in milliseconds.
+	 * @throws Exception			<i>to do</i>.
+	 */
+	protected 			HEM(
+			boolean executesAsUnitTest,
+			boolean reactive,
+			double consumptionThreshold,
+			double productionThreshold,
+			int dispatchThreads,
+			long minPeriod,
+			long maxPeriod
+	) throws Exception
 	{
 		super(1, 1);
 
+		assert	consumptionThreshold >= 0.0;
+		assert	productionThreshold >= 0.0;
+		assert	dispatchThreads >= 0;
+		assert	minPeriod > 0 && minPeriod <= maxPeriod;
+
 		this.executesAsUnitTest = executesAsUnitTest;
+		this.reactive = reactive;
+		this.consumptionThreshold = consumptionThreshold;
+		this.productionThreshold = productionThreshold;
+		this.dispatchThreads = dispatchThreads;
+		this.policy = new AtomicReference<>(
+								new GradedSheddingPolicy(consumptionThreshold));
+		this.startTimeOptimizer =
+				new StartTimeOptimizer(PLANNING_SLOT, consumptionThreshold);
+		this.periodController =
+				new AdaptivePeriodController(minPeriod, maxPeriod,
+											 Math.max(consumptionThreshold, 1.0));
+		this.managementPeriod = this.periodController.getPeriod();
+
+		this.registrationip = new RegistrationInboundPort(INBOUND_PORT_URI, this);
+		this.registrationip.publishPort();
+		this.meterNotificationip =
+				new ElectricMeterNotificationInboundPort(
+									METER_NOTIFICATION_INBOUND_PORT_URI, this);
+		this.meterNotificationip.publishPort();
 
 		this.tracer.get().setTitle("Home Energy Manager component");
 		this.tracer.get().setRelativePosition(1, 0);
@@ -97,7 +379,246 @@ public class			HEM
 	// -------------------------------------------------------------------------
 
 	/**
-	 * first draft of the management task for the HEM.
+	 * request a management cycle; if a cycle is already in progress, the
+	 * request is coalesced with the others received in the meantime into a
+	 * single cycle executed as soon as the current one ends.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	true		// no precondition.
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @throws Exception	<i>to do</i>.
+	 */
+	protected void		requestManagement() throws Exception
+	{
+		if (this.managementRequests.getAndIncrement() != 0) {
+			// the thread executing the current cycle will perform another one
+			return;
+		}
+		int pending = 1;
+		do {
+			long period =
+				MANAGEMENT_PERIOD_TIME_UNIT.toNanos(this.managementPeriod);
+			long start = System.nanoTime();
+			this.manage();
+			long duration = System.nanoTime() - start;
+			this.cycleLatencies.record(duration);
+			if (duration > period) {
+				this.missedPeriods.addAndGet(duration/period);
+			}
+			pending = this.managementRequests.addAndGet(-pending);
+		} while (pending != 0);
+	}
+
+	/**
+	 * create an outbound port to control an equipment of the given type of
+	 * control, as found in the {@code type} attribute of the control adapter
+	 * descriptions.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	true		// no precondition.
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @param type			type of control: "suspension", "planning" or "standard".
+	 * @return				a new outbound port for this type of control.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	protected StandardEquipmentControlOutboundPort	createControlPort(
+		String type
+		) throws Exception
+	{
+		switch (type) {
+		case "suspension":
+			return new SuspensionEquipmentControlOutboundPort(this);
+		case "planning":
+			return new PlanningEquipmentControlOutboundPort(this);
+		default:
+			return new StandardEquipmentControlOutboundPort(this);
+		}
+	}
+
+	/**
+	 * return the control interface required to control an equipment of the
+	 * given type of control.
+	 *
+	 * @param type	type of control: "suspension", "planning" or "standard".
+	 * @return		the control interface for this type of control.
+	 */
+	protected static Class<?>	controlInterface(String type)
+	{
+		switch (type) {
+		case "suspension":
+			return SuspensionEquipmentControlCI.class;
+		case "planning":
+			return PlanningEquipmentControlCI.class;
+		default:
+			return StandardEquipmentControlCI.class;
+		}
+	}
+
+	/**
+	 * return the backend making the connectors of the registered equipments,
+	 * as chosen by the system property {@code CONNECTOR_BACKEND_PROPERTY}.
+	 *
+	 * @return	the backend making the connectors of the registered equipments.
+	 */
+	protected static ConnectorCache.Backend	connectorBackend()
+	{
+		return "handles".equals(System.getProperty(CONNECTOR_BACKEND_PROPERTY)) ?
+					ConnectorCache.Backend.METHOD_HANDLES
+				:	ConnectorCache.Backend.JAVASSIST;
+	}
+
+	/**
+	 * connect an equipment with the given connector and add it to the
+	 * registry, returning its description or null if an equipment with the
+	 * same identifier is already registered.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code uid != null && !uid.isEmpty()}
+	 * pre	{@code controlPortURI != null && !controlPortURI.isEmpty()}
+	 * pre	{@code connectorClassName != null}
+	 * post	{@code return == null || registry.get(uid) == return}
+	 * </pre>
+	 *
+	 * @param uid					unique identifier of the equipment.
+	 * @param controlPortURI		URI of the control inbound port of the equipment.
+	 * @param connectorClassName	canonical name of the connector class.
+	 * @param program				program of the interpreted connector or null if the connector is a class of its own.
+	 * @param type					type of control: "suspension", "planning" or "standard".
+	 * @param nominalPower			nominal power of the equipment in watts.
+	 * @param adapterPath			path of the adapter description of the equipment, or null if the connector is not made from a description.
+	 * @return						the description of the registered equipment or null if {@code uid} was already registered.
+	 * @throws Exception			<i>to do</i>.
+	 */
+	protected RegisteredEquipment	connectEquipment(
+		String uid,
+		String controlPortURI,
+		String connectorClassName,
+		AdapterProgram program,
+		String type,
+		double nominalPower,
+		Path adapterPath
+		) throws Exception
+	{
+		assert	uid != null && !uid.isEmpty();
+		assert	controlPortURI != null && !controlPortURI.isEmpty();
+		assert	connectorClassName != null;
+
+		if (this.registry.containsKey(uid)) {
+			return null;
+		}
+		StandardEquipmentControlOutboundPort port =
+												this.createControlPort(type);
+		port.setExecutor(this.portExecutor);
+		port.setAdapterProgram(program);
+		port.publishPort();
+		this.doPortConnection(port.getPortURI(), controlPortURI,
+							  connectorClassName);
+		RegisteredEquipment e = new RegisteredEquipment(uid, port, nominalPower,
+														adapterPath);
+		if (this.registry.putIfAbsent(uid, e) != null) {
+			// registered concurrently by another request
+			this.disconnectEquipment(e);
+			return null;
+		}
+		this.traceMessage("Equipment " + uid + " registered.\n");
+		return e;
+	}
+
+	/**
+	 * disconnect the port of an equipment and unpublish it.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code e != null}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param e				description of the equipment.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	protected void		disconnectEquipment(RegisteredEquipment e)
+	throws Exception
+	{
+		e.getPort().disconnectReplacement();
+		if (e.getPort().connected()) {
+			this.doPortDisconnection(e.getPort().getPortURI());
+		}
+		e.getPort().unpublishPort();
+	}
+
+	/**
+	 * wait for the results of the given asynchronous requests and return
+	 * them in the same order; a request that fails or that does not complete
+	 * before {@code CYCLE_DEADLINE} has a null result, so that the duration
+	 * of a step follows the slowest equipment instead of the sum of all the
+	 * equipments.
+	 * 
+	 * <p>
+	 * A late request is cancelled, so that it is never sent if it is still
+	 * waiting in the pipeline of its port; a request the equipment is already
+	 * performing cannot be cancelled and its future stays incomplete, so that
+	 * the caller can tell it from the requests which failed.
+	 * </p>
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code requests != null}
+	 * post	{@code return.size() == requests.size()}
+	 * </pre>
+	 *
+	 * @param <T>			type of the results of the requests.
+	 * @param requests		futures of the requests.
+	 * @return				the results of the requests, null for the ones that failed or missed the deadline.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	protected <T> List<T>	dispatch(List<CompletableFuture<T>> requests)
+	throws Exception
+	{
+		assert	requests != null;
+
+		long deadline = System.nanoTime() +
+						CYCLE_DEADLINE_TIME_UNIT.toNanos(CYCLE_DEADLINE);
+		List<T> results = new ArrayList<>(requests.size());
+		for (CompletableFuture<T> f : requests) {
+			try {
+				results.add(f.get(Math.max(deadline - System.nanoTime(), 0L),
+								  TimeUnit.NANOSECONDS));
+			} catch (TimeoutException e) {
+				if (f.cancel(false)) {
+					this.traceMessage("Equipment call missed the deadline, "
+									  + "cancelled.\n");
+				} else {
+					this.traceMessage("Equipment call missed the deadline, "
+									  + "still in progress.\n");
+				}
+				results.add(null);
+			} catch (CancellationException e) {
+				results.add(null);
+			} catch (ExecutionException e) {
+				this.traceMessage("Equipment call failed: " +
+								  e.getCause() + "\n");
+				results.add(null);
+			}
+		}
+		return results;
+	}
+
+	/**
+	 * management task for the HEM: get the state of the electric meter and
+	 * a snapshot of each controlled equipment, give them to the control
+	 * policy as the state of the house and send the commands it decides.
 	 *
 	 * <p><strong>Contract</strong></p>
 	 *
@@ -110,67 +631,300 @@ public class			HEM
 	 */
 	protected void		manage() throws Exception
 	{
+		double consumption = this.meterop.getCurrentConsumption();
+		double production = this.meterop.getCurrentProduction();
 		this.traceMessage("Electric meter current consumption? " +
-				this.meterop.getCurrentConsumption() + "\n");
+						  consumption + "\n");
 		this.traceMessage("Electric meter current production? " +
-				this.meterop.getCurrentProduction() + "\n");
-		
-		
-		this.traceMessage("WaterHeater is on? " + this.waterHeaterop.on() + "\n");
-		
-		this.traceMessage("WaterHeater is switched on? " +
-				this.waterHeaterop.switchOn() + "\n");
-		
-		this.traceMessage("WaterHeater current mode is? " +
-				this.waterHeaterop.currentMode() + "\n");
-		
-		this.traceMessage("Refrigerator is on? " + this.refrigeratorop.on() + "\n");
-		this.traceMessage("Refrigerator is switched on? " +
-				this.refrigeratorop.switchOn() + "\n");
-		
-		this.traceMessage("Electric meter current consumption? " +
-				this.meterop.getCurrentConsumption() + "\n");
-		
-		this.traceMessage("WaterHeater is suspended? " +
-				this.waterHeaterop.suspended() + "\n");
-		this.traceMessage("WaterHeater suspends? " +
-				this.waterHeaterop.suspend() + "\n");
-		
-		this.traceMessage("Electric meter current consumption? " +
-				this.meterop.getCurrentConsumption() + "\n");
-		
-		this.traceMessage("WaterHeater emergency? " +
-				this.waterHeaterop.emergency() + "\n");
-		
-		this.traceMessage("Refrigerator current mode is? " +
-				this.refrigeratorop.currentMode() + "\n");
-		this.traceMessage("Refrigerator is suspended? " +
-				this.refrigeratorop.suspended() + "\n");
-		this.traceMessage("Refrigerator suspends? " +
-				this.refrigeratorop.suspend() + "\n");
-		
-		this.traceMessage("WaterHeater resumes? " +
-				this.waterHeaterop.resume() + "\n");
-		this.traceMessage("WaterHeater is suspended? " +
-				this.waterHeaterop.suspended() + "\n");
-		this.traceMessage("WaterHeater is switched off? " +
-				this.waterHeaterop.switchOff() + "\n");
-		this.traceMessage("WaterHeater is on? " + this.waterHeaterop.on() + "\n");
-		
-		this.traceMessage("Electric meter current consumption? " +
-				this.meterop.getCurrentConsumption() + "\n");
-		
-		this.traceMessage("Refrigerator emergency? " +
-				this.refrigeratorop.emergency() + "\n");
-		this.traceMessage("Refrigerator resumes? " +
-				this.refrigeratorop.resume() + "\n");
-		this.traceMessage("Refrigerator is suspended? " +
-				this.refrigeratorop.suspended() + "\n");
-		this.traceMessage("Refrigerator is switched off? " +
-				this.refrigeratorop.switchOff() + "\n");
-		this.traceMessage("Refrigerator is on? " + this.refrigeratorop.on() + "\n");
+						  production + "\n");
+		this.managementPeriod =
+				this.periodController.observe(Math.max(consumption, 0.0));
+		this.managementPeriods.record(
+				MANAGEMENT_PERIOD_TIME_UNIT.toNanos(this.managementPeriod));
+		this.cycle++;
+		if (this.journal != null) {
+			this.journal.meter(this.cycle, consumption, production);
+		}
+
+		// the cycle works on a copy of the registry, so that registrations
+		// proceed concurrently
+		List<RegisteredEquipment> equipments =
+									new ArrayList<>(this.registry.values());
+		List<StandardEquipmentControlOutboundPort> ports =
+										new ArrayList<>(equipments.size());
+		for (RegisteredEquipment e : equipments) {
+			// the states cached during the previous cycle are only kept
+			// for the equipments notifying their changes
+			e.getPort().beginCycle();
+			ports.add(e.getPort());
+		}
+
+		// one call per equipment to get its whole state, all of them at once
+		List<CompletableFuture<EquipmentSnapshot>> queries =
+												new ArrayList<>(ports.size());
+		for (StandardEquipmentControlOutboundPort p : ports) {
+			queries.add(p.snapshotAsync());
+		}
+		List<EquipmentSnapshot> snapshots = this.dispatch(queries);
+
+		// the policy only knows the equipments which answered
+		List<HouseState.EquipmentState> states = new ArrayList<>();
+		Map<String,StandardEquipmentControlOutboundPort> answered =
+															new HashMap<>();
+		for (int i = 0 ; i < snapshots.size() ; i++) {
+			RegisteredEquipment e = equipments.get(i);
+			EquipmentSnapshot s = snapshots.get(i);
+			this.traceMessage(e.getUid() + " state? " + s + "\n");
+			if (s != null) {
+				if (this.journal != null) {
+					this.journal.state(this.cycle, e.getUid(), s,
+									   e.isSuspendable(), e.getNominalPower());
+				}
+				states.add(new HouseState.EquipmentState(
+											e.getUid(), e.isSuspendable(),
+											e.getNominalPower(), s));
+				answered.put(e.getUid(), e.getPort());
+			}
+		}
+		HouseState state = new HouseState(this.cycle,
+										  Math.max(consumption, 0.0),
+										  Math.max(production, 0.0),
+										  states);
+		this.shadowStates.set((int) (this.cycle % SHADOW_STATES), state);
+		ControlPolicy p = this.policy.get();
+		List<ControlCommand> decided = p.decide(state);
+
+		// the commands held by the governor are journaled as failed, so
+		// that a replay through the policy reverts the same decisions
+		long now = System.nanoTime();
+		CommandGovernor.Verdict verdict =
+								this.governor.filter(state, decided, now);
+		for (ControlCommand c : verdict.held()) {
+			this.traceMessage(c + " held.\n");
+			if (this.journal != null) {
+				this.journal.command(this.cycle, c, false);
+			}
+			p.commandFailed(c);
+		}
 
+		// all the commands of the cycle are sent at once too
+		List<ControlCommand> allowed = verdict.allowed();
+		List<ControlCommand> sent = new ArrayList<>(allowed.size());
+		List<CompletableFuture<Boolean>> commands =
+												new ArrayList<>(allowed.size());
+		for (ControlCommand c : allowed) {
+			CompletableFuture<Boolean> call =
+								sendCommand(answered.get(c.getUid()), c);
+			if (call == null) {
+				this.traceMessage(c + " cannot be sent.\n");
+				if (this.journal != null) {
+					this.journal.command(this.cycle, c, false);
+				}
+				p.commandFailed(c);
+			} else {
+				sent.add(c);
+				commands.add(call);
+			}
+		}
+		this.dispatch(commands);
+		for (int i = 0 ; i < commands.size() ; i++) {
+			CompletableFuture<Boolean> call = commands.get(i);
+			if (!call.isDone()) {
+				// still performed by the equipment, which may apply it
+				// later: it is neither reverted nor journaled as failed, and
+				// the governor counts it as sent
+				this.traceMessage(sent.get(i) + "? pending\n");
+				if (this.journal != null) {
+					this.journal.pending(this.cycle, sent.get(i));
+				}
+				this.governor.sent(sent.get(i), true, now);
+				continue;
+			}
+			// a command completing just after the deadline keeps its result
+			boolean ok = !call.isCompletedExceptionally() &&
+									Boolean.TRUE.equals(call.getNow(null));
+			this.traceMessage(sent.get(i) + "? " + ok + "\n");
+			if (this.journal != null) {
+				this.journal.command(this.cycle, sent.get(i), ok);
+			}
+			this.governor.sent(sent.get(i), ok, now);
+			if (!ok) {
+				p.commandFailed(sent.get(i));
+			}
+		}
 
+		this.planEquipments(equipments, consumption - production);
+	}
+
+	/**
+	 * send asynchronously a command decided by the control policy through the
+	 * port of the equipment and return the future on its result, or null if
+	 * the equipment did not answer during the cycle or cannot perform this
+	 * command.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code c != null}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param port	port of the equipment, null if it did not answer.
+	 * @param c		command to be performed.
+	 * @return		the future on the result of the command, or null if it cannot be performed.
+	 */
+	protected static CompletableFuture<Boolean>	sendCommand(
+		StandardEquipmentControlOutboundPort port,
+		ControlCommand c
+		)
+	{
+		assert	c != null;
+
+		if (port == null) {
+			return null;
+		}
+		switch (c.getKind()) {
+		case SUSPEND:
+			if (port instanceof SuspensionEquipmentControlOutboundPort) {
+				SuspensionEquipmentControlOutboundPort sp =
+							(SuspensionEquipmentControlOutboundPort) port;
+				return sp.suspendAsync();
+			}
+			return null;
+		case RESUME:
+			if (port instanceof SuspensionEquipmentControlOutboundPort) {
+				SuspensionEquipmentControlOutboundPort sp =
+							(SuspensionEquipmentControlOutboundPort) port;
+				return sp.resumeAsync();
+			}
+			return null;
+		default:
+			return port.setModeAsync(c.getArgument());
+		}
+	}
+
+	/**
+	 * The class <code>PlanQuery</code> gathers the planning information
+	 * obtained from a planning equipment in one pipelined request.
+	 */
+	protected static class	PlanQuery
+	{
+		protected boolean	on;
+		protected boolean	hasPlan;
+		protected LocalTime	startTime;
+		protected Duration	duration;
+		protected LocalTime	deadline;
+	}
+
+	/**
+	 * update the start time optimizer with the net load and the programs of
+	 * the planning equipments, optimise the start times within
+	 * {@code PLANNING_BUDGET} and postpone the programs which planned start
+	 * is later than the one of the equipment.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code equipments != null}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param equipments	the registered equipments for this cycle.
+	 * @param netLoad		current net load of the house in watts.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	protected void		planEquipments(
+		List<RegisteredEquipment> equipments,
+		double netLoad
+		) throws Exception
+	{
+		LocalTime now = LocalTime.now();
+		this.startTimeOptimizer.observe(now, netLoad);
+
+		List<RegisteredEquipment> planning = new ArrayList<>();
+		List<CompletableFuture<PlanQuery>> queries = new ArrayList<>();
+		for (RegisteredEquipment e : equipments) {
+			if (e.isPlanning()) {
+				PlanningEquipmentControlOutboundPort p =
+							(PlanningEquipmentControlOutboundPort) e.getPort();
+				planning.add(e);
+				queries.add(p.pipelined(() -> {
+								PlanQuery q = new PlanQuery();
+								q.on = p.on();
+								q.hasPlan = p.hasPlan();
+								if (q.hasPlan) {
+									q.startTime = p.startTime();
+									q.duration = p.duration();
+									q.deadline = p.deadline();
+								}
+								return q;
+							}));
+			}
+		}
+		List<PlanQuery> plans = this.dispatch(queries);
+
+		// programs which are running, done or unknown are not planned
+		Map<String,PlanQuery> pending = new HashMap<>();
+		for (int i = 0 ; i < plans.size() ; i++) {
+			PlanQuery q = plans.get(i);
+			String uid = planning.get(i).getUid();
+			if (q != null && q.hasPlan && !q.on) {
+				pending.put(uid, q);
+				this.startTimeOptimizer.updateJob(
+									uid, planning.get(i).getNominalPower(),
+									q.startTime.isBefore(now) ? now : q.startTime,
+									q.duration, q.deadline);
+			}
+		}
+		for (String uid : this.startTimeOptimizer.plannedEquipments()) {
+			if (!pending.containsKey(uid)) {
+				this.startTimeOptimizer.removeJob(uid);
+				this.requestedStarts.remove(uid);
+			}
+		}
+		if (pending.isEmpty()) {
+			return;
+		}
+		this.startTimeOptimizer.optimize(PLANNING_BUDGET,
+										 PLANNING_BUDGET_TIME_UNIT);
+
+		List<String> postponed = new ArrayList<>();
+		List<Duration> delays = new ArrayList<>();
+		List<CompletableFuture<Boolean>> commands = new ArrayList<>();
+		for (RegisteredEquipment e : planning) {
+			PlanQuery q = pending.get(e.getUid());
+			if (q == null) {
+				continue;
+			}
+			LocalTime planned =
+					this.startTimeOptimizer.plannedStart(e.getUid());
+			if (planned.isAfter(q.startTime) &&
+					!planned.equals(this.requestedStarts.get(e.getUid()))) {
+				PlanningEquipmentControlOutboundPort p =
+							(PlanningEquipmentControlOutboundPort) e.getPort();
+				Duration d = Duration.between(q.startTime, planned);
+				postponed.add(e.getUid());
+				delays.add(d);
+				this.requestedStarts.put(e.getUid(), planned);
+				commands.add(p.postponeAsync(d));
+			}
+		}
+		List<Boolean> done = this.dispatch(commands);
+		for (int i = 0 ; i < done.size() ; i++) {
+			this.traceMessage(postponed.get(i) + " postponed to " +
+							  this.startTimeOptimizer.plannedStart(
+													postponed.get(i)) +
+							  "? " + done.get(i) + "\n");
+			if (this.journal != null) {
+				this.journal.command(this.cycle, postponed.get(i),
+									 DecisionJournal.Command.POSTPONE,
+									 (int) delays.get(i).getSeconds(),
+									 Boolean.TRUE.equals(done.get(i)));
+			}
+			if (!Boolean.TRUE.equals(done.get(i))) {
+				this.requestedStarts.remove(postponed.get(i));
+			}
+		}
 	}
 
 	// -------------------------------------------------------------------------
@@ -187,8 +941,40 @@ public class			HEM
 
 		this.traceMessage("Home Energy Manager starts.\n");
 
+		if (this.dispatchThreads > 0) {
+			this.dispatcher = Executors.newFixedThreadPool(this.dispatchThreads);
+		}
+		this.registrationPool =
+						Executors.newFixedThreadPool(REGISTRATION_THREADS);
+		try {
+			this.journal =
+					new DecisionJournal(Paths.get(DEFAULT_JOURNAL_PATH));
+		} catch (IOException e) {
+			// the house can still be managed without the audit trail
+			this.traceMessage("Decision journal unavailable: " + e + "\n");
+		}
+		this.connectorCache.setTracer(m -> this.traceMessage(m + "\n"));
+		try {
+			this.connectorCache.persistIn(
+					Paths.get(DEFAULT_CONNECTOR_CACHE_PATH),
+					GeneratedConnectors.lookup());
+		} catch (IOException e) {
+			// the connectors are then generated again on each start
+			this.traceMessage("Connector cache unavailable: " + e + "\n");
+		}
+		try {
+			// the changes are handled by the thread of the HEM, as the
+			// registrations and the management cycles
+			this.adapterWatcher = new AdapterWatcher(
+						f -> this.runTask(o -> ((HEM)o).adapterChanged(f)));
+		} catch (IOException e) {
+			// the equipments keep their connectors until they register again
+			this.traceMessage("Adapter descriptions not watched: " + e + "\n");
+		}
+
 		try {
 			this.meterop = new ElectricMeterOutboundPort(this);
+			this.meterop.setExecutor(this.portExecutor);
 			this.meterop.publishPort();
 			this.doPortConnection(
 					this.meterop.getPortURI(),
@@ -196,47 +982,27 @@ public class			HEM
 					ElectricMeterConnector.class.getCanonicalName());
 
 
-			this.waterHeaterop = new SuspensionEquipmentControlOutboundPort(this);
-			this.waterHeaterop.publishPort();
-			this.doPortConnection(
-					this.waterHeaterop.getPortURI(),
-					ThermostatedWaterHeater.INBOUND_PORT_URI,
-					WaterHeaterConnector.class.getCanonicalName());
-			
-			this.refrigeratorop = new SuspensionEquipmentControlOutboundPort(this);
-			this.refrigeratorop.publishPort();
-			this.doPortConnection(
-					this.refrigeratorop.getPortURI(),
-					ThermostatedRefrigerator.INBOUND_PORT_URI,
-					RefrigeratorConnector.class.getCanonicalName());
-					
-			
-			//SelfControlWindTurbine
-			/*this.windTurbineop = new SuspensionEquipmentControlOutboundPort(this);
-			this.windTurbineop.publishPort();
-			this.doPortConnection(
-					this.windTurbineop.getPortURI(),
-					SelfControlWindTurbine.INBOUND_PORT_URI,
-					WindTurbineConnector.class.getCanonicalName());
-					*/
-
-			/*
-			this.batteryop = new SuspensionEquipmentControlOutboundPort(this);
-			this.batteryop.publishPort();
-			this.doPortConnection(
-					this.batteryop.getPortURI(),
-					Battery.INBOUND_PORT_URI,
-					BatteryConnector.class.getCanonicalName());
-					*/
-			/*
-			this.washingMachineop = new PlanningEquipmentControlOutboundPort(this);
-			this.washingMachineop.publishPort();
-			this.doPortConnection(
-					this.washingMachineop.getPortURI(),
-					ThermostatedWashingMachine.INBOUND_PORT_URI,
-					WashingMachineConnector.class.getCanonicalName());
-					*/
-			
+			// the water heater and the refrigerator are connected with their
+			// own connectors; other equipments register themselves through
+			// the registration service
+			this.waterHeaterop = (SuspensionEquipmentControlOutboundPort)
+					this.connectEquipment(
+							WATER_HEATER_UID,
+							ThermostatedWaterHeater.INBOUND_PORT_URI,
+							WaterHeaterConnector.class.getCanonicalName(),
+							null,
+							"suspension",
+							WaterHeaterElectricityModel.HEATING_POWER,
+							null).getPort();
+			this.refrigeratorop = (SuspensionEquipmentControlOutboundPort)
+					this.connectEquipment(
+							REFRIGERATOR_UID,
+							ThermostatedRefrigerator.INBOUND_PORT_URI,
+							RefrigeratorConnector.class.getCanonicalName(),
+							null,
+							"suspension",
+							RefrigeratorElectricityModel.FREEZING_POWER,
+							null).getPort();
 		} catch (Exception e) {
 			throw new ComponentStartException(e) ;
 		}
@@ -327,23 +1093,51 @@ public class			HEM
 
 
 		} else {
-			final HEM h = this;
-			this.managementTaskFuture =
-					this.scheduleTaskAtFixedRateOnComponent(
-							new AbstractComponent.AbstractTask() {
-								@Override
-								public void run() {
-									try {
-										h.manage();
-									} catch (Exception e) {
-										e.printStackTrace();
-									}
-								}
-							},
-							MANAGEMENT_PERIOD,
-							MANAGEMENT_PERIOD,
-							MANAGEMENT_PERIOD_TIME_UNIT);
+			if (this.reactive) {
+				// threshold crossings trigger cycles at once, in addition to
+				// the polling which backs off when the house is steady
+				this.meterop.registerThresholds(
+										METER_NOTIFICATION_INBOUND_PORT_URI,
+										this.consumptionThreshold,
+										this.productionThreshold);
+			}
+			this.scheduleManagement();
+		}
+	}
+
+	/**
+	 * schedule the next management cycle after the period chosen by the
+	 * last one; the task reschedules itself after each cycle, so that the
+	 * period adapts to the state of the house.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	true		// no precondition.
+	 * post	true		// no postcondition.
+	 * </pre>
+	 */
+	protected void		scheduleManagement()
+	{
+		if (!this.managing) {
+			return;
 		}
+		final HEM h = this;
+		this.managementTaskFuture =
+				this.scheduleTaskOnComponent(
+						new AbstractComponent.AbstractTask() {
+							@Override
+							public void run() {
+								try {
+									h.requestManagement();
+								} catch (Exception e) {
+									e.printStackTrace();
+								}
+								h.scheduleManagement();
+							}
+						},
+						this.managementPeriod,
+						MANAGEMENT_PERIOD_TIME_UNIT);
 	}
 
 	/**
@@ -352,16 +1146,27 @@ public class			HEM
 	@Override
 	public synchronized void	finalise() throws Exception
 	{
+		this.managing = false;
 		if (this.managementTaskFuture != null &&
 				!this.managementTaskFuture.isCancelled()) {
 			this.managementTaskFuture.cancel(true);
 		}
+		this.traceMessage(this.latencyReport());
+		if (this.journal != null) {
+			if (this.journal.getFailure() != null) {
+				this.traceMessage("Decision journal stopped: " +
+								  this.journal.getFailure() + "\n");
+			}
+			this.journal.close();
+		}
+		if (this.adapterWatcher != null) {
+			this.adapterWatcher.close();
+		}
 		this.doPortDisconnection(this.meterop.getPortURI());
-		this.doPortDisconnection(this.waterHeaterop.getPortURI());
-		this.doPortDisconnection(this.refrigeratorop.getPortURI());
-		//this.doPortDisconnection(this.batteryop.getPortURI());
-		//this.doPortDisconnection(this.washingMachineop.getPortURI());
-		//this.doPortDisconnection(this.windTurbineop.getPortURI());
+		for (RegisteredEquipment e : this.registry.values()) {
+			e.getPort().disconnectReplacement();
+			this.doPortDisconnection(e.getPort().getPortURI());
+		}
 		super.finalise();
 	}
 
@@ -373,16 +1178,527 @@ public class			HEM
 	{
 		this.traceMessage("Home Energy Manager stops.\n");
 
+		if (this.dispatcher != null) {
+			this.dispatcher.shutdownNow();
+		}
+		if (this.registrationPool != null) {
+			this.registrationPool.shutdownNow();
+			this.registrationPool = null;
+		}
 		try {
 			this.meterop.unpublishPort();
-			this.waterHeaterop.unpublishPort();
-			this.refrigeratorop.unpublishPort();
-			//this.batteryop.unpublishPort();
-			//this.washingMachineop.unpublishPort();
-			//this.windTurbineop.unpublishPort();
+			this.meterNotificationip.unpublishPort();
+			this.registrationip.unpublishPort();
+			for (RegisteredEquipment e : this.registry.values()) {
+				e.getPort().unpublishPort();
+			}
 		} catch (Exception e) {
 			throw new ComponentShutdownException(e) ;
 		}
 		super.shutdown();
 	}
-}
\ No newline at end of file
+
+	// -------------------------------------------------------------------------
+	// Control policies
+	// -------------------------------------------------------------------------
+
+	/**
+	 * return the control policy currently used by the management cycles.
+	 *
+	 * @return	the current control policy.
+	 */
+	public ControlPolicy	getPolicy()
+	{
+		return this.policy.get();
+	}
+
+	/**
+	 * install a new control policy without stopping the management cycles:
+	 * the policy is first warmed up by {@code warmUp} in the calling thread,
+	 * while the cycles go on with the current policy, then it is reset, so
+	 * that it forgets the decisions of the warm up, and it replaces the
+	 * current policy atomically from the next cycle on; a policy failing
+	 * during its warm up is not installed.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code p != null}
+	 * post	{@code getPolicy() == p}
+	 * </pre>
+	 *
+	 * @param p	the new control policy.
+	 * @return	the policy replaced by {@code p}.
+	 */
+	public ControlPolicy	installPolicy(ControlPolicy p)
+	{
+		assert	p != null;
+
+		long start = System.nanoTime();
+		long commands = this.warmUp(p);
+		p.reset();
+		ControlPolicy old = this.policy.getAndSet(p);
+		this.traceMessage("Policy " + p.getClass().getSimpleName() +
+						  " replaces " + old.getClass().getSimpleName() +
+						  " after a warm up of " +
+						  (System.nanoTime() - start)/1000000 + " ms (" +
+						  commands + " shadow commands).\n");
+		return old;
+	}
+
+	/**
+	 * make {@code p} decide {@code WARM_UP_DECISIONS} times on the recent
+	 * states of the house, or on a synthetic state built from the registered
+	 * equipments when no cycle has been performed yet; the commands decided
+	 * are discarded, so {@code p} must be reset before it is used.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code p != null}
+	 * post	{@code return >= 0}
+	 * </pre>
+	 *
+	 * @param p	the policy to be warmed up.
+	 * @return	the number of commands decided, which are discarded.
+	 */
+	protected long		warmUp(ControlPolicy p)
+	{
+		assert	p != null;
+
+		List<HouseState> states = new ArrayList<>(SHADOW_STATES);
+		for (int i = 0 ; i < SHADOW_STATES ; i++) {
+			HouseState s = this.shadowStates.get(i);
+			if (s != null) {
+				states.add(s);
+			}
+		}
+		if (states.isEmpty()) {
+			// all equipments on and twice the threshold, so that the policy
+			// goes through its decisions
+			List<HouseState.EquipmentState> equipments = new ArrayList<>();
+			for (RegisteredEquipment e : this.registry.values()) {
+				equipments.add(new HouseState.EquipmentState(
+										e.getUid(), e.isSuspendable(),
+										e.getNominalPower(),
+										new EquipmentSnapshot(true, 1, 1)));
+			}
+			states.add(new HouseState(0, 2.0*this.consumptionThreshold, 0.0,
+									  equipments));
+		}
+		long commands = 0;
+		for (int i = 0 ; i < WARM_UP_DECISIONS ; i++) {
+			commands += p.decide(states.get(i % states.size())).size();
+		}
+		return commands;
+	}
+
+	// -------------------------------------------------------------------------
+	// Metrics
+	// -------------------------------------------------------------------------
+
+	/**
+	 * return the histogram of the end-to-end durations of the management
+	 * cycles in nanoseconds.
+	 *
+	 * @return	the histogram of the durations of the management cycles.
+	 */
+	public LatencyHistogram	getCycleLatencies()
+	{
+		return this.cycleLatencies;
+	}
+
+	/**
+	 * return the number of management periods missed because a cycle
+	 * lasted longer than the period chosen before it.
+	 *
+	 * @return	the number of missed management periods.
+	 */
+	public long			getMissedPeriods()
+	{
+		return this.missedPeriods.get();
+	}
+
+	/**
+	 * return the period until the next management cycle, as chosen by the
+	 * last one, in milliseconds.
+	 *
+	 * @return	the period until the next management cycle in milliseconds.
+	 */
+	public long			getManagementPeriod()
+	{
+		return this.managementPeriod;
+	}
+
+	/**
+	 * return the histogram of the periods chosen by the management cycles
+	 * in nanoseconds.
+	 *
+	 * @return	the histogram of the periods chosen by the management cycles.
+	 */
+	public LatencyHistogram	getManagementPeriods()
+	{
+		return this.managementPeriods;
+	}
+
+	/**
+	 * return a report of the durations of the management cycles and of the
+	 * round-trip latencies of the calls made through the ports of the
+	 * electric meter and of the registered equipments.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	true		// no precondition.
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @return	the latency report.
+	 */
+	public String		latencyReport()
+	{
+		StringBuilder sb = new StringBuilder("HEM latencies\n");
+		sb.append("  management cycles: ").append(this.cycleLatencies)
+		  .append(", missed periods = ").append(this.getMissedPeriods())
+		  .append('\n');
+		sb.append("  management periods: ").append(this.managementPeriods)
+		  .append('\n');
+		sb.append("  commands: ").append(this.governor).append('\n');
+		sb.append("  connector classes: ").append(this.connectorCache)
+		  .append('\n');
+		if (this.meterop != null) {
+			sb.append("  electric meter\n")
+			  .append(this.meterop.getLatencies().report("    "));
+		}
+		for (RegisteredEquipment e : this.registry.values()) {
+			sb.append("  equipment ").append(e.getUid()).append('\n')
+			  .append(e.getPort().getLatencies().report("    "));
+		}
+		return sb.toString();
+	}
+
+	// -------------------------------------------------------------------------
+	// Component services implementation
+	// -------------------------------------------------------------------------
+
+	/**
+	 * register an equipment, generating its connector from its control
+	 * adapter description unless a description generated the same way was
+	 * registered before; when {@code uid} is empty, the identifier given
+	 * in the description is used.
+	 *
+	 * @see fr.sorbonne_u.hem.registration.RegistrationImplementation#register(java.lang.String, java.lang.String, java.lang.String)
+	 */
+	@Override
+	public boolean		register(
+		String uid,
+		String controlPortURI,
+		String path2xmlControlAdapter
+		) throws Exception
+	{
+		assert	controlPortURI != null && !controlPortURI.isEmpty();
+		assert	path2xmlControlAdapter != null &&
+											!path2xmlControlAdapter.isEmpty();
+
+		// equipments of the same type share their parsed description and
+		// their connector class, generated only for the first of them
+		return this.register(uid, controlPortURI, path2xmlControlAdapter,
+							 this.connectorCache.get(path2xmlControlAdapter));
+	}
+
+	/**
+	 * register an equipment with the connector made from its control adapter
+	 * description.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code controlPortURI != null && !controlPortURI.isEmpty()}
+	 * pre	{@code path2xmlControlAdapter != null}
+	 * pre	{@code generated != null}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param uid						unique identifier of the equipment, or empty to use the one of the description.
+	 * @param controlPortURI			URI of the control inbound port of the equipment.
+	 * @param path2xmlControlAdapter	path of the adapter description, watched once the equipment is registered.
+	 * @param generated					parsed description and connector of the equipment.
+	 * @return							true if the equipment has been registered.
+	 * @throws Exception				<i>to do</i>.
+	 */
+	protected boolean	register(
+		String uid,
+		String controlPortURI,
+		String path2xmlControlAdapter,
+		ConnectorCache.Entry generated
+		) throws Exception
+	{
+		XML adapter = generated.getAdapter();
+		String id = uid == null || uid.isEmpty() ? adapter.getUid() : uid;
+		if (id == null || id.isEmpty() || this.registry.containsKey(id)) {
+			return false;
+		}
+		Path path = Paths.get(path2xmlControlAdapter).toAbsolutePath().normalize();
+		if (this.connectEquipment(id, controlPortURI,
+								  generated.getConnectorClass().
+															getCanonicalName(),
+								  generated.getProgram(),
+								  adapter.getType(),
+								  adapter.getNominalConsumption(),
+								  path) == null) {
+			return false;
+		}
+		AdapterWatcher w = this.adapterWatcher;
+		if (w != null) {
+			try {
+				w.watch(path);
+			} catch (IOException e) {
+				this.traceMessage("Adapter description " + path +
+								  " not watched: " + e + "\n");
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * register a batch of equipments: the connectors of the distinct adapter
+	 * descriptions of the batch are made in parallel on the registration
+	 * pool of {@code REGISTRATION_THREADS} threads, then the equipments are
+	 * connected in the order of the batch; an equipment which description
+	 * cannot be read or compiled is not registered, without preventing the
+	 * others to be.
+	 *
+	 * @see fr.sorbonne_u.hem.registration.RegistrationImplementation#registerAll(fr.sorbonne_u.hem.registration.RegistrationRequest[])
+	 */
+	@Override
+	public boolean[]	registerAll(RegistrationRequest[] requests)
+	throws Exception
+	{
+		assert	requests != null;
+
+		long start = System.nanoTime();
+		// the equipments of the same type share the same description
+		LinkedHashMap<String,Future<ConnectorCache.Entry>> adapters =
+														new LinkedHashMap<>();
+		for (RegistrationRequest r : requests) {
+			adapters.put(r.getPath2xmlControlAdapter(), null);
+		}
+		ExecutorService pool = this.registrationPool;
+		for (String path : adapters.keySet()) {
+			Callable<ConnectorCache.Entry> make =
+										() -> this.connectorCache.get(path);
+			if (pool == null) {
+				// not started: the connectors are made by the calling thread
+				FutureTask<ConnectorCache.Entry> t = new FutureTask<>(make);
+				t.run();
+				adapters.put(path, t);
+			} else {
+				adapters.put(path, pool.submit(make));
+			}
+		}
+
+		boolean[] results = new boolean[requests.length];
+		int registered = 0;
+		for (int i = 0 ; i < requests.length ; i++) {
+			RegistrationRequest r = requests[i];
+			try {
+				ConnectorCache.Entry generated =
+					adapters.get(r.getPath2xmlControlAdapter()).get();
+				results[i] = this.register(r.getUid(), r.getControlPortURI(),
+										   r.getPath2xmlControlAdapter(),
+										   generated);
+			} catch (Exception e) {
+				this.traceMessage("Equipment " + r.getUid() + " not registered: " +
+								  (e instanceof ExecutionException ?
+										e.getCause() : e) + "\n");
+			}
+			if (results[i]) {
+				registered++;
+			}
+		}
+		this.traceMessage(registered + " of " + requests.length +
+						  " equipments registered in " +
+						  (System.nanoTime() - start)/1000000 + " ms.\n");
+		return results;
+	}
+
+	/**
+	 * @see fr.sorbonne_u.hem.registration.RegistrationImplementation#unregister(java.lang.String)
+	 */
+	@Override
+	public boolean		unregister(String uid) throws Exception
+	{
+		RegisteredEquipment e = this.registry.remove(uid);
+		if (e == null) {
+			return false;
+		}
+		this.disconnectEquipment(e);
+		this.governor.forget(uid);
+		this.traceMessage("Equipment " + uid + " unregistered.\n");
+		return true;
+	}
+
+	/**
+	 * make again the connectors of the registered equipments which adapter
+	 * description is in the file {@code file}, which changed; a description
+	 * which cannot be read or compiled is ignored, the equipments keeping
+	 * their connectors until it is fixed.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code file != null}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param file	absolute path of the changed adapter description.
+	 */
+	protected void		adapterChanged(Path file)
+	{
+		assert	file != null;
+
+		ConnectorCache.Entry generated = null;
+		for (RegisteredEquipment e : new ArrayList<>(this.registry.values())) {
+			if (!file.equals(e.getAdapterPath())) {
+				continue;
+			}
+			try {
+				if (!e.getPort().connected()) {
+					// disconnected by the finalisation of the HEM
+					continue;
+				}
+				if (generated == null) {
+					generated = this.connectorCache.get(file.toString());
+				}
+				this.reloadEquipment(e, generated);
+			} catch (Exception x) {
+				this.traceMessage("Equipment " + e.getUid() + " not reloaded: " +
+								  x + "\n");
+			}
+		}
+	}
+
+	/**
+	 * replace the connector of the equipment {@code e} by a connector made
+	 * from the new version {@code generated} of its adapter description,
+	 * which must keep its type of control.
+	 * 
+	 * <p>
+	 * The new connector is connected to the ends of the current one and
+	 * takes the values of the instance variables which kept their name and
+	 * type, then it replaces the current one in the port at once: the calls
+	 * in progress end on the current connector while the next ones use the
+	 * new one, no call waiting for the replacement. The cached state of the
+	 * port is invalidated, as the new description may read it differently.
+	 * Once the calls in progress on the current connector have ended, the
+	 * instance variables they changed after the transfer are transferred
+	 * again and the current connector is disconnected by the port, unless
+	 * it is the one made by BCM.
+	 * </p>
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code e != null && generated != null}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param e				registered equipment.
+	 * @param generated		parsed new description and its connector.
+	 * @return				true if the connector has been replaced, false if the description did not change.
+	 * @throws Exception	if the connector cannot be replaced.
+	 */
+	protected boolean	reloadEquipment(
+		RegisteredEquipment e,
+		ConnectorCache.Entry generated
+		) throws Exception
+	{
+		assert	e != null && generated != null;
+
+		StandardEquipmentControlOutboundPort port = e.getPort();
+		Object current = port.getConnector();
+		if (current.getClass() == generated.getConnectorClass() &&
+				port.getAdapterProgram() == generated.getProgram()) {
+			// same connector, as when an editor saves several times or only
+			// the layout of the description changed
+			return false;
+		}
+		Class<?> type = e.isPlanning() ?
+							PlanningEquipmentControlCI.class
+						:	e.isSuspendable() ?
+								SuspensionEquipmentControlCI.class
+							:	StandardEquipmentControlCI.class;
+		if (controlInterface(generated.getAdapter().getType()) != type) {
+			throw new Exception("the type of control changed to " +
+								generated.getAdapter().getType());
+		}
+		if (!(current instanceof AdapterConnector)) {
+			throw new Exception("its connector is not made from a description");
+		}
+		AdapterConnector previous = (AdapterConnector) current;
+		AdapterConnector next = (AdapterConnector)
+				generated.getConnectorClass().getDeclaredConstructor().
+																newInstance();
+		// the interpreted connectors take their program from the port
+		AdapterProgram program = port.getAdapterProgram();
+		port.setAdapterProgram(generated.getProgram());
+		try {
+			next.connect(previous.getOffering(), previous.getRequiring());
+		} catch (Exception x) {
+			port.setAdapterProgram(program);
+			throw x;
+		}
+		Map<String,Object> transferred = previous.exportState();
+		List<String> kept = next.importState(transferred);
+		port.replaceConnector(next, c -> {
+			// the commands which ended on the previous connector after the
+			// transfer changed variables the new connector has not seen
+			Map<String,Object> late = new LinkedHashMap<>();
+			for (Map.Entry<String,Object> v :
+										previous.exportState().entrySet()) {
+				if (!Objects.equals(v.getValue(),
+									transferred.get(v.getKey()))) {
+					late.put(v.getKey(), v.getValue());
+				}
+			}
+			if (!late.isEmpty() && !next.importState(late).isEmpty()) {
+				port.invalidate();
+			}
+			return null;
+		});
+		port.invalidate();
+		this.traceMessage("Equipment " + e.getUid() + " reloaded, keeping " +
+						  kept + ".\n");
+		return true;
+	}
+
+	/**
+	 * invalidate the cached state of the equipment {@code uid}, which
+	 * notified a change of its state; unknown equipments are ignored.
+	 * 
+	 * @see fr.sorbonne_u.hem.registration.RegistrationImplementation#stateChanged(java.lang.String)
+	 */
+	@Override
+	public void			stateChanged(String uid) throws Exception
+	{
+		RegisteredEquipment e = this.registry.get(uid);
+		if (e != null) {
+			e.getPort().stateChanged();
+		}
+	}
+
+	/**
+	 * @see fr.sorbonne_u.meter.ElectricMeterNotificationImplementationI#thresholdCrossed(double, double)
+	 */
+	@Override
+	public void			thresholdCrossed(
+		double currentConsumption,
+		double currentProduction
+		) throws Exception
+	{
+		this.traceMessage("Threshold crossed (consumption " +
+						  currentConsumption + ", production " +
+						  currentProduction + ").\n");
+		this.requestManagement();
+	}
+}
@@ -0,0 +1,283 @@
+package fr.sorbonne_u.hem;
+
+
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to provide a basic
+// household management systems as an example of a cyber-physical system.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import fr.sorbonne_u.interfaces.EquipmentSnapshot;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>HouseState</code> represents the state of the house as
+ * observed by the HEM during one management cycle, which is the input of the
+ * control policies.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * A house state is immutable: it can be given to several policies, kept to
+ * warm up a new policy or rebuilt from a journal without any of them
+ * altering it. It only contains the equipments which answered during the
+ * cycle.
+ * </p>
+ * 
+ * <p><strong>Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code consumption >= 0.0 && production >= 0.0}
+ * invariant	{@code equipments != null}
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-17</p>
+ * 
+ *  @authors	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+ *              <a href="maedeh.daemi@etu.sorbonne-universite.fr">DAEMI Maedeh</a>
+ */
+public final class		HouseState
+implements	Serializable
+{
+	/**
+	 * The class <code>EquipmentState</code> represents the state of one
+	 * registered equipment during a management cycle.
+	 *
+	 * <p><strong>Invariant</strong></p>
+	 * 
+	 * <pre>
+	 * invariant	{@code uid != null && snapshot != null}
+	 * invariant	{@code nominalPower >= 0.0}
+	 * </pre>
+	 * 
+	 * <p>Created on : 2026-10-17</p>
+	 * 
+	 *  @authors	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+	 *              <a href="maedeh.daemi@etu.sorbonne-universite.fr">DAEMI Maedeh</a>
+	 */
+	public static final class	EquipmentState
+	implements	Serializable
+	{
+		private static final long serialVersionUID = 1L;
+
+		/** unique identifier of the equipment.								*/
+		protected final String				uid;
+		/** true if the equipment can be suspended.							*/
+		protected final boolean				suspendable;
+		/** nominal power of the equipment in watts.						*/
+		protected final double				nominalPower;
+		/** state of the equipment.											*/
+		protected final EquipmentSnapshot	snapshot;
+
+		/**
+		 * create the state of an equipment.
+		 * 
+		 * <p><strong>Contract</strong></p>
+		 * 
+		 * <pre>
+		 * pre	{@code uid != null && snapshot != null}
+		 * pre	{@code nominalPower >= 0.0}
+		 * post	true		// no postcondition.
+		 * </pre>
+		 *
+		 * @param uid			unique identifier of the equipment.
+		 * @param suspendable	true if the equipment can be suspended.
+		 * @param nominalPower	nominal power of the equipment in watts.
+		 * @param snapshot		state of the equipment.
+		 */
+		public			EquipmentState(
+			String uid,
+			boolean suspendable,
+			double nominalPower,
+			EquipmentSnapshot snapshot
+			)
+		{
+			assert	uid != null && snapshot != null;
+			assert	nominalPower >= 0.0;
+
+			this.uid = uid;
+			this.suspendable = suspendable;
+			this.nominalPower = nominalPower;
+			this.snapshot = snapshot;
+		}
+
+		/**
+		 * return the unique identifier of the equipment.
+		 *
+		 * @return	the unique identifier of the equipment.
+		 */
+		public String	getUid()
+		{
+			return this.uid;
+		}
+
+		/**
+		 * return true if the equipment can be suspended.
+		 *
+		 * @return	true if the equipment can be suspended.
+		 */
+		public boolean	isSuspendable()
+		{
+			return this.suspendable;
+		}
+
+		/**
+		 * return the nominal power of the equipment in watts.
+		 *
+		 * @return	the nominal power of the equipment in watts.
+		 */
+		public double	getNominalPower()
+		{
+			return this.nominalPower;
+		}
+
+		/**
+		 * return the state of the equipment.
+		 *
+		 * @return	the state of the equipment.
+		 */
+		public EquipmentSnapshot	getSnapshot()
+		{
+			return this.snapshot;
+		}
+
+		/**
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String	toString()
+		{
+			return this.uid + (this.suspendable ? "[suspendable, " : "[") +
+				   this.nominalPower + " W] " + this.snapshot;
+		}
+	}
+
+	private static final long serialVersionUID = 1L;
+
+	/** number of the management cycle.										*/
+	protected final long					cycle;
+	/** consumption of the house in watts.									*/
+	protected final double					consumption;
+	/** production of the house in watts.									*/
+	protected final double					production;
+	/** states of the equipments which answered during the cycle.			*/
+	protected final List<EquipmentState>	equipments;
+
+	/**
+	 * create a house state; the list of equipments is copied.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code consumption >= 0.0 && production >= 0.0}
+	 * pre	{@code equipments != null}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param cycle			number of the management cycle.
+	 * @param consumption	consumption of the house in watts.
+	 * @param production	production of the house in watts.
+	 * @param equipments	states of the equipments which answered during the cycle.
+	 */
+	public				HouseState(
+		long cycle,
+		double consumption,
+		double production,
+		List<EquipmentState> equipments
+		)
+	{
+		assert	consumption >= 0.0 && production >= 0.0;
+		assert	equipments != null;
+
+		this.cycle = cycle;
+		this.consumption = consumption;
+		this.production = production;
+		this.equipments =
+				Collections.unmodifiableList(new ArrayList<>(equipments));
+	}
+
+	/**
+	 * return the number of the management cycle.
+	 *
+	 * @return	the number of the management cycle.
+	 */
+	public long			getCycle()
+	{
+		return this.cycle;
+	}
+
+	/**
+	 * return the consumption of the house in watts.
+	 *
+	 * @return	the consumption of the house in watts.
+	 */
+	public double		getConsumption()
+	{
+		return this.consumption;
+	}
+
+	/**
+	 * return the production of the house in watts.
+	 *
+	 * @return	the production of the house in watts.
+	 */
+	public double		getProduction()
+	{
+		return this.production;
+	}
+
+	/**
+	 * return the states of the equipments which answered during the cycle.
+	 *
+	 * @return	an unmodifiable list of the states of the equipments.
+	 */
+	public List<EquipmentState>	getEquipments()
+	{
+		return this.equipments;
+	}
+
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String		toString()
+	{
+		return "HouseState[cycle = " + this.cycle +
+			   ", consumption = " + this.consumption +
+			   ", production = " + this.production +
+			   ", equipments = " + this.equipments + "]";
+	}
+}
+// -----------------------------------------------------------------------------
@@ -0,0 +1,291 @@
+package fr.sorbonne_u.hem;
+
+
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to provide a basic
+// household management systems as an example of a cyber-physical system.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import fr.sorbonne_u.interfaces.EquipmentSnapshot;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>JournalReplayer</code> replays offline a journal recorded
+ * by the HEM through a control policy, by default its graded shedding policy,
+ * at full speed, and reports the decisions that differ from the recorded
+ * ones.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * Each management cycle of the journal is rebuilt as the state of the house
+ * the HEM gave to its policy, from the meter and state records, and given to
+ * a fresh policy created for the replay; the commands it decides are
+ * compared with the recorded suspensions, resumptions and mode changes, and
+ * the recorded commands which failed are signalled to the policy as the HEM
+ * does. The postponements are decided by the planning of the HEM, not by the
+ * policies, and are ignored.
+ * </p>
+ * <p>
+ * Replaying the journal of a policy through another one gives the cycles
+ * where they would have decided differently.
+ * </p>
+ * <p>
+ * A regression test records a journal with a reference version of the HEM
+ * and replays it with the new one: the program exits with status 1 if any
+ * decision differs.
+ * </p>
+ * 
+ * <p><strong>Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	true
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-17</p>
+ * 
+ *  @authors	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+ *              <a href="maedeh.daemi@etu.sorbonne-universite.fr">DAEMI Maedeh</a>
+ */
+public class			JournalReplayer
+{
+	/** factory creating the policy through which a journal is replayed.	*/
+	protected final Supplier<? extends ControlPolicy>	factory;
+	/** policy through which the journal is replayed.						*/
+	protected ControlPolicy		policy;
+	/** states of the equipments read during the current cycle.			*/
+	protected final List<HouseState.EquipmentState>	states =
+															new ArrayList<>();
+	/** commands recorded during the current cycle.						*/
+	protected final Set<ControlCommand>	recorded = new HashSet<>();
+	/** commands recorded during the current cycle which failed.			*/
+	protected final List<ControlCommand>	failed = new ArrayList<>();
+	/** number of the current cycle.										*/
+	protected long				cycle;
+	/** consumption read during the current cycle, NaN before the first.	*/
+	protected double			consumption;
+	/** production read during the current cycle.							*/
+	protected double			production;
+
+	/** number of cycles replayed.											*/
+	protected long				cycles;
+	/** number of state records replayed.									*/
+	protected long				stateRecords;
+	/** number of suspensions and resumptions recorded.					*/
+	protected long				recordedCommands;
+	/** number of suspensions and resumptions decided by the replay.		*/
+	protected long				replayedCommands;
+	/** number of cycles which decision differs from the recorded one.	*/
+	protected long				mismatches;
+
+	/**
+	 * create a replayer through the graded shedding policy with the given
+	 * budget, which must be the consumption threshold of the HEM which
+	 * recorded the journal for the replay to be faithful.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code budget >= 0.0}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param budget	budget on the consumption in watts.
+	 */
+	public				JournalReplayer(double budget)
+	{
+		this(() -> new GradedSheddingPolicy(budget));
+
+		assert	budget >= 0.0;
+	}
+
+	/**
+	 * create a replayer through the policies created by {@code factory},
+	 * one per replay.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code factory != null}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param factory	factory creating the policy of each replay.
+	 */
+	public				JournalReplayer(
+		Supplier<? extends ControlPolicy> factory
+		)
+	{
+		assert	factory != null;
+
+		this.factory = factory;
+	}
+
+	/**
+	 * replay the journal in {@code file}.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code file != null}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param file			path of the journal.
+	 * @return				the number of cycles which decision differs from the recorded one.
+	 * @throws IOException	if the journal cannot be read.
+	 */
+	public long			replay(Path file) throws IOException
+	{
+		assert	file != null;
+
+		this.policy = this.factory.get();
+		this.consumption = Double.NaN;
+		this.cycles = 0;
+		this.stateRecords = 0;
+		this.recordedCommands = 0;
+		this.replayedCommands = 0;
+		this.mismatches = 0;
+		try (DecisionJournal.Reader r = new DecisionJournal.Reader(file)) {
+			while (r.next()) {
+				switch (r.kind()) {
+				case DecisionJournal.METER:
+					this.endCycle();
+					this.cycle = r.cycle();
+					this.consumption = r.consumption();
+					this.production = r.production();
+					break;
+				case DecisionJournal.STATE:
+					this.stateRecords++;
+					this.states.add(new HouseState.EquipmentState(
+							r.uid(), r.suspendable(), r.nominalPower(),
+							new EquipmentSnapshot(r.on(), r.mode(),
+												  r.maxMode(), r.suspended(),
+												  r.emergency())));
+					break;
+				case DecisionJournal.COMMAND:
+					ControlCommand c = r.controlCommand();
+					if (c != null) {
+						this.recorded.add(c);
+						if (!r.done() && !r.pending()) {
+							this.failed.add(c);
+						}
+					}
+					break;
+				default:
+					throw new IOException("unknown record kind " + r.kind() +
+										  " in cycle " + r.cycle() + ".");
+				}
+			}
+		}
+		this.endCycle();
+		return this.mismatches;
+	}
+
+	/**
+	 * decide the current cycle, compare the decision with the recorded one
+	 * and prepare the next cycle.
+	 */
+	protected void		endCycle()
+	{
+		if (Double.isNaN(this.consumption)) {
+			return;
+		}
+		List<ControlCommand> decided = this.policy.decide(
+						new HouseState(this.cycle,
+									   Math.max(this.consumption, 0.0),
+									   Math.max(this.production, 0.0),
+									   this.states));
+		for (ControlCommand c : this.failed) {
+			this.policy.commandFailed(c);
+		}
+		this.cycles++;
+		this.recordedCommands += this.recorded.size();
+		this.replayedCommands += decided.size();
+		if (!this.recorded.equals(new HashSet<>(decided))) {
+			this.mismatches++;
+		}
+		this.states.clear();
+		this.recorded.clear();
+		this.failed.clear();
+		this.consumption = Double.NaN;
+	}
+
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String		toString()
+	{
+		return "cycles = " + this.cycles + ", states = " + this.stateRecords +
+			   ", recorded commands = " + this.recordedCommands +
+			   ", replayed commands = " + this.replayedCommands +
+			   ", mismatching cycles = " + this.mismatches;
+	}
+
+	/**
+	 * replay a journal: {@code JournalReplayer journal [budget]}, where the
+	 * budget defaults to {@code HEM.DEFAULT_CONSUMPTION_THRESHOLD}.
+	 *
+	 * @param args	path of the journal and optional budget in watts.
+	 */
+	public static void	main(String[] args)
+	{
+		if (args.length < 1 || args.length > 2) {
+			System.err.println("usage: JournalReplayer journal [budget]");
+			System.exit(2);
+		}
+		double budget = args.length > 1 ?
+							Double.parseDouble(args[1])
+						:	HEM.DEFAULT_CONSUMPTION_THRESHOLD;
+		JournalReplayer replayer = new JournalReplayer(budget);
+		try {
+			long start = System.nanoTime();
+			long mismatches = replayer.replay(Paths.get(args[0]));
+			long elapsed = System.nanoTime() - start;
+			System.out.println(replayer + " in " + elapsed/1000000 + " ms.");
+			System.exit(mismatches == 0 ? 0 : 1);
+		} catch (IOException e) {
+			e.printStackTrace();
+			System.exit(2);
+		}
+	}
+}
+// -----------------------------------------------------------------------------
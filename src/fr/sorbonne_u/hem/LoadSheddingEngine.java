@@ -0,0 +1,590 @@
+package fr.sorbonne_u.hem;
+
+
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to provide a basic
+// household management systems as an example of a cyber-physical system.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>LoadSheddingEngine</code> decides which suspendable
+ * equipments must be suspended or resumed to keep the consumption of the
+ * house under a budget, according to their degree of emergency.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * The running equipments are kept in a min-heap on their emergency and the
+ * suspended ones in a max-heap on their emergency. When the consumption goes
+ * over the budget, the running equipments with the lowest emergency are
+ * suspended until the estimated consumption, computed from their nominal
+ * power, is back under the budget; when there is room under the budget, the
+ * suspended equipments are resumed in decreasing emergency order. Equipments
+ * which emergency reaches 1.0 are never suspended and are always resumed.
+ * </p>
+ * <p>
+ * Each entry knows its position in its heap, so that a change of the
+ * emergency or of the state of one equipment is taken into account in
+ * O(log n) without rebuilding the heaps, and a decision costs O(k log n)
+ * where k is the number of equipments suspended or resumed.
+ * </p>
+ * <p>
+ * The engine is not thread-safe: it is meant to be used by the management
+ * cycle of the HEM, which never runs concurrently with itself.
+ * </p>
+ * 
+ * <p><strong>Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code budget >= 0.0}
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-17</p>
+ * 
+ *  @authors	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+ *              <a href="maedeh.daemi@etu.sorbonne-universite.fr">DAEMI Maedeh</a>
+ */
+public class			LoadSheddingEngine
+{
+	// -------------------------------------------------------------------------
+	// Inner classes
+	// -------------------------------------------------------------------------
+
+	/**
+	 * The class <code>Entry</code> holds the information the engine keeps on
+	 * one equipment, including its position in the heap it belongs to.
+	 */
+	protected static class	Entry
+	{
+		/** identifier of the equipment.									*/
+		protected final String	uid;
+		/** nominal power of the equipment in watts.						*/
+		protected final double	nominalPower;
+		/** current degree of emergency of the equipment.					*/
+		protected double		emergency;
+		/** true if the equipment is suspended.								*/
+		protected boolean		suspended;
+		/** heap containing the entry or null if the equipment is off.		*/
+		protected IndexedHeap	heap;
+		/** index of the entry in its heap.									*/
+		protected int			index;
+
+		protected			Entry(String uid, double nominalPower)
+		{
+			this.uid = uid;
+			this.nominalPower = nominalPower;
+			this.index = -1;
+		}
+	}
+
+	/**
+	 * The class <code>IndexedHeap</code> implements a binary heap of entries
+	 * ordered on their emergency, which entries record their index so that
+	 * any of them can be removed or repositioned in O(log n).
+	 */
+	protected static class	IndexedHeap
+	{
+		/** true for a max-heap, false for a min-heap.						*/
+		protected final boolean	max;
+		/** entries organised as a binary heap.								*/
+		protected Entry[]		entries;
+		/** number of entries in the heap.									*/
+		protected int			size;
+
+		protected			IndexedHeap(boolean max)
+		{
+			this.max = max;
+			this.entries = new Entry[8];
+			this.size = 0;
+		}
+
+		protected boolean	isEmpty()
+		{
+			return this.size == 0;
+		}
+
+		protected Entry		peek()
+		{
+			return this.size == 0 ? null : this.entries[0];
+		}
+
+		protected void		add(Entry e)
+		{
+			assert	e.heap == null;
+
+			if (this.size == this.entries.length) {
+				Entry[] tmp = new Entry[2*this.size];
+				System.arraycopy(this.entries, 0, tmp, 0, this.size);
+				this.entries = tmp;
+			}
+			e.heap = this;
+			this.place(e, this.size++);
+			this.siftUp(e.index);
+		}
+
+		protected void		remove(Entry e)
+		{
+			assert	e.heap == this;
+
+			int i = e.index;
+			Entry last = this.entries[--this.size];
+			this.entries[this.size] = null;
+			if (last != e) {
+				this.place(last, i);
+				this.reposition(last);
+			}
+			e.heap = null;
+			e.index = -1;
+		}
+
+		protected Entry		poll()
+		{
+			Entry ret = this.entries[0];
+			this.remove(ret);
+			return ret;
+		}
+
+		protected void		reposition(Entry e)
+		{
+			assert	e.heap == this;
+
+			this.siftUp(e.index);
+			this.siftDown(e.index);
+		}
+
+		protected boolean	before(Entry e1, Entry e2)
+		{
+			return this.max ? e1.emergency > e2.emergency
+							: e1.emergency < e2.emergency;
+		}
+
+		protected void		place(Entry e, int i)
+		{
+			this.entries[i] = e;
+			e.index = i;
+		}
+
+		protected void		siftUp(int i)
+		{
+			Entry e = this.entries[i];
+			while (i > 0) {
+				int parent = (i - 1) >>> 1;
+				if (!this.before(e, this.entries[parent])) {
+					break;
+				}
+				this.place(this.entries[parent], i);
+				i = parent;
+			}
+			this.place(e, i);
+		}
+
+		protected void		siftDown(int i)
+		{
+			Entry e = this.entries[i];
+			int half = this.size >>> 1;
+			while (i < half) {
+				int child = 2*i + 1;
+				int right = child + 1;
+				if (right < this.size &&
+						this.before(this.entries[right], this.entries[child])) {
+					child = right;
+				}
+				if (!this.before(this.entries[child], e)) {
+					break;
+				}
+				this.place(this.entries[child], i);
+				i = child;
+			}
+			this.place(e, i);
+		}
+	}
+
+	/**
+	 * The class <code>Decision</code> gathers the identifiers of the
+	 * equipments to be suspended and resumed, in the order in which the
+	 * commands should be sent.
+	 */
+	public static class		Decision
+	{
+		/** identifiers of the equipments to be suspended.					*/
+		protected final List<String>	toSuspend = new ArrayList<>();
+		/** identifiers of the equipments to be resumed.					*/
+		protected final List<String>	toResume = new ArrayList<>();
+
+		/**
+		 * return the identifiers of the equipments to be suspended, by
+		 * increasing emergency.
+		 *
+		 * @return	the identifiers of the equipments to be suspended.
+		 */
+		public List<String>	toSuspend()
+		{
+			return this.toSuspend;
+		}
+
+		/**
+		 * return the identifiers of the equipments to be resumed, by
+		 * decreasing emergency.
+		 *
+		 * @return	the identifiers of the equipments to be resumed.
+		 */
+		public List<String>	toResume()
+		{
+			return this.toResume;
+		}
+
+		/**
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String		toString()
+		{
+			return "Decision[suspend = " + this.toSuspend +
+				   ", resume = " + this.toResume + "]";
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	/** emergency from which an equipment must run whatever the load.		*/
+	public static final double			MAX_EMERGENCY = 1.0;
+
+	/** entries of the known equipments, by identifier.					*/
+	protected final Map<String,Entry>	entries;
+	/** running equipments, least urgent first.								*/
+	protected final IndexedHeap			running;
+	/** suspended equipments, most urgent first.							*/
+	protected final IndexedHeap			suspended;
+	/** consumption budget in watts.										*/
+	protected double					budget;
+
+	// -------------------------------------------------------------------------
+	// Constructors
+	// -------------------------------------------------------------------------
+
+	/**
+	 * create a load shedding engine with the given budget.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code budget >= 0.0}
+	 * post	{@code getBudget() == budget}
+	 * </pre>
+	 *
+	 * @param budget	consumption budget in watts.
+	 */
+	public				LoadSheddingEngine(double budget)
+	{
+		assert	budget >= 0.0;
+
+		this.entries = new HashMap<>();
+		this.running = new IndexedHeap(false);
+		this.suspended = new IndexedHeap(true);
+		this.budget = budget;
+	}
+
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * return the consumption budget in watts.
+	 *
+	 * @return	the consumption budget in watts.
+	 */
+	public double		getBudget()
+	{
+		return this.budget;
+	}
+
+	/**
+	 * set the consumption budget in watts.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code budget >= 0.0}
+	 * post	{@code getBudget() == budget}
+	 * </pre>
+	 *
+	 * @param budget	consumption budget in watts.
+	 */
+	public void			setBudget(double budget)
+	{
+		assert	budget >= 0.0;
+		this.budget = budget;
+	}
+
+	/**
+	 * return true if the equipment with identifier {@code uid} is known.
+	 *
+	 * @param uid	identifier of an equipment.
+	 * @return		true if the equipment with identifier {@code uid} is known.
+	 */
+	public boolean		isManaged(String uid)
+	{
+		return this.entries.containsKey(uid);
+	}
+
+	/**
+	 * return the identifiers of the known equipments.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	true		// no precondition.
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @return	a copy of the set of identifiers of the known equipments.
+	 */
+	public Set<String>	managedEquipments()
+	{
+		return new HashSet<>(this.entries.keySet());
+	}
+
+	/**
+	 * add an equipment to the engine; it is considered off until its state
+	 * is given by {@code update}.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code uid != null && !isManaged(uid)}
+	 * pre	{@code nominalPower >= 0.0}
+	 * post	{@code isManaged(uid)}
+	 * </pre>
+	 *
+	 * @param uid			identifier of the equipment.
+	 * @param nominalPower	nominal power of the equipment in watts.
+	 */
+	public void			addEquipment(String uid, double nominalPower)
+	{
+		assert	uid != null && !this.isManaged(uid);
+		assert	nominalPower >= 0.0;
+
+		this.entries.put(uid, new Entry(uid, nominalPower));
+	}
+
+	/**
+	 * remove an equipment from the engine.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	true		// no precondition.
+	 * post	{@code !isManaged(uid)}
+	 * </pre>
+	 *
+	 * @param uid	identifier of the equipment.
+	 */
+	public void			removeEquipment(String uid)
+	{
+		Entry e = this.entries.remove(uid);
+		if (e != null && e.heap != null) {
+			e.heap.remove(e);
+		}
+	}
+
+	/**
+	 * update the state of an equipment as observed by the HEM; the heaps are
+	 * modified only for what has changed, in O(log n).
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code isManaged(uid)}
+	 * pre	{@code emergency >= 0.0 && emergency <= 1.0}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param uid		identifier of the equipment.
+	 * @param on		true if the equipment is on.
+	 * @param suspended	true if the equipment is suspended.
+	 * @param emergency	current degree of emergency of the equipment.
+	 */
+	public void			update(
+		String uid,
+		boolean on,
+		boolean suspended,
+		double emergency
+		)
+	{
+		assert	this.isManaged(uid);
+		assert	emergency >= 0.0 && emergency <= 1.0;
+
+		Entry e = this.entries.get(uid);
+		IndexedHeap target = !on ? null
+								 : (suspended ? this.suspended : this.running);
+		if (e.heap != target) {
+			if (e.heap != null) {
+				e.heap.remove(e);
+			}
+			e.emergency = emergency;
+			e.suspended = suspended;
+			if (target != null) {
+				target.add(e);
+			}
+		} else if (e.emergency != emergency) {
+			e.emergency = emergency;
+			if (target != null) {
+				target.reposition(e);
+			}
+		}
+	}
+
+	/**
+	 * update the degree of emergency of an equipment, in O(log n).
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code isManaged(uid)}
+	 * pre	{@code emergency >= 0.0 && emergency <= 1.0}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param uid		identifier of the equipment.
+	 * @param emergency	current degree of emergency of the equipment.
+	 */
+	public void			updateEmergency(String uid, double emergency)
+	{
+		assert	this.isManaged(uid);
+		assert	emergency >= 0.0 && emergency <= 1.0;
+
+		Entry e = this.entries.get(uid);
+		if (e.emergency != emergency) {
+			e.emergency = emergency;
+			if (e.heap != null) {
+				e.heap.reposition(e);
+			}
+		}
+	}
+
+	/**
+	 * record that an equipment is suspended or not, typically to undo a
+	 * decision which command failed.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code isManaged(uid)}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param uid		identifier of the equipment.
+	 * @param suspended	true if the equipment is suspended.
+	 */
+	public void			setSuspended(String uid, boolean suspended)
+	{
+		assert	this.isManaged(uid);
+
+		Entry e = this.entries.get(uid);
+		if (e.heap != null) {
+			this.update(uid, true, suspended, e.emergency);
+		}
+	}
+
+	/**
+	 * decide which equipments to suspend and to resume given the current
+	 * consumption; the decision is recorded in the engine as if the commands
+	 * succeeded, failed commands must be undone with {@code setSuspended}.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code consumption >= 0.0}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @param consumption	current consumption of the house in watts.
+	 * @return				the equipments to be suspended and resumed.
+	 */
+	public Decision		decide(double consumption)
+	{
+		assert	consumption >= 0.0;
+
+		Decision d = new Decision();
+		double estimated = consumption;
+		// equipments at the maximal emergency are resumed whatever the load
+		while (!this.suspended.isEmpty() &&
+					this.suspended.peek().emergency >= MAX_EMERGENCY) {
+			Entry e = this.move(this.suspended, this.running, false);
+			estimated += e.nominalPower;
+			d.toResume.add(e.uid);
+		}
+		if (estimated > this.budget) {
+			while (estimated > this.budget && !this.running.isEmpty() &&
+						this.running.peek().emergency < MAX_EMERGENCY) {
+				Entry e = this.move(this.running, this.suspended, true);
+				estimated -= e.nominalPower;
+				d.toSuspend.add(e.uid);
+			}
+		} else {
+			while (!this.suspended.isEmpty() &&
+						estimated + this.suspended.peek().nominalPower
+															<= this.budget) {
+				Entry e = this.move(this.suspended, this.running, false);
+				estimated += e.nominalPower;
+				d.toResume.add(e.uid);
+			}
+		}
+		return d;
+	}
+
+	/**
+	 * move the top entry of {@code from} to {@code to} and return it.
+	 *
+	 * @param from		heap from which the top entry is taken.
+	 * @param to		heap to which the entry is added.
+	 * @param suspended	new suspension state of the equipment.
+	 * @return			the moved entry.
+	 */
+	protected Entry		move(IndexedHeap from, IndexedHeap to, boolean suspended)
+	{
+		Entry e = from.poll();
+		e.suspended = suspended;
+		to.add(e);
+		return e;
+	}
+}
+// -----------------------------------------------------------------------------
@@ -0,0 +1,272 @@
+package fr.sorbonne_u.hem;
+
+
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to provide a basic
+// household management systems as an example of a cyber-physical system.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>LoadSheddingEngineUnitTester</code> performs unit tests
+ * for the load shedding engine.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * Besides the rules of the decisions, the engine is checked against a
+ * reference keeping the equipments in a map and sorting them at each
+ * decision, after random changes of the states and emergencies, so that an
+ * entry misplaced in one of the heaps is detected.
+ * </p>
+ * 
+ * <p><strong>Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	true
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-17</p>
+ * 
+ *  @authors	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+ *              <a href="maedeh.daemi@etu.sorbonne-universite.fr">DAEMI Maedeh</a>
+ */
+public class			LoadSheddingEngineUnitTester
+{
+	/** state of an equipment in the reference.								*/
+	protected static class	Reference
+	{
+		protected final String	uid;
+		protected final double	nominalPower;
+		protected boolean		on;
+		protected boolean		suspended;
+		protected double		emergency;
+
+		protected			Reference(String uid, double nominalPower)
+		{
+			this.uid = uid;
+			this.nominalPower = nominalPower;
+		}
+	}
+
+	/** engine with three running equipments of 500 W, a budget of 1000 W
+	 *  and the emergencies 0.2, 0.5 and 0.8.								*/
+	protected static LoadSheddingEngine	threeRunning()
+	{
+		LoadSheddingEngine engine = new LoadSheddingEngine(1000.0);
+		engine.addEquipment("a", 500.0);
+		engine.addEquipment("b", 500.0);
+		engine.addEquipment("c", 500.0);
+		engine.update("a", true, false, 0.2);
+		engine.update("b", true, false, 0.5);
+		engine.update("c", true, false, 0.8);
+		return engine;
+	}
+
+	@Test
+	public void			suspendsTheLeastUrgentFirst()
+	{
+		LoadSheddingEngine engine = threeRunning();
+		LoadSheddingEngine.Decision d = engine.decide(1500.0);
+		assertEquals(Arrays.asList("a"), d.toSuspend());
+		assertTrue(d.toResume().isEmpty());
+
+		d = engine.decide(2100.0);
+		assertEquals(Arrays.asList("b", "c"), d.toSuspend());
+	}
+
+	@Test
+	public void			resumesTheMostUrgentWithinTheBudget()
+	{
+		LoadSheddingEngine engine = threeRunning();
+		engine.update("a", true, true, 0.2);
+		engine.update("b", true, true, 0.5);
+		engine.update("c", true, true, 0.9);
+
+		LoadSheddingEngine.Decision d = engine.decide(100.0);
+		assertEquals(Arrays.asList("c"), d.toResume());
+		assertTrue(d.toSuspend().isEmpty());
+		// the decision is recorded as if the commands succeeded
+		d = engine.decide(600.0);
+		assertTrue(d.toResume().isEmpty());
+		assertTrue(d.toSuspend().isEmpty());
+	}
+
+	@Test
+	public void			maximalEmergencyIsNeverSuspended()
+	{
+		LoadSheddingEngine engine = threeRunning();
+		engine.updateEmergency("a", LoadSheddingEngine.MAX_EMERGENCY);
+		engine.update("c", true, true, LoadSheddingEngine.MAX_EMERGENCY);
+
+		// c is resumed and a kept running although the house is over budget
+		LoadSheddingEngine.Decision d = engine.decide(5000.0);
+		assertEquals(Arrays.asList("c"), d.toResume());
+		assertEquals(Arrays.asList("b"), d.toSuspend());
+	}
+
+	@Test
+	public void			failedCommandsAreUndone()
+	{
+		LoadSheddingEngine engine = threeRunning();
+		assertEquals(Arrays.asList("a"), engine.decide(1500.0).toSuspend());
+		engine.setSuspended("a", false);
+		assertEquals(Arrays.asList("a"), engine.decide(1500.0).toSuspend());
+
+		engine.removeEquipment("a");
+		assertFalse(engine.isManaged("a"));
+		assertEquals(Arrays.asList("b"), engine.decide(1500.0).toSuspend());
+	}
+
+	@Test
+	public void			matchesTheReference()
+	{
+		Random r = new Random(17L);
+		double budget = 3000.0;
+		LoadSheddingEngine engine = new LoadSheddingEngine(budget);
+		Map<String,Reference> reference = new HashMap<>();
+		for (int i = 0; i < 40; i++) {
+			String uid = "e" + i;
+			double power = 100.0 + r.nextInt(900);
+			engine.addEquipment(uid, power);
+			reference.put(uid, new Reference(uid, power));
+		}
+		List<String> uids = new ArrayList<>(reference.keySet());
+		Collections.sort(uids);
+		for (int cycle = 0; cycle < 500; cycle++) {
+			for (int k = 0; k < 5; k++) {
+				Reference e = reference.get(uids.get(r.nextInt(uids.size())));
+				// distinct emergencies, so that the orders are the same
+				double emergency = r.nextInt(10) == 0 ?
+									LoadSheddingEngine.MAX_EMERGENCY :
+									r.nextInt(1000000) / 1000000.0;
+				if (r.nextBoolean()) {
+					e.on = r.nextInt(4) != 0;
+					e.suspended = r.nextBoolean();
+					e.emergency = emergency;
+					engine.update(e.uid, e.on, e.suspended, e.emergency);
+				} else {
+					e.emergency = emergency;
+					engine.updateEmergency(e.uid, e.emergency);
+				}
+			}
+			// the emergencies before the decision, to check its order
+			Map<String,Double> emergencies = new HashMap<>();
+			for (Reference e : reference.values()) {
+				emergencies.put(e.uid, e.emergency);
+			}
+			double consumption = r.nextInt(6000);
+			LoadSheddingEngine.Decision d = engine.decide(consumption);
+			LoadSheddingEngine.Decision expected =
+								decide(reference, budget, consumption);
+			// the equipments at the maximal emergency may come in any order
+			assertEquals(sorted(expected.toSuspend()), sorted(d.toSuspend()),
+						 "cycle " + cycle);
+			assertEquals(sorted(expected.toResume()), sorted(d.toResume()),
+						 "cycle " + cycle);
+			for (int i = 1; i < d.toSuspend().size(); i++) {
+				assertTrue(emergencies.get(d.toSuspend().get(i - 1)) <=
+									emergencies.get(d.toSuspend().get(i)));
+			}
+			for (int i = 1; i < d.toResume().size(); i++) {
+				assertTrue(emergencies.get(d.toResume().get(i - 1)) >=
+									emergencies.get(d.toResume().get(i)));
+			}
+		}
+	}
+
+	protected static List<String>	sorted(List<String> uids)
+	{
+		List<String> ret = new ArrayList<>(uids);
+		Collections.sort(ret);
+		return ret;
+	}
+
+	/** decision of the reference, recorded in it as the engine does.		*/
+	protected static LoadSheddingEngine.Decision	decide(
+		Map<String,Reference> reference,
+		double budget,
+		double consumption
+		)
+	{
+		List<Reference> running = new ArrayList<>();
+		List<Reference> suspended = new ArrayList<>();
+		for (Reference e : reference.values()) {
+			if (e.on) {
+				(e.suspended ? suspended : running).add(e);
+			}
+		}
+		running.sort((e1, e2) -> Double.compare(e1.emergency, e2.emergency));
+		suspended.sort((e1, e2) -> Double.compare(e2.emergency, e1.emergency));
+
+		LoadSheddingEngine.Decision d = new LoadSheddingEngine.Decision();
+		double estimated = consumption;
+		while (!suspended.isEmpty() && suspended.get(0).emergency >=
+										LoadSheddingEngine.MAX_EMERGENCY) {
+			Reference e = suspended.remove(0);
+			e.suspended = false;
+			estimated += e.nominalPower;
+			d.toResume.add(e.uid);
+		}
+		if (estimated > budget) {
+			while (estimated > budget && !running.isEmpty() &&
+					running.get(0).emergency < LoadSheddingEngine.MAX_EMERGENCY) {
+				Reference e = running.remove(0);
+				e.suspended = true;
+				estimated -= e.nominalPower;
+				d.toSuspend.add(e.uid);
+			}
+		} else {
+			while (!suspended.isEmpty() &&
+					estimated + suspended.get(0).nominalPower <= budget) {
+				Reference e = suspended.remove(0);
+				e.suspended = false;
+				estimated += e.nominalPower;
+				d.toResume.add(e.uid);
+			}
+		}
+		return d;
+	}
+}
+// -----------------------------------------------------------------------------
@@ -0,0 +1,178 @@
+package fr.sorbonne_u.hem;
+
+
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to provide a basic
+// household management systems as an example of a cyber-physical system.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>LoadSheddingPolicy</code> implements the default control
+ * policy of the HEM, which suspends and resumes the suspendable equipments
+ * to keep the consumption of the house under a budget.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * The decisions are made by a {@code LoadSheddingEngine}: at each call, the
+ * equipments absent from the state are removed from the engine, the others
+ * are added or updated, and the engine decides from the consumption of the
+ * house. The suspensions come first, by increasing emergency, then the
+ * resumptions, by decreasing emergency.
+ * </p>
+ * 
+ * <p><strong>Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	true
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-17</p>
+ * 
+ *  @authors	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+ *              <a href="maedeh.daemi@etu.sorbonne-universite.fr">DAEMI Maedeh</a>
+ */
+public class			LoadSheddingPolicy
+implements	ControlPolicy
+{
+	/** engine deciding the suspensions and resumptions.					*/
+	protected final LoadSheddingEngine	engine;
+	/** suspendable equipments in the current state.						*/
+	protected final Set<String>			present = new HashSet<>();
+
+	/**
+	 * create a load shedding policy.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code budget >= 0.0}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param budget	consumption budget in watts.
+	 */
+	public				LoadSheddingPolicy(double budget)
+	{
+		this.engine = new LoadSheddingEngine(budget);
+	}
+
+	/**
+	 * return the consumption budget in watts.
+	 *
+	 * @return	the consumption budget in watts.
+	 */
+	public double		getBudget()
+	{
+		return this.engine.getBudget();
+	}
+
+	/**
+	 * @see fr.sorbonne_u.hem.ControlPolicy#decide(fr.sorbonne_u.hem.HouseState)
+	 */
+	@Override
+	public List<ControlCommand>	decide(HouseState state)
+	{
+		assert	state != null;
+
+		this.present.clear();
+		for (HouseState.EquipmentState e : state.getEquipments()) {
+			if (e.isSuspendable()) {
+				this.present.add(e.getUid());
+			}
+		}
+		for (String uid : this.engine.managedEquipments()) {
+			if (!this.present.contains(uid)) {
+				this.engine.removeEquipment(uid);
+			}
+		}
+		for (HouseState.EquipmentState e : state.getEquipments()) {
+			if (e.isSuspendable()) {
+				if (!this.engine.isManaged(e.getUid())) {
+					this.engine.addEquipment(e.getUid(), e.getNominalPower());
+				}
+				this.engine.update(e.getUid(), e.getSnapshot().on(),
+								   e.getSnapshot().suspended(),
+								   e.getSnapshot().emergency());
+			}
+		}
+
+		LoadSheddingEngine.Decision d =
+							this.engine.decide(state.getConsumption());
+		List<ControlCommand> ret =
+				new ArrayList<>(d.toSuspend().size() + d.toResume().size());
+		for (String uid : d.toSuspend()) {
+			ret.add(ControlCommand.suspend(uid));
+		}
+		for (String uid : d.toResume()) {
+			ret.add(ControlCommand.resume(uid));
+		}
+		return ret;
+	}
+
+	/**
+	 * @see fr.sorbonne_u.hem.ControlPolicy#commandFailed(fr.sorbonne_u.hem.ControlCommand)
+	 */
+	@Override
+	public void			commandFailed(ControlCommand c)
+	{
+		assert	c != null;
+
+		// the engine recorded the decision as if it succeeded
+		if (this.engine.isManaged(c.getUid())) {
+			if (c.getKind() == ControlCommand.Kind.SUSPEND) {
+				this.engine.setSuspended(c.getUid(), false);
+			} else if (c.getKind() == ControlCommand.Kind.RESUME) {
+				this.engine.setSuspended(c.getUid(), true);
+			}
+		}
+	}
+
+	/**
+	 * @see fr.sorbonne_u.hem.ControlPolicy#reset()
+	 */
+	@Override
+	public void			reset()
+	{
+		// the engine also records the decisions as if they succeeded
+		for (String uid : this.engine.managedEquipments()) {
+			this.engine.removeEquipment(uid);
+		}
+		this.present.clear();
+	}
+}
+// -----------------------------------------------------------------------------
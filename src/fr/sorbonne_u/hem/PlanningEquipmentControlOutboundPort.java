@@ -2,10 +2,10 @@ package fr.sorbonne_u.hem;
 
 import fr.sorbonne_u.components.ComponentI;
 import fr.sorbonne_u.interfaces.PlanningEquipmentControlCI;
-import fr.sorbonne_u.interfaces.SuspensionEquipmentControlCI;
 
 import java.time.Duration;
 import java.time.LocalTime;
+import java.util.concurrent.CompletableFuture;
 
 public class PlanningEquipmentControlOutboundPort
 extends StandardEquipmentControlOutboundPort
@@ -16,7 +16,7 @@ implements PlanningEquipmentControlCI {
             ComponentI owner
     ) throws Exception
     {
-        super(SuspensionEquipmentControlCI.class, owner);
+        super(PlanningEquipmentControlCI.class, owner);
     }
 
     public PlanningEquipmentControlOutboundPort(
@@ -24,36 +24,78 @@ implements PlanningEquipmentControlCI {
             ComponentI owner
     ) throws Exception
     {
-        super(uri, SuspensionEquipmentControlCI.class, owner);
+        super(uri, PlanningEquipmentControlCI.class, owner);
     }
 
     @Override
     public boolean hasPlan() throws Exception {
-        return ((PlanningEquipmentControlCI)this.getConnector()).hasPlan();
+        long start = System.nanoTime();
+        boolean ret = this.call(c -> ((PlanningEquipmentControlCI)c).hasPlan());
+        this.recordLatency(Method.HAS_PLAN, start);
+        return ret;
     }
 
     @Override
     public LocalTime startTime() throws Exception {
-        return ((PlanningEquipmentControlCI)this.getConnector()).startTime();
+        long start = System.nanoTime();
+        LocalTime ret = this.call(c -> ((PlanningEquipmentControlCI)c).startTime());
+        this.recordLatency(Method.START_TIME, start);
+        return ret;
     }
 
     @Override
     public Duration duration() throws Exception {
-        return ((PlanningEquipmentControlCI)this.getConnector()).duration();
+        long start = System.nanoTime();
+        Duration ret = this.call(c -> ((PlanningEquipmentControlCI)c).duration());
+        this.recordLatency(Method.DURATION, start);
+        return ret;
     }
 
     @Override
     public LocalTime deadline() throws Exception {
-        return ((PlanningEquipmentControlCI)this.getConnector()).deadline();
+        long start = System.nanoTime();
+        LocalTime ret = this.call(c -> ((PlanningEquipmentControlCI)c).deadline());
+        this.recordLatency(Method.DEADLINE, start);
+        return ret;
     }
 
     @Override
     public boolean postpone(Duration d) throws Exception {
-        return ((PlanningEquipmentControlCI)this.getConnector()).postpone(d);
+        long start = System.nanoTime();
+        boolean ret = this.call(c -> ((PlanningEquipmentControlCI)c).postpone(d));
+        this.recordLatency(Method.POSTPONE, start);
+        return ret;
     }
 
     @Override
     public boolean cancel() throws Exception {
-        return ((PlanningEquipmentControlCI)this.getConnector()).cancel();
+        long start = System.nanoTime();
+        boolean ret = this.call(c -> ((PlanningEquipmentControlCI)c).cancel());
+        this.recordLatency(Method.CANCEL, start);
+        return ret;
+    }
+
+    public CompletableFuture<Boolean> hasPlanAsync() {
+        return this.pipelined(() -> this.hasPlan());
+    }
+
+    public CompletableFuture<LocalTime> startTimeAsync() {
+        return this.pipelined(() -> this.startTime());
+    }
+
+    public CompletableFuture<Duration> durationAsync() {
+        return this.pipelined(() -> this.duration());
+    }
+
+    public CompletableFuture<LocalTime> deadlineAsync() {
+        return this.pipelined(() -> this.deadline());
+    }
+
+    public CompletableFuture<Boolean> postponeAsync(Duration d) {
+        return this.pipelined(() -> this.postpone(d));
+    }
+
+    public CompletableFuture<Boolean> cancelAsync() {
+        return this.pipelined(() -> this.cancel());
     }
 }
\ No newline at end of file
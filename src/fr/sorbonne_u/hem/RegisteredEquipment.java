@@ -0,0 +1,203 @@
+package fr.sorbonne_u.hem;
+
+
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to provide a basic
+// household management systems as an example of a cyber-physical system.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+import java.nio.file.Path;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>RegisteredEquipment</code> describes an equipment
+ * registered on the HEM, with the outbound port used to control it.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * The port is typed after the kind of control the equipment accepts: a
+ * {@code SuspensionEquipmentControlOutboundPort} for suspendable equipments,
+ * a {@code PlanningEquipmentControlOutboundPort} for equipments with planned
+ * programs and a {@code StandardEquipmentControlOutboundPort} otherwise.
+ * Instances are immutable so that they can be shared between the threads
+ * registering equipments and the management cycle. The equipments which
+ * registered with an adapter description keep its path, so that their
+ * connector can be made again when the description changes.
+ * </p>
+ * 
+ * <p><strong>Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code uid != null && !uid.isEmpty()}
+ * invariant	{@code port != null}
+ * invariant	{@code nominalPower >= 0.0}
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-17</p>
+ * 
+ *  @authors	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+ *              <a href="maedeh.daemi@etu.sorbonne-universite.fr">DAEMI Maedeh</a>
+ */
+public class			RegisteredEquipment
+{
+	/** unique identifier of the equipment.									*/
+	protected final String								uid;
+	/** outbound port connected to the control port of the equipment.		*/
+	protected final StandardEquipmentControlOutboundPort	port;
+	/** nominal power of the equipment in watts.							*/
+	protected final double								nominalPower;
+	/** path of the adapter description of the equipment, null if it is
+	 *  connected with a connector of its own.							*/
+	protected final Path								adapterPath;
+
+	/**
+	 * create a registered equipment description.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code uid != null && !uid.isEmpty()}
+	 * pre	{@code port != null}
+	 * pre	{@code nominalPower >= 0.0}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param uid			unique identifier of the equipment.
+	 * @param port			outbound port connected to the control port of the equipment.
+	 * @param nominalPower	nominal power of the equipment in watts.
+	 */
+	public				RegisteredEquipment(
+		String uid,
+		StandardEquipmentControlOutboundPort port,
+		double nominalPower
+		)
+	{
+		this(uid, port, nominalPower, null);
+	}
+
+	/**
+	 * create a registered equipment description.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code uid != null && !uid.isEmpty()}
+	 * pre	{@code port != null}
+	 * pre	{@code nominalPower >= 0.0}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param uid			unique identifier of the equipment.
+	 * @param port			outbound port connected to the control port of the equipment.
+	 * @param nominalPower	nominal power of the equipment in watts.
+	 * @param adapterPath	path of the adapter description of the equipment or null.
+	 */
+	public				RegisteredEquipment(
+		String uid,
+		StandardEquipmentControlOutboundPort port,
+		double nominalPower,
+		Path adapterPath
+		)
+	{
+		assert	uid != null && !uid.isEmpty();
+		assert	port != null;
+		assert	nominalPower >= 0.0;
+
+		this.uid = uid;
+		this.port = port;
+		this.nominalPower = nominalPower;
+		this.adapterPath = adapterPath;
+	}
+
+	/**
+	 * return the unique identifier of the equipment.
+	 *
+	 * @return	the unique identifier of the equipment.
+	 */
+	public String		getUid()
+	{
+		return this.uid;
+	}
+
+	/**
+	 * return the outbound port connected to the control port of the
+	 * equipment.
+	 *
+	 * @return	the outbound port connected to the control port of the equipment.
+	 */
+	public StandardEquipmentControlOutboundPort	getPort()
+	{
+		return this.port;
+	}
+
+	/**
+	 * return the nominal power of the equipment in watts.
+	 *
+	 * @return	the nominal power of the equipment in watts.
+	 */
+	public double		getNominalPower()
+	{
+		return this.nominalPower;
+	}
+
+	/**
+	 * return the path of the adapter description of the equipment, null if
+	 * it is connected with a connector of its own.
+	 *
+	 * @return	the path of the adapter description of the equipment or null.
+	 */
+	public Path			getAdapterPath()
+	{
+		return this.adapterPath;
+	}
+
+	/**
+	 * return true if the equipment can be suspended.
+	 *
+	 * @return	true if the equipment can be suspended.
+	 */
+	public boolean		isSuspendable()
+	{
+		return this.port instanceof SuspensionEquipmentControlOutboundPort;
+	}
+
+	/**
+	 * return true if the equipment accepts planned programs.
+	 *
+	 * @return	true if the equipment accepts planned programs.
+	 */
+	public boolean		isPlanning()
+	{
+		return this.port instanceof PlanningEquipmentControlOutboundPort;
+	}
+}
+// -----------------------------------------------------------------------------
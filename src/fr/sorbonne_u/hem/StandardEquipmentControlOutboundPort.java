@@ -33,9 +33,20 @@ package fr.sorbonne_u.hem;
 // knowledge of the CeCILL-C license and that you accept its terms.
 
 import fr.sorbonne_u.components.ComponentI;
+import fr.sorbonne_u.components.connectors.ConnectorI;
 import fr.sorbonne_u.components.interfaces.RequiredCI;
 import fr.sorbonne_u.components.ports.AbstractOutboundPort;
+import fr.sorbonne_u.interfaces.EquipmentSnapshot;
 import fr.sorbonne_u.interfaces.StandardEquipmentControlCI;
+import fr.sorbonne_u.treatements.AdapterProgram;
+import fr.sorbonne_u.utils.LatencyRecorder;
+import fr.sorbonne_u.utils.RequestPipeline;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 // -----------------------------------------------------------------------------
 /**
@@ -45,6 +56,43 @@ import fr.sorbonne_u.interfaces.StandardEquipmentControlCI;
  *
  * <p><strong>Description</strong></p>
  * 
+ * <p>
+ * The port measures the round-trip latency of each successful call made
+ * through it, in one histogram per method of the control interfaces; the
+ * subclasses record the methods they add in the same histograms.
+ * </p>
+ * <p>
+ * The port also caches the last known state of the equipment, so that the
+ * repeated reads of a management cycle, including the ones made by the
+ * assertions, are served locally. The cache is updated by the commands sent
+ * through the port and invalidated when the equipment notifies a change of
+ * its state. The equipments which never notified are not trusted to do so:
+ * their cache is invalidated at the beginning of each management cycle by
+ * {@code beginCycle}. The reads made before an invalidation or a command are
+ * discarded when they complete after it, thanks to {@code stateVersion}.
+ * </p>
+ * <p>
+ * Each method has an asynchronous variant, suffixed by {@code Async}, which
+ * returns at once a future on its result. The asynchronous requests go
+ * through a {@code RequestPipeline}: several of them can be sent without
+ * waiting for the replies, but the equipment receives them one at a time
+ * and in order. They run on the executor given by {@code setExecutor}, by
+ * default in the calling thread. The pipeline is bounded: when the equipment
+ * stops answering, the new requests fail at once instead of piling up, and
+ * a request cancelled before it starts is never sent.
+ * </p>
+ * <p>
+ * The connector made by BCM can be replaced by {@code replaceConnector}
+ * while the port is in use, when the adapter description of the equipment
+ * is reloaded: each call goes through {@code call}, which counts the calls
+ * in progress on the connector it uses, so that the calls in progress end
+ * on the previous connector and the next ones use the new one, without
+ * waiting for each other. The previous connector is drained by the last of
+ * its calls: the caller of {@code replaceConnector} is then notified and
+ * the previous connector is disconnected, unless it is the one made by BCM
+ * which BCM disconnects with the port.
+ * </p>
+ * 
  * <p><strong>Invariant</strong></p>
  * 
  * <pre>
@@ -58,10 +106,82 @@ import fr.sorbonne_u.interfaces.StandardEquipmentControlCI;
  */
 public class			StandardEquipmentControlOutboundPort
 extends		AbstractOutboundPort
-implements	StandardEquipmentControlCI
+implements	StandardEquipmentControlCI,
+			AdapterProgram.Holder
 {
 	private static final long serialVersionUID = 1L;
 
+	/**
+	 * The enumeration <code>Method</code> lists the methods of the equipment
+	 * control interfaces which latencies are measured.
+	 *
+	 * <p>Created on : 2026-10-17</p>
+	 * 
+	 *  @authors	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+	 *              <a href="maedeh.daemi@etu.sorbonne-universite.fr">DAEMI Maedeh</a>
+	 */
+	public static enum	Method
+	{
+		ON, SWITCH_ON, SWITCH_OFF, MAX_MODE, UP_MODE, DOWN_MODE, SET_MODE,
+		CURRENT_MODE, SNAPSHOT,
+		SUSPENDED, SUSPEND, RESUME, EMERGENCY,
+		HAS_PLAN, START_TIME, DURATION, DEADLINE, POSTPONE, CANCEL
+	}
+
+	/**
+	 * The interface <code>ConnectorCall</code> represents a call made on the
+	 * connector of the port.
+	 *
+	 * <p>Created on : 2026-10-17</p>
+	 * 
+	 *  @authors	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+	 *              <a href="maedeh.daemi@etu.sorbonne-universite.fr">DAEMI Maedeh</a>
+	 */
+	@FunctionalInterface
+	public static interface	ConnectorCall<T>
+	{
+		/**
+		 * make the call on {@code connector}.
+		 *
+		 * @param connector		connector on which the call is made.
+		 * @return				the result of the call.
+		 * @throws Exception	<i>to do</i>.
+		 */
+		public T		call(RequiredCI connector) throws Exception;
+	}
+
+	/**
+	 * The class <code>ConnectorUse</code> counts the calls in progress on a
+	 * connector of the port, until it has been replaced and drained.
+	 *
+	 * <p>Created on : 2026-10-17</p>
+	 * 
+	 *  @authors	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+	 *              <a href="maedeh.daemi@etu.sorbonne-universite.fr">DAEMI Maedeh</a>
+	 */
+	protected static final class	ConnectorUse
+	{
+		/** replacement connector, null for the one made by BCM.			*/
+		protected final RequiredCI			connector;
+		/** number of calls in progress on the connector.					*/
+		protected final AtomicInteger		calls = new AtomicInteger();
+		/** true once the connector has been replaced.						*/
+		protected volatile boolean			replaced;
+		/** call made on the connector once drained, null if none.			*/
+		protected volatile ConnectorCall<?>	onDrained;
+		/** true once the connector has been drained.						*/
+		protected final AtomicBoolean		drained = new AtomicBoolean();
+
+		protected			ConnectorUse(RequiredCI connector)
+		{
+			this.connector = connector;
+		}
+	}
+
+	/** round-trip latencies of the calls made through this port.			*/
+	protected final LatencyRecorder<Method>	latencies =
+											new LatencyRecorder<>(Method.class);
+
 	/**
 	 * create a port.
 	 * 
@@ -160,13 +280,341 @@ implements	StandardEquipmentControlCI
 										isAssignableFrom(implementedInterface);
 	}
 
+	/** lock protecting the updates of the cached state.					*/
+	protected final Object		stateLock = new Object();
+	/** number of updates of the cached state by commands and
+	 *  invalidations; guarded by {@code stateLock}.						*/
+	protected long				stateVersion;
+	/** last known on/off state of the equipment, null if unknown.			*/
+	protected volatile Boolean	cachedOn;
+	/** last known current mode of the equipment, 0 if unknown.				*/
+	protected volatile int		cachedMode;
+	/** maximal mode of the equipment, 0 until read; it never changes.		*/
+	protected volatile int		cachedMaxMode;
+	/** last known suspension state of the equipment, null if unknown.		*/
+	protected volatile Boolean	cachedSuspended;
+	/** true once the equipment notified a change of its state.				*/
+	protected volatile boolean	notifying;
+	/** pipeline of the asynchronous requests sent through this port.		*/
+	protected final RequestPipeline	pipeline = new RequestPipeline();
+	/** program executed by the interpreted connector of this port, null
+	 *  when the connector is a class of its own.							*/
+	protected volatile AdapterProgram	adapterProgram;
+	/** use of the connector of the calls made from now on.				*/
+	protected final AtomicReference<ConnectorUse>	inUse =
+								new AtomicReference<>(new ConnectorUse(null));
+
+	/**
+	 * return the round-trip latencies of the calls made through this port.
+	 *
+	 * @return	the round-trip latencies of the calls made through this port.
+	 */
+	public LatencyRecorder<Method>	getLatencies()
+	{
+		return this.latencies;
+	}
+
+	/**
+	 * set the program executed by the interpreted connector which will
+	 * connect this port.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	true		// no precondition.
+	 * post	{@code getAdapterProgram() == program}
+	 * </pre>
+	 *
+	 * @param program	adapter program or null if the connector is not interpreted.
+	 */
+	public void			setAdapterProgram(AdapterProgram program)
+	{
+		this.adapterProgram = program;
+	}
+
+	/**
+	 * @see fr.sorbonne_u.treatements.AdapterProgram.Holder#getAdapterProgram()
+	 */
+	@Override
+	public AdapterProgram	getAdapterProgram()
+	{
+		return this.adapterProgram;
+	}
+
+	/**
+	 * replace the connector of the port by {@code connector}, already
+	 * connected to the same ends, for the calls made from now on; once the
+	 * calls in progress on the replaced connector have ended, which may be
+	 * at once, {@code onDrained} is called with it and it is disconnected,
+	 * unless it is the one made by BCM, still disconnected by BCM.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	true		// no precondition.
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param connector	replacement connector or null to use again the one made by BCM.
+	 * @param onDrained	call made on the replaced connector once drained or null if none.
+	 */
+	public void			replaceConnector(
+		RequiredCI connector,
+		ConnectorCall<?> onDrained
+		)
+	{
+		ConnectorUse previous = this.inUse.getAndSet(
+												new ConnectorUse(connector));
+		previous.onDrained = onDrained;
+		previous.replaced = true;
+		if (previous.calls.get() == 0) {
+			this.drain(previous);
+		}
+	}
+
+	/**
+	 * replace the replacement connector if any by the one made by BCM, which
+	 * BCM disconnects with the port; the replacement is disconnected once
+	 * the calls in progress on it have ended.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	true		// no precondition.
+	 * post	true		// no postcondition.
+	 * </pre>
+	 */
+	public void			disconnectReplacement()
+	{
+		if (this.inUse.get().connector != null) {
+			this.replaceConnector(null, null);
+		}
+	}
+
+	/**
+	 * return the replacement connector if any, else the connector made by
+	 * BCM.
+	 * 
+	 * @see fr.sorbonne_u.components.ports.AbstractOutboundPort#getConnector()
+	 */
+	@Override
+	public RequiredCI	getConnector() throws Exception
+	{
+		RequiredCI c = this.inUse.get().connector;
+		return c != null ? c : super.getConnector();
+	}
+
+	/**
+	 * make {@code call} on the connector of the port, which is not
+	 * disconnected before the call ends even if it is replaced meanwhile.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code call != null}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param <T>			type of the result of the call.
+	 * @param call			call to be made.
+	 * @return				the result of the call.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	protected <T> T		call(ConnectorCall<T> call) throws Exception
+	{
+		ConnectorUse use;
+		while (true) {
+			use = this.inUse.get();
+			use.calls.incrementAndGet();
+			if (!use.replaced) {
+				break;
+			}
+			// replaced before being counted, it may be drained already
+			this.release(use);
+		}
+		try {
+			return call.call(use.connector != null ?
+								use.connector : super.getConnector());
+		} finally {
+			this.release(use);
+		}
+	}
+
+	/**
+	 * end a call on the connector of {@code use}, draining it when it was
+	 * the last call on a replaced connector.
+	 *
+	 * @param use	use of the connector on which the call ends.
+	 */
+	protected void		release(ConnectorUse use)
+	{
+		if (use.calls.decrementAndGet() == 0 && use.replaced) {
+			this.drain(use);
+		}
+	}
+
+	/**
+	 * notify and disconnect the replaced connector of {@code use}, once and
+	 * in the thread which ended its last call; the failures are traced, as
+	 * this thread made a call which succeeded.
+	 *
+	 * @param use	use of a replaced connector without calls in progress.
+	 */
+	protected void		drain(ConnectorUse use)
+	{
+		if (!use.drained.compareAndSet(false, true)) {
+			return;
+		}
+		try {
+			try {
+				if (use.onDrained != null) {
+					use.onDrained.call(use.connector != null ?
+										use.connector : super.getConnector());
+				}
+			} finally {
+				if (use.connector instanceof ConnectorI) {
+					((ConnectorI) use.connector).disconnect();
+				}
+			}
+		} catch (Exception x) {
+			this.getOwner().traceMessage("Replaced connector not drained: " +
+										 x + "\n");
+		}
+	}
+
+	/**
+	 * forget the cached state of the equipment, except its maximal mode.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	true		// no precondition.
+	 * post	{@code cachedOn == null && cachedMode == 0 && cachedSuspended == null}
+	 * </pre>
+	 */
+	public void			invalidate()
+	{
+		synchronized (this.stateLock) {
+			this.stateVersion++;
+			this.cachedOn = null;
+			this.cachedMode = 0;
+			this.cachedSuspended = null;
+		}
+	}
+
+	/**
+	 * take into account the notification of a change of the state of the
+	 * equipment; from then on, the equipment is trusted to notify all of
+	 * its changes and its cached state survives the management cycles.
+	 */
+	public void			stateChanged()
+	{
+		this.notifying = true;
+		this.invalidate();
+	}
+
+	/**
+	 * prepare the port for a new management cycle, invalidating the cached
+	 * state if the equipment does not notify its changes.
+	 */
+	public void			beginCycle()
+	{
+		if (!this.notifying) {
+			this.invalidate();
+		}
+	}
+
+	/**
+	 * return the current version of the cached state, to be passed to
+	 * {@code cacheRead} after reading a part of the state from the
+	 * equipment.
+	 *
+	 * @return	the current version of the cached state.
+	 */
+	protected long		stateVersion()
+	{
+		synchronized (this.stateLock) {
+			return this.stateVersion;
+		}
+	}
+
+	/**
+	 * cache values read from the equipment when no command nor invalidation
+	 * happened since {@code version}; null or 0 values are left untouched.
+	 *
+	 * @param version	version of the cached state when the read started.
+	 * @param on		on/off state read or null.
+	 * @param mode		current mode read or 0.
+	 * @param suspended	suspension state read or null.
+	 */
+	protected void		cacheRead(
+		long version,
+		Boolean on,
+		int mode,
+		Boolean suspended
+		)
+	{
+		synchronized (this.stateLock) {
+			if (version == this.stateVersion) {
+				if (on != null) {
+					this.cachedOn = on;
+				}
+				if (mode > 0) {
+					this.cachedMode = mode;
+				}
+				if (suspended != null) {
+					this.cachedSuspended = suspended;
+				}
+			}
+		}
+	}
+
+	/**
+	 * set the cached state after a command; the reads in progress are
+	 * discarded and null or 0 values make the corresponding part unknown.
+	 *
+	 * @param on		on/off state after the command or null if unknown.
+	 * @param mode		current mode after the command or 0 if unknown.
+	 * @param suspended	suspension state after the command or null if unknown.
+	 */
+	protected void		cacheCommand(Boolean on, int mode, Boolean suspended)
+	{
+		synchronized (this.stateLock) {
+			this.stateVersion++;
+			this.cachedOn = on;
+			this.cachedMode = mode;
+			this.cachedSuspended = suspended;
+		}
+	}
+
+	/**
+	 * record the latency of a call to {@code method} started at
+	 * {@code start}, as given by {@code System.nanoTime()}.
+	 *
+	 * @param method	method called.
+	 * @param start		time at which the call started in nanoseconds.
+	 */
+	protected void		recordLatency(Method method, long start)
+	{
+		this.latencies.record(method, System.nanoTime() - start);
+	}
+
 	/**
 	 * @see fr.sorbonne_u.components.cyphy.hem2021.interfaces.StandardEquipmentControlCI#on()
 	 */
 	@Override
 	public boolean		on() throws Exception
 	{
-		return ((StandardEquipmentControlCI)this.getConnector()).on();
+		Boolean on = this.cachedOn;
+		if (on != null) {
+			return on;
+		}
+		long version = this.stateVersion();
+		long start = System.nanoTime();
+		boolean ret = this.call(c -> ((StandardEquipmentControlCI)c).on());
+		this.recordLatency(Method.ON, start);
+		this.cacheRead(version, ret, 0, null);
+		return ret;
 	}
 
 	/**
@@ -176,8 +624,11 @@ implements	StandardEquipmentControlCI
 	public boolean		switchOn() throws Exception
 	{
 		assert	!this.on();
+		long start = System.nanoTime();
 		boolean ret =
-				((StandardEquipmentControlCI)this.getConnector()).switchOn();
+				this.call(c -> ((StandardEquipmentControlCI)c).switchOn());
+		this.recordLatency(Method.SWITCH_ON, start);
+		this.cacheCommand(ret ? Boolean.TRUE : null, 0, null);
 		assert	this.on();
 		return ret;
 	}
@@ -189,8 +640,11 @@ implements	StandardEquipmentControlCI
 	public boolean		switchOff() throws Exception
 	{
 		assert	this.on();
+		long start = System.nanoTime();
 		boolean ret =
-				((StandardEquipmentControlCI)this.getConnector()).switchOff();
+				this.call(c -> ((StandardEquipmentControlCI)c).switchOff());
+		this.recordLatency(Method.SWITCH_OFF, start);
+		this.cacheCommand(ret ? Boolean.FALSE : null, 0, null);
 		assert	!this.on();
 		return ret;
 	}
@@ -201,8 +655,15 @@ implements	StandardEquipmentControlCI
 	@Override
 	public int			maxMode() throws Exception
 	{
-		int ret = ((StandardEquipmentControlCI)this.getConnector()).maxMode();
+		int ret = this.cachedMaxMode;
+		if (ret > 0) {
+			return ret;
+		}
+		long start = System.nanoTime();
+		ret = this.call(c -> ((StandardEquipmentControlCI)c).maxMode());
+		this.recordLatency(Method.MAX_MODE, start);
 		assert ret > 0;
+		this.cachedMaxMode = ret;
 		return ret;
 	}
 
@@ -215,8 +676,11 @@ implements	StandardEquipmentControlCI
 		assert	this.on();
 		int oldMode = this.currentMode();
 		assert	oldMode < this.maxMode();
+		long start = System.nanoTime();
 		boolean ret =
-				((StandardEquipmentControlCI)this.getConnector()).upMode();
+				this.call(c -> ((StandardEquipmentControlCI)c).upMode());
+		this.recordLatency(Method.UP_MODE, start);
+		this.modeChanged(ret, ret ? oldMode + 1 : 0);
 		assert	this.currentMode() > oldMode;
 		return ret;
 	}
@@ -230,8 +694,11 @@ implements	StandardEquipmentControlCI
 		assert	this.on();
 		int oldMode = this.currentMode();
 		assert	oldMode > 1;
+		long start = System.nanoTime();
 		boolean ret =
-				((StandardEquipmentControlCI)this.getConnector()).downMode();
+				this.call(c -> ((StandardEquipmentControlCI)c).downMode());
+		this.recordLatency(Method.DOWN_MODE, start);
+		this.modeChanged(ret, ret ? oldMode - 1 : 0);
 		assert	this.currentMode() < oldMode;
 		return ret;
 	}
@@ -244,13 +711,29 @@ implements	StandardEquipmentControlCI
 	{
 		assert	this.on();
 		assert	modeIndex > 0 && modeIndex <= this.maxMode();
+		long start = System.nanoTime();
 		boolean ret =
-				((StandardEquipmentControlCI)this.getConnector()).
-															setMode(modeIndex);
+				this.call(c -> ((StandardEquipmentControlCI)c).
+															setMode(modeIndex));
+		this.recordLatency(Method.SET_MODE, start);
+		this.modeChanged(ret, ret ? modeIndex : 0);
 		assert	this.currentMode() == modeIndex;
 		return ret;
 	}
 
+	/**
+	 * update the cached state after a command changing the mode of an
+	 * equipment which is on.
+	 *
+	 * @param done	true if the command succeeded.
+	 * @param mode	mode after the command, 0 if unknown.
+	 */
+	protected void		modeChanged(boolean done, int mode)
+	{
+		this.cacheCommand(done ? Boolean.TRUE : null, done ? mode : 0,
+						  done ? this.cachedSuspended : null);
+	}
+
 	/**
 	 * @see fr.sorbonne_u.components.cyphy.hem2021.interfaces.StandardEquipmentControlCI#currentMode()
 	 */
@@ -258,10 +741,205 @@ implements	StandardEquipmentControlCI
 	public int			currentMode() throws Exception
 	{
 		assert	this.on();
-		int ret = ((StandardEquipmentControlCI)this.getConnector()).
-																currentMode();
+		int ret = this.cachedMode;
+		if (ret > 0) {
+			return ret;
+		}
+		long version = this.stateVersion();
+		long start = System.nanoTime();
+		ret = this.call(c -> ((StandardEquipmentControlCI)c).currentMode());
+		this.recordLatency(Method.CURRENT_MODE, start);
 		assert	ret > 0 && ret <= this.maxMode();
+		this.cacheRead(version, null, ret, null);
 		return ret;
 	}
+
+	/**
+	 * always read the whole state from the equipment, as it includes the
+	 * emergency which evolves continuously, and refresh the cache with it.
+	 * 
+	 * @see fr.sorbonne_u.interfaces.StandardEquipmentControlCI#snapshot()
+	 */
+	@Override
+	public EquipmentSnapshot	snapshot() throws Exception
+	{
+		long version = this.stateVersion();
+		long start = System.nanoTime();
+		EquipmentSnapshot ret =
+				this.call(c -> ((StandardEquipmentControlCI)c).snapshot());
+		this.recordLatency(Method.SNAPSHOT, start);
+		assert	ret != null;
+		this.cacheSnapshot(version, ret);
+		return ret;
+	}
+
+	/**
+	 * cache the state read in a snapshot when no command nor invalidation
+	 * happened since {@code version}.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code s != null}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param version	version of the cached state when the read started.
+	 * @param s			snapshot read from the equipment.
+	 */
+	protected void		cacheSnapshot(long version, EquipmentSnapshot s)
+	{
+		this.cachedMaxMode = s.maxMode();
+		this.cacheRead(version, s.on(), s.on() ? s.currentMode() : 0, null);
+	}
+
+	// -------------------------------------------------------------------------
+	// Asynchronous variants
+	// -------------------------------------------------------------------------
+
+	/**
+	 * set the executor of the asynchronous requests sent from now on.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code executor != null}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param executor	executor of the asynchronous requests.
+	 */
+	public void			setExecutor(Executor executor)
+	{
+		this.pipeline.setExecutor(executor);
+	}
+
+	/**
+	 * send asynchronously a request made of calls through this port, after
+	 * the requests previously sent, and return the future on its result.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code request != null}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @param <T>		type of the result of the request.
+	 * @param request	request to be sent.
+	 * @return			the future on the result of the request.
+	 */
+	public <T> CompletableFuture<T>	pipelined(Callable<T> request)
+	{
+		return this.pipeline.submit(request);
+	}
+
+	/**
+	 * asynchronous variant of {@code on}, pipelined after the
+	 * requests previously submitted through this port.
+	 *
+	 * @return	the future on the result of {@code on}.
+	 * @see fr.sorbonne_u.interfaces.StandardEquipmentControlCI#on()
+	 */
+	public CompletableFuture<Boolean>	onAsync()
+	{
+		return this.pipelined(() -> this.on());
+	}
+
+	/**
+	 * asynchronous variant of {@code switchOn}, pipelined after the
+	 * requests previously submitted through this port.
+	 *
+	 * @return	the future on the result of {@code switchOn}.
+	 * @see fr.sorbonne_u.interfaces.StandardEquipmentControlCI#switchOn()
+	 */
+	public CompletableFuture<Boolean>	switchOnAsync()
+	{
+		return this.pipelined(() -> this.switchOn());
+	}
+
+	/**
+	 * asynchronous variant of {@code switchOff}, pipelined after the
+	 * requests previously submitted through this port.
+	 *
+	 * @return	the future on the result of {@code switchOff}.
+	 * @see fr.sorbonne_u.interfaces.StandardEquipmentControlCI#switchOff()
+	 */
+	public CompletableFuture<Boolean>	switchOffAsync()
+	{
+		return this.pipelined(() -> this.switchOff());
+	}
+
+	/**
+	 * asynchronous variant of {@code maxMode}, pipelined after the
+	 * requests previously submitted through this port.
+	 *
+	 * @return	the future on the result of {@code maxMode}.
+	 * @see fr.sorbonne_u.interfaces.StandardEquipmentControlCI#maxMode()
+	 */
+	public CompletableFuture<Integer>	maxModeAsync()
+	{
+		return this.pipelined(() -> this.maxMode());
+	}
+
+	/**
+	 * asynchronous variant of {@code upMode}, pipelined after the
+	 * requests previously submitted through this port.
+	 *
+	 * @return	the future on the result of {@code upMode}.
+	 * @see fr.sorbonne_u.interfaces.StandardEquipmentControlCI#upMode()
+	 */
+	public CompletableFuture<Boolean>	upModeAsync()
+	{
+		return this.pipelined(() -> this.upMode());
+	}
+
+	/**
+	 * asynchronous variant of {@code downMode}, pipelined after the
+	 * requests previously submitted through this port.
+	 *
+	 * @return	the future on the result of {@code downMode}.
+	 * @see fr.sorbonne_u.interfaces.StandardEquipmentControlCI#downMode()
+	 */
+	public CompletableFuture<Boolean>	downModeAsync()
+	{
+		return this.pipelined(() -> this.downMode());
+	}
+
+	/**
+	 * asynchronous variant of {@code setMode}, pipelined after the
+	 * requests previously submitted through this port.
+	 *
+	 * @return	the future on the result of {@code setMode}.
+	 * @see fr.sorbonne_u.interfaces.StandardEquipmentControlCI#setMode(int)
+	 */
+	public CompletableFuture<Boolean>	setModeAsync(int modeIndex)
+	{
+		return this.pipelined(() -> this.setMode(modeIndex));
+	}
+
+	/**
+	 * asynchronous variant of {@code currentMode}, pipelined after the
+	 * requests previously submitted through this port.
+	 *
+	 * @return	the future on the result of {@code currentMode}.
+	 * @see fr.sorbonne_u.interfaces.StandardEquipmentControlCI#currentMode()
+	 */
+	public CompletableFuture<Integer>	currentModeAsync()
+	{
+		return this.pipelined(() -> this.currentMode());
+	}
+
+	/**
+	 * asynchronous variant of {@code snapshot}, pipelined after the
+	 * requests previously submitted through this port.
+	 *
+	 * @return	the future on the result of {@code snapshot}.
+	 * @see fr.sorbonne_u.interfaces.StandardEquipmentControlCI#snapshot()
+	 */
+	public CompletableFuture<EquipmentSnapshot>	snapshotAsync()
+	{
+		return this.pipelined(() -> this.snapshot());
+	}
 }
 // -----------------------------------------------------------------------------
@@ -0,0 +1,564 @@
+package fr.sorbonne_u.hem;
+
+
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to provide a basic
+// household management systems as an example of a cyber-physical system.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>StartTimeOptimizer</code> computes the start times of the
+ * programs of planning equipments so that they run within their deadlines
+ * while filling the valleys of the forecast net load of the house.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * The day is cut into slots of fixed length. For each slot, the optimizer
+ * keeps a forecast of the net load (consumption minus production) learned
+ * from the observations of the electric meter, and the load of the jobs
+ * placed on it. A job occupies a contiguous sequence of slots which must
+ * start after its earliest start and end before its deadline. The cost of
+ * placing a job is the load it sees over its slots plus a heavy penalty for
+ * the load above the budget; the earliest slot wins ties.
+ * </p>
+ * <p>
+ * The optimizer is incremental and anytime. A new or modified job is placed
+ * immediately at its best start given the others, so that a valid plan is
+ * always available. Each move dirties only the jobs sharing the slots that
+ * the moved job left or entered, and the same happens for a slot which
+ * forecast changes. {@code optimize} then improves the plan by moving dirty
+ * jobs to their best start, one at a time, until none is left or the time
+ * budget is exhausted.
+ * </p>
+ * <p>
+ * The optimizer is not thread-safe: it is meant to be used by the management
+ * cycle of the HEM, which never runs concurrently with itself.
+ * </p>
+ * 
+ * <p><strong>Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code getSlotCount() > 0}
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-17</p>
+ * 
+ *  @authors	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+ *              <a href="maedeh.daemi@etu.sorbonne-universite.fr">DAEMI Maedeh</a>
+ */
+public class			StartTimeOptimizer
+{
+	// -------------------------------------------------------------------------
+	// Inner classes
+	// -------------------------------------------------------------------------
+
+	/**
+	 * The class <code>Job</code> holds the constraints and the current
+	 * placement of the program of one planning equipment.
+	 */
+	protected static class	Job
+	{
+		/** identifier of the equipment.									*/
+		protected final String	uid;
+		/** power of the program in watts.									*/
+		protected double		power;
+		/** first slot where the program may start.							*/
+		protected int			earliest;
+		/** last slot where the program may start to meet its deadline.	*/
+		protected int			latest;
+		/** number of slots occupied by the program.						*/
+		protected int			length;
+		/** slot where the program is planned to start, -1 if unplaced.	*/
+		protected int			start;
+		/** true if the job is waiting in the queue of dirty jobs.			*/
+		protected boolean		dirty;
+
+		protected			Job(String uid)
+		{
+			this.uid = uid;
+			this.start = -1;
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	/** penalty per watt above the budget, large enough to dominate the load
+	 *  seen by a job.														*/
+	protected static final double		OVERLOAD_PENALTY = 1000.0;
+	/** minimal decrease of cost for a job to be moved.					*/
+	protected static final double		COST_EPSILON = 1e-6;
+	/** weight of a new observation in the forecast of its slot.			*/
+	protected static final double		FORECAST_SMOOTHING = 0.2;
+	/** number of minutes in a day.											*/
+	protected static final int			MINUTES_PER_DAY = 24*60;
+
+	/** length of a slot in minutes.										*/
+	protected final int					slotMinutes;
+	/** forecast net load per slot in watts.								*/
+	protected final double[]			forecast;
+	/** load of the placed jobs per slot in watts.							*/
+	protected final double[]			planned;
+	/** jobs placed on each slot.											*/
+	protected final List<List<Job>>		occupants;
+	/** jobs by identifier of their equipment.								*/
+	protected final Map<String,Job>		jobs;
+	/** jobs which placement may be improved.								*/
+	protected final ArrayDeque<Job>		dirtyJobs;
+	/** consumption budget in watts.										*/
+	protected double					budget;
+
+	// -------------------------------------------------------------------------
+	// Constructors
+	// -------------------------------------------------------------------------
+
+	/**
+	 * create a start time optimizer.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code slotLength != null && slotLength.toMinutes() > 0}
+	 * pre	{@code 24*60 % slotLength.toMinutes() == 0}
+	 * pre	{@code budget >= 0.0}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param slotLength	length of the slots.
+	 * @param budget		consumption budget in watts.
+	 */
+	public				StartTimeOptimizer(Duration slotLength, double budget)
+	{
+		assert	slotLength != null && slotLength.toMinutes() > 0;
+		assert	MINUTES_PER_DAY % slotLength.toMinutes() == 0;
+		assert	budget >= 0.0;
+
+		this.slotMinutes = (int) slotLength.toMinutes();
+		int n = MINUTES_PER_DAY/this.slotMinutes;
+		this.forecast = new double[n];
+		this.planned = new double[n];
+		this.occupants = new ArrayList<>(n);
+		for (int i = 0 ; i < n ; i++) {
+			this.occupants.add(new ArrayList<>());
+		}
+		this.jobs = new HashMap<>();
+		this.dirtyJobs = new ArrayDeque<>();
+		this.budget = budget;
+	}
+
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * return the number of slots in a day.
+	 *
+	 * @return	the number of slots in a day.
+	 */
+	public int			getSlotCount()
+	{
+		return this.forecast.length;
+	}
+
+	/**
+	 * return the index of the slot containing {@code t}.
+	 *
+	 * @param t	a time of the day.
+	 * @return	the index of the slot containing {@code t}.
+	 */
+	public int			slotOf(LocalTime t)
+	{
+		return (t.getHour()*60 + t.getMinute())/this.slotMinutes;
+	}
+
+	/**
+	 * return the time at which the slot {@code slot} starts.
+	 *
+	 * @param slot	index of a slot.
+	 * @return		the time at which the slot starts.
+	 */
+	public LocalTime	startOfSlot(int slot)
+	{
+		assert	slot >= 0 && slot < this.getSlotCount();
+		return LocalTime.MIDNIGHT.plusMinutes((long) slot*this.slotMinutes);
+	}
+
+	/**
+	 * set the consumption budget in watts; all the jobs become dirty.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code budget >= 0.0}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param budget	consumption budget in watts.
+	 */
+	public void			setBudget(double budget)
+	{
+		assert	budget >= 0.0;
+
+		if (budget != this.budget) {
+			this.budget = budget;
+			for (Job j : this.jobs.values()) {
+				this.markDirty(j);
+			}
+		}
+	}
+
+	/**
+	 * take into account a net load observed at time {@code t} in the
+	 * forecast of its slot; only the jobs placed on this slot become dirty.
+	 *
+	 * @param t			time of the observation.
+	 * @param netLoad	observed net load in watts.
+	 */
+	public void			observe(LocalTime t, double netLoad)
+	{
+		int slot = this.slotOf(t);
+		double old = this.forecast[slot];
+		double updated = old + FORECAST_SMOOTHING*(netLoad - old);
+		if (updated != old) {
+			this.forecast[slot] = updated;
+			for (Job j : this.occupants.get(slot)) {
+				this.markDirty(j);
+			}
+		}
+	}
+
+	/**
+	 * return the forecast net load of the slot {@code slot}.
+	 *
+	 * @param slot	index of a slot.
+	 * @return		the forecast net load of the slot in watts.
+	 */
+	public double		getForecast(int slot)
+	{
+		return this.forecast[slot];
+	}
+
+	/**
+	 * return true if a job is known for the equipment {@code uid}.
+	 *
+	 * @param uid	identifier of an equipment.
+	 * @return		true if a job is known for the equipment {@code uid}.
+	 */
+	public boolean		isPlanned(String uid)
+	{
+		return this.jobs.containsKey(uid);
+	}
+
+	/**
+	 * return the identifiers of the equipments which have a job.
+	 *
+	 * @return	a copy of the set of identifiers of the equipments which have a job.
+	 */
+	public Set<String>	plannedEquipments()
+	{
+		return new HashSet<>(this.jobs.keySet());
+	}
+
+	/**
+	 * add or modify the job of an equipment and place it at its best start;
+	 * nothing is done if the constraints did not change.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code uid != null}
+	 * pre	{@code power >= 0.0}
+	 * pre	{@code earliest != null && duration != null && deadline != null}
+	 * post	{@code isPlanned(uid)}
+	 * </pre>
+	 *
+	 * @param uid		identifier of the equipment.
+	 * @param power		power of the program in watts.
+	 * @param earliest	earliest start time of the program.
+	 * @param duration	duration of the program.
+	 * @param deadline	time at which the program must be finished.
+	 */
+	public void			updateJob(
+		String uid,
+		double power,
+		LocalTime earliest,
+		Duration duration,
+		LocalTime deadline
+		)
+	{
+		assert	uid != null;
+		assert	power >= 0.0;
+		assert	earliest != null && duration != null && deadline != null;
+
+		int n = this.getSlotCount();
+		int first = this.slotOf(earliest);
+		int length = (int) Math.max(1, (duration.toMinutes() +
+									this.slotMinutes - 1)/this.slotMinutes);
+		length = Math.min(length, n - first);
+		int end = this.slotOf(deadline);
+		if (deadline.isBefore(earliest)) {
+			// the deadline is after midnight: plan up to the end of the day
+			end = n;
+		}
+		int last = Math.max(first, Math.min(end - length, n - length));
+
+		Job j = this.jobs.get(uid);
+		if (j == null) {
+			j = new Job(uid);
+			this.jobs.put(uid, j);
+		} else if (j.power == power && j.earliest == first &&
+						j.latest == last && j.length == length) {
+			return;
+		}
+		this.unplace(j, true);
+		j.power = power;
+		j.earliest = first;
+		j.latest = last;
+		j.length = length;
+		this.place(j, this.bestStart(j), true);
+	}
+
+	/**
+	 * remove the job of an equipment; the jobs sharing its slots become
+	 * dirty.
+	 *
+	 * @param uid	identifier of the equipment.
+	 */
+	public void			removeJob(String uid)
+	{
+		Job j = this.jobs.remove(uid);
+		if (j != null) {
+			this.unplace(j, true);
+			this.dirtyJobs.remove(j);
+		}
+	}
+
+	/**
+	 * return the planned start time of the job of an equipment.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code isPlanned(uid)}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @param uid	identifier of the equipment.
+	 * @return		the planned start time of its job.
+	 */
+	public LocalTime	plannedStart(String uid)
+	{
+		assert	this.isPlanned(uid);
+		return this.startOfSlot(this.jobs.get(uid).start);
+	}
+
+	/**
+	 * improve the plan by moving the dirty jobs to their best start until
+	 * none is left or the time budget is exhausted; the plan is valid at any
+	 * time, so the result can be used whatever the outcome.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code budget >= 0 && unit != null}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param budget	maximal duration of the optimisation.
+	 * @param unit		time unit of {@code budget}.
+	 * @return			true if no job is left to be improved.
+	 */
+	public boolean		optimize(long budget, TimeUnit unit)
+	{
+		long deadline = System.nanoTime() + unit.toNanos(budget);
+		while (!this.dirtyJobs.isEmpty() && System.nanoTime() < deadline) {
+			Job j = this.dirtyJobs.poll();
+			j.dirty = false;
+			int old = j.start;
+			this.unplace(j, false);
+			int best = this.bestStart(j);
+			// move only on a real improvement, otherwise neighbours need
+			// not be reconsidered
+			boolean moved = best != old &&
+						this.cost(j, best) < this.cost(j, old) - COST_EPSILON;
+			if (moved) {
+				this.markOccupants(old, j.length);
+			}
+			this.place(j, moved ? best : old, moved);
+		}
+		return this.dirtyJobs.isEmpty();
+	}
+
+	/**
+	 * return the start minimising the cost of the job given the others.
+	 *
+	 * @param j	a job which is not placed.
+	 * @return	the best start of the job.
+	 */
+	protected int		bestStart(Job j)
+	{
+		assert	j.start < 0;
+
+		int best = j.earliest;
+		double bestCost = Double.POSITIVE_INFINITY;
+		double window = 0.0;
+		// sliding window over the costs of the slots
+		for (int t = j.earliest ; t < j.earliest + j.length ; t++) {
+			window += this.slotCost(t, j.power);
+		}
+		for (int s = j.earliest ; s <= j.latest ; s++) {
+			if (s > j.earliest) {
+				window += this.slotCost(s + j.length - 1, j.power) -
+						  this.slotCost(s - 1, j.power);
+			}
+			if (window < bestCost) {
+				bestCost = window;
+				best = s;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * return the cost of placing the job {@code j} at {@code start}.
+	 *
+	 * @param j		a job which is not placed.
+	 * @param start	a possible start of the job.
+	 * @return		the cost of placing the job at {@code start}.
+	 */
+	protected double	cost(Job j, int start)
+	{
+		double ret = 0.0;
+		for (int t = start ; t < start + j.length ; t++) {
+			ret += this.slotCost(t, j.power);
+		}
+		return ret;
+	}
+
+	/**
+	 * return the cost of adding a load of {@code power} on the slot
+	 * {@code t}.
+	 *
+	 * @param t		index of a slot.
+	 * @param power	added load in watts.
+	 * @return		the cost of adding the load on the slot.
+	 */
+	protected double	slotCost(int t, double power)
+	{
+		double load = this.forecast[t] + this.planned[t];
+		double over = Math.max(0.0, load + power - this.budget);
+		return load + OVERLOAD_PENALTY*over;
+	}
+
+	/**
+	 * place a job at {@code start}.
+	 *
+	 * @param j			a job which is not placed.
+	 * @param start		slot where the job starts.
+	 * @param notify	true if the jobs on the slots must become dirty.
+	 */
+	protected void		place(Job j, int start, boolean notify)
+	{
+		if (notify) {
+			this.markOccupants(start, j.length);
+		}
+		j.start = start;
+		for (int t = start ; t < start + j.length ; t++) {
+			this.occupants.get(t).add(j);
+			this.planned[t] += j.power;
+		}
+	}
+
+	/**
+	 * remove a job from its slots.
+	 *
+	 * @param j			a job.
+	 * @param notify	true if the jobs remaining on the slots must become dirty.
+	 */
+	protected void		unplace(Job j, boolean notify)
+	{
+		if (j.start < 0) {
+			return;
+		}
+		for (int t = j.start ; t < j.start + j.length ; t++) {
+			this.occupants.get(t).remove(j);
+			this.planned[t] -= j.power;
+		}
+		if (notify) {
+			this.markOccupants(j.start, j.length);
+		}
+		j.start = -1;
+	}
+
+	/**
+	 * make dirty the jobs placed on the slots {@code start} to
+	 * {@code start + length - 1}.
+	 *
+	 * @param start		first slot.
+	 * @param length	number of slots.
+	 */
+	protected void		markOccupants(int start, int length)
+	{
+		for (int t = start ; t < start + length ; t++) {
+			for (Job other : this.occupants.get(t)) {
+				this.markDirty(other);
+			}
+		}
+	}
+
+	/**
+	 * add a job to the queue of dirty jobs if it is not already in.
+	 *
+	 * @param j	a job.
+	 */
+	protected void		markDirty(Job j)
+	{
+		if (!j.dirty) {
+			j.dirty = true;
+			this.dirtyJobs.add(j);
+		}
+	}
+}
+// -----------------------------------------------------------------------------
@@ -0,0 +1,187 @@
+package fr.sorbonne_u.hem;
+
+
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to provide a basic
+// household management systems as an example of a cyber-physical system.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>StartTimeOptimizerUnitTester</code> performs unit tests
+ * for the start time optimizer, with slots of one hour.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p><strong>Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	true
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-17</p>
+ * 
+ *  @authors	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+ *              <a href="maedeh.daemi@etu.sorbonne-universite.fr">DAEMI Maedeh</a>
+ */
+public class			StartTimeOptimizerUnitTester
+{
+	protected static final Duration	ONE_HOUR = Duration.ofHours(1);
+
+	protected static StartTimeOptimizer	optimizer(double budget)
+	{
+		return new StartTimeOptimizer(ONE_HOUR, budget);
+	}
+
+	/** make the forecast of the slot of {@code t} close to {@code netLoad}. */
+	protected static void	learn(
+		StartTimeOptimizer o,
+		LocalTime t,
+		double netLoad
+		)
+	{
+		for (int i = 0 ; i < 60 ; i++) {
+			o.observe(t, netLoad);
+		}
+	}
+
+	@Test
+	public void			cutsTheDayIntoSlots()
+	{
+		StartTimeOptimizer o = optimizer(3000.0);
+		assertEquals(24, o.getSlotCount());
+		assertEquals(10, o.slotOf(LocalTime.of(10, 30)));
+		assertEquals(LocalTime.of(10, 0), o.startOfSlot(10));
+	}
+
+	@Test
+	public void			placesTheJobsInTheValleys()
+	{
+		StartTimeOptimizer o = optimizer(3000.0);
+		learn(o, LocalTime.of(8, 0), 2000.0);
+		learn(o, LocalTime.of(9, 0), 2000.0);
+		o.updateJob("wm", 1000.0, LocalTime.of(8, 0), Duration.ofHours(2),
+					LocalTime.of(14, 0));
+		assertTrue(o.isPlanned("wm"));
+		assertEquals(LocalTime.of(10, 0), o.plannedStart("wm"));
+
+		// the earliest start wins the ties
+		o.updateJob("dw", 1000.0, LocalTime.of(16, 0), Duration.ofHours(2),
+					LocalTime.of(22, 0));
+		assertEquals(LocalTime.of(16, 0), o.plannedStart("dw"));
+	}
+
+	@Test
+	public void			meetsTheDeadlines()
+	{
+		StartTimeOptimizer o = optimizer(3000.0);
+		for (int h = 8 ; h < 12 ; h++) {
+			learn(o, LocalTime.of(h, 0), 2000.0);
+		}
+		o.updateJob("wm", 1000.0, LocalTime.of(8, 0), Duration.ofHours(2),
+					LocalTime.of(12, 0));
+		LocalTime start = o.plannedStart("wm");
+		assertFalse(start.isBefore(LocalTime.of(8, 0)));
+		assertFalse(start.plusHours(2).isAfter(LocalTime.of(12, 0)));
+
+		// a deadline after midnight plans up to the end of the day
+		o.updateJob("dw", 1000.0, LocalTime.of(22, 0), Duration.ofHours(1),
+					LocalTime.of(1, 0));
+		assertTrue(o.slotOf(o.plannedStart("dw")) >= 22);
+	}
+
+	@Test
+	public void			spreadsTheJobsUnderTheBudget()
+	{
+		StartTimeOptimizer o = optimizer(1500.0);
+		o.updateJob("a", 1000.0, LocalTime.of(8, 0), ONE_HOUR,
+					LocalTime.of(10, 0));
+		o.updateJob("b", 1000.0, LocalTime.of(8, 0), ONE_HOUR,
+					LocalTime.of(10, 0));
+		assertNotEquals(o.plannedStart("a"), o.plannedStart("b"));
+
+		o.removeJob("a");
+		assertFalse(o.isPlanned("a"));
+		assertEquals(1, o.plannedEquipments().size());
+	}
+
+	@Test
+	public void			movesTheJobsWhenTheForecastChanges()
+	{
+		StartTimeOptimizer o = optimizer(3000.0);
+		o.updateJob("wm", 1000.0, LocalTime.of(8, 0), ONE_HOUR,
+					LocalTime.of(11, 0));
+		assertEquals(LocalTime.of(8, 0), o.plannedStart("wm"));
+		learn(o, LocalTime.of(8, 0), 2000.0);
+		assertTrue(o.optimize(1, TimeUnit.SECONDS));
+		assertEquals(LocalTime.of(9, 0), o.plannedStart("wm"));
+	}
+
+	@Test
+	public void			optimizeReachesALocalOptimum()
+	{
+		Random r = new Random(6L);
+		StartTimeOptimizer o = optimizer(4000.0);
+		for (int h = 0 ; h < 24 ; h++) {
+			learn(o, LocalTime.of(h, 0), r.nextInt(3000));
+		}
+		for (int i = 0 ; i < 30 ; i++) {
+			int earliest = r.nextInt(20);
+			o.updateJob("j" + i, 200.0 + r.nextInt(1800),
+						LocalTime.of(earliest, 0),
+						Duration.ofMinutes(30 + r.nextInt(180)),
+						LocalTime.of(Math.min(23, earliest + 4 + r.nextInt(6)),
+									 0));
+		}
+		assertTrue(o.optimize(10, TimeUnit.SECONDS));
+		// no job alone can find a cheaper start
+		for (StartTimeOptimizer.Job j : o.jobs.values()) {
+			int start = j.start;
+			o.unplace(j, false);
+			assertTrue(o.cost(j, o.bestStart(j)) >=
+						o.cost(j, start) - StartTimeOptimizer.COST_EPSILON,
+					   j.uid);
+			o.place(j, start, false);
+		}
+	}
+}
+// -----------------------------------------------------------------------------
@@ -2,7 +2,9 @@ package fr.sorbonne_u.hem;
 
 
 import fr.sorbonne_u.components.ComponentI;
+import fr.sorbonne_u.interfaces.EquipmentSnapshot;
 import fr.sorbonne_u.interfaces.SuspensionEquipmentControlCI;
+import java.util.concurrent.CompletableFuture;
 
 
 // -----------------------------------------------------------------------------
@@ -52,7 +54,17 @@ implements	SuspensionEquipmentControlCI
 	public boolean		suspended() throws Exception
 	{
 		assert	this.on();
-		return ((SuspensionEquipmentControlCI)this.getConnector()).suspended();
+		Boolean suspended = this.cachedSuspended;
+		if (suspended != null) {
+			return suspended;
+		}
+		long version = this.stateVersion();
+		long start = System.nanoTime();
+		boolean ret = this.call(c -> ((SuspensionEquipmentControlCI)c).
+																suspended());
+		this.recordLatency(Method.SUSPENDED, start);
+		this.cacheRead(version, null, 0, ret);
+		return ret;
 	}
 
 	/**
@@ -62,8 +74,12 @@ implements	SuspensionEquipmentControlCI
 	public boolean		suspend() throws Exception
 	{
 		assert	!this.suspended();
-		boolean ret = ((SuspensionEquipmentControlCI)this.getConnector()).
-																	suspend();
+		long start = System.nanoTime();
+		boolean ret = this.call(c -> ((SuspensionEquipmentControlCI)c).
+																suspend());
+		this.recordLatency(Method.SUSPEND, start);
+		this.cacheCommand(this.cachedOn, this.cachedMode,
+						  ret ? Boolean.TRUE : null);
 		assert	!ret || this.suspended();
 		return ret;
 	}
@@ -75,8 +91,12 @@ implements	SuspensionEquipmentControlCI
 	public boolean		resume() throws Exception
 	{
 		assert	this.suspended();
-		boolean ret = ((SuspensionEquipmentControlCI)this.getConnector()).
-																	resume();
+		long start = System.nanoTime();
+		boolean ret = this.call(c -> ((SuspensionEquipmentControlCI)c).
+																resume());
+		this.recordLatency(Method.RESUME, start);
+		this.cacheCommand(this.cachedOn, this.cachedMode,
+						  ret ? Boolean.FALSE : null);
 		assert	!ret || !this.suspended();
 		return ret;
 	}
@@ -88,10 +108,71 @@ implements	SuspensionEquipmentControlCI
 	public double		emergency() throws Exception
 	{
 		assert	this.suspended();
-		double ret = ((SuspensionEquipmentControlCI)this.getConnector()).
-																emergency();
+		long start = System.nanoTime();
+		double ret = this.call(c -> ((SuspensionEquipmentControlCI)c).
+															emergency());
+		this.recordLatency(Method.EMERGENCY, start);
 		assert	ret >= 0.0 && ret <= 1.0;
 		return ret;
 	}
+
+	/**
+	 * @see fr.sorbonne_u.hem.StandardEquipmentControlOutboundPort#cacheSnapshot(long, fr.sorbonne_u.interfaces.EquipmentSnapshot)
+	 */
+	@Override
+	protected void		cacheSnapshot(long version, EquipmentSnapshot s)
+	{
+		this.cachedMaxMode = s.maxMode();
+		this.cacheRead(version, s.on(), s.on() ? s.currentMode() : 0,
+					   s.on() ? s.suspended() : null);
+	}
+
+	/**
+	 * asynchronous variant of {@code suspended}, pipelined after the
+	 * requests previously submitted through this port.
+	 *
+	 * @return	the future on the result of {@code suspended}.
+	 * @see fr.sorbonne_u.interfaces.SuspensionEquipmentControlCI#suspended()
+	 */
+	public CompletableFuture<Boolean>	suspendedAsync()
+	{
+		return this.pipelined(() -> this.suspended());
+	}
+
+	/**
+	 * asynchronous variant of {@code suspend}, pipelined after the
+	 * requests previously submitted through this port.
+	 *
+	 * @return	the future on the result of {@code suspend}.
+	 * @see fr.sorbonne_u.interfaces.SuspensionEquipmentControlCI#suspend()
+	 */
+	public CompletableFuture<Boolean>	suspendAsync()
+	{
+		return this.pipelined(() -> this.suspend());
+	}
+
+	/**
+	 * asynchronous variant of {@code resume}, pipelined after the
+	 * requests previously submitted through this port.
+	 *
+	 * @return	the future on the result of {@code resume}.
+	 * @see fr.sorbonne_u.interfaces.SuspensionEquipmentControlCI#resume()
+	 */
+	public CompletableFuture<Boolean>	resumeAsync()
+	{
+		return this.pipelined(() -> this.resume());
+	}
+
+	/**
+	 * asynchronous variant of {@code emergency}, pipelined after the
+	 * requests previously submitted through this port.
+	 *
+	 * @return	the future on the result of {@code emergency}.
+	 * @see fr.sorbonne_u.interfaces.SuspensionEquipmentControlCI#emergency()
+	 */
+	public CompletableFuture<Double>	emergencyAsync()
+	{
+		return this.pipelined(() -> this.emergency());
+	}
 }
 // -----------------------------------------------------------------------------
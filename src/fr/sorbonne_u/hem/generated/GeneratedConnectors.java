@@ -0,0 +1,87 @@
+package fr.sorbonne_u.hem.generated;
+
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to provide a basic
+// household management systems as an example of a cyber-physical system.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+import java.lang.invoke.MethodHandles;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>GeneratedConnectors</code> anchors the package of the
+ * connector classes generated from the control adapter descriptions.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * BCM creates the connectors from their class name, so the generated
+ * connector classes must be defined by the class loader of the application,
+ * in this package; the lookup returned by {@code lookup} lets the connector
+ * cache define there the classes it reads from its persistent directory.
+ * </p>
+ * 
+ * <p><strong>Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	true
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-17</p>
+ * 
+ *  @authors	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+ *              <a href="maedeh.daemi@etu.sorbonne-universite.fr">DAEMI Maedeh</a>
+ */
+public final class		GeneratedConnectors
+{
+	private				GeneratedConnectors()
+	{
+	}
+
+	/**
+	 * return a lookup able to define classes in the package of the generated
+	 * connector classes.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	true		// no precondition.
+	 * post	{@code return.lookupClass() == GeneratedConnectors.class}
+	 * </pre>
+	 *
+	 * @return	a lookup with package access in the package of the generated connector classes.
+	 */
+	public static MethodHandles.Lookup	lookup()
+	{
+		return MethodHandles.lookup();
+	}
+}
+// -----------------------------------------------------------------------------
@@ -0,0 +1,677 @@
+package fr.sorbonne_u.hem.mil;
+
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to provide a basic
+// household management systems as an example of a cyber-physical system.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import fr.sorbonne_u.HEM_ReportI;
+import fr.sorbonne_u.components.refrigerator.mil.RefrigeratorElectricityModel;
+import fr.sorbonne_u.components.refrigerator.mil.events.ResumeRefrigerator;
+import fr.sorbonne_u.components.refrigerator.mil.events.SuspendRefrigerator;
+import fr.sorbonne_u.components.waterHeater.mil.WaterHeaterElectricityModel;
+import fr.sorbonne_u.components.waterHeater.mil.events.ResumeWaterHeater;
+import fr.sorbonne_u.components.waterHeater.mil.events.SuspendWaterHeater;
+import fr.sorbonne_u.devs_simulation.hioa.annotations.ImportedVariable;
+import fr.sorbonne_u.devs_simulation.hioa.models.AtomicHIOA;
+import fr.sorbonne_u.devs_simulation.hioa.models.vars.Value;
+import fr.sorbonne_u.devs_simulation.interfaces.SimulationReportI;
+import fr.sorbonne_u.devs_simulation.models.annotations.ModelExternalEvents;
+import fr.sorbonne_u.devs_simulation.models.events.EventI;
+import fr.sorbonne_u.devs_simulation.models.time.Duration;
+import fr.sorbonne_u.devs_simulation.models.time.Time;
+import fr.sorbonne_u.devs_simulation.simulators.interfaces.SimulatorI;
+import fr.sorbonne_u.devs_simulation.utils.StandardLogger;
+import fr.sorbonne_u.hem.ControlCommand;
+import fr.sorbonne_u.hem.ControlPolicy;
+import fr.sorbonne_u.hem.GradedSheddingPolicy;
+import fr.sorbonne_u.hem.HouseState;
+import fr.sorbonne_u.hem.LoadSheddingEngine;
+import fr.sorbonne_u.interfaces.EquipmentSnapshot;
+import fr.sorbonne_u.utils.Electricity;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>HEM_PolicyModel</code> defines a simulation model of the
+ * control policy of the home energy manager, which suspends and resumes the
+ * water heater and the refrigerator to keep the consumption of the house under
+ * a budget.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * The model plays the management cycle of the HEM in simulated time: every
+ * {@code period}, it reads the total consumption intensity exported by the
+ * electric meter model and the intensities of the managed appliances, gives
+ * them as the state of the house to a control policy, by default the same
+ * {@code GradedSheddingPolicy} as the HEM component, and sends the suspensions
+ * and resumptions it decides as {@code Suspend...} and {@code Resume...}
+ * events to the electricity models of the appliances; the appliances have a
+ * single mode, so other commands fail. As the simulation runs without any
+ * sleep, days of control can be simulated in seconds and different policies
+ * and parameters compared from their simulation reports.
+ * </p>
+ * <p>
+ * The emergency of a suspended appliance grows linearly with the time it has
+ * been suspended and reaches 1.0, hence forces its resumption, after
+ * {@code maxSuspension}; an appliance is considered running when it consumes
+ * more than its idle power.
+ * </p>
+ * <p>
+ * The model does not toggle its debug mode, so that long runs are not slowed
+ * down by the logging.
+ * </p>
+ * 
+ * <p><strong>Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code period > 0.0}
+ * invariant	{@code budget >= 0.0}
+ * invariant	{@code maxSuspension > 0.0}
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-17</p>
+ * 
+ *  @authors	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+ *              <a href="maedeh.daemi@etu.sorbonne-universite.fr">DAEMI Maedeh</a>
+ */
+@ModelExternalEvents(exported = {SuspendWaterHeater.class,
+								 ResumeWaterHeater.class,
+								 SuspendRefrigerator.class,
+								 ResumeRefrigerator.class})
+// -----------------------------------------------------------------------------
+public class			HEM_PolicyModel
+extends		AtomicHIOA
+{
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	private static final long	serialVersionUID = 1L;
+	/** URI for a model; works when only one instance is created.			*/
+	public static final String	URI = HEM_PolicyModel.class.getSimpleName();
+	/** tension of the electric circuit of the appliances in volts.		*/
+	public static final double	TENSION = 220.0;
+	/** default management period in seconds.								*/
+	public static final double	DEFAULT_PERIOD = 1.0;
+	/** default consumption budget in watts.								*/
+	public static final double	DEFAULT_BUDGET = 3000.0;
+	/** default maximal suspension duration in seconds.					*/
+	public static final double	DEFAULT_MAX_SUSPENSION = 5.0;
+	/** identifiers of the managed appliances, the URI of their models.	*/
+	protected static final String[]	UIDS = {WaterHeaterElectricityModel.URI,
+											RefrigeratorElectricityModel.URI};
+
+	/** current total consumption intensity of the house in amperes.		*/
+	@ImportedVariable(type = Double.class)
+	protected Value<Double>		currentIntensity_consumption;
+	/** current intensity of the water heater in amperes.					*/
+	@ImportedVariable(type = Double.class)
+	protected Value<Double>		currentWaterHeaterIntensity;
+	/** current intensity of the refrigerator in amperes.					*/
+	@ImportedVariable(type = Double.class)
+	protected Value<Double>		currentRefrigeratorIntensity;
+
+	/** management period in seconds.										*/
+	protected double				period = DEFAULT_PERIOD;
+	/** consumption budget in watts.										*/
+	protected double				budget = DEFAULT_BUDGET;
+	/** maximal suspension duration in seconds.							*/
+	protected double				maxSuspension = DEFAULT_MAX_SUSPENSION;
+	/** policy given by the run parameters, null to use the default one.	*/
+	protected ControlPolicy			givenPolicy;
+	/** control policy deciding the commands.								*/
+	protected ControlPolicy			policy;
+	/** nominal power of the appliances in watts, indexed as {@code UIDS}.	*/
+	protected final double[]		nominalPowers = new double[UIDS.length];
+	/** idle power of the appliances in watts, indexed as {@code UIDS}.	*/
+	protected final double[]		idlePowers = new double[UIDS.length];
+	/** time at which the appliances were suspended, NaN if running.		*/
+	protected final double[]		suspendedSince = new double[UIDS.length];
+	/** commands which events remain to be sent, null if none.			*/
+	protected List<ControlCommand>	pending;
+	/** number of the current management step.								*/
+	protected long					cycle;
+	/** true when the last internal transition followed an output.		*/
+	protected boolean				commandsSent;
+
+	/** number of suspensions sent during the run.							*/
+	protected int					suspensions;
+	/** number of resumptions sent during the run.							*/
+	protected int					resumptions;
+	/** total time spent over the budget in seconds.						*/
+	protected double				timeOverBudget;
+	/** total time the appliances spent suspended in seconds.				*/
+	protected double				timeSuspended;
+	/** total consumption of the house in kwh.								*/
+	protected double				totalConsumption;
+	/** highest power observed in watts.									*/
+	protected double				peakPower;
+	/** power observed at the last management step in watts.				*/
+	protected double				lastPower;
+
+	// -------------------------------------------------------------------------
+	// Constructors
+	// -------------------------------------------------------------------------
+
+	/**
+	 * create a <code>HEM_PolicyModel</code> instance.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code simulatedTimeUnit != null}
+	 * pre	{@code simulationEngine == null || simulationEngine instanceof HIOA_AtomicEngine}
+	 * post	{@code getURI() != null}
+	 * post	{@code uri != null implies this.getURI().equals(uri)}
+	 * post	{@code getSimulatedTimeUnit().equals(simulatedTimeUnit)}
+	 * post	{@code simulationEngine != null implies getSimulationEngine().equals(simulationEngine)}
+	 * post	{@code !isDebugModeOn()}
+	 * </pre>
+	 *
+	 * @param uri				URI of the model.
+	 * @param simulatedTimeUnit	time unit used for the simulation time.
+	 * @param simulationEngine	simulation engine to which the model is attached.
+	 * @throws Exception		<i>to do</i>.
+	 */
+	public				HEM_PolicyModel(
+		String uri,
+		TimeUnit simulatedTimeUnit,
+		SimulatorI simulationEngine
+		) throws Exception
+	{
+		super(uri, simulatedTimeUnit, simulationEngine);
+		this.setLogger(new StandardLogger());
+	}
+
+	// -------------------------------------------------------------------------
+	// Methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * return the index of an appliance in {@code UIDS}, or -1 if it is not
+	 * managed by the model.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code uid != null}
+	 * post	{@code ret >= -1 && ret < UIDS.length}
+	 * </pre>
+	 *
+	 * @param uid	identifier of the appliance.
+	 * @return		the index of the appliance, or -1.
+	 */
+	protected static int	indexOf(String uid)
+	{
+		for (int i = 0 ; i < UIDS.length ; i++) {
+			if (UIDS[i].equals(uid)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * return the current intensity of an appliance in amperes.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code i >= 0 && i < UIDS.length}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param i	index of the appliance.
+	 * @return	the current intensity of the appliance in amperes.
+	 */
+	protected double	intensity(int i)
+	{
+		return i == 0 ? this.currentWaterHeaterIntensity.v
+					  : this.currentRefrigeratorIntensity.v;
+	}
+
+	/**
+	 * create the event suspending or resuming an appliance.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code uid != null && t != null}
+	 * post	{@code ret != null}
+	 * </pre>
+	 *
+	 * @param uid		identifier of the appliance.
+	 * @param t			time of occurrence of the event.
+	 * @param suspend	true to suspend the appliance, false to resume it.
+	 * @return			the event.
+	 */
+	protected static EventI	command(String uid, Time t, boolean suspend)
+	{
+		if (WaterHeaterElectricityModel.URI.equals(uid)) {
+			return suspend ? new SuspendWaterHeater(t)
+						   : new ResumeWaterHeater(t);
+		} else {
+			assert	RefrigeratorElectricityModel.URI.equals(uid);
+			return suspend ? new SuspendRefrigerator(t)
+						   : new ResumeRefrigerator(t);
+		}
+	}
+
+	/**
+	 * perform one management step: account for the time elapsed since the
+	 * previous one, give the state of the house to the policy and record the
+	 * suspensions and resumptions it decides.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code elapsed >= 0.0}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param elapsed	time elapsed since the previous step in seconds.
+	 */
+	protected void		manage(double elapsed)
+	{
+		double now = this.getCurrentStateTime().getSimulatedTime();
+		if (this.lastPower > this.budget) {
+			this.timeOverBudget += elapsed;
+		}
+		this.totalConsumption += Electricity.computeConsumption(
+						new Duration(elapsed, this.getSimulatedTimeUnit()),
+						this.lastPower);
+
+		double power = TENSION*this.currentIntensity_consumption.v;
+		this.lastPower = power;
+		this.peakPower = Math.max(this.peakPower, power);
+
+		List<HouseState.EquipmentState> states = new ArrayList<>();
+		for (int i = 0 ; i < UIDS.length ; i++) {
+			boolean suspended = !Double.isNaN(this.suspendedSince[i]);
+			EquipmentSnapshot snapshot;
+			if (suspended) {
+				double emergency = Math.min(
+						LoadSheddingEngine.MAX_EMERGENCY,
+						(now - this.suspendedSince[i])/this.maxSuspension);
+				snapshot = new EquipmentSnapshot(true, 1, 1, true, emergency);
+			} else {
+				boolean running =
+						TENSION*this.intensity(i) > this.idlePowers[i];
+				snapshot = new EquipmentSnapshot(running, 1, 1, false, 0.0);
+			}
+			states.add(new HouseState.EquipmentState(
+								UIDS[i], true, this.nominalPowers[i], snapshot));
+		}
+
+		List<ControlCommand> decided = this.policy.decide(
+					new HouseState(++this.cycle, power, 0.0, states));
+		List<ControlCommand> sent = new ArrayList<>(decided.size());
+		for (ControlCommand c : decided) {
+			int i = indexOf(c.getUid());
+			if (i < 0 || c.getKind() == ControlCommand.Kind.SET_MODE ||
+					Double.isNaN(this.suspendedSince[i]) !=
+									(c.getKind() == ControlCommand.Kind.SUSPEND)) {
+				// unknown appliance, no modes or already in the right state
+				this.policy.commandFailed(c);
+			} else if (c.getKind() == ControlCommand.Kind.SUSPEND) {
+				this.suspendedSince[i] = now;
+				this.suspensions++;
+				sent.add(c);
+			} else {
+				this.timeSuspended += now - this.suspendedSince[i];
+				this.suspendedSince[i] = Double.NaN;
+				this.resumptions++;
+				sent.add(c);
+			}
+		}
+		if (!sent.isEmpty()) {
+			this.pending = sent;
+			StringBuffer sb = new StringBuffer("commands at ");
+			sb.append(now);
+			sb.append(": ");
+			sb.append(sent);
+			sb.append(".\n");
+			this.logMessage(sb.toString());
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// DEVS simulation protocol
+	// -------------------------------------------------------------------------
+
+	/**
+	 * @see fr.sorbonne_u.devs_simulation.hioa.models.AtomicHIOA#initialiseState(fr.sorbonne_u.devs_simulation.models.time.Time)
+	 */
+	@Override
+	public void			initialiseState(Time initialTime)
+	{
+		super.initialiseState(initialTime);
+
+		this.policy = this.givenPolicy != null ?
+							this.givenPolicy
+						:	new GradedSheddingPolicy(this.budget);
+		this.nominalPowers[0] = WaterHeaterElectricityModel.HEATING_POWER;
+		this.nominalPowers[1] = RefrigeratorElectricityModel.FREEZING_POWER;
+		this.idlePowers[0] = WaterHeaterElectricityModel.NOT_HEATING_POWER;
+		this.idlePowers[1] = RefrigeratorElectricityModel.NOT_FREEZING_POWER;
+		for (int i = 0 ; i < UIDS.length ; i++) {
+			this.suspendedSince[i] = Double.NaN;
+		}
+		this.pending = null;
+		this.commandsSent = false;
+		this.cycle = 0;
+
+		this.suspensions = 0;
+		this.resumptions = 0;
+		this.timeOverBudget = 0.0;
+		this.timeSuspended = 0.0;
+		this.totalConsumption = 0.0;
+		this.peakPower = 0.0;
+		this.lastPower = 0.0;
+	}
+
+	/**
+	 * @see fr.sorbonne_u.devs_simulation.models.interfaces.AtomicModelI#output()
+	 */
+	@Override
+	public ArrayList<EventI>	output()
+	{
+		if (this.pending == null) {
+			return null;
+		}
+
+		Time t = this.getTimeOfNextEvent();
+		ArrayList<EventI> ret = new ArrayList<EventI>();
+		for (ControlCommand c : this.pending) {
+			ret.add(command(c.getUid(), t,
+							c.getKind() == ControlCommand.Kind.SUSPEND));
+		}
+		this.pending = null;
+		this.commandsSent = true;
+		return ret;
+	}
+
+	/**
+	 * @see fr.sorbonne_u.devs_simulation.models.interfaces.ModelI#timeAdvance()
+	 */
+	@Override
+	public Duration		timeAdvance()
+	{
+		if (this.pending != null) {
+			// send the commands immediately after the decision
+			return Duration.zero(this.getSimulatedTimeUnit());
+		} else {
+			return new Duration(this.period, this.getSimulatedTimeUnit());
+		}
+	}
+
+	/**
+	 * @see fr.sorbonne_u.devs_simulation.models.AtomicModel#userDefinedInternalTransition(fr.sorbonne_u.devs_simulation.models.time.Duration)
+	 */
+	@Override
+	public void			userDefinedInternalTransition(Duration elapsedTime)
+	{
+		super.userDefinedInternalTransition(elapsedTime);
+
+		if (this.commandsSent) {
+			// transition following the output of the commands
+			this.commandsSent = false;
+		} else {
+			this.manage(elapsedTime.getSimulatedDuration());
+		}
+	}
+
+	/**
+	 * @see fr.sorbonne_u.devs_simulation.models.AtomicModel#endSimulation(fr.sorbonne_u.devs_simulation.models.time.Time)
+	 */
+	@Override
+	public void			endSimulation(Time endTime) throws Exception
+	{
+		double elapsed =
+				endTime.subtract(this.getCurrentStateTime()).
+													getSimulatedDuration();
+		if (this.lastPower > this.budget) {
+			this.timeOverBudget += elapsed;
+		}
+		this.totalConsumption += Electricity.computeConsumption(
+						new Duration(elapsed, this.getSimulatedTimeUnit()),
+						this.lastPower);
+		for (int i = 0 ; i < UIDS.length ; i++) {
+			if (!Double.isNaN(this.suspendedSince[i])) {
+				this.timeSuspended +=
+						endTime.getSimulatedTime() - this.suspendedSince[i];
+			}
+		}
+
+		this.logMessage("simulation ends.\n");
+		super.endSimulation(endTime);
+	}
+
+	// -------------------------------------------------------------------------
+	// Optional DEVS simulation protocol: simulation run parameters
+	// -------------------------------------------------------------------------
+
+	/** name of the run parameter giving the management period.			*/
+	public static final String	PERIOD_RUNPNAME = "HEM_POLICY_PERIOD";
+	/** name of the run parameter giving the consumption budget.			*/
+	public static final String	BUDGET_RUNPNAME = "HEM_POLICY_BUDGET";
+	/** name of the run parameter giving the maximal suspension duration.	*/
+	public static final String	MAX_SUSPENSION_RUNPNAME =
+													"HEM_POLICY_MAX_SUSPENSION";
+	/** name of the run parameter giving the control policy, an instance of
+	 *  {@code ControlPolicy}; the budget is then ignored.					*/
+	public static final String	POLICY_RUNPNAME = "HEM_POLICY";
+
+	/**
+	 * @see fr.sorbonne_u.devs_simulation.models.Model#setSimulationRunParameters(java.util.Map)
+	 */
+	@Override
+	public void			setSimulationRunParameters(
+		Map<String, Object> simParams
+		) throws Exception
+	{
+		super.setSimulationRunParameters(simParams);
+
+		if (simParams.containsKey(PERIOD_RUNPNAME)) {
+			this.period = (double) simParams.get(PERIOD_RUNPNAME);
+			assert	this.period > 0.0;
+		}
+		if (simParams.containsKey(BUDGET_RUNPNAME)) {
+			this.budget = (double) simParams.get(BUDGET_RUNPNAME);
+			assert	this.budget >= 0.0;
+		}
+		if (simParams.containsKey(MAX_SUSPENSION_RUNPNAME)) {
+			this.maxSuspension =
+					(double) simParams.get(MAX_SUSPENSION_RUNPNAME);
+			assert	this.maxSuspension > 0.0;
+		}
+		if (simParams.containsKey(POLICY_RUNPNAME)) {
+			this.givenPolicy = (ControlPolicy) simParams.get(POLICY_RUNPNAME);
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Optional DEVS simulation protocol: simulation report
+	// -------------------------------------------------------------------------
+
+	/**
+	 * The class <code>HEM_PolicyReport</code> implements the simulation
+	 * report of the <code>HEM_PolicyModel</code>, which gives the figures
+	 * used to compare control policies.
+	 *
+	 * <p><strong>Invariant</strong></p>
+	 * 
+	 * <pre>
+	 * invariant	true
+	 * </pre>
+	 * 
+	 * <p>Created on : 2026-10-17</p>
+	 * 
+	 *  @authors	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+	 *              <a href="maedeh.daemi@etu.sorbonne-universite.fr">DAEMI Maedeh</a>
+	 */
+	public static class		HEM_PolicyReport
+	implements	SimulationReportI, HEM_ReportI
+	{
+		private static final long serialVersionUID = 1L;
+		protected String	modelURI;
+		protected double	budget; // in watts
+		protected int		suspensions;
+		protected int		resumptions;
+		protected double	timeOverBudget; // in seconds
+		protected double	timeSuspended; // in seconds
+		protected double	totalConsumption; // in kwh
+		protected double	peakPower; // in watts
+
+		public			HEM_PolicyReport(
+			String modelURI,
+			double budget,
+			int suspensions,
+			int resumptions,
+			double timeOverBudget,
+			double timeSuspended,
+			double totalConsumption,
+			double peakPower
+			)
+		{
+			super();
+			this.modelURI = modelURI;
+			this.budget = budget;
+			this.suspensions = suspensions;
+			this.resumptions = resumptions;
+			this.timeOverBudget = timeOverBudget;
+			this.timeSuspended = timeSuspended;
+			this.totalConsumption = totalConsumption;
+			this.peakPower = peakPower;
+		}
+
+		public int		getSuspensions()
+		{
+			return this.suspensions;
+		}
+
+		public int		getResumptions()
+		{
+			return this.resumptions;
+		}
+
+		public double	getTimeOverBudget()
+		{
+			return this.timeOverBudget;
+		}
+
+		public double	getTimeSuspended()
+		{
+			return this.timeSuspended;
+		}
+
+		public double	getTotalConsumption()
+		{
+			return this.totalConsumption;
+		}
+
+		public double	getPeakPower()
+		{
+			return this.peakPower;
+		}
+
+		@Override
+		public String	getModelURI()
+		{
+			return this.modelURI;
+		}
+
+		@Override
+		public String	printout(String indent)
+		{
+			StringBuffer ret = new StringBuffer(indent);
+			ret.append("---\n");
+			ret.append(indent);
+			ret.append('|');
+			ret.append(this.modelURI);
+			ret.append(" report\n");
+			ret.append(indent);
+			ret.append('|');
+			ret.append("budget in watts = ");
+			ret.append(this.budget);
+			ret.append(".\n");
+			ret.append(indent);
+			ret.append('|');
+			ret.append("suspensions = ");
+			ret.append(this.suspensions);
+			ret.append(", resumptions = ");
+			ret.append(this.resumptions);
+			ret.append(".\n");
+			ret.append(indent);
+			ret.append('|');
+			ret.append("time over budget in seconds = ");
+			ret.append(this.timeOverBudget);
+			ret.append(".\n");
+			ret.append(indent);
+			ret.append('|');
+			ret.append("time suspended in seconds = ");
+			ret.append(this.timeSuspended);
+			ret.append(".\n");
+			ret.append(indent);
+			ret.append('|');
+			ret.append("total consumption in kwh = ");
+			ret.append(this.totalConsumption);
+			ret.append(".\n");
+			ret.append(indent);
+			ret.append('|');
+			ret.append("peak power in watts = ");
+			ret.append(this.peakPower);
+			ret.append(".\n");
+			ret.append(indent);
+			ret.append("---\n");
+			return ret.toString();
+		}
+	}
+
+	/**
+	 * @see fr.sorbonne_u.devs_simulation.models.Model#getFinalReport()
+	 */
+	@Override
+	public SimulationReportI	getFinalReport() throws Exception
+	{
+		return new HEM_PolicyReport(URI, this.budget, this.suspensions,
+									this.resumptions, this.timeOverBudget,
+									this.timeSuspended, this.totalConsumption,
+									this.peakPower);
+	}
+}
+// -----------------------------------------------------------------------------
@@ -9,4 +9,13 @@ extends		RegistrationImplementation, OfferedCI, RequiredCI
 {
 	@Override
 	public boolean register(String uid, String controlPortURI, String path2xmlControlAdapter) throws Exception;
+
+	@Override
+	public boolean[] registerAll(RegistrationRequest[] requests) throws Exception;
+
+	@Override
+	public boolean unregister(String uid) throws Exception;
+
+	@Override
+	public void stateChanged(String uid) throws Exception;
 }
\ No newline at end of file
@@ -1,13 +1,56 @@
 package fr.sorbonne_u.hem.registration;
 
 import fr.sorbonne_u.components.connectors.AbstractConnector;
+import fr.sorbonne_u.components.interfaces.OfferedCI;
+import fr.sorbonne_u.components.interfaces.RequiredCI;
+import fr.sorbonne_u.utils.DirectBinding;
 
 public class RegistrationConnector
 extends		AbstractConnector
 implements	RegistrationCI {
 
+	// direct binding to the HEM when it lives in the same JVM, null if the
+	// calls go through its inbound port.
+	protected DirectBinding<RegistrationImplementation> direct;
+
+	@Override
+	public void connect(OfferedCI offering, RequiredCI requiring) throws Exception {
+		super.connect(offering, requiring);
+		this.direct = DirectBinding.bind(offering, RegistrationImplementation.class);
+	}
+
 	@Override
 	public boolean register(String uid, String controlPortURI, String path2xmlControlAdapter) throws Exception {
+		if (this.direct != null) {
+			return this.direct.call(h -> h.register(uid, controlPortURI, path2xmlControlAdapter));
+		}
 		return ((RegistrationCI)this.offering).register(uid, controlPortURI, path2xmlControlAdapter);
 	}
+
+	@Override
+	public boolean[] registerAll(RegistrationRequest[] requests) throws Exception {
+		if (this.direct != null) {
+			return this.direct.call(h -> h.registerAll(requests));
+		}
+		return ((RegistrationCI)this.offering).registerAll(requests);
+	}
+
+	@Override
+	public boolean unregister(String uid) throws Exception {
+		if (this.direct != null) {
+			return this.direct.call(h -> h.unregister(uid));
+		}
+		return ((RegistrationCI)this.offering).unregister(uid);
+	}
+
+	@Override
+	public void stateChanged(String uid) throws Exception {
+		if (this.direct != null) {
+			// a notification, as through the inbound port: the equipment
+			// does not wait for the HEM
+			this.direct.run(h -> { h.stateChanged(uid); return null; });
+			return;
+		}
+		((RegistrationCI)this.offering).stateChanged(uid);
+	}
 }
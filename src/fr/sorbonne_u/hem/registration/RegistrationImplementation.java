@@ -7,4 +7,12 @@ public interface RegistrationImplementation {
 			String controlPortURI,
 			String path2xmlControlAdapter
 			) throws Exception;
+
+	// register a batch of equipments, returning for each one the result
+	// register would have returned.
+	public boolean[]	registerAll(RegistrationRequest[] requests) throws Exception;
+
+	public boolean	unregister(String uid) throws Exception;
+
+	public void		stateChanged(String uid) throws Exception;
 }
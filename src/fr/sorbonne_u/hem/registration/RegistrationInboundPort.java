@@ -26,4 +26,27 @@ implements	RegistrationCI
 		return this.getOwner().handleRequest(
 				o -> ((RegistrationImplementation)o).register(uid, controlPortURI, path2xmlControlAdapter));
 	}
+
+	@Override
+	public boolean[] registerAll(RegistrationRequest[] requests) throws Exception {
+		return this.getOwner().handleRequest(
+				o -> ((RegistrationImplementation)o).registerAll(requests));
+	}
+
+	@Override
+	public boolean unregister(String uid) throws Exception {
+		return this.getOwner().handleRequest(
+				o -> ((RegistrationImplementation)o).unregister(uid));
+	}
+
+	@Override
+	public void stateChanged(String uid) throws Exception {
+		this.getOwner().runTask(
+				o -> {	try {
+							((RegistrationImplementation)o).stateChanged(uid);
+						} catch (Exception e) {
+							e.printStackTrace();
+						}
+					 });
+	}
 }
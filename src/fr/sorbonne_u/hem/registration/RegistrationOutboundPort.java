@@ -26,4 +26,19 @@ implements	RegistrationCI {
 	public boolean register(String uid, String controlPortURI, String path2xmlControlAdapter) throws Exception {
 		return ((RegistrationCI)this.getConnector()).register(uid, controlPortURI, path2xmlControlAdapter);
 	}
+
+	@Override
+	public boolean[] registerAll(RegistrationRequest[] requests) throws Exception {
+		return ((RegistrationCI)this.getConnector()).registerAll(requests);
+	}
+
+	@Override
+	public boolean unregister(String uid) throws Exception {
+		return ((RegistrationCI)this.getConnector()).unregister(uid);
+	}
+
+	@Override
+	public void stateChanged(String uid) throws Exception {
+		((RegistrationCI)this.getConnector()).stateChanged(uid);
+	}
 }
@@ -0,0 +1,40 @@
+package fr.sorbonne_u.hem.registration;
+
+import java.io.Serializable;
+
+/**
+ * The class <code>RegistrationRequest</code> gathers the parameters of the
+ * registration of one equipment in a batch given to {@code registerAll}.
+ */
+public class RegistrationRequest
+implements	Serializable
+{
+	private static final long serialVersionUID = 1L;
+
+	protected final String uid;
+	protected final String controlPortURI;
+	protected final String path2xmlControlAdapter;
+
+	public	RegistrationRequest(
+		String uid,
+		String controlPortURI,
+		String path2xmlControlAdapter
+		)
+	{
+		this.uid = uid;
+		this.controlPortURI = controlPortURI;
+		this.path2xmlControlAdapter = path2xmlControlAdapter;
+	}
+
+	public String getUid() {
+		return this.uid;
+	}
+
+	public String getControlPortURI() {
+		return this.controlPortURI;
+	}
+
+	public String getPath2xmlControlAdapter() {
+		return this.path2xmlControlAdapter;
+	}
+}
@@ -0,0 +1,201 @@
+package fr.sorbonne_u.interfaces;
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to provide an
+// example of a cyber-physical system.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+import java.io.Serializable;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>EquipmentSnapshot</code> represents the state of a
+ * controllable equipment as observed by a controller at some instant, so that
+ * the controller gets it in one call instead of one call per property.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * A snapshot is immutable and serializable so that it can be passed by value
+ * between components. For an equipment that cannot be suspended, the
+ * suspension related properties are always false and 0.0.
+ * </p>
+ * 
+ * <p><strong>Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code maxMode > 0}
+ * invariant	{@code !on || (currentMode > 0 && currentMode <= maxMode)}
+ * invariant	{@code emergency >= 0.0 && emergency <= 1.0}
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-17</p>
+ * 
+ *  @authors	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+ *              <a href="maedeh.daemi@etu.sorbonne-universite.fr">DAEMI Maedeh</a>
+ */
+public final class		EquipmentSnapshot
+implements	Serializable
+{
+	private static final long serialVersionUID = 1L;
+
+	/** true if the equipment is on.										*/
+	protected final boolean	on;
+	/** current mode of operation of the equipment.							*/
+	protected final int		currentMode;
+	/** largest mode value of the equipment.								*/
+	protected final int		maxMode;
+	/** true if the equipment is suspended.									*/
+	protected final boolean	suspended;
+	/** degree of emergency of a resumption of the equipment.				*/
+	protected final double	emergency;
+
+	/**
+	 * create a snapshot of an equipment that cannot be suspended.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code maxMode > 0}
+	 * post	{@code !suspended() && emergency() == 0.0}
+	 * </pre>
+	 *
+	 * @param on			true if the equipment is on.
+	 * @param currentMode	current mode of operation of the equipment.
+	 * @param maxMode		largest mode value of the equipment.
+	 */
+	public				EquipmentSnapshot(
+		boolean on,
+		int currentMode,
+		int maxMode
+		)
+	{
+		this(on, currentMode, maxMode, false, 0.0);
+	}
+
+	/**
+	 * create a snapshot of an equipment that can be suspended.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code maxMode > 0}
+	 * pre	{@code emergency >= 0.0 && emergency <= 1.0}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param on			true if the equipment is on.
+	 * @param currentMode	current mode of operation of the equipment.
+	 * @param maxMode		largest mode value of the equipment.
+	 * @param suspended		true if the equipment is suspended.
+	 * @param emergency		degree of emergency of a resumption of the equipment.
+	 */
+	public				EquipmentSnapshot(
+		boolean on,
+		int currentMode,
+		int maxMode,
+		boolean suspended,
+		double emergency
+		)
+	{
+		assert	maxMode > 0;
+		assert	emergency >= 0.0 && emergency <= 1.0;
+
+		this.on = on;
+		this.currentMode = currentMode;
+		this.maxMode = maxMode;
+		this.suspended = suspended;
+		this.emergency = emergency;
+	}
+
+	/**
+	 * return true if the equipment is on.
+	 *
+	 * @return	true if the equipment is on.
+	 */
+	public boolean		on()
+	{
+		return this.on;
+	}
+
+	/**
+	 * return the current mode of operation of the equipment.
+	 *
+	 * @return	the current mode of operation of the equipment.
+	 */
+	public int			currentMode()
+	{
+		return this.currentMode;
+	}
+
+	/**
+	 * return the largest mode value of the equipment.
+	 *
+	 * @return	the largest mode value of the equipment.
+	 */
+	public int			maxMode()
+	{
+		return this.maxMode;
+	}
+
+	/**
+	 * return true if the equipment is suspended.
+	 *
+	 * @return	true if the equipment is suspended.
+	 */
+	public boolean		suspended()
+	{
+		return this.suspended;
+	}
+
+	/**
+	 * return the degree of emergency of a resumption of the equipment.
+	 *
+	 * @return	the degree of emergency of a resumption of the equipment.
+	 */
+	public double		emergency()
+	{
+		return this.emergency;
+	}
+
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String		toString()
+	{
+		return "EquipmentSnapshot[on = " + this.on +
+			   ", currentMode = " + this.currentMode +
+			   ", maxMode = " + this.maxMode +
+			   ", suspended = " + this.suspended +
+			   ", emergency = " + this.emergency + "]";
+	}
+}
+// -----------------------------------------------------------------------------
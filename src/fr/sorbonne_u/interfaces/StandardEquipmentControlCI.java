@@ -185,5 +185,27 @@ extends RequiredCI
 	 * @throws Exception	<i>to do</i>.
 	 */
 	public int			currentMode() throws Exception;
+
+	/**
+	 * return a snapshot of the state of the equipment, gathering in one call
+	 * what would otherwise require one call per property. The connector
+	 * reads it from the equipment in one request when the interface offered
+	 * by the equipment has a bulk read, as the water heater and the
+	 * refrigerator have, and otherwise in one request per value.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	true		// no precondition.
+	 * post	{@code return != null}
+	 * post	{@code return.on() == on()}
+	 * post	{@code !return.on() || return.currentMode() == currentMode()}
+	 * post	{@code return.maxMode() == maxMode()}
+	 * </pre>
+	 *
+	 * @return				a snapshot of the state of the equipment.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	public EquipmentSnapshot	snapshot() throws Exception;
 }
 // -----------------------------------------------------------------------------
@@ -117,5 +117,23 @@ extends		StandardEquipmentControlCI
 	 * @throws Exception	<i>to do</i>.
 	 */
 
+	/**
+	 * return a snapshot of the state of the equipment, including its
+	 * suspension state and its degree of emergency.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	true		// no precondition.
+	 * post	{@code return != null}
+	 * post	{@code !return.on() || return.suspended() == suspended()}
+	 * post	{@code return.emergency() >= 0.0 && return.emergency() <= 1.0}
+	 * </pre>
+	 *
+	 * @return				a snapshot of the state of the equipment.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	@Override
+	public EquipmentSnapshot	snapshot() throws Exception;
 }
 // -----------------------------------------------------------------------------
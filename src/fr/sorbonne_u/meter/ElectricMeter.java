@@ -33,6 +33,7 @@ package fr.sorbonne_u.meter;
 // knowledge of the CeCILL-C license and that you accept its terms.
 
 import fr.sorbonne_u.components.annotations.OfferedInterfaces;
+import fr.sorbonne_u.components.annotations.RequiredInterfaces;
 import fr.sorbonne_u.components.cyphy.AbstractCyPhyComponent;
 import fr.sorbonne_u.meter.ElectricMeterCI;
 import fr.sorbonne_u.meter.ElectricMeterImplementationI;
@@ -53,6 +54,7 @@ import fr.sorbonne_u.meter.sil.ElectricMeterElectricitySILModel;
 import fr.sorbonne_u.components.exceptions.ComponentShutdownException;
 import fr.sorbonne_u.components.exceptions.ComponentStartException;
 import java.util.HashMap;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import fr.sorbonne_u.components.AbstractComponent;
 
@@ -75,6 +77,7 @@ import fr.sorbonne_u.components.AbstractComponent;
  *              <a href="maedeh.daemi@etu.sorbonne-universite.fr">DAEMI Maedeh</a>
  */
 @OfferedInterfaces(offered={ElectricMeterCI.class})
+@RequiredInterfaces(required={ElectricMeterNotificationCI.class})
 public class			ElectricMeter
 extends		AbstractCyPhyComponent
 implements	ElectricMeterImplementationI
@@ -112,6 +115,44 @@ implements	ElectricMeterImplementationI
 	/** acceleration factor used when executing as a unit test.				*/
 	protected static final double	ACC_FACTOR = 1.0;
 
+	// Threshold notifications
+
+	/** default period at which the electric meter compares its readings
+	 *  to the registered thresholds; this is a local task, so it costs no
+	 *  port call unless a threshold is actually crossed.					*/
+	public static final long		DEFAULT_MONITORING_PERIOD = 100;
+	/** system property giving the monitoring period in
+	 *  {@code MONITORING_PERIOD_TIME_UNIT}, overriding
+	 *  {@code DEFAULT_MONITORING_PERIOD}.									*/
+	public static final String		MONITORING_PERIOD_PROPERTY =
+									"fr.sorbonne_u.meterMonitoringPeriod";
+	/** time unit to interpret the monitoring period.						*/
+	protected static final TimeUnit	MONITORING_PERIOD_TIME_UNIT =
+													TimeUnit.MILLISECONDS;
+	/** URI of the executor service running the monitoring task, so that
+	 *  the checks and the notifications they send never delay the
+	 *  requests nor the simulation steps of the electric meter.			*/
+	protected static final String	MONITORING_EXECUTOR_SERVICE_URI =
+																"monitoring";
+	/** period at which the readings are compared to the thresholds.		*/
+	protected long					monitoringPeriod;
+	/** outbound port used to notify the threshold crossings or null if no
+	 *  thresholds have been registered yet.								*/
+	protected ElectricMeterNotificationOutboundPort	notificationop;
+	/** threshold on the total consumption in watts.						*/
+	protected double				consumptionThreshold;
+	/** threshold on the total production in watts.							*/
+	protected double				productionThreshold;
+	/** true if the consumption was above its threshold at the last check.	*/
+	protected boolean				consumptionAbove;
+	/** true if the production was above its threshold at the last check.	*/
+	protected boolean				productionAbove;
+	/** false until the readings have been checked against the current
+	 *  thresholds at least once.											*/
+	protected boolean				thresholdsChecked;
+	/** future allowing to act upon the monitoring task.					*/
+	protected Future<?>				monitoringTaskFuture;
+
 	// -------------------------------------------------------------------------
 	// Constructors
 	// -------------------------------------------------------------------------
@@ -273,6 +314,9 @@ implements	ElectricMeterImplementationI
 		this.simArchitectureURI = simArchitectureURI;
 		this.executesAsUnitTest = executesAsUnitTest;
 		this.isSILsimulated = !simArchitectureURI.isEmpty();
+		this.monitoringPeriod = Long.getLong(MONITORING_PERIOD_PROPERTY,
+											 DEFAULT_MONITORING_PERIOD);
+		assert	this.monitoringPeriod > 0;
 
 		this.emip =
 				new ElectricMeterInboundPort(electricMeterInboundPortURI, this);
@@ -902,6 +946,22 @@ implements	ElectricMeterImplementationI
 		}
 	}
 
+	/**
+	 * @see fr.sorbonne_u.components.AbstractComponent#finalise()
+	 */
+	@Override
+	public synchronized void	finalise() throws Exception
+	{
+		if (this.monitoringTaskFuture != null &&
+									!this.monitoringTaskFuture.isCancelled()) {
+			this.monitoringTaskFuture.cancel(true);
+		}
+		if (this.notificationop != null) {
+			this.doPortDisconnection(this.notificationop.getPortURI());
+		}
+		super.finalise();
+	}
+
 	/**
 	 * @see fr.sorbonne_u.components.AbstractComponent#shutdown()
 	 */
@@ -912,12 +972,107 @@ implements	ElectricMeterImplementationI
 
 		try {
 			this.emip.unpublishPort();
+			if (this.notificationop != null) {
+				this.notificationop.unpublishPort();
+			}
 		} catch (Exception e) {
 			throw new ComponentShutdownException(e) ;
 		}
 		super.shutdown();
 	}
 
+	// -------------------------------------------------------------------------
+	// Internal methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * return the current total consumption in watts, read directly from the
+	 * simulation model without tracing.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	true		// no precondition.
+	 * post	{@code return >= 0.0}
+	 * </pre>
+	 *
+	 * @return				the current total consumption in watts.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	protected double	internalGetCurrentConsumption() throws Exception
+	{
+		if (this.isSILsimulated) {
+			return (double) this.simulatorPlugin.getModelStateValue(
+							ElectricMeterElectricitySILModel.URI,
+							ElectricMeterRTAtomicSimulatorPlugin.
+														CURRENT_CONSUMPTION);
+		} else {
+			return 0.0;
+		}
+	}
+
+	/**
+	 * return the current total production in watts, read directly from the
+	 * simulation model without tracing.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	true		// no precondition.
+	 * post	{@code return >= 0.0}
+	 * </pre>
+	 *
+	 * @return				the current total production in watts.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	protected double	internalGetCurrentProduction() throws Exception
+	{
+		if (this.isSILsimulated) {
+			return (double) this.simulatorPlugin.getModelStateValue(
+							ElectricMeterElectricitySILModel.URI,
+							ElectricMeterRTAtomicSimulatorPlugin.
+														CURRENT_PRODUCTION);
+		} else {
+			return 0.0;
+		}
+	}
+
+	/**
+	 * compare the current readings to the registered thresholds and notify
+	 * the registered component when one of them has changed side since the
+	 * last check.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code notificationop != null}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @throws Exception	<i>to do</i>.
+	 */
+	protected void		checkThresholds() throws Exception
+	{
+		assert	this.notificationop != null;
+
+		double consumption = this.internalGetCurrentConsumption();
+		double production = this.internalGetCurrentProduction();
+		boolean cAbove = consumption > this.consumptionThreshold;
+		boolean pAbove = production > this.productionThreshold;
+		if (!this.thresholdsChecked || cAbove != this.consumptionAbove ||
+											pAbove != this.productionAbove) {
+			this.thresholdsChecked = true;
+			this.consumptionAbove = cAbove;
+			this.productionAbove = pAbove;
+			if (ElectricMeter.VERBOSE) {
+				this.traceMessage("Electric meter signals a threshold crossing "
+								  + "(consumption " + consumption
+								  + ", production " + production + ").\n");
+			}
+			this.notificationop.thresholdCrossed(consumption, production);
+		}
+	}
+
 	// -------------------------------------------------------------------------
 	// Component services implementation
 	// -------------------------------------------------------------------------
@@ -928,15 +1083,8 @@ implements	ElectricMeterImplementationI
 	@Override
 	public double		getCurrentConsumption() throws Exception
 	{
-		double currentConsumption =  0.0;
-		if (this.isSILsimulated) {
-			currentConsumption =
-				(double) this.simulatorPlugin.getModelStateValue(
-						ElectricMeterElectricitySILModel.URI,
-						ElectricMeterRTAtomicSimulatorPlugin.
-						CURRENT_CONSUMPTION);
-		} 
-		
+		double currentConsumption = this.internalGetCurrentConsumption();
+
 		if (ElectricMeter.VERBOSE) {
 			StringBuffer message =
 					new StringBuffer(
@@ -955,15 +1103,8 @@ implements	ElectricMeterImplementationI
 	@Override
 	public double		getCurrentProduction() throws Exception
 	{
-		double currentProduction =  0.0;
-		if (this.isSILsimulated) {
-			currentProduction =
-				(double) this.simulatorPlugin.getModelStateValue(
-						ElectricMeterElectricitySILModel.URI,
-						ElectricMeterRTAtomicSimulatorPlugin.
-						CURRENT_PRODUCTION);
-		} 
-		
+		double currentProduction = this.internalGetCurrentProduction();
+
 		if (ElectricMeter.VERBOSE) {
 			StringBuffer message =
 					new StringBuffer(
@@ -974,5 +1115,69 @@ implements	ElectricMeterImplementationI
 		}
 		return currentProduction;
 	}
+
+	/**
+	 * @see fr.sorbonne_u.meter.ElectricMeterImplementationI#registerThresholds(String, double, double)
+	 */
+	@Override
+	public void			registerThresholds(
+		String notificationInboundPortURI,
+		double consumptionThreshold,
+		double productionThreshold
+		) throws Exception
+	{
+		assert	notificationInboundPortURI != null &&
+										!notificationInboundPortURI.isEmpty();
+		assert	consumptionThreshold >= 0.0;
+		assert	productionThreshold >= 0.0;
+
+		if (ElectricMeter.VERBOSE) {
+			this.traceMessage("Electric meter registers thresholds "
+							  + consumptionThreshold + " (consumption) and "
+							  + productionThreshold + " (production).\n");
+		}
+
+		if (this.notificationop == null) {
+			this.notificationop =
+					new ElectricMeterNotificationOutboundPort(this);
+			this.notificationop.publishPort();
+		} else {
+			this.doPortDisconnection(this.notificationop.getPortURI());
+		}
+		this.doPortConnection(
+				this.notificationop.getPortURI(),
+				notificationInboundPortURI,
+				ElectricMeterNotificationConnector.class.getCanonicalName());
+
+		this.consumptionThreshold = consumptionThreshold;
+		this.productionThreshold = productionThreshold;
+		// the first check signals the side on which the readings start
+		this.thresholdsChecked = false;
+
+		if (this.monitoringTaskFuture == null) {
+			if (!this.validExecutorServiceURI(
+										MONITORING_EXECUTOR_SERVICE_URI)) {
+				this.createNewExecutorService(
+								MONITORING_EXECUTOR_SERVICE_URI, 1, true);
+			}
+			final ElectricMeter em = this;
+			this.monitoringTaskFuture =
+				this.scheduleTaskAtFixedRateOnComponent(
+						MONITORING_EXECUTOR_SERVICE_URI,
+						new AbstractComponent.AbstractTask() {
+							@Override
+							public void run() {
+								try {
+									em.checkThresholds();
+								} catch (Exception e) {
+									e.printStackTrace();
+								}
+							}
+						},
+						this.monitoringPeriod,
+						this.monitoringPeriod,
+						MONITORING_PERIOD_TIME_UNIT);
+		}
+	}
 }
 // -----------------------------------------------------------------------------
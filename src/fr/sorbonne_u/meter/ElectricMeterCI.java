@@ -69,5 +69,15 @@ extends		ElectricMeterImplementationI,
 	 */
 	@Override
 	public double		getCurrentProduction() throws Exception;
+
+	/**
+	 * @see fr.sorbonne_u.meter.ElectricMeterImplementationI#registerThresholds(String, double, double)
+	 */
+	@Override
+	public void			registerThresholds(
+		String notificationInboundPortURI,
+		double consumptionThreshold,
+		double productionThreshold
+		) throws Exception;
 }
 // -----------------------------------------------------------------------------
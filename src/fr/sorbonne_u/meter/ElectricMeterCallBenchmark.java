@@ -0,0 +1,208 @@
+package fr.sorbonne_u.meter;
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to provide a basic
+// household management systems as an example of a cyber-physical system.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+import fr.sorbonne_u.components.AbstractComponent;
+import fr.sorbonne_u.components.annotations.RequiredInterfaces;
+import fr.sorbonne_u.components.exceptions.ComponentShutdownException;
+import fr.sorbonne_u.components.exceptions.ComponentStartException;
+import fr.sorbonne_u.utils.DirectBinding;
+import fr.sorbonne_u.utils.LatencyHistogram;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>ElectricMeterCallBenchmark</code> measures the per-call
+ * overhead saved by the direct bindings of the connectors to co-located
+ * components.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * The component connects two ports to the electric meter, the first one
+ * through its inbound port and the second one bound directly to the
+ * component, then makes the same number of calls to
+ * {@code getCurrentConsumption} through each of them after a warm up, and
+ * traces the latencies measured by the ports and the mean time saved per
+ * call. The operations of the electric meter make one call each, so the
+ * saving measured is the one of a single call; the operations of
+ * connectors such as {@code WaterHeaterConnector} which make several calls
+ * save a whole request per call in addition.
+ * </p>
+ * 
+ * <p><strong>Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	true
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-17</p>
+ * 
+ *  @authors	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+ *              <a href="maedeh.daemi@etu.sorbonne-universite.fr">DAEMI Maedeh</a>
+ */
+@RequiredInterfaces(required={ElectricMeterCI.class})
+public class			ElectricMeterCallBenchmark
+extends		AbstractComponent
+{
+	// -------------------------------------------------------------------------
+	// Constants and variables
+	// -------------------------------------------------------------------------
+
+	/** number of calls made through each port before measuring.			*/
+	public static final int		WARM_UP_CALLS = 20000;
+	/** number of calls measured through each port.							*/
+	public static final int		MEASURED_CALLS = 100000;
+
+	/** port connected through the inbound port of the electric meter.		*/
+	protected ElectricMeterOutboundPort	inboundEmop;
+	/** port bound directly to the electric meter component.				*/
+	protected ElectricMeterOutboundPort	directEmop;
+
+	// -------------------------------------------------------------------------
+	// Constructors
+	// -------------------------------------------------------------------------
+
+	protected			ElectricMeterCallBenchmark() throws Exception
+	{
+		super(1, 0);
+
+		this.inboundEmop = new ElectricMeterOutboundPort(this);
+		this.inboundEmop.publishPort();
+		this.directEmop = new ElectricMeterOutboundPort(this);
+		this.directEmop.publishPort();
+
+		this.tracer.get().setTitle("Electric meter call benchmark component");
+		this.tracer.get().setRelativePosition(0, 0);
+		this.toggleTracing();
+	}
+
+	// -------------------------------------------------------------------------
+	// Component internal methods
+	// -------------------------------------------------------------------------
+
+	/**
+	 * make {@code MEASURED_CALLS} calls through {@code port} after
+	 * {@code WARM_UP_CALLS} ones and return the histogram of their latencies.
+	 *
+	 * @param port			port through which the calls are made.
+	 * @return				the histogram of the latencies of the measured calls.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	protected LatencyHistogram	measure(ElectricMeterOutboundPort port)
+	throws Exception
+	{
+		for (int i = 0 ; i < WARM_UP_CALLS ; i++) {
+			port.getCurrentConsumption();
+		}
+		LatencyHistogram h = port.getLatencies().histogram(
+						ElectricMeterOutboundPort.Method.GET_CURRENT_CONSUMPTION);
+		h.reset();
+		for (int i = 0 ; i < MEASURED_CALLS ; i++) {
+			port.getCurrentConsumption();
+		}
+		return h;
+	}
+
+	// -------------------------------------------------------------------------
+	// Component life-cycle
+	// -------------------------------------------------------------------------
+
+	/**
+	 * @see fr.sorbonne_u.components.AbstractComponent#start()
+	 */
+	@Override
+	public synchronized void	start() throws ComponentStartException
+	{
+		super.start();
+
+		boolean enabled = DirectBinding.isEnabled();
+		try {
+			DirectBinding.setEnabled(false);
+			this.doPortConnection(
+					this.inboundEmop.getPortURI(),
+					ElectricMeter.ELECTRIC_METER_INBOUND_PORT_URI,
+					ElectricMeterConnector.class.getCanonicalName());
+			DirectBinding.setEnabled(true);
+			this.doPortConnection(
+					this.directEmop.getPortURI(),
+					ElectricMeter.ELECTRIC_METER_INBOUND_PORT_URI,
+					ElectricMeterConnector.class.getCanonicalName());
+		} catch (Exception e) {
+			throw new ComponentStartException(e) ;
+		} finally {
+			DirectBinding.setEnabled(enabled);
+		}
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.AbstractComponent#execute()
+	 */
+	@Override
+	public synchronized void	execute() throws Exception
+	{
+		LatencyHistogram through = this.measure(this.inboundEmop);
+		LatencyHistogram bound = this.measure(this.directEmop);
+		this.traceMessage("through the inbound port: " + through + "\n");
+		this.traceMessage("bound directly:           " + bound + "\n");
+		this.traceMessage("mean time saved per call: " +
+						  (through.getMean() - bound.getMean())/1000.0 +
+						  " us\n");
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.AbstractComponent#finalise()
+	 */
+	@Override
+	public synchronized void	finalise() throws Exception
+	{
+		this.doPortDisconnection(this.inboundEmop.getPortURI());
+		this.doPortDisconnection(this.directEmop.getPortURI());
+		super.finalise();
+	}
+
+	/**
+	 * @see fr.sorbonne_u.components.AbstractComponent#shutdown()
+	 */
+	@Override
+	public synchronized void	shutdown() throws ComponentShutdownException
+	{
+		try {
+			this.inboundEmop.unpublishPort();
+			this.directEmop.unpublishPort();
+		} catch (Exception e) {
+			throw new ComponentShutdownException(e) ;
+		}
+		super.shutdown();
+	}
+}
+// -----------------------------------------------------------------------------
@@ -33,6 +33,9 @@ package fr.sorbonne_u.meter;
 // knowledge of the CeCILL-C license and that you accept its terms.
 
 import fr.sorbonne_u.components.connectors.AbstractConnector;
+import fr.sorbonne_u.components.interfaces.OfferedCI;
+import fr.sorbonne_u.components.interfaces.RequiredCI;
+import fr.sorbonne_u.utils.DirectBinding;
 
 // -----------------------------------------------------------------------------
 /**
@@ -41,6 +44,13 @@ import fr.sorbonne_u.components.connectors.AbstractConnector;
  *
  * <p><strong>Description</strong></p>
  * 
+ * <p>
+ * When the electric meter lives in the same JVM and the direct bindings are
+ * enabled, the connector hands over its calls directly to the electric meter
+ * component through its {@code ElectricMeterImplementationI} interface,
+ * skipping its inbound port (see {@code DirectBinding}).
+ * </p>
+ * 
  * <p><strong>Invariant</strong></p>
  * 
  * <pre>
@@ -56,12 +66,31 @@ public class			ElectricMeterConnector
 extends		AbstractConnector
 implements	ElectricMeterCI
 {
+	/** direct binding to the electric meter component, or null if the calls
+	 *  go through its inbound port.										*/
+	protected DirectBinding<ElectricMeterImplementationI>	direct;
+
+	/**
+	 * @see fr.sorbonne_u.components.connectors.AbstractConnector#connect(fr.sorbonne_u.components.interfaces.OfferedCI, fr.sorbonne_u.components.interfaces.RequiredCI)
+	 */
+	@Override
+	public void			connect(OfferedCI offering, RequiredCI requiring)
+	throws Exception
+	{
+		super.connect(offering, requiring);
+		this.direct =
+				DirectBinding.bind(offering, ElectricMeterImplementationI.class);
+	}
+
 	/**
 	 * @see fr.sorbonne_u.components.meter.ElectricMeterCI#getCurrentConsumption()
 	 */
 	@Override
 	public double		getCurrentConsumption() throws Exception
 	{
+		if (this.direct != null) {
+			return this.direct.read(m -> m.getCurrentConsumption());
+		}
 		return ((ElectricMeterCI)this.offering).getCurrentConsumption();
 	}
 
@@ -71,7 +100,35 @@ implements	ElectricMeterCI
 	@Override
 	public double		getCurrentProduction() throws Exception
 	{
+		if (this.direct != null) {
+			return this.direct.read(m -> m.getCurrentProduction());
+		}
 		return ((ElectricMeterCI)this.offering).getCurrentProduction();
 	}
+
+	/**
+	 * @see fr.sorbonne_u.meter.ElectricMeterCI#registerThresholds(String, double, double)
+	 */
+	@Override
+	public void			registerThresholds(
+		String notificationInboundPortURI,
+		double consumptionThreshold,
+		double productionThreshold
+		) throws Exception
+	{
+		if (this.direct != null) {
+			this.direct.call(m -> {	m.registerThresholds(
+												notificationInboundPortURI,
+												consumptionThreshold,
+												productionThreshold);
+									return null;
+								  });
+			return;
+		}
+		((ElectricMeterCI)this.offering).registerThresholds(
+													notificationInboundPortURI,
+													consumptionThreshold,
+													productionThreshold);
+	}
 }
 // -----------------------------------------------------------------------------
@@ -81,5 +81,31 @@ public interface		ElectricMeterImplementationI
 	 * @throws Exception	<i>to do</i>.
 	 */
 	public double		getCurrentProduction() throws Exception;
+
+	/**
+	 * register thresholds on the consumption and on the production; each
+	 * time one of them is crossed (in either direction), the electric meter
+	 * calls {@code thresholdCrossed} on the inbound port which URI is given,
+	 * offering the {@code ElectricMeterNotificationCI} component interface.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code notificationInboundPortURI != null && !notificationInboundPortURI.isEmpty()}
+	 * pre	{@code consumptionThreshold >= 0.0}
+	 * pre	{@code productionThreshold >= 0.0}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param notificationInboundPortURI	URI of the inbound port to be notified of the crossings.
+	 * @param consumptionThreshold			threshold on the total consumption in watts.
+	 * @param productionThreshold			threshold on the total production in watts.
+	 * @throws Exception					<i>to do</i>.
+	 */
+	public void			registerThresholds(
+		String notificationInboundPortURI,
+		double consumptionThreshold,
+		double productionThreshold
+		) throws Exception;
 }
 // -----------------------------------------------------------------------------
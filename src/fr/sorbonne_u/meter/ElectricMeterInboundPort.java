@@ -34,6 +34,9 @@ package fr.sorbonne_u.meter;
 
 import fr.sorbonne_u.components.ComponentI;
 import fr.sorbonne_u.components.ports.AbstractInboundPort;
+import fr.sorbonne_u.utils.ReadCoalescer;
+
+import java.util.concurrent.TimeUnit;
 
 // -----------------------------------------------------------------------------
 /**
@@ -42,6 +45,12 @@ import fr.sorbonne_u.components.ports.AbstractInboundPort;
  *
  * <p><strong>Description</strong></p>
  * 
+ * <p>
+ * The identical reads of the consumption or of the production made at the
+ * same time or within the staleness window of the port share one request
+ * to the electric meter and its result (see {@code ReadCoalescer}).
+ * </p>
+ * 
  * <p><strong>Invariant</strong></p>
  * 
  * <pre>
@@ -55,10 +64,13 @@ import fr.sorbonne_u.components.ports.AbstractInboundPort;
  */
 public class			ElectricMeterInboundPort
 extends		AbstractInboundPort
-implements	ElectricMeterCI
+implements	ElectricMeterCI, ReadCoalescer.Holder
 {
 	private static final long serialVersionUID = 1L;
 
+	/** coalescer of the concurrent identical reads of the meter.	*/
+	protected final ReadCoalescer<String>	reads = new ReadCoalescer<>();
+
 	public				ElectricMeterInboundPort(ComponentI owner)
 	throws Exception
 	{
@@ -71,14 +83,44 @@ implements	ElectricMeterCI
 		super(uri, ElectricMeterCI.class, owner);
 	}
 
+	/**
+	 * set the staleness window within which identical reads of the meter
+	 * share one execution and one result.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code window >= 0}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param window	staleness window, 0 to share only the reads in progress.
+	 * @param u			time unit of {@code window}.
+	 */
+	public void			setReadStalenessWindow(long window, TimeUnit u)
+	{
+		this.reads.setWindow(window, u);
+	}
+
+	/**
+	 * @see fr.sorbonne_u.utils.ReadCoalescer.Holder#getReadCoalescer()
+	 */
+	@Override
+	public ReadCoalescer<String>	getReadCoalescer()
+	{
+		return this.reads;
+	}
+
 	/**
 	 * @see fr.sorbonne_u.components.meter.ElectricMeterCI#getCurrentConsumption()
 	 */
 	@Override
 	public double		getCurrentConsumption() throws Exception
 	{
-		return this.getOwner().handleRequest(
-				o -> ((ElectricMeterImplementationI)o).getCurrentConsumption());
+		return this.reads.read(
+				"getCurrentConsumption",
+				() -> this.getOwner().handleRequest(
+							o -> ((ElectricMeterImplementationI)o).getCurrentConsumption()));
 	}
 
 	/**
@@ -87,8 +129,29 @@ implements	ElectricMeterCI
 	@Override
 	public double		getCurrentProduction() throws Exception
 	{
-		return this.getOwner().handleRequest(
-				o -> ((ElectricMeterImplementationI)o).getCurrentProduction());
+		return this.reads.read(
+				"getCurrentProduction",
+				() -> this.getOwner().handleRequest(
+							o -> ((ElectricMeterImplementationI)o).getCurrentProduction()));
+	}
+
+	/**
+	 * @see fr.sorbonne_u.meter.ElectricMeterCI#registerThresholds(String, double, double)
+	 */
+	@Override
+	public void			registerThresholds(
+		String notificationInboundPortURI,
+		double consumptionThreshold,
+		double productionThreshold
+		) throws Exception
+	{
+		this.getOwner().handleRequest(
+				o -> {	((ElectricMeterImplementationI)o).registerThresholds(
+												notificationInboundPortURI,
+												consumptionThreshold,
+												productionThreshold);
+						return null;
+					 });
 	}
 }
 // -----------------------------------------------------------------------------
@@ -0,0 +1,84 @@
+package fr.sorbonne_u.meter;
+
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to provide a basic
+// household management systems as an example of a cyber-physical system.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+// -----------------------------------------------------------------------------
+/**
+ * The interface <code>ElectricMeterNotificationImplementationI</code> defines
+ * the services implemented by a component that wants to be notified by the
+ * electric meter when the consumption or the production crosses a threshold.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * The notification is sent only when the side of the threshold changes, so a
+ * steady house generates no traffic between the electric meter and the
+ * notified component.
+ * </p>
+ * 
+ * <p><strong>Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	true
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-17</p>
+ * 
+ *  @authors	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+ *              <a href="maedeh.daemi@etu.sorbonne-universite.fr">DAEMI Maedeh</a>
+ */
+public interface		ElectricMeterNotificationImplementationI
+{
+	/**
+	 * signal that the consumption or the production has crossed one of the
+	 * thresholds registered with the electric meter.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code currentConsumption >= 0.0}
+	 * pre	{@code currentProduction >= 0.0}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param currentConsumption	total consumption in watts when the crossing was detected.
+	 * @param currentProduction		total production in watts when the crossing was detected.
+	 * @throws Exception			<i>to do</i>.
+	 */
+	public void			thresholdCrossed(
+		double currentConsumption,
+		double currentProduction
+		) throws Exception;
+}
+// -----------------------------------------------------------------------------
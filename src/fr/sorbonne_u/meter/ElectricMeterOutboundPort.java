@@ -34,6 +34,10 @@ package fr.sorbonne_u.meter;
 
 import fr.sorbonne_u.components.ComponentI;
 import fr.sorbonne_u.components.ports.AbstractOutboundPort;
+import fr.sorbonne_u.utils.LatencyRecorder;
+import fr.sorbonne_u.utils.RequestPipeline;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 // -----------------------------------------------------------------------------
 /**
@@ -42,6 +46,13 @@ import fr.sorbonne_u.components.ports.AbstractOutboundPort;
  *
  * <p><strong>Description</strong></p>
  * 
+ * <p>
+ * The port measures the round-trip latency of each successful call made
+ * through it, in one histogram per method. Each method has an asynchronous
+ * variant, suffixed by {@code Async}, pipelined after the asynchronous
+ * requests previously sent through the port.
+ * </p>
+ * 
  * <p><strong>Invariant</strong></p>
  * 
  * <pre>
@@ -59,6 +70,26 @@ implements	ElectricMeterCI
 {
 	private static final long serialVersionUID = 1L;
 
+	/**
+	 * The enumeration <code>Method</code> lists the methods of the electric
+	 * meter interface which latencies are measured.
+	 *
+	 * <p>Created on : 2026-10-17</p>
+	 * 
+	 *  @authors	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+	 *              <a href="maedeh.daemi@etu.sorbonne-universite.fr">DAEMI Maedeh</a>
+	 */
+	public static enum	Method
+	{
+		GET_CURRENT_CONSUMPTION, GET_CURRENT_PRODUCTION, REGISTER_THRESHOLDS
+	}
+
+	/** round-trip latencies of the calls made through this port.			*/
+	protected final LatencyRecorder<Method>	latencies =
+											new LatencyRecorder<>(Method.class);
+	/** pipeline of the asynchronous requests sent through this port.		*/
+	protected final RequestPipeline			pipeline = new RequestPipeline();
+
 	public				ElectricMeterOutboundPort(ComponentI owner)
 	throws Exception
 	{
@@ -71,13 +102,28 @@ implements	ElectricMeterCI
 		super(uri, ElectricMeterCI.class, owner);
 	}
 
+	/**
+	 * return the round-trip latencies of the calls made through this port.
+	 *
+	 * @return	the round-trip latencies of the calls made through this port.
+	 */
+	public LatencyRecorder<Method>	getLatencies()
+	{
+		return this.latencies;
+	}
+
 	/**
 	 * @see fr.sorbonne_u.components.meter.ElectricMeterCI#getCurrentConsumption()
 	 */
 	@Override
 	public double		getCurrentConsumption() throws Exception
 	{
-		return ((ElectricMeterCI)this.getConnector()).getCurrentConsumption();
+		long start = System.nanoTime();
+		double ret =
+				((ElectricMeterCI)this.getConnector()).getCurrentConsumption();
+		this.latencies.record(Method.GET_CURRENT_CONSUMPTION,
+							  System.nanoTime() - start);
+		return ret;
 	}
 
 	/**
@@ -86,7 +132,90 @@ implements	ElectricMeterCI
 	@Override
 	public double		getCurrentProduction() throws Exception
 	{
-		return ((ElectricMeterCI)this.getConnector()).getCurrentProduction();
+		long start = System.nanoTime();
+		double ret =
+				((ElectricMeterCI)this.getConnector()).getCurrentProduction();
+		this.latencies.record(Method.GET_CURRENT_PRODUCTION,
+							  System.nanoTime() - start);
+		return ret;
+	}
+
+	/**
+	 * @see fr.sorbonne_u.meter.ElectricMeterCI#registerThresholds(String, double, double)
+	 */
+	@Override
+	public void			registerThresholds(
+		String notificationInboundPortURI,
+		double consumptionThreshold,
+		double productionThreshold
+		) throws Exception
+	{
+		long start = System.nanoTime();
+		((ElectricMeterCI)this.getConnector()).registerThresholds(
+													notificationInboundPortURI,
+													consumptionThreshold,
+													productionThreshold);
+		this.latencies.record(Method.REGISTER_THRESHOLDS,
+							  System.nanoTime() - start);
+	}
+
+	/**
+	 * set the executor of the asynchronous requests sent from now on.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code executor != null}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param executor	executor of the asynchronous requests.
+	 */
+	public void			setExecutor(Executor executor)
+	{
+		this.pipeline.setExecutor(executor);
+	}
+
+	/**
+	 * asynchronous variant of {@code getCurrentConsumption}.
+	 *
+	 * @return	the future on the current consumption.
+	 */
+	public CompletableFuture<Double>	getCurrentConsumptionAsync()
+	{
+		return this.pipeline.submit(() -> this.getCurrentConsumption());
+	}
+
+	/**
+	 * asynchronous variant of {@code getCurrentProduction}.
+	 *
+	 * @return	the future on the current production.
+	 */
+	public CompletableFuture<Double>	getCurrentProductionAsync()
+	{
+		return this.pipeline.submit(() -> this.getCurrentProduction());
+	}
+
+	/**
+	 * asynchronous variant of {@code registerThresholds}.
+	 *
+	 * @param notificationInboundPortURI	URI of the port notified of the crossings.
+	 * @param consumptionThreshold			consumption threshold.
+	 * @param productionThreshold			production threshold.
+	 * @return								the future on the completion of the registration.
+	 */
+	public CompletableFuture<Void>	registerThresholdsAsync(
+		String notificationInboundPortURI,
+		double consumptionThreshold,
+		double productionThreshold
+		)
+	{
+		return this.pipeline.submit(() -> {
+					this.registerThresholds(notificationInboundPortURI,
+											consumptionThreshold,
+											productionThreshold);
+					return null;
+				});
 	}
 }
 // -----------------------------------------------------------------------------
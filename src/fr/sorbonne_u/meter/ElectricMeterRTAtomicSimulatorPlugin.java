@@ -481,6 +481,12 @@ extends		RTAtomicSimulatorPlugin
 							new EventSink(WATER_HEATER_ELECTRICITY_MODEL_URI,
 										  DoNotHeatWater.class)
 					});
+			imported.put(
+					SetPowerLevelWaterHeater.class,
+					new EventSink[] {
+							new EventSink(WATER_HEATER_ELECTRICITY_MODEL_URI,
+										  SetPowerLevelWaterHeater.class)
+					});
 			
 			//refrigerator
 			imported.put(
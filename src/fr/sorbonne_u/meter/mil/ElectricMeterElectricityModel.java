@@ -5,6 +5,7 @@ import java.util.concurrent.TimeUnit;
 
 import fr.sorbonne_u.HEM_ReportI;
 import fr.sorbonne_u.utils.Electricity;
+import fr.sorbonne_u.devs_simulation.hioa.annotations.ExportedVariable;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.ImportedVariable;
 import fr.sorbonne_u.devs_simulation.hioa.annotations.InternalVariable;
 import fr.sorbonne_u.devs_simulation.hioa.models.AtomicHIOA;
@@ -65,11 +66,11 @@ public class			ElectricMeterElectricityModel
     protected final Duration		evaluationStep;
 
     /** current total consumption intensity of the house in amperes.					*/
-    @InternalVariable(type = Double.class)
+    @ExportedVariable(type = Double.class)
     protected final Value<Double>	currentIntensity_consumption =
             new Value<Double>(this, 0.0, 0);
     /** current total production intensity of the house in amperes.					*/
-    @InternalVariable(type = Double.class)
+    @ExportedVariable(type = Double.class)
     protected final Value<Double>	currentIntensity_production =
             new Value<Double>(this, 0.0, 0);
     /** current total consumption of the house in kwh.						*/
@@ -178,6 +179,9 @@ public class			ElectricMeterElectricityModel
                                             
 
         this.currentIntensity_production.v = 0.0 ;
+        // the intensities are exported, e.g. to the home energy manager model
+        this.currentIntensity_consumption.time = this.getCurrentStateTime();
+        this.currentIntensity_production.time = this.getCurrentStateTime();
         
         // this.currentBatteryIntensity_production.v +
                                                   // this.currentMiniHydroelectricDamIntensity_production.v +
@@ -1,6 +1,7 @@
 package fr.sorbonne_u.production_unities.windTurbine;
 
 import fr.sorbonne_u.components.connectors.AbstractConnector;
+import fr.sorbonne_u.interfaces.EquipmentSnapshot;
 import fr.sorbonne_u.interfaces.SuspensionEquipmentControlCI;
 
 
@@ -130,6 +131,16 @@ implements	SuspensionEquipmentControlCI
 	{
 		return 0;
 	}
+
+	@Override
+	public EquipmentSnapshot	snapshot() throws Exception
+	{
+		// No mode in wind turbine, so 1 becomes the sole "mode".
+		boolean on =
+			this.isSuspended || ((WindTurbineCI)this.offering).isRunning();
+		return new EquipmentSnapshot(on, 1, 1, this.isSuspended,
+									 this.emergency());
+	}
 }
 // -----------------------------------------------------------------------------
 
@@ -1,6 +1,7 @@
 package fr.sorbonne_u.storage.battery;
 
 import fr.sorbonne_u.components.connectors.AbstractConnector;
+import fr.sorbonne_u.interfaces.EquipmentSnapshot;
 import fr.sorbonne_u.interfaces.SuspensionEquipmentControlCI;
 
 
@@ -97,4 +98,12 @@ implements	SuspensionEquipmentControlCI
 	{
 		return 0;
 	}
+
+	@Override
+	public EquipmentSnapshot	snapshot() throws Exception
+	{
+		// No mode in Battery, so 1 becomes the sole "mode".
+		return new EquipmentSnapshot(this.on(), 1, 1, this.suspended(),
+									 this.emergency());
+	}
 }
\ No newline at end of file
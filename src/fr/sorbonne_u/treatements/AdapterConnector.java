@@ -0,0 +1,97 @@
+package fr.sorbonne_u.treatements;
+
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import fr.sorbonne_u.components.connectors.AbstractConnector;
+import fr.sorbonne_u.components.interfaces.OfferedCI;
+import fr.sorbonne_u.components.interfaces.RequiredCI;
+
+/**
+ * The class <code>AdapterConnector</code> is the superclass of the connectors
+ * made from control adapter descriptions, generated by javassist or
+ * interpreted.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * It gives access to the ends it connects and to the values of the instance
+ * variables of the description, so that a connector made from a new version
+ * of the description can replace a connected one: the new connector is
+ * connected to the same ends and takes the values of the instance variables
+ * which kept their name and type, such as {@code isSuspended}. The
+ * generated connectors declare the instance variables as fields of their
+ * own class, which are the ones transferred by default.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ *
+ * <pre>
+ * invariant	true
+ * </pre>
+ *
+ * <p>Created on : 2026-10-17</p>
+ *
+ * @author	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+ */
+public abstract class AdapterConnector extends AbstractConnector {
+
+	public OfferedCI getOffering() {
+		return offering;
+	}
+
+	public RequiredCI getRequiring() {
+		return requiring;
+	}
+
+	/**
+	 * return the values of the instance variables of the description by name.
+	 *
+	 * @return				the values of the instance variables by name.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	public Map<String,Object> exportState() throws Exception {
+		LinkedHashMap<String,Object> state = new LinkedHashMap<>();
+		for (Field f : this.getClass().getDeclaredFields()) {
+			if (!Modifier.isStatic(f.getModifiers())) {
+				f.setAccessible(true);
+				state.put(f.getName(), f.get(this));
+			}
+		}
+		return state;
+	}
+
+	/**
+	 * set the instance variables of the description to the values in
+	 * {@code state} of the same name and of a compatible type, the others
+	 * keeping their initial value.
+	 *
+	 * @param state			values of the instance variables by name, as exported by another connector.
+	 * @return				the names of the instance variables set.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	public List<String> importState(Map<String,Object> state) throws Exception {
+		ArrayList<String> set = new ArrayList<>();
+		for (Field f : this.getClass().getDeclaredFields()) {
+			if (!Modifier.isStatic(f.getModifiers()) && state.containsKey(f.getName()) &&
+					assignable(f.getType(), state.get(f.getName()))) {
+				f.setAccessible(true);
+				f.set(this, state.get(f.getName()));
+				set.add(f.getName());
+			}
+		}
+		return set;
+	}
+
+	// return true if value can be stored in a variable of the given type.
+	protected static boolean assignable(Class<?> type, Object value) {
+		if (value == null)
+			return !type.isPrimitive();
+		return MethodType.methodType(type).wrap().returnType().isInstance(value);
+	}
+}
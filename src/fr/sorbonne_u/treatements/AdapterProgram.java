@@ -0,0 +1,195 @@
+package fr.sorbonne_u.treatements;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * The class <code>AdapterProgram</code> is a control adapter description
+ * compiled by {@code BodyCompiler}, executed by the interpreted connectors
+ * instead of a connector class generated by javassist.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * A program holds the compiled operations of the description and the
+ * declarations of its instance variables; it is immutable and shared by
+ * all the connectors of the equipments using the same description, each
+ * connector keeping the values of the instance variables in the state
+ * returned by {@code newState}. No class is generated, so that a program is
+ * collected with the last connector using it, and nothing is added to the
+ * javassist class pool.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ *
+ * <pre>
+ * invariant	true
+ * </pre>
+ *
+ * <p>Created on : 2026-10-17</p>
+ *
+ * @author	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+ */
+public class AdapterProgram {
+
+	/**
+	 * The interface <code>Holder</code> is implemented by the outbound ports
+	 * which give their program to the interpreted connector connecting them,
+	 * as BCM creates the connectors from their class name only.
+	 */
+	public static interface Holder {
+		public AdapterProgram getAdapterProgram();
+	}
+
+	// compiled operation.
+	protected static class Operation {
+		protected final String name;
+		protected final BodyCompiler.Body body;
+
+		protected Operation(String name, BodyCompiler.Body body) {
+			this.name = name;
+			this.body = body;
+		}
+	}
+
+	protected final Class<?> controlInterface;
+	protected final HashMap<String,Operation> operations = new HashMap<>();
+	protected final BodyCompiler.Expr[] fieldInitialisations;
+	// names and types of the instance variables, indexed as in the states
+	protected final String[] fieldNames;
+	protected final Class<?>[] fieldTypes;
+
+	protected AdapterProgram(Class<?> controlInterface, BodyCompiler.Expr[] fieldInitialisations,
+							 String[] fieldNames, Class<?>[] fieldTypes) {
+		this.controlInterface = controlInterface;
+		this.fieldInitialisations = fieldInitialisations;
+		this.fieldNames = fieldNames;
+		this.fieldTypes = fieldTypes;
+	}
+
+	/**
+	 * compile the operations of the adapter description {@code adapter}
+	 * implementing {@code controlInterface}.
+	 *
+	 * @param adapter			parsed adapter description.
+	 * @param controlInterface	control interface implemented by the connectors.
+	 * @return					the compiled program.
+	 * @throws Exception		if the offered interface is not found, or {@code IllegalArgumentException} if a body uses a construct which is not supported.
+	 */
+	public static AdapterProgram compile(XML adapter, Class<?> controlInterface) throws Exception {
+		BodyCompiler.Context c = new BodyCompiler.Context(
+				Class.forName(adapter.getOffered()), controlInterface, adapter.getPackages());
+		ArrayList<Attribute> attributes = adapter.getAttributes();
+		BodyCompiler.Expr[] initialisations = new BodyCompiler.Expr[attributes.size()];
+		String[] names = new String[attributes.size()];
+		for (Attribute a : attributes) {
+			Class<?> type = c.resolveType(a.getType().trim());
+			if (type == null)
+				throw new IllegalArgumentException("unknown type " + a.getType() +
+												   " of " + a.getName());
+			c.addField(a.getName(), type);
+		}
+		for (int i = 0; i < attributes.size(); i++) {
+			names[i] = attributes.get(i).getName();
+			initialisations[i] = BodyCompiler.compileExpression(
+					c, attributes.get(i).getValue(), c.fieldTypes.get(i));
+		}
+
+		AdapterProgram p = new AdapterProgram(controlInterface, initialisations, names,
+											  c.fieldTypes.toArray(new Class<?>[0]));
+		for (Method m : controlInterface.getMethods()) {
+			String body = adapter.getMethods().get(m.getName());
+			if (body == null) {
+				// the connectors gather the snapshot through the other operations
+				if (m.getName().equals("snapshot"))
+					continue;
+				throw new IllegalArgumentException("no body for " + m.getName());
+			}
+			List<String> parameters = adapter.getParametersOfOperations().get(m.getName());
+			if (parameters == null)
+				parameters = Collections.emptyList();
+			if (parameters.size() != m.getParameterCount())
+				throw new IllegalArgumentException("wrong parameters for " + m.getName());
+			try {
+				p.operations.put(m.getName(), new Operation(m.getName(),
+						BodyCompiler.compileBody(c, body, parameters, m.getParameterTypes(),
+												 m.getReturnType())));
+			} catch (IllegalArgumentException e) {
+				throw new IllegalArgumentException(m.getName() + ": " + e.getMessage(), e);
+			}
+		}
+		return p;
+	}
+
+	public Class<?> getControlInterface() {
+		return controlInterface;
+	}
+
+	/**
+	 * return true if the description gives a body to the operation
+	 * {@code name}.
+	 *
+	 * @param name	name of an operation of the control interface.
+	 * @return		true if the operation is defined by the description.
+	 */
+	public boolean has(String name) {
+		return operations.containsKey(name);
+	}
+
+	/**
+	 * return a new state of the instance variables, initialised as in the
+	 * description.
+	 *
+	 * @return				the initial values of the instance variables.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	public Object[] newState() throws Exception {
+		Object[] state = new Object[fieldInitialisations.length];
+		BodyCompiler.Frame f = new BodyCompiler.Frame(this, null, state, new Object[0]);
+		for (int i = 0; i < state.length; i++)
+			state[i] = eval(fieldInitialisations[i], f);
+		return state;
+	}
+
+	/**
+	 * execute the operation {@code name} on the equipment {@code offering}
+	 * with the instance variables {@code state}.
+	 *
+	 * @param name			name of the operation.
+	 * @param offering		offering end of the connector.
+	 * @param state			values of the instance variables of the connector.
+	 * @param arguments		arguments of the operation.
+	 * @return				the result of the operation, boxed.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	public Object invoke(String name, Object offering, Object[] state, Object... arguments)
+	throws Exception {
+		Operation op = operations.get(name);
+		if (op == null)
+			throw new UnsupportedOperationException(name);
+		Object[] locals = new Object[op.body.frameSize];
+		System.arraycopy(arguments, 0, locals, 0, arguments.length);
+		BodyCompiler.Frame f = new BodyCompiler.Frame(this, offering, state, locals);
+		try {
+			op.body.statement.exec(f);
+		} catch (Exception | Error e) {
+			throw e;
+		} catch (Throwable t) {
+			throw new Exception(t);
+		}
+		return f.result;
+	}
+
+	protected static Object eval(BodyCompiler.Expr e, BodyCompiler.Frame f) throws Exception {
+		try {
+			return e.eval(f);
+		} catch (Exception | Error x) {
+			throw x;
+		} catch (Throwable t) {
+			throw new Exception(t);
+		}
+	}
+}
@@ -0,0 +1,1578 @@
+package fr.sorbonne_u.treatements;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The class <code>BodyCompiler</code> compiles the bodies of the operations
+ * of a control adapter description into trees of nodes, which calls to the
+ * equipment and to the Java library are bound once to method handles.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * The compiler accepts the subset of Java used by the adapter descriptions:
+ * blocks, declarations of local variables, {@code if}/{@code else},
+ * {@code return} and expression statements; literals, local variables,
+ * parameters, instance variables of the adapter, {@code this.offering},
+ * casts, calls to the methods and constructors of public classes, calls to
+ * the other operations of the adapter, static fields, assignments and the
+ * arithmetic, relational, equality, logical and conditional operators.
+ * Names are resolved as javassist does, from {@code java.lang} and the
+ * required packages of the description. The expressions are typed at
+ * compile time, so that the overloaded methods are chosen and the numeric
+ * promotions are done as in Java; the values are boxed at run time.
+ * </p>
+ * <p>
+ * Any other construct is rejected with an {@code IllegalArgumentException},
+ * so that the caller can fall back to the javassist generator.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ *
+ * <pre>
+ * invariant	true
+ * </pre>
+ *
+ * <p>Created on : 2026-10-17</p>
+ *
+ * @author	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+ */
+public class BodyCompiler {
+
+	protected static final MethodHandles.Lookup LOOKUP = MethodHandles.publicLookup();
+
+	// type of the null literal, assignable to any reference type.
+	protected static final class Null {}
+
+	// -------------------------------------------------------------------------
+	// Run time
+	// -------------------------------------------------------------------------
+
+	// activation of an operation.
+	protected static class Frame {
+		protected final AdapterProgram program;
+		protected final Object offering;
+		protected final Object[] state;
+		protected final Object[] locals;
+		protected Object result;
+
+		protected Frame(AdapterProgram program, Object offering, Object[] state, Object[] locals) {
+			this.program = program;
+			this.offering = offering;
+			this.state = state;
+			this.locals = locals;
+		}
+	}
+
+	protected abstract static class Expr {
+		protected final Class<?> type;
+
+		protected Expr(Class<?> type) {
+			this.type = type;
+		}
+
+		protected abstract Object eval(Frame f) throws Throwable;
+	}
+
+	protected abstract static class Stmt {
+		// execute the statement and return true if it returned.
+		protected abstract boolean exec(Frame f) throws Throwable;
+	}
+
+	// compiled body of an operation.
+	protected static class Body {
+		protected final Stmt statement;
+		protected final int frameSize;
+
+		protected Body(Stmt statement, int frameSize) {
+			this.statement = statement;
+			this.frameSize = frameSize;
+		}
+	}
+
+	protected static class Literal extends Expr {
+		protected final Object value;
+
+		protected Literal(Object value, Class<?> type) {
+			super(type);
+			this.value = value;
+		}
+
+		@Override
+		protected Object eval(Frame f) {
+			return value;
+		}
+	}
+
+	// type used only as the target of static accesses.
+	protected static class ClassRef extends Expr {
+		protected ClassRef(Class<?> type) {
+			super(type);
+		}
+
+		@Override
+		protected Object eval(Frame f) {
+			throw new IllegalStateException(type.getName() + " is not a value");
+		}
+	}
+
+	protected static class Offering extends Expr {
+		protected Offering(Class<?> type) {
+			super(type);
+		}
+
+		@Override
+		protected Object eval(Frame f) {
+			return f.offering;
+		}
+	}
+
+	protected static class LocalLoad extends Expr {
+		protected final int slot;
+
+		protected LocalLoad(int slot, Class<?> type) {
+			super(type);
+			this.slot = slot;
+		}
+
+		@Override
+		protected Object eval(Frame f) {
+			return f.locals[slot];
+		}
+	}
+
+	protected static class LocalStore extends Expr {
+		protected final int slot;
+		protected final Expr value;
+
+		protected LocalStore(int slot, Expr value, Class<?> type) {
+			super(type);
+			this.slot = slot;
+			this.value = value;
+		}
+
+		@Override
+		protected Object eval(Frame f) throws Throwable {
+			return f.locals[slot] = value.eval(f);
+		}
+	}
+
+	protected static class FieldLoad extends Expr {
+		protected final int index;
+
+		protected FieldLoad(int index, Class<?> type) {
+			super(type);
+			this.index = index;
+		}
+
+		@Override
+		protected Object eval(Frame f) {
+			return f.state[index];
+		}
+	}
+
+	protected static class FieldStore extends Expr {
+		protected final int index;
+		protected final Expr value;
+
+		protected FieldStore(int index, Expr value, Class<?> type) {
+			super(type);
+			this.index = index;
+			this.value = value;
+		}
+
+		@Override
+		protected Object eval(Frame f) throws Throwable {
+			return f.state[index] = value.eval(f);
+		}
+	}
+
+	// numeric conversion between primitive types.
+	protected static class Convert extends Expr {
+		protected final Expr value;
+
+		protected Convert(Expr value, Class<?> type) {
+			super(type);
+			this.value = value;
+		}
+
+		@Override
+		protected Object eval(Frame f) throws Throwable {
+			return convert(value.eval(f), type);
+		}
+	}
+
+	protected static class Cast extends Expr {
+		protected final Expr value;
+
+		protected Cast(Expr value, Class<?> type) {
+			super(type);
+			this.value = value;
+		}
+
+		@Override
+		protected Object eval(Frame f) throws Throwable {
+			Object v = value.eval(f);
+			if (v != null && !type.isInstance(v))
+				throw new ClassCastException(v.getClass().getName() + " cannot be cast to " + type.getName());
+			return v;
+		}
+	}
+
+	// call bound to a method handle taking its receiver and arguments in an array.
+	protected static class Invoke extends Expr {
+		protected final MethodHandle handle;
+		protected final Expr receiver;
+		protected final Expr[] arguments;
+
+		protected Invoke(MethodHandle handle, Expr receiver, Expr[] arguments, Class<?> type) {
+			super(type);
+			this.handle = handle;
+			this.receiver = receiver;
+			this.arguments = arguments;
+		}
+
+		@Override
+		protected Object eval(Frame f) throws Throwable {
+			int first = receiver == null ? 0 : 1;
+			Object[] a = new Object[first + arguments.length];
+			if (receiver != null) {
+				a[0] = receiver.eval(f);
+				if (a[0] == null)
+					throw new NullPointerException("null receiver");
+			}
+			for (int i = 0; i < arguments.length; i++)
+				a[first + i] = arguments[i].eval(f);
+			return (Object) handle.invokeExact(a);
+		}
+	}
+
+	// call to another operation of the adapter.
+	protected static class SelfCall extends Expr {
+		protected final String name;
+		protected final Expr[] arguments;
+
+		protected SelfCall(String name, Expr[] arguments, Class<?> type) {
+			super(type);
+			this.name = name;
+			this.arguments = arguments;
+		}
+
+		@Override
+		protected Object eval(Frame f) throws Throwable {
+			Object[] a = new Object[arguments.length];
+			for (int i = 0; i < arguments.length; i++)
+				a[i] = arguments[i].eval(f);
+			return f.program.invoke(name, f.offering, f.state, a);
+		}
+	}
+
+	protected static class Not extends Expr {
+		protected final Expr value;
+
+		protected Not(Expr value) {
+			super(boolean.class);
+			this.value = value;
+		}
+
+		@Override
+		protected Object eval(Frame f) throws Throwable {
+			return !(Boolean) value.eval(f);
+		}
+	}
+
+	protected static class And extends Expr {
+		protected final Expr left, right;
+
+		protected And(Expr left, Expr right) {
+			super(boolean.class);
+			this.left = left;
+			this.right = right;
+		}
+
+		@Override
+		protected Object eval(Frame f) throws Throwable {
+			return (Boolean) left.eval(f) && (Boolean) right.eval(f);
+		}
+	}
+
+	protected static class Or extends Expr {
+		protected final Expr left, right;
+
+		protected Or(Expr left, Expr right) {
+			super(boolean.class);
+			this.left = left;
+			this.right = right;
+		}
+
+		@Override
+		protected Object eval(Frame f) throws Throwable {
+			return (Boolean) left.eval(f) || (Boolean) right.eval(f);
+		}
+	}
+
+	protected static class Conditional extends Expr {
+		protected final Expr condition, then, otherwise;
+
+		protected Conditional(Expr condition, Expr then, Expr otherwise, Class<?> type) {
+			super(type);
+			this.condition = condition;
+			this.then = then;
+			this.otherwise = otherwise;
+		}
+
+		@Override
+		protected Object eval(Frame f) throws Throwable {
+			return (Boolean) condition.eval(f) ? then.eval(f) : otherwise.eval(f);
+		}
+	}
+
+	// arithmetic on two operands already converted to the type of the operation.
+	protected static class Arithmetic extends Expr {
+		protected final char operator;
+		protected final Expr left, right;
+
+		protected Arithmetic(char operator, Expr left, Expr right, Class<?> type) {
+			super(type);
+			this.operator = operator;
+			this.left = left;
+			this.right = right;
+		}
+
+		@Override
+		protected Object eval(Frame f) throws Throwable {
+			Number l = (Number) left.eval(f);
+			Number r = (Number) right.eval(f);
+			if (type == int.class) {
+				int a = l.intValue(), b = r.intValue();
+				switch (operator) {
+				case '+': return a + b;
+				case '-': return a - b;
+				case '*': return a * b;
+				case '/': return a / b;
+				default: return a % b;
+				}
+			} else if (type == long.class) {
+				long a = l.longValue(), b = r.longValue();
+				switch (operator) {
+				case '+': return a + b;
+				case '-': return a - b;
+				case '*': return a * b;
+				case '/': return a / b;
+				default: return a % b;
+				}
+			} else {
+				double a = l.doubleValue(), b = r.doubleValue();
+				switch (operator) {
+				case '+': return a + b;
+				case '-': return a - b;
+				case '*': return a * b;
+				case '/': return a / b;
+				default: return a % b;
+				}
+			}
+		}
+	}
+
+	protected static class Negate extends Expr {
+		protected final Expr value;
+
+		protected Negate(Expr value, Class<?> type) {
+			super(type);
+			this.value = value;
+		}
+
+		@Override
+		protected Object eval(Frame f) throws Throwable {
+			Number n = (Number) value.eval(f);
+			if (type == int.class)
+				return -n.intValue();
+			if (type == long.class)
+				return -n.longValue();
+			return -n.doubleValue();
+		}
+	}
+
+	protected static class Concat extends Expr {
+		protected final Expr left, right;
+
+		protected Concat(Expr left, Expr right) {
+			super(String.class);
+			this.left = left;
+			this.right = right;
+		}
+
+		@Override
+		protected Object eval(Frame f) throws Throwable {
+			return String.valueOf(left.eval(f)) + String.valueOf(right.eval(f));
+		}
+	}
+
+	// numeric comparison of two operands converted to the same type.
+	protected static class Compare extends Expr {
+		protected final String operator;
+		protected final Expr left, right;
+		protected final boolean integral;
+
+		protected Compare(String operator, Expr left, Expr right, boolean integral) {
+			super(boolean.class);
+			this.operator = operator;
+			this.left = left;
+			this.right = right;
+			this.integral = integral;
+		}
+
+		@Override
+		protected Object eval(Frame f) throws Throwable {
+			Number l = (Number) left.eval(f);
+			Number r = (Number) right.eval(f);
+			int c;
+			if (integral) {
+				c = Long.compare(l.longValue(), r.longValue());
+			} else {
+				double a = l.doubleValue(), b = r.doubleValue();
+				// NaN compares false except with !=
+				if (a != a || b != b)
+					return operator.equals("!=");
+				c = Double.compare(a == 0.0 ? 0.0 : a, b == 0.0 ? 0.0 : b);
+			}
+			switch (operator) {
+			case "<": return c < 0;
+			case "<=": return c <= 0;
+			case ">": return c > 0;
+			case ">=": return c >= 0;
+			case "==": return c == 0;
+			default: return c != 0;
+			}
+		}
+	}
+
+	// equality of booleans or identity of references.
+	protected static class Same extends Expr {
+		protected final Expr left, right;
+		protected final boolean byValue, negated;
+
+		protected Same(Expr left, Expr right, boolean byValue, boolean negated) {
+			super(boolean.class);
+			this.left = left;
+			this.right = right;
+			this.byValue = byValue;
+			this.negated = negated;
+		}
+
+		@Override
+		protected Object eval(Frame f) throws Throwable {
+			Object l = left.eval(f);
+			Object r = right.eval(f);
+			boolean same = byValue ? Objects.equals(l, r) : l == r;
+			return same != negated;
+		}
+	}
+
+	protected static class InstanceOf extends Expr {
+		protected final Expr value;
+		protected final Class<?> target;
+
+		protected InstanceOf(Expr value, Class<?> target) {
+			super(boolean.class);
+			this.value = value;
+			this.target = target;
+		}
+
+		@Override
+		protected Object eval(Frame f) throws Throwable {
+			return target.isInstance(value.eval(f));
+		}
+	}
+
+	protected static class Block extends Stmt {
+		protected final Stmt[] statements;
+
+		protected Block(Stmt[] statements) {
+			this.statements = statements;
+		}
+
+		@Override
+		protected boolean exec(Frame f) throws Throwable {
+			for (Stmt s : statements)
+				if (s.exec(f))
+					return true;
+			return false;
+		}
+	}
+
+	protected static class If extends Stmt {
+		protected final Expr condition;
+		protected final Stmt then, otherwise;
+
+		protected If(Expr condition, Stmt then, Stmt otherwise) {
+			this.condition = condition;
+			this.then = then;
+			this.otherwise = otherwise;
+		}
+
+		@Override
+		protected boolean exec(Frame f) throws Throwable {
+			if ((Boolean) condition.eval(f))
+				return then.exec(f);
+			return otherwise != null && otherwise.exec(f);
+		}
+	}
+
+	protected static class Return extends Stmt {
+		protected final Expr value;
+
+		protected Return(Expr value) {
+			this.value = value;
+		}
+
+		@Override
+		protected boolean exec(Frame f) throws Throwable {
+			f.result = value == null ? null : value.eval(f);
+			return true;
+		}
+	}
+
+	protected static class ExprStmt extends Stmt {
+		protected final Expr value;
+
+		protected ExprStmt(Expr value) {
+			this.value = value;
+		}
+
+		@Override
+		protected boolean exec(Frame f) throws Throwable {
+			value.eval(f);
+			return false;
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Types
+	// -------------------------------------------------------------------------
+
+	protected static final Class<?>[] PRIMITIVES =
+		{boolean.class, byte.class, short.class, char.class, int.class,
+		 long.class, float.class, double.class};
+	protected static final Class<?>[] WRAPPERS =
+		{Boolean.class, Byte.class, Short.class, Character.class, Integer.class,
+		 Long.class, Float.class, Double.class};
+
+	protected static Class<?> unbox(Class<?> c) {
+		for (int i = 0; i < WRAPPERS.length; i++)
+			if (WRAPPERS[i] == c)
+				return PRIMITIVES[i];
+		return c;
+	}
+
+	protected static Class<?> box(Class<?> c) {
+		for (int i = 0; i < PRIMITIVES.length; i++)
+			if (PRIMITIVES[i] == c)
+				return WRAPPERS[i];
+		return c;
+	}
+
+	protected static boolean isNumeric(Class<?> c) {
+		c = unbox(c);
+		return c.isPrimitive() && c != boolean.class && c != void.class;
+	}
+
+	// rank of a primitive type in the widening conversions.
+	protected static int rank(Class<?> c) {
+		if (c == byte.class) return 0;
+		if (c == short.class || c == char.class) return 1;
+		if (c == int.class) return 2;
+		if (c == long.class) return 3;
+		if (c == float.class) return 4;
+		return 5;
+	}
+
+	// cost of the widening conversion between two primitive types, -1 if none.
+	protected static int widening(Class<?> from, Class<?> to) {
+		if (from == to)
+			return 0;
+		if (from == boolean.class || to == boolean.class || to == char.class)
+			return -1;
+		if (from == char.class && to == short.class)
+			return -1;
+		int d = rank(to) - rank(from);
+		return d > 0 ? d : -1;
+	}
+
+	// cost of passing a value of type from where a value of type to is
+	// expected, -1 if not possible.
+	protected static int cost(Class<?> from, Class<?> to) {
+		if (from == to)
+			return 0;
+		if (from == Null.class)
+			return to.isPrimitive() ? -1 : 1;
+		if (to.isPrimitive()) {
+			Class<?> f = unbox(from);
+			if (!f.isPrimitive())
+				return -1;
+			int w = widening(f, to);
+			return w < 0 ? -1 : w + (from.isPrimitive() ? 0 : 10);
+		}
+		if (from.isPrimitive())
+			return to.isAssignableFrom(box(from)) ? 10 : -1;
+		return to.isAssignableFrom(from) ? 1 : -1;
+	}
+
+	// return the type of a binary numeric operation on both types.
+	protected static Class<?> promote(Class<?> a, Class<?> b) {
+		a = unbox(a);
+		b = unbox(b);
+		if (a == double.class || b == double.class || a == float.class || b == float.class)
+			return double.class;
+		if (a == long.class || b == long.class)
+			return long.class;
+		return int.class;
+	}
+
+	protected static Object convert(Object v, Class<?> t) {
+		if (v == null || !t.isPrimitive() || t == boolean.class)
+			return v;
+		Number n = v instanceof Character ? Integer.valueOf((Character) v) : (Number) v;
+		if (t == int.class) return n.intValue();
+		if (t == long.class) return n.longValue();
+		if (t == double.class) return n.doubleValue();
+		if (t == float.class) return n.floatValue();
+		if (t == short.class) return n.shortValue();
+		if (t == byte.class) return n.byteValue();
+		return (char) n.intValue();
+	}
+
+	protected static Object defaultValue(Class<?> t) {
+		if (!t.isPrimitive())
+			return null;
+		if (t == boolean.class)
+			return false;
+		return convert(0, t);
+	}
+
+	// return a method handle taking its receiver and arguments in an array
+	// and returning its result boxed.
+	protected static MethodHandle spread(MethodHandle mh) {
+		int n = mh.type().parameterCount();
+		return mh.asType(mh.type().generic()).asSpreader(Object[].class, n);
+	}
+
+	// return the same method declared by a public class or interface, as the
+	// methods of non public classes cannot be called from outside.
+	protected static Method accessible(Method m) {
+		if (Modifier.isPublic(m.getDeclaringClass().getModifiers()))
+			return m;
+		ArrayList<Class<?>> todo = new ArrayList<>();
+		todo.add(m.getDeclaringClass());
+		while (!todo.isEmpty()) {
+			Class<?> c = todo.remove(0);
+			if (Modifier.isPublic(c.getModifiers())) {
+				try {
+					return c.getMethod(m.getName(), m.getParameterTypes());
+				} catch (NoSuchMethodException e) {
+					// look further up
+				}
+			}
+			if (c.getSuperclass() != null)
+				todo.add(c.getSuperclass());
+			for (Class<?> i : c.getInterfaces())
+				todo.add(i);
+		}
+		return m;
+	}
+
+	// -------------------------------------------------------------------------
+	// Compile time
+	// -------------------------------------------------------------------------
+
+	/**
+	 * The class <code>Context</code> gathers what the bodies of an adapter
+	 * description may refer to: the offered interface, the required packages,
+	 * the instance variables and the other operations.
+	 */
+	protected static class Context {
+		protected final Class<?> offered;
+		protected final Class<?> controlInterface;
+		protected final List<String> packages;
+		protected final ClassLoader loader;
+		protected final HashMap<String,Integer> fields = new HashMap<>();
+		protected final ArrayList<Class<?>> fieldTypes = new ArrayList<>();
+		// classes already looked up, null when not found
+		protected final HashMap<String,Class<?>> classes = new HashMap<>();
+
+		protected Context(Class<?> offered, Class<?> controlInterface, List<String> packages) {
+			this.offered = offered;
+			this.controlInterface = controlInterface;
+			this.packages = packages;
+			ClassLoader l = Thread.currentThread().getContextClassLoader();
+			this.loader = l == null ? BodyCompiler.class.getClassLoader() : l;
+		}
+
+		protected int addField(String name, Class<?> type) {
+			int index = fieldTypes.size();
+			fields.put(name, index);
+			fieldTypes.add(type);
+			return index;
+		}
+
+		protected Class<?> load(String name) {
+			if (classes.containsKey(name))
+				return classes.get(name);
+			Class<?> c;
+			try {
+				c = Class.forName(name, false, loader);
+			} catch (ClassNotFoundException | LinkageError e) {
+				c = null;
+			}
+			classes.put(name, c);
+			return c;
+		}
+
+		// return the class named name, or null if there is none.
+		protected Class<?> resolveType(String name) {
+			for (Class<?> p : PRIMITIVES)
+				if (p.getName().equals(name))
+					return p;
+			if (name.contains(".")) {
+				Class<?> c = load(name);
+				// nested classes
+				for (int i = name.lastIndexOf('.'); c == null && i > 0; i = name.lastIndexOf('.', i - 1))
+					c = load(name.substring(0, i) + "$" + name.substring(i + 1).replace('.', '$'));
+				return c;
+			}
+			Class<?> c = load("java.lang." + name);
+			for (int i = 0; c == null && i < packages.size(); i++) {
+				String p = packages.get(i).trim();
+				if (p.equals(name) || p.endsWith("." + name))
+					c = load(p);
+				else
+					c = load(p + "." + name);
+			}
+			return c;
+		}
+	}
+
+	protected static final int IDENT = 0, NUMBER = 1, STRING = 2, CHAR = 3, OP = 4, EOF = 5;
+	protected static final String[] OPERATORS =
+		{"==", "!=", "<=", ">=", "&&", "||", "+=", "-=", "*=", "/=", "++", "--",
+		 "(", ")", "{", "}", "[", "]", ";", ",", ".", "!", "~", "?", ":", "=",
+		 "<", ">", "+", "-", "*", "/", "%", "&", "|", "^"};
+
+	protected static class Token {
+		protected final int kind;
+		protected final String text;
+		protected final Object value;
+		protected final Class<?> type;
+		protected final int position;
+
+		protected Token(int kind, String text, Object value, Class<?> type, int position) {
+			this.kind = kind;
+			this.text = text;
+			this.value = value;
+			this.type = type;
+			this.position = position;
+		}
+	}
+
+	protected static ArrayList<Token> tokenize(String s) {
+		ArrayList<Token> tokens = new ArrayList<>();
+		int i = 0;
+		int n = s.length();
+		while (i < n) {
+			char c = s.charAt(i);
+			if (Character.isWhitespace(c)) {
+				i++;
+			} else if (s.startsWith("//", i)) {
+				while (i < n && s.charAt(i) != '\n')
+					i++;
+			} else if (s.startsWith("/*", i)) {
+				int end = s.indexOf("*/", i + 2);
+				if (end < 0)
+					throw new IllegalArgumentException("unterminated comment at " + i);
+				i = end + 2;
+			} else if (Character.isJavaIdentifierStart(c)) {
+				int start = i;
+				while (i < n && Character.isJavaIdentifierPart(s.charAt(i)))
+					i++;
+				tokens.add(new Token(IDENT, s.substring(start, i), null, null, start));
+			} else if (Character.isDigit(c)) {
+				int start = i;
+				boolean real = false;
+				while (i < n && (Character.isDigit(s.charAt(i)) || s.charAt(i) == '.' ||
+						s.charAt(i) == '_')) {
+					// a dot not followed by a digit is a member access
+					if (s.charAt(i) == '.' && (i + 1 >= n || !Character.isDigit(s.charAt(i + 1))))
+						break;
+					real |= s.charAt(i) == '.';
+					i++;
+				}
+				if (i < n && (s.charAt(i) == 'e' || s.charAt(i) == 'E')) {
+					real = true;
+					i++;
+					if (i < n && (s.charAt(i) == '+' || s.charAt(i) == '-'))
+						i++;
+					while (i < n && Character.isDigit(s.charAt(i)))
+						i++;
+				}
+				String digits = s.substring(start, i).replace("_", "");
+				char suffix = i < n ? Character.toLowerCase(s.charAt(i)) : ' ';
+				Object value;
+				Class<?> type;
+				if (suffix == 'l') {
+					value = Long.parseLong(digits);
+					type = long.class;
+					i++;
+				} else if (suffix == 'f') {
+					value = Float.parseFloat(digits);
+					type = float.class;
+					i++;
+				} else if (suffix == 'd' || real) {
+					value = Double.parseDouble(digits);
+					type = double.class;
+					if (suffix == 'd')
+						i++;
+				} else {
+					value = Integer.parseInt(digits);
+					type = int.class;
+				}
+				tokens.add(new Token(NUMBER, s.substring(start, i), value, type, start));
+			} else if (c == '"' || c == '\'') {
+				int start = i++;
+				StringBuilder sb = new StringBuilder();
+				while (i < n && s.charAt(i) != c) {
+					char d = s.charAt(i++);
+					if (d == '\\' && i < n) {
+						char e = s.charAt(i++);
+						switch (e) {
+						case 'n': d = '\n'; break;
+						case 't': d = '\t'; break;
+						case 'r': d = '\r'; break;
+						case 'b': d = '\b'; break;
+						case 'f': d = '\f'; break;
+						case '0': d = '\0'; break;
+						default: d = e;
+						}
+					}
+					sb.append(d);
+				}
+				if (i >= n)
+					throw new IllegalArgumentException("unterminated literal at " + start);
+				i++;
+				if (c == '"') {
+					tokens.add(new Token(STRING, s.substring(start, i), sb.toString(), String.class, start));
+				} else {
+					if (sb.length() != 1)
+						throw new IllegalArgumentException("bad character literal at " + start);
+					tokens.add(new Token(CHAR, s.substring(start, i), sb.charAt(0), char.class, start));
+				}
+			} else {
+				String op = null;
+				for (String o : OPERATORS) {
+					if (s.startsWith(o, i)) {
+						op = o;
+						break;
+					}
+				}
+				if (op == null)
+					throw new IllegalArgumentException("unexpected character '" + c + "' at " + i);
+				tokens.add(new Token(OP, op, null, null, i));
+				i += op.length();
+			}
+		}
+		tokens.add(new Token(EOF, "<end>", null, null, n));
+		return tokens;
+	}
+
+	/**
+	 * compile the body of an operation.
+	 *
+	 * @param c					context of the adapter description.
+	 * @param source			source of the body.
+	 * @param parameterNames	names of the parameters of the operation.
+	 * @param parameterTypes	types of the parameters of the operation.
+	 * @param returnType		type returned by the operation.
+	 * @return					the compiled body.
+	 */
+	protected static Body compileBody(Context c, String source, List<String> parameterNames,
+			Class<?>[] parameterTypes, Class<?> returnType) {
+		Parser p = new Parser(c, tokenize(source), returnType);
+		for (int i = 0; i < parameterTypes.length; i++)
+			p.declare(parameterNames.get(i), parameterTypes[i]);
+		ArrayList<Stmt> statements = new ArrayList<>();
+		while (p.peek().kind != EOF)
+			statements.add(p.statement());
+		Stmt body = new Block(statements.toArray(new Stmt[0]));
+		if (returnType != void.class && !returns(body))
+			throw new IllegalArgumentException("missing return statement");
+		return new Body(body, p.slots.size());
+	}
+
+	/**
+	 * compile an expression evaluated without parameters nor local variables,
+	 * converted to {@code type}.
+	 *
+	 * @param c			context of the adapter description.
+	 * @param source	source of the expression.
+	 * @param type		type of the value of the expression.
+	 * @return			the compiled expression.
+	 */
+	protected static Expr compileExpression(Context c, String source, Class<?> type) {
+		Parser p = new Parser(c, tokenize(source), void.class);
+		Expr e = p.convertTo(p.expression(), type);
+		if (p.peek().kind != EOF)
+			throw p.error("end of expression expected");
+		return e;
+	}
+
+	// return true if the statement always returns.
+	protected static boolean returns(Stmt s) {
+		if (s instanceof Return)
+			return true;
+		if (s instanceof If)
+			return ((If) s).otherwise != null && returns(((If) s).then) && returns(((If) s).otherwise);
+		if (s instanceof Block) {
+			for (Stmt t : ((Block) s).statements)
+				if (returns(t))
+					return true;
+		}
+		return false;
+	}
+
+	// recursive descent parser producing typed nodes.
+	protected static class Parser {
+		protected final Context c;
+		protected final ArrayList<Token> tokens;
+		protected final Class<?> returnType;
+		protected int pos;
+		protected final ArrayList<HashMap<String,Integer>> scopes = new ArrayList<>();
+		protected final ArrayList<Class<?>> slots = new ArrayList<>();
+
+		protected Parser(Context c, ArrayList<Token> tokens, Class<?> returnType) {
+			this.c = c;
+			this.tokens = tokens;
+			this.returnType = returnType;
+			this.scopes.add(new HashMap<>());
+		}
+
+		protected Token peek() {
+			return tokens.get(pos);
+		}
+
+		protected Token peek(int k) {
+			return tokens.get(Math.min(pos + k, tokens.size() - 1));
+		}
+
+		protected Token next() {
+			Token t = tokens.get(pos);
+			if (t.kind != EOF)
+				pos++;
+			return t;
+		}
+
+		protected boolean at(String s) {
+			Token t = peek();
+			return (t.kind == OP || t.kind == IDENT) && t.text.equals(s);
+		}
+
+		protected boolean accept(String s) {
+			if (at(s)) {
+				pos++;
+				return true;
+			}
+			return false;
+		}
+
+		protected void expect(String s) {
+			if (!accept(s))
+				throw error("'" + s + "' expected");
+		}
+
+		protected String identifier() {
+			Token t = next();
+			if (t.kind != IDENT)
+				throw error("identifier expected");
+			return t.text;
+		}
+
+		protected IllegalArgumentException error(String message) {
+			Token t = peek();
+			return new IllegalArgumentException(message + " at " + t.position + " near '" + t.text + "'");
+		}
+
+		protected int declare(String name, Class<?> type) {
+			if (lookup(name) != null)
+				throw error("variable " + name + " already defined");
+			int slot = slots.size();
+			slots.add(type);
+			scopes.get(scopes.size() - 1).put(name, slot);
+			return slot;
+		}
+
+		protected Integer lookup(String name) {
+			for (int i = scopes.size() - 1; i >= 0; i--) {
+				Integer slot = scopes.get(i).get(name);
+				if (slot != null)
+					return slot;
+			}
+			return null;
+		}
+
+		protected boolean isVariable(String name) {
+			return lookup(name) != null || c.fields.containsKey(name);
+		}
+
+		// ---- statements ----
+
+		protected Stmt statement() {
+			if (accept("{")) {
+				scopes.add(new HashMap<>());
+				ArrayList<Stmt> statements = new ArrayList<>();
+				while (!accept("}")) {
+					if (peek().kind == EOF)
+						throw error("'}' expected");
+					statements.add(statement());
+				}
+				scopes.remove(scopes.size() - 1);
+				return new Block(statements.toArray(new Stmt[0]));
+			}
+			if (accept(";"))
+				return new Block(new Stmt[0]);
+			if (accept("if")) {
+				expect("(");
+				Expr condition = condition(expression());
+				expect(")");
+				Stmt then = statement();
+				Stmt otherwise = accept("else") ? statement() : null;
+				return new If(condition, then, otherwise);
+			}
+			if (accept("return")) {
+				if (accept(";")) {
+					if (returnType != void.class)
+						throw error("missing return value");
+					return new Return(null);
+				}
+				Expr value = convertTo(expression(), returnType);
+				expect(";");
+				return new Return(value);
+			}
+			Class<?> type = declarationType();
+			if (type != null) {
+				ArrayList<Stmt> declarations = new ArrayList<>();
+				do {
+					String name = identifier();
+					Expr init = accept("=") ? convertTo(expression(), type)
+											: new Literal(defaultValue(type), type);
+					declarations.add(new ExprStmt(new LocalStore(declare(name, type), init, type)));
+				} while (accept(","));
+				expect(";");
+				return declarations.size() == 1 ? declarations.get(0)
+							: new Block(declarations.toArray(new Stmt[0]));
+			}
+			if (at("for") || at("while") || at("do") || at("switch") || at("try") ||
+					at("throw") || at("synchronized"))
+				throw error("unsupported statement");
+			Expr e = expression();
+			expect(";");
+			return new ExprStmt(e);
+		}
+
+		// return the type of the local variable declaration starting here,
+		// or null if there is none.
+		protected Class<?> declarationType() {
+			int start = pos;
+			accept("final");
+			if (peek().kind == IDENT) {
+				String name = next().text;
+				while (at(".") && peek(1).kind == IDENT) {
+					pos++;
+					name += "." + next().text;
+				}
+				if (peek().kind == IDENT && !isVariable(name) &&
+						(peek(1).text.equals("=") || peek(1).text.equals(";") ||
+						 peek(1).text.equals(","))) {
+					Class<?> type = c.resolveType(name);
+					if (type == null)
+						throw error("unknown type " + name);
+					return type;
+				}
+			}
+			pos = start;
+			return null;
+		}
+
+		// ---- expressions ----
+
+		protected Expr expression() {
+			return assignment();
+		}
+
+		protected Expr assignment() {
+			Expr left = conditional();
+			String op = peek().text;
+			if (peek().kind == OP && (op.equals("=") || op.equals("+=") || op.equals("-=") ||
+					op.equals("*=") || op.equals("/="))) {
+				pos++;
+				Expr right = assignment();
+				if (!op.equals("="))
+					right = arithmetic(op.substring(0, 1), left, right);
+				right = op.equals("=") ? convertTo(right, left.type) : cast(right, left.type);
+				if (left instanceof LocalLoad)
+					return new LocalStore(((LocalLoad) left).slot, right, left.type);
+				if (left instanceof FieldLoad)
+					return new FieldStore(((FieldLoad) left).index, right, left.type);
+				throw error("cannot assign to this expression");
+			}
+			return left;
+		}
+
+		protected Expr conditional() {
+			Expr e = or();
+			if (accept("?")) {
+				Expr then = expression();
+				expect(":");
+				Expr otherwise = conditional();
+				Class<?> type;
+				if (isNumeric(then.type) && isNumeric(otherwise.type))
+					type = unbox(then.type) == unbox(otherwise.type) ? unbox(then.type)
+							: promote(then.type, otherwise.type);
+				else if (then.type == Null.class)
+					type = otherwise.type;
+				else if (otherwise.type == Null.class || then.type.isAssignableFrom(otherwise.type))
+					type = then.type;
+				else if (otherwise.type.isAssignableFrom(then.type))
+					type = otherwise.type;
+				else
+					type = Object.class;
+				return new Conditional(condition(e), convertTo(then, type),
+									   convertTo(otherwise, type), type);
+			}
+			return e;
+		}
+
+		protected Expr or() {
+			Expr e = and();
+			while (accept("||"))
+				e = new Or(condition(e), condition(and()));
+			return e;
+		}
+
+		protected Expr and() {
+			Expr e = equality();
+			while (accept("&&"))
+				e = new And(condition(e), condition(equality()));
+			return e;
+		}
+
+		protected Expr equality() {
+			Expr e = relational();
+			while (at("==") || at("!=")) {
+				String op = next().text;
+				e = compare(op, e, relational());
+			}
+			return e;
+		}
+
+		protected Expr relational() {
+			Expr e = additive();
+			while (true) {
+				if (at("<") || at("<=") || at(">") || at(">=")) {
+					String op = next().text;
+					e = compare(op, e, additive());
+				} else if (accept("instanceof")) {
+					String name = identifier();
+					while (accept("."))
+						name += "." + identifier();
+					Class<?> type = c.resolveType(name);
+					if (type == null)
+						throw error("unknown type " + name);
+					e = new InstanceOf(e, type);
+				} else {
+					return e;
+				}
+			}
+		}
+
+		protected Expr additive() {
+			Expr e = multiplicative();
+			while (at("+") || at("-")) {
+				String op = next().text;
+				e = arithmetic(op, e, multiplicative());
+			}
+			return e;
+		}
+
+		protected Expr multiplicative() {
+			Expr e = unary();
+			while (at("*") || at("/") || at("%")) {
+				String op = next().text;
+				e = arithmetic(op, e, unary());
+			}
+			return e;
+		}
+
+		protected Expr unary() {
+			if (accept("!"))
+				return new Not(condition(unary()));
+			if (accept("-")) {
+				Expr e = unary();
+				if (!isNumeric(e.type))
+					throw error("numeric operand expected");
+				Class<?> type = promote(e.type, int.class);
+				if (e instanceof Literal) {
+					Number n = (Number) convert(((Literal) e).value, type);
+					return new Literal(type == int.class ? (Object) (-n.intValue())
+									 : type == long.class ? (Object) (-n.longValue())
+									 : (Object) (-n.doubleValue()), type);
+				}
+				return new Negate(convertTo(e, type), type);
+			}
+			if (accept("+")) {
+				Expr e = unary();
+				if (!isNumeric(e.type))
+					throw error("numeric operand expected");
+				return convertTo(e, promote(e.type, int.class));
+			}
+			if (at("++") || at("--") || at("~"))
+				throw error("unsupported operator");
+			if (at("(")) {
+				Class<?> type = castType();
+				if (type != null)
+					return cast(unary(), type);
+			}
+			return postfix(primary());
+		}
+
+		// return the type of the cast starting here, consuming it, or null if
+		// there is none.
+		protected Class<?> castType() {
+			int start = pos;
+			pos++;
+			if (peek().kind == IDENT) {
+				String name = next().text;
+				Class<?> type = null;
+				for (Class<?> p : PRIMITIVES)
+					if (p.getName().equals(name))
+						type = p;
+				if (type != null && accept(")"))
+					return type;
+				if (type == null && !isVariable(name) && !name.equals("this")) {
+					while (at(".") && peek(1).kind == IDENT) {
+						pos++;
+						name += "." + next().text;
+					}
+					if (at(")")) {
+						Token after = peek(1);
+						boolean operand = after.kind == IDENT || after.kind == NUMBER ||
+										  after.kind == STRING || after.kind == CHAR ||
+										  after.text.equals("(") || after.text.equals("!");
+						type = operand ? c.resolveType(name) : null;
+						if (type != null) {
+							pos++;
+							return type;
+						}
+					}
+				}
+			}
+			pos = start;
+			return null;
+		}
+
+		protected Expr primary() {
+			Token t = next();
+			switch (t.kind) {
+			case NUMBER:
+			case STRING:
+			case CHAR:
+				return new Literal(t.value, t.type);
+			case OP:
+				if (t.text.equals("(")) {
+					Expr e = expression();
+					expect(")");
+					return e;
+				}
+				pos--;
+				throw error("expression expected");
+			case IDENT:
+				break;
+			default:
+				throw error("expression expected");
+			}
+			switch (t.text) {
+			case "true":
+				return new Literal(true, boolean.class);
+			case "false":
+				return new Literal(false, boolean.class);
+			case "null":
+				return new Literal(null, Null.class);
+			case "this": {
+				expect(".");
+				String name = identifier();
+				if (at("("))
+					return selfCall(name, arguments());
+				if (name.equals("offering"))
+					return new Offering(c.offered);
+				Integer index = c.fields.get(name);
+				if (index == null)
+					throw error("unknown instance variable " + name);
+				return new FieldLoad(index, c.fieldTypes.get(index));
+			}
+			case "new": {
+				String name = identifier();
+				while (accept("."))
+					name += "." + identifier();
+				Class<?> type = c.resolveType(name);
+				if (type == null)
+					throw error("unknown type " + name);
+				return construct(type, arguments());
+			}
+			default:
+			}
+			if (at("("))
+				return selfCall(t.text, arguments());
+			Integer slot = lookup(t.text);
+			if (slot != null)
+				return new LocalLoad(slot, slots.get(slot));
+			Integer index = c.fields.get(t.text);
+			if (index != null)
+				return new FieldLoad(index, c.fieldTypes.get(index));
+			// a class, possibly qualified
+			String name = t.text;
+			while (true) {
+				Class<?> type = c.resolveType(name);
+				if (type != null && !type.isPrimitive())
+					return new ClassRef(type);
+				if (at(".") && peek(1).kind == IDENT) {
+					pos++;
+					name += "." + next().text;
+				} else {
+					throw error("unknown name " + name);
+				}
+			}
+		}
+
+		protected Expr postfix(Expr e) {
+			while (accept(".")) {
+				String name = identifier();
+				if (at("("))
+					e = invoke(e, name, arguments());
+				else
+					e = member(e, name);
+			}
+			if (at("[") || at("++") || at("--"))
+				throw error("unsupported operator");
+			return e;
+		}
+
+		protected List<Expr> arguments() {
+			expect("(");
+			ArrayList<Expr> arguments = new ArrayList<>();
+			if (!accept(")")) {
+				do {
+					arguments.add(expression());
+				} while (accept(","));
+				expect(")");
+			}
+			return arguments;
+		}
+
+		// ---- typing ----
+
+		protected Expr condition(Expr e) {
+			if (unbox(e.type) != boolean.class)
+				throw error("boolean expression expected");
+			return e;
+		}
+
+		protected Expr convertTo(Expr e, Class<?> target) {
+			if (target == void.class || e.type == target)
+				return e;
+			if (e instanceof ClassRef)
+				throw error(e.type.getName() + " is not a value");
+			if (cost(e.type, target) < 0) {
+				// implicit narrowing of constants, as in byte b = 1
+				if (e instanceof Literal && e.type == int.class &&
+						(target == byte.class || target == short.class || target == char.class))
+					return new Literal(convert(((Literal) e).value, target), target);
+				throw error("cannot convert " + e.type.getName() + " to " + target.getName());
+			}
+			if (target.isPrimitive() && unbox(e.type) != target) {
+				if (e instanceof Literal)
+					return new Literal(convert(((Literal) e).value, target), target);
+				return new Convert(e, target);
+			}
+			return e;
+		}
+
+		protected Expr cast(Expr e, Class<?> target) {
+			if (target.isPrimitive()) {
+				if (target == boolean.class || !isNumeric(e.type))
+					return convertTo(e, target);
+				return new Convert(e, target);
+			}
+			if (e.type.isPrimitive())
+				return convertTo(e, target);
+			return new Cast(e, target);
+		}
+
+		protected Expr arithmetic(String op, Expr l, Expr r) {
+			if (op.equals("+") && (l.type == String.class || r.type == String.class))
+				return new Concat(l, r);
+			if (!isNumeric(l.type) || !isNumeric(r.type))
+				throw error("numeric operands expected for " + op);
+			Class<?> type = promote(l.type, r.type);
+			return new Arithmetic(op.charAt(0), convertTo(l, type), convertTo(r, type), type);
+		}
+
+		protected Expr compare(String op, Expr l, Expr r) {
+			boolean equality = op.equals("==") || op.equals("!=");
+			if (!equality || ((l.type.isPrimitive() || r.type.isPrimitive()) &&
+							  isNumeric(l.type) && isNumeric(r.type))) {
+				if (!isNumeric(l.type) || !isNumeric(r.type))
+					throw error("numeric operands expected for " + op);
+				Class<?> type = promote(l.type, r.type);
+				return new Compare(op, convertTo(l, type), convertTo(r, type), type != double.class);
+			}
+			boolean byValue = l.type == boolean.class || r.type == boolean.class;
+			return new Same(l, r, byValue, op.equals("!="));
+		}
+
+		protected Class<?>[] types(List<Expr> arguments) {
+			Class<?>[] types = new Class<?>[arguments.size()];
+			for (int i = 0; i < types.length; i++)
+				types[i] = arguments.get(i).type;
+			return types;
+		}
+
+		// return the candidate which parameters fit the arguments at the
+		// lowest cost, or null if none does.
+		protected <E extends Executable> E select(List<E> candidates, Class<?>[] arguments) {
+			E best = null;
+			int bestCost = Integer.MAX_VALUE;
+			for (E e : candidates) {
+				Class<?>[] parameters = e.getParameterTypes();
+				if (parameters.length != arguments.length)
+					continue;
+				int total = 0;
+				for (int i = 0; i < parameters.length && total >= 0; i++) {
+					int k = cost(arguments[i], parameters[i]);
+					total = k < 0 ? -1 : total + k;
+				}
+				if (total >= 0 && total < bestCost) {
+					best = e;
+					bestCost = total;
+				}
+			}
+			return best;
+		}
+
+		protected Expr[] convertArguments(List<Expr> arguments, Class<?>[] types) {
+			Expr[] converted = new Expr[arguments.size()];
+			for (int i = 0; i < converted.length; i++)
+				converted[i] = convertTo(arguments.get(i), types[i]);
+			return converted;
+		}
+
+		protected Expr invoke(Expr target, String name, List<Expr> arguments) {
+			boolean isStatic = target instanceof ClassRef;
+			Class<?> owner = target.type;
+			if (owner.isPrimitive() || owner == Null.class)
+				throw error("cannot call " + name + " on " + owner.getName());
+			ArrayList<Method> candidates = new ArrayList<>();
+			for (Method m : owner.getMethods())
+				if (m.getName().equals(name) && (!isStatic || Modifier.isStatic(m.getModifiers())))
+					candidates.add(m);
+			if (owner.isInterface() && !isStatic)
+				for (Method m : Object.class.getMethods())
+					if (m.getName().equals(name))
+						candidates.add(m);
+			Method m = select(candidates, types(arguments));
+			if (m == null)
+				throw error("no method " + name + " applicable in " + owner.getName());
+			MethodHandle mh;
+			try {
+				mh = LOOKUP.unreflect(accessible(m));
+			} catch (IllegalAccessException e) {
+				throw error("method " + name + " of " + owner.getName() + " is not accessible");
+			}
+			if (Modifier.isStatic(m.getModifiers()))
+				target = null;
+			return new Invoke(spread(mh), target,
+							  convertArguments(arguments, m.getParameterTypes()),
+							  m.getReturnType());
+		}
+
+		protected Expr construct(Class<?> type, List<Expr> arguments) {
+			ArrayList<Constructor<?>> candidates = new ArrayList<>();
+			for (Constructor<?> k : type.getConstructors())
+				candidates.add(k);
+			Constructor<?> k = select(candidates, types(arguments));
+			if (k == null || Modifier.isAbstract(type.getModifiers()))
+				throw error("no constructor of " + type.getName() + " applicable");
+			try {
+				return new Invoke(spread(LOOKUP.unreflectConstructor(k)), null,
+								  convertArguments(arguments, k.getParameterTypes()), type);
+			} catch (IllegalAccessException e) {
+				throw error("constructor of " + type.getName() + " is not accessible");
+			}
+		}
+
+		protected Expr selfCall(String name, List<Expr> arguments) {
+			ArrayList<Method> candidates = new ArrayList<>();
+			for (Method m : c.controlInterface.getMethods())
+				if (m.getName().equals(name))
+					candidates.add(m);
+			Method m = select(candidates, types(arguments));
+			if (m == null)
+				throw error("no operation " + name + " applicable");
+			return new SelfCall(name, convertArguments(arguments, m.getParameterTypes()),
+								m.getReturnType());
+		}
+
+		protected Expr member(Expr target, String name) {
+			Class<?> owner = target.type;
+			if (owner.isPrimitive() || owner == Null.class)
+				throw error("no member " + name + " in " + owner.getName());
+			boolean isStatic = target instanceof ClassRef;
+			Field field = null;
+			try {
+				field = owner.getField(name);
+			} catch (NoSuchFieldException e) {
+				// maybe a nested class
+			}
+			if (field != null && Modifier.isStatic(field.getModifiers())) {
+				try {
+					if (Modifier.isFinal(field.getModifiers()))
+						return new Literal(field.get(null), field.getType());
+					return new Invoke(spread(LOOKUP.unreflectGetter(field)), null,
+									  new Expr[0], field.getType());
+				} catch (IllegalAccessException e) {
+					throw error("field " + name + " of " + owner.getName() + " is not accessible");
+				}
+			}
+			if (field != null && !isStatic) {
+				try {
+					return new Invoke(spread(LOOKUP.unreflectGetter(field)), target,
+									  new Expr[0], field.getType());
+				} catch (IllegalAccessException e) {
+					throw error("field " + name + " of " + owner.getName() + " is not accessible");
+				}
+			}
+			if (isStatic) {
+				Class<?> nested = c.load(owner.getName() + "$" + name);
+				if (nested != null)
+					return new ClassRef(nested);
+			}
+			throw error("no field " + name + " in " + owner.getName());
+		}
+	}
+}
@@ -0,0 +1,241 @@
+package fr.sorbonne_u.treatements;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import fr.sorbonne_u.components.interfaces.OfferedCI;
+import fr.sorbonne_u.interfaces.PlanningEquipmentControlCI;
+import fr.sorbonne_u.interfaces.StandardEquipmentControlCI;
+import fr.sorbonne_u.interfaces.SuspensionEquipmentControlCI;
+import javassist.CtClass;
+
+/**
+ * The class <code>BodyCompilerUnitTester</code> checks that the connectors
+ * interpreting the programs compiled by {@code BodyCompiler} behave as the
+ * connectors generated by javassist for each shipped adapter description.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * Both connectors of a description are connected to an equipment recording
+ * the calls it receives, which getters return the last value set or, for
+ * the boolean and enumerated properties, each of their initial values in
+ * turn. The methods of the control interface are then called in the same
+ * order on both connectors, and the results, the exceptions and the calls
+ * received by the equipments must be the same.
+ * </p>
+ *
+ * <p>Created on : 2026-10-17</p>
+ *
+ * @author	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+ */
+public class BodyCompilerUnitTester {
+
+	protected static final String ADAPTERS = "src/fr/sorbonne_u/xml";
+	protected static final String PACKAGE = "fr.sorbonne_u.hem.generated";
+	// arguments of the calls to the methods of the control interfaces.
+	protected static final Object[] INT_ARGUMENTS = {0, 1, 2, 3};
+	protected static final Object[] DURATION_ARGUMENTS = {Duration.ofMinutes(30)};
+
+	protected static int generated;
+
+	// equipment recording its calls, which properties are set by its setters.
+	protected static class Recorder implements InvocationHandler {
+		protected final Map<String,Object> properties;
+		protected final List<String> calls = new ArrayList<>();
+
+		protected Recorder(Map<String,Object> properties) {
+			this.properties = new HashMap<>(properties);
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method m, Object[] args) throws Throwable {
+			if (m.getDeclaringClass() == Object.class)
+				return m.getName().equals("equals") ? proxy == args[0] :
+					   m.getName().equals("hashCode") ? System.identityHashCode(proxy) :
+					   "Recorder" + this.properties;
+			if (m.isDefault())
+				return InvocationHandler.invokeDefault(proxy, m, args);
+			this.calls.add(m.getName() + (args == null ? "[]" : Arrays.toString(args)));
+			String n = m.getName();
+			if (n.startsWith("set") && args != null && args.length == 1) {
+				this.properties.put(n.substring(3), args[0]);
+				return null;
+			}
+			String p = property(m);
+			if (p != null && this.properties.containsKey(p))
+				return this.properties.get(p);
+			return BodyCompiler.defaultValue(m.getReturnType());
+		}
+	}
+
+	// return the property read by the getter m, null if it is not a getter.
+	protected static String property(Method m) {
+		if (m.getParameterCount() != 0)
+			return null;
+		if (m.getName().startsWith("get"))
+			return m.getName().substring(3);
+		if (m.getName().startsWith("is"))
+			return m.getName().substring(2);
+		return null;
+	}
+
+	// return the initial properties of the equipment to try, which give
+	// each boolean and enumerated property each of its values.
+	protected static List<Map<String,Object>> initialStates(Class<?> offered) {
+		List<Map<String,Object>> states = new ArrayList<>();
+		states.add(new HashMap<>());
+		for (Method m : offered.getMethods()) {
+			String p = property(m);
+			Object[] values = m.getReturnType() == boolean.class ? new Object[]{false, true} :
+							  m.getReturnType().isEnum() ? m.getReturnType().getEnumConstants() :
+							  null;
+			if (p == null || values == null)
+				continue;
+			List<Map<String,Object>> product = new ArrayList<>();
+			for (Map<String,Object> s : states) {
+				for (Object v : values) {
+					Map<String,Object> t = new HashMap<>(s);
+					t.put(p, v);
+					product.add(t);
+				}
+			}
+			states = product;
+		}
+		return states;
+	}
+
+	protected static Class<?> controlInterface(String type) {
+		switch (type) {
+		case "suspension":
+			return SuspensionEquipmentControlCI.class;
+		case "planning":
+			return PlanningEquipmentControlCI.class;
+		default:
+			return StandardEquipmentControlCI.class;
+		}
+	}
+
+	// class loader of the classes generated by javassist.
+	protected static class Loader extends ClassLoader {
+		protected Loader() {
+			super(BodyCompilerUnitTester.class.getClassLoader());
+		}
+
+		protected Class<?> define(String name, byte[] bytecode) {
+			return defineClass(name, bytecode, 0, bytecode.length);
+		}
+	}
+
+	// make the connector class of a description with javassist.
+	protected static Class<?> javassist(XML x, Class<?> controlInterface) throws Exception {
+		String name = PACKAGE + ".BodyCompilerTest_" + (++generated);
+		CtClass c = ConnectorGenerator.makeConnectorCtClass(name, AdapterConnector.class,
+				controlInterface, Class.forName(x.getOffered()), x.getMethods(),
+				x.getParametersOfOperations(), x.getAttributes(), x.getPackages());
+		byte[] bytecode = c.toBytecode();
+		c.detach();
+		return new Loader().define(name, bytecode);
+	}
+
+	// return the outcome of a call, its result or the class of its exception.
+	protected static String outcome(Object connector, Method m, Object[] args) {
+		try {
+			return String.valueOf(m.invoke(connector, args));
+		} catch (InvocationTargetException e) {
+			return "throws " + e.getCause().getClass().getName();
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	// call the methods of the control interface on the connector and return
+	// the outcomes of the calls followed by the calls of the equipment.
+	protected static List<String> exercise(Object connector, Class<?> controlInterface,
+			Recorder equipment) {
+		Method[] methods = controlInterface.getMethods();
+		Arrays.sort(methods, Comparator.comparing(Method::toGenericString));
+		List<String> outcomes = new ArrayList<>();
+		// twice, so that the second round starts from the state left by the first
+		for (int round = 0; round < 2; round++) {
+			for (Method m : methods) {
+				Object[][] calls;
+				if (m.getParameterCount() == 0)
+					calls = new Object[][]{{}};
+				else if (Arrays.equals(m.getParameterTypes(), new Class<?>[]{int.class}))
+					calls = Arrays.stream(INT_ARGUMENTS).map(a -> new Object[]{a})
+								  .toArray(Object[][]::new);
+				else if (Arrays.equals(m.getParameterTypes(), new Class<?>[]{Duration.class}))
+					calls = Arrays.stream(DURATION_ARGUMENTS).map(a -> new Object[]{a})
+								  .toArray(Object[][]::new);
+				else
+					continue;
+				for (Object[] args : calls)
+					outcomes.add(m.getName() + Arrays.toString(args) + " -> " +
+								 outcome(connector, m, args));
+			}
+		}
+		outcomes.addAll(equipment.calls);
+		return outcomes;
+	}
+
+	// check the connectors of the description against each other.
+	protected static void check(Path file) throws Exception {
+		XML x = StreamParseXML.getXmlElements(Files.readAllBytes(file));
+		Class<?> offered = Class.forName(x.getOffered());
+		Class<?> controlInterface = controlInterface(x.getType());
+		Class<?> generatedClass = javassist(x, controlInterface);
+		AdapterProgram program = AdapterProgram.compile(x, controlInterface);
+		for (Map<String,Object> state : initialStates(offered)) {
+			Recorder generatedEquipment = new Recorder(state);
+			AdapterConnector generatedConnector =
+				(AdapterConnector) generatedClass.getDeclaredConstructor().newInstance();
+			generatedConnector.connect(
+				(OfferedCI) Proxy.newProxyInstance(
+					offered.getClassLoader(), new Class<?>[]{offered}, generatedEquipment),
+				new ConnectorBackendBenchmark.FakePort(null));
+			Recorder interpretedEquipment = new Recorder(state);
+			InterpretedConnector interpretedConnector =
+				InterpretedConnector.forInterface(controlInterface)
+									.getDeclaredConstructor().newInstance();
+			interpretedConnector.connect(
+				(OfferedCI) Proxy.newProxyInstance(
+					offered.getClassLoader(), new Class<?>[]{offered}, interpretedEquipment),
+				new ConnectorBackendBenchmark.FakePort(program));
+			assertEquals(exercise(generatedConnector, controlInterface, generatedEquipment),
+						 exercise(interpretedConnector, controlInterface, interpretedEquipment),
+						 file.getFileName() + " from " + state);
+		}
+	}
+
+	@Test
+	public void shippedAdapters() throws Exception {
+		ConnectorGenerator.setTrace(false);
+		List<Path> files = new ArrayList<>();
+		try (DirectoryStream<Path> ds = Files.newDirectoryStream(Paths.get(ADAPTERS), "*.xml")) {
+			for (Path f : ds)
+				files.add(f);
+		}
+		assertFalse(files.isEmpty(), "no adapter description in " + ADAPTERS);
+		for (Path f : files)
+			check(f);
+	}
+}
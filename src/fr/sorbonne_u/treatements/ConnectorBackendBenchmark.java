@@ -0,0 +1,239 @@
+package fr.sorbonne_u.treatements;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+
+import fr.sorbonne_u.components.connectors.AbstractConnector;
+import fr.sorbonne_u.components.interfaces.RequiredCI;
+import fr.sorbonne_u.components.waterHeater.WaterHeaterCI;
+import fr.sorbonne_u.interfaces.EquipmentSnapshot;
+import fr.sorbonne_u.interfaces.SuspensionEquipmentControlCI;
+import javassist.CtClass;
+
+/**
+ * The class <code>ConnectorBackendBenchmark</code> compares the connectors
+ * generated by javassist with the interpreted connectors executing an
+ * {@code AdapterProgram}.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * The benchmark uses copies of the water heater adapter description which
+ * differ by their uid, so that each one needs its own connector, and
+ * measures for both backends: the mean time to make the connector of a
+ * description from its content, the mean latency of the calls to a
+ * connector connected to an in-memory water heater, and the metaspace used
+ * by the connectors of {@code ADAPTERS} descriptions, then after they are
+ * released. The classes generated by javassist are defined in a class
+ * loader of their own, so that they can be unloaded; the HEM defines them
+ * in its own class loader, where they are never unloaded.
+ * </p>
+ *
+ * <p>Created on : 2026-10-17</p>
+ *
+ * @author	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+ */
+public class ConnectorBackendBenchmark {
+
+	protected static final String ADAPTER = "src/fr/sorbonne_u/xml/waterHeater.xml";
+	protected static final String PACKAGE = "fr.sorbonne_u.hem.generated";
+	protected static final int ADAPTERS = 200;
+	protected static final int WARM_UP_CALLS = 200000;
+	protected static final int MEASURED_CALLS = 1000000;
+
+	protected static int generated;
+
+	// in-memory water heater.
+	public static class FakeWaterHeater implements WaterHeaterCI {
+		protected boolean running;
+		protected int level = 1;
+		protected double target = 50.0;
+
+		@Override
+		public boolean isRunning() {
+			return running;
+		}
+
+		@Override
+		public void startWaterHeater() {
+			running = true;
+		}
+
+		@Override
+		public void stopWaterHeater() {
+			running = false;
+		}
+
+		@Override
+		public void setTargetTemperature(double target) {
+			this.target = target;
+		}
+
+		@Override
+		public double getTargetTemperature() {
+			return target;
+		}
+
+		@Override
+		public double getCurrentTemperature() {
+			return 45.0;
+		}
+
+		@Override
+		public int getPowerLevel() {
+			return level;
+		}
+
+		@Override
+		public void setPowerLevel(int level) {
+			this.level = level;
+		}
+
+		@Override
+		public EquipmentSnapshot readSnapshot(boolean suspended) {
+			return new EquipmentSnapshot(suspended || running, level, MAX_POWER_LEVEL, suspended,
+					Math.min(1.0, Math.abs(target - getCurrentTemperature())/10.0));
+		}
+	}
+
+	// requiring end giving its program to the interpreted connectors.
+	public static class FakePort implements RequiredCI, AdapterProgram.Holder {
+		private static final long serialVersionUID = 1L;
+		protected final AdapterProgram program;
+
+		public FakePort(AdapterProgram program) {
+			this.program = program;
+		}
+
+		@Override
+		public AdapterProgram getAdapterProgram() {
+			return program;
+		}
+	}
+
+	// class loader of the classes generated by javassist.
+	protected static class Loader extends ClassLoader {
+		protected Loader() {
+			super(ConnectorBackendBenchmark.class.getClassLoader());
+		}
+
+		protected Class<?> define(String name, byte[] bytecode) {
+			return defineClass(name, bytecode, 0, bytecode.length);
+		}
+	}
+
+	// return the content of the description with the given uid.
+	protected static byte[] variant(String content, int i) {
+		return content.replaceFirst("uid=\"[^\"]*\"", "uid=\"BENCH-" + i + "\"")
+					  .getBytes(StandardCharsets.UTF_8);
+	}
+
+	// make the connector class of a description with javassist.
+	protected static Class<?> javassist(byte[] content, Loader loader) throws Exception {
+		XML x = StreamParseXML.getXmlElements(content);
+		String name = PACKAGE + ".Bench_" + (++generated);
+		CtClass c = ConnectorGenerator.makeConnectorCtClass(name, AbstractConnector.class,
+				SuspensionEquipmentControlCI.class, Class.forName(x.getOffered()),
+				x.getMethods(), x.getParametersOfOperations(), x.getAttributes(), x.getPackages());
+		byte[] bytecode = c.toBytecode();
+		c.detach();
+		return loader.define(name, bytecode);
+	}
+
+	// compile the program of a description.
+	protected static AdapterProgram handles(byte[] content) throws Exception {
+		return AdapterProgram.compile(StreamParseXML.getXmlElements(content),
+									  SuspensionEquipmentControlCI.class);
+	}
+
+	// return the mean latency in nanoseconds of the calls to the connector.
+	protected static double calls(SuspensionEquipmentControlCI c, int n) throws Exception {
+		long start = System.nanoTime();
+		for (int i = 0; i < n; i++) {
+			switch (i & 3) {
+			case 0: c.upMode(); break;
+			case 1: c.downMode(); break;
+			case 2: c.emergency(); break;
+			default: c.snapshot();
+			}
+		}
+		return (System.nanoTime() - start) / (double) n;
+	}
+
+	protected static long metaspace() {
+		System.gc();
+		System.gc();
+		long used = 0;
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+			if (pool.getName().contains("Metaspace") || pool.getName().contains("Class Space"))
+				used += pool.getUsage().getUsed();
+		return used;
+	}
+
+	public static void main(String[] args) throws Exception {
+		ConnectorGenerator.setTrace(false);
+		String content = new String(Files.readAllBytes(Paths.get(ADAPTER)), StandardCharsets.UTF_8);
+		ArrayList<byte[]> variants = new ArrayList<>();
+		for (int i = 0; i < 2*ADAPTERS; i++)
+			variants.add(variant(content, i));
+
+		// registration time, the first half of the variants warming up
+		Loader loader = new Loader();
+		for (int i = 0; i < ADAPTERS; i++) {
+			javassist(variants.get(i), loader);
+			handles(variants.get(i));
+		}
+		long start = System.nanoTime();
+		for (int i = ADAPTERS; i < 2*ADAPTERS; i++)
+			javassist(variants.get(i), loader);
+		double javassistMaking = (System.nanoTime() - start) / 1000.0 / ADAPTERS;
+		start = System.nanoTime();
+		for (int i = ADAPTERS; i < 2*ADAPTERS; i++)
+			handles(variants.get(i));
+		double handlesMaking = (System.nanoTime() - start) / 1000.0 / ADAPTERS;
+		System.out.printf("making a connector: javassist = %.1f us, handles = %.1f us%n",
+						  javassistMaking, handlesMaking);
+		loader = null;
+
+		// latency of the calls
+		SuspensionEquipmentControlCI generatedConnector = (SuspensionEquipmentControlCI)
+				javassist(variants.get(0), new Loader()).getDeclaredConstructor().newInstance();
+		((AbstractConnector) generatedConnector).connect(new FakeWaterHeater(), new FakePort(null));
+		AdapterProgram program = handles(variants.get(0));
+		InterpretedSuspensionConnector interpretedConnector = new InterpretedSuspensionConnector();
+		FakeWaterHeater heater = new FakeWaterHeater();
+		interpretedConnector.connect(heater, new FakePort(program));
+		generatedConnector.switchOn();
+		interpretedConnector.switchOn();
+		calls(generatedConnector, WARM_UP_CALLS);
+		calls(interpretedConnector, WARM_UP_CALLS);
+		System.out.printf("call latency: javassist = %.1f ns, handles = %.1f ns%n",
+						  calls(generatedConnector, MEASURED_CALLS),
+						  calls(interpretedConnector, MEASURED_CALLS));
+
+		// metaspace
+		long before = metaspace();
+		ArrayList<Object> kept = new ArrayList<>();
+		loader = new Loader();
+		for (int i = 0; i < ADAPTERS; i++)
+			kept.add(javassist(variants.get(i), loader));
+		long javassistUsed = metaspace() - before;
+		kept.clear();
+		loader = null;
+		long javassistRetained = metaspace() - before;
+		before = metaspace();
+		for (int i = 0; i < ADAPTERS; i++)
+			kept.add(handles(variants.get(i)));
+		long handlesUsed = metaspace() - before;
+		kept.clear();
+		long handlesRetained = metaspace() - before;
+		System.out.printf("metaspace for %d connectors: javassist = %d KB (%d KB after release), " +
+						  "handles = %d KB (%d KB after release)%n", ADAPTERS,
+						  javassistUsed/1024, javassistRetained/1024,
+						  handlesUsed/1024, handlesRetained/1024);
+	}
+}
@@ -0,0 +1,640 @@
+package fr.sorbonne_u.treatements;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import javassist.CtClass;
+
+/**
+ * The class <code>ConnectorCache</code> caches the connector classes
+ * generated from control adapter descriptions, keyed by a hash of what
+ * the generation depends on in the description.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * A connector class is entirely defined by its generation key, the hash
+ * of the parts of its adapter description it is generated from: the
+ * offered interface, the type of control giving the implemented control
+ * interface, the operations with their parameters and bodies, the instance
+ * variables and the required packages (see {@code generationKey}). The
+ * identifier of the equipment, its consumption and the layout of the file
+ * are not part of it, so that the equipments of a fleet of identical
+ * appliances, which descriptions only differ by their identifier, share
+ * one connector class. Registering an equipment which adapter description
+ * has the same content as an already registered one only reads and hashes
+ * the description and returns the already parsed description and its
+ * class; another description is parsed once and gets the class of its
+ * generation key, which is generated, with a fresh unique name since
+ * javassist cannot define twice a class with the same name, only the first
+ * time the key is seen.
+ * </p>
+ * <p>
+ * Before generating a class, the cache looks for a connector precompiled
+ * by {@code ConnectorPrecompiler} in the manifest {@code MANIFEST} found on
+ * the class path: a precompiled connector is used for an equipment when
+ * the manifest lists it, or another equipment, with the same generation key
+ * and the signature of the same offered and control interfaces, so that javassist
+ * is only used for the unknown or modified descriptions and interfaces.
+ * </p>
+ * <p>
+ * With the backend {@code Backend.METHOD_HANDLES}, the descriptions which
+ * are not precompiled are compiled into an {@code AdapterProgram} executed
+ * by an {@code InterpretedConnector} instead of a generated class; the
+ * descriptions using constructs the interpreter does not support are still
+ * generated by javassist.
+ * </p>
+ * <p>
+ * Once {@code persistIn} has been called, the classes generated by
+ * javassist are also written to a directory, in files named after the
+ * generation key of their description and the hash of the signatures of
+ * the interfaces they are compiled against and of the classes of the
+ * generator and of the parsers. On later starts, the class of a description
+ * which generation key, interfaces, generator and parsers did not change is
+ * read from the directory and defined without javassist.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ *
+ * <pre>
+ * invariant	true
+ * </pre>
+ *
+ * <p>Created on : 2026-10-17</p>
+ *
+ * @author	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+ */
+public class ConnectorCache {
+
+	/**
+	 * The class <code>Entry</code> gathers a parsed adapter description and
+	 * the connector class generated from it.
+	 */
+	public static class Entry {
+		protected final XML adapter;
+		protected final Class<?> connectorClass;
+		protected final AdapterProgram program;
+
+		protected Entry(XML adapter, Class<?> connectorClass) {
+			this(adapter, connectorClass, null);
+		}
+
+		protected Entry(XML adapter, Class<?> connectorClass, AdapterProgram program) {
+			this.adapter = adapter;
+			this.connectorClass = connectorClass;
+			this.program = program;
+		}
+
+		public XML getAdapter() {
+			return adapter;
+		}
+
+		public Class<?> getConnectorClass() {
+			return connectorClass;
+		}
+
+		// program of the interpreted connector, null for a generated class.
+		public AdapterProgram getProgram() {
+			return program;
+		}
+	}
+
+	/**
+	 * The enumeration <code>Backend</code> lists the ways of making the
+	 * connectors of the descriptions which are not precompiled.
+	 */
+	public static enum Backend {
+		// a class generated by javassist for each description
+		JAVASSIST,
+		// an interpreted connector executing the compiled description
+		METHOD_HANDLES
+	}
+
+	// number of classes generated by all the caches, used to give each of
+	// them a unique name even when several caches share the class pool.
+	protected static final AtomicInteger GENERATED = new AtomicInteger();
+	// lock of the generations, shared by the caches as the class pool is.
+	protected static final Object GENERATION_LOCK = new Object();
+	// classes which turn a description into a connector class, the parsers
+	// and their model included, as a change of the way they read the
+	// descriptions changes the generated classes too.
+	protected static final Class<?>[] GENERATOR_CLASSES = {
+		ConnectorGenerator.class, ParseXML.class, StreamParseXML.class,
+		XML.class, Attribute.class
+	};
+	// version of the persisted classes, the hash of the classes of the
+	// generator and of the parsers, so that the classes generated by another
+	// version of them are not used.
+	protected static final String PERSISTENCE_VERSION = generatorVersion();
+	// resource listing the precompiled connector classes, mapping the
+	// identifier of each equipment to the generation key of its adapter
+	// description, the signature of its interfaces and the name of its
+	// connector class, separated by spaces.
+	public static final String MANIFEST = "META-INF/connectors.properties";
+
+	protected final String packageName;
+	protected final Class<?> connectorSuperclass;
+	protected final Function<String,Class<?>> controlInterfaces;
+	protected final Backend backend;
+	// entries by hash of the content of their description, completed once made
+	protected final ConcurrentHashMap<String,CompletableFuture<Entry>> entries =
+													new ConcurrentHashMap<>();
+	// connectors by generation key, completed once made; their description
+	// is the first one seen with the key.
+	protected final ConcurrentHashMap<String,CompletableFuture<Entry>> connectors =
+													new ConcurrentHashMap<>();
+	protected final AtomicLong hits = new AtomicLong();
+	protected final AtomicLong misses = new AtomicLong();
+	protected final AtomicLong precompiledHits = new AtomicLong();
+	protected final AtomicLong interpreted = new AtomicLong();
+	protected final AtomicLong persistentHits = new AtomicLong();
+	// directory of the persisted classes, null if they are not persisted.
+	protected volatile Path directory;
+	// lookup defining the persisted classes in the package of the
+	// generated classes, where BCM finds them by name.
+	protected volatile MethodHandles.Lookup definer;
+	// precompiled connector classes found on the class path.
+	protected final Properties precompiled;
+	// receiver of the messages of the cache, none if null.
+	protected volatile Consumer<String> tracer;
+
+	/**
+	 * create a cache generating its connector classes in
+	 * {@code packageName}.
+	 *
+	 * @param packageName			package of the generated connector classes.
+	 * @param connectorSuperclass	superclass of the generated connector classes.
+	 * @param controlInterfaces		control interface implemented by the connectors for each type of control.
+	 */
+	public ConnectorCache(String packageName, Class<?> connectorSuperclass,
+			Function<String,Class<?>> controlInterfaces) {
+		this(packageName, connectorSuperclass, controlInterfaces, Backend.JAVASSIST);
+	}
+
+	/**
+	 * create a cache making the connectors of the descriptions which are not
+	 * precompiled with {@code backend}.
+	 *
+	 * @param packageName			package of the generated connector classes.
+	 * @param connectorSuperclass	superclass of the generated connector classes.
+	 * @param controlInterfaces		control interface implemented by the connectors for each type of control.
+	 * @param backend				way of making the connectors.
+	 */
+	public ConnectorCache(String packageName, Class<?> connectorSuperclass,
+			Function<String,Class<?>> controlInterfaces, Backend backend) {
+		this.packageName = packageName;
+		this.connectorSuperclass = connectorSuperclass;
+		this.controlInterfaces = controlInterfaces;
+		this.backend = backend;
+		this.precompiled = loadManifest();
+	}
+
+	/**
+	 * send the messages of the cache, such as the descriptions which the
+	 * backend {@code Backend.METHOD_HANDLES} leaves to javassist, to
+	 * {@code tracer}, or to no one if it is null.
+	 *
+	 * @param tracer	receiver of the messages of the cache or null.
+	 */
+	public void setTracer(Consumer<String> tracer) {
+		this.tracer = tracer;
+	}
+
+	// send message to the tracer, if any.
+	protected void trace(String message) {
+		Consumer<String> t = this.tracer;
+		if (t != null)
+			t.accept(message);
+	}
+
+	/**
+	 * persist the classes generated by javassist in {@code directory} and
+	 * define the ones found there with {@code definer} instead of generating
+	 * them again.
+	 *
+	 * @param directory		directory of the persisted classes, created if needed.
+	 * @param definer		lookup with package access in the package of the generated classes.
+	 * @throws IOException	if the directory cannot be created.
+	 */
+	public void persistIn(Path directory, MethodHandles.Lookup definer) throws IOException {
+		if (!definer.lookupClass().getPackageName().equals(this.packageName) ||
+				(definer.lookupModes() & MethodHandles.Lookup.PACKAGE) == 0)
+			throw new IllegalArgumentException("the lookup cannot define classes in " +
+											   this.packageName);
+		Files.createDirectories(directory);
+		this.definer = definer;
+		this.directory = directory;
+	}
+
+	// return the hash of what the generated class depends on besides the
+	// description: the generator, the superclass and the signatures of the
+	// offered and implemented interfaces.
+	protected String signature(Class<?> offered, Class<?> controlInterface) throws Exception {
+		return signature(this.connectorSuperclass, offered, controlInterface);
+	}
+
+	/**
+	 * return the hash of what a connector class generated with the superclass
+	 * {@code connectorSuperclass} depends on besides its adapter description:
+	 * the generator, the superclass and the signatures of the offered and
+	 * implemented interfaces.
+	 *
+	 * @param connectorSuperclass	superclass of the generated connector class.
+	 * @param offered				offered interface called by the connector.
+	 * @param controlInterface		control interface implemented by the connector.
+	 * @return						the hexadecimal signature of the connector class.
+	 * @throws Exception			<i>to do</i>.
+	 */
+	public static String signature(Class<?> connectorSuperclass, Class<?> offered,
+								   Class<?> controlInterface) throws Exception {
+		StringBuilder sb = new StringBuilder(PERSISTENCE_VERSION);
+		sb.append('\n').append(connectorSuperclass.getName());
+		for (Class<?> c : new Class<?>[]{offered, controlInterface}) {
+			ArrayList<String> methods = new ArrayList<>();
+			for (Method m : c.getMethods())
+				methods.add(m.toGenericString());
+			Collections.sort(methods);
+			sb.append('\n').append(c.getName());
+			for (String m : methods)
+				sb.append('\n').append(m);
+		}
+		return hash(sb.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	// return the connector class of the description which generation key is
+	// key, read from the persistent directory or generated and written there.
+	protected Class<?> persistent(String key, XML adapter, Class<?> controlInterface)
+	throws Exception {
+		Class<?> offered = Class.forName(adapter.getOffered());
+		String signature = this.signature(offered, controlInterface).substring(0, 16);
+		String className = this.packageName + ".Connector_" + key.substring(0, 16) +
+						   "_" + signature;
+		Path file = this.directory.resolve(key + "-" + signature + ".class");
+		ClassLoader loader = this.definer.lookupClass().getClassLoader();
+		try {
+			// already defined by another cache
+			Class<?> c = Class.forName(className, false, loader);
+			this.persistentHits.incrementAndGet();
+			return c;
+		} catch (ClassNotFoundException e) {
+			// defined below
+		}
+		if (Files.isRegularFile(file)) {
+			try {
+				Class<?> c = this.definer.defineClass(Files.readAllBytes(file));
+				if (c.getName().equals(className)) {
+					this.persistentHits.incrementAndGet();
+					return c;
+				}
+			} catch (IOException | LinkageError e) {
+				// an unreadable file is generated again
+			}
+			Files.deleteIfExists(file);
+		}
+		byte[] bytecode;
+		synchronized (GENERATION_LOCK) {
+			CtClass c = ConnectorGenerator.makeConnectorCtClass(className,
+					this.connectorSuperclass, controlInterface, offered,
+					adapter.getMethods(), adapter.getParametersOfOperations(),
+					adapter.getAttributes(), adapter.getPackages());
+			bytecode = c.toBytecode();
+			c.detach();
+		}
+		try {
+			// written atomically, so that a crash leaves no partial file
+			Path tmp = Files.createTempFile(this.directory, "connector", ".tmp");
+			Files.write(tmp, bytecode);
+			Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING,
+					   StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			// the class is generated again on the next start
+			e.printStackTrace();
+		}
+		return this.definer.defineClass(bytecode);
+	}
+
+	// return the manifest of the precompiled connector classes, empty if
+	// there is none on the class path.
+	protected static Properties loadManifest() {
+		Properties manifest = new Properties();
+		ClassLoader loader = Thread.currentThread().getContextClassLoader();
+		if (loader == null)
+			loader = ConnectorCache.class.getClassLoader();
+		try (InputStream in = loader.getResourceAsStream(MANIFEST)) {
+			if (in != null)
+				manifest.load(in);
+		} catch (IOException e) {
+			// the connectors are then all generated at run time
+			e.printStackTrace();
+		}
+		return manifest;
+	}
+
+	/**
+	 * return the connector class precompiled for the equipment of the
+	 * adapter description {@code adapter} which generation key is
+	 * {@code key} and which control interface is {@code controlInterface},
+	 * or for another equipment with the same generation key, or null if
+	 * there is none.
+	 *
+	 * @param adapter			adapter description of the equipment.
+	 * @param key				generation key of the adapter description.
+	 * @param controlInterface	control interface implemented by the connector.
+	 * @return					the precompiled connector class or null.
+	 * @throws Exception		<i>to do</i>.
+	 */
+	protected Class<?> loadPrecompiled(XML adapter, String key, Class<?> controlInterface)
+	throws Exception {
+		String entry = this.precompiled.getProperty(adapter.getUid());
+		String[] fields = entry == null ? null : entry.trim().split("\\s+");
+		if (fields == null || fields.length != 3 || !fields[0].equals(key)) {
+			// an equipment of a fleet may not be listed, and a description
+			// modified since its precompilation is generated again unless
+			// another one precompiled has the same key
+			fields = null;
+			for (Object v : this.precompiled.values()) {
+				String[] f = v.toString().trim().split("\\s+");
+				if (f.length == 3 && f[0].equals(key)) {
+					fields = f;
+					break;
+				}
+			}
+			if (fields == null)
+				return null;
+		}
+		// as are the connectors precompiled against other interfaces
+		Class<?> offered = Class.forName(adapter.getOffered());
+		if (!this.signature(offered, controlInterface).startsWith(fields[1]))
+			return null;
+		try {
+			return Class.forName(fields[2]);
+		} catch (ClassNotFoundException e) {
+			return null;
+		}
+	}
+
+	// return the hash of the class files of the generator and of the parsers
+	// or, if one cannot be read, a version of its own, so that no persisted
+	// class is reused.
+	protected static String generatorVersion() {
+		try {
+			ByteArrayOutputStream classFiles = new ByteArrayOutputStream();
+			for (Class<?> c : GENERATOR_CLASSES) {
+				try (InputStream in = c.getResourceAsStream(c.getSimpleName() + ".class")) {
+					if (in == null)
+						return UUID.randomUUID().toString();
+					classFiles.write(in.readAllBytes());
+				}
+			}
+			return hash(classFiles.toByteArray());
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+		return UUID.randomUUID().toString();
+	}
+
+	/**
+	 * return the name of the class generated from an adapter description
+	 * which generation key is {@code key} by {@code ConnectorPrecompiler}.
+	 *
+	 * @param packageName	package of the generated connector classes.
+	 * @param key			generation key of the adapter description.
+	 * @return				the name of the precompiled connector class.
+	 */
+	public static String precompiledClassName(String packageName, String key) {
+		return packageName + ".Connector_" + key.substring(0, 16);
+	}
+
+	/**
+	 * return the hexadecimal SHA-256 hash of {@code content}.
+	 *
+	 * @param content	content to be hashed.
+	 * @return			the hexadecimal hash of {@code content}.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	public static String hash(byte[] content) throws Exception {
+		byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+		StringBuilder sb = new StringBuilder(2*digest.length);
+		for (byte b : digest) {
+			sb.append(Character.forDigit((b >> 4) & 0xF, 16))
+			  .append(Character.forDigit(b & 0xF, 16));
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * return the generation key of {@code adapter}, the hash of the parts of
+	 * the description its connector class is generated from: the offered
+	 * interface, the type of control, the operations with their parameters
+	 * and bodies, the instance variables and the required packages; the
+	 * identifier and the consumption of the equipment are left out.
+	 *
+	 * @param adapter		parsed adapter description.
+	 * @return				the hexadecimal generation key of {@code adapter}.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	public static String generationKey(XML adapter) throws Exception {
+		StringBuilder sb = new StringBuilder();
+		// each value is prefixed by its length, so that no two different
+		// descriptions give the same text
+		appendField(sb, adapter.getOffered());
+		appendField(sb, adapter.getType());
+		ArrayList<String> operations = new ArrayList<>(adapter.getMethods().keySet());
+		Collections.sort(operations);
+		for (String o : operations) {
+			appendField(sb, o);
+			ArrayList<String> parameters = adapter.getParametersOfOperations().get(o);
+			if (parameters != null)
+				for (String p : parameters)
+					appendField(sb.append('('), p);
+			appendField(sb, adapter.getMethods().get(o));
+		}
+		for (Attribute a : adapter.getAttributes()) {
+			appendField(sb.append('@'), a.getType());
+			appendField(sb, a.getName());
+			appendField(sb, a.getValue());
+		}
+		for (String p : adapter.getPackages())
+			appendField(sb.append('+'), p);
+		return hash(sb.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	// append value, which may be null, to sb prefixed by its length.
+	protected static void appendField(StringBuilder sb, String value) {
+		if (value == null) {
+			sb.append("-1:");
+		} else {
+			sb.append(value.length()).append(':').append(value);
+		}
+	}
+
+	/**
+	 * return the parsed adapter description in the file {@code path} and the
+	 * connector class generated from it, generating it only if no
+	 * description with the same generation key has been seen before.
+	 *
+	 * @param path			path of the adapter description.
+	 * @return				the parsed description and its connector class.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	public Entry get(String path) throws Exception {
+		return this.get(Files.readAllBytes(Paths.get(path)));
+	}
+
+	/**
+	 * return the parsed adapter description {@code content} and the connector
+	 * class generated from it, generating it only if no description with the
+	 * same generation key has been seen before.
+	 *
+	 * <p>
+	 * The cache may be called from several threads: the descriptions with
+	 * different generation keys are parsed and compiled concurrently, only
+	 * the generation by javassist being serialised, while the callers asking
+	 * for a description or a connector being made wait for it instead of
+	 * making it again.
+	 * </p>
+	 *
+	 * @param content		content of the adapter description.
+	 * @return				the parsed description and its connector class.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	public Entry get(byte[] content) throws Exception {
+		return this.lookup(this.entries, hash(content), () -> this.make(content));
+	}
+
+	// return the entry of key in map, made by maker if there is none; the
+	// callers asking for an entry being made wait for it, and an entry which
+	// could not be made is removed, so that a later call may try again.
+	protected Entry lookup(ConcurrentHashMap<String,CompletableFuture<Entry>> map,
+			String key, Callable<Entry> maker) throws Exception {
+		CompletableFuture<Entry> f = map.get(key);
+		if (f == null) {
+			CompletableFuture<Entry> made = new CompletableFuture<>();
+			f = map.putIfAbsent(key, made);
+			if (f == null) {
+				try {
+					Entry e = maker.call();
+					made.complete(e);
+					return e;
+				} catch (Exception | Error x) {
+					map.remove(key, made);
+					made.completeExceptionally(x);
+					throw x;
+				}
+			}
+		}
+		this.hits.incrementAndGet();
+		try {
+			return f.get();
+		} catch (ExecutionException x) {
+			if (x.getCause() instanceof Exception)
+				throw (Exception) x.getCause();
+			throw x;
+		}
+	}
+
+	// make the entry of the description content, sharing the connector of
+	// the descriptions with the same generation key.
+	protected Entry make(byte[] content) throws Exception {
+		XML adapter = ParseXML.getXmlElements(content);
+		Class<?> controlInterface = this.controlInterfaces.apply(adapter.getType());
+		String key = generationKey(adapter);
+		Entry connector = this.lookup(this.connectors, key,
+									  () -> this.make(key, adapter, controlInterface));
+		return new Entry(adapter, connector.getConnectorClass(), connector.getProgram());
+	}
+
+	// make the connector of the description adapter which generation key is key.
+	protected Entry make(String key, XML adapter, Class<?> controlInterface)
+	throws Exception {
+		this.misses.incrementAndGet();
+		Class<?> connectorClass = this.loadPrecompiled(adapter, key, controlInterface);
+		if (connectorClass != null) {
+			this.precompiledHits.incrementAndGet();
+			return new Entry(adapter, connectorClass);
+		}
+		if (this.backend == Backend.METHOD_HANDLES) {
+			try {
+				AdapterProgram program = AdapterProgram.compile(adapter, controlInterface);
+				this.interpreted.incrementAndGet();
+				return new Entry(adapter, InterpretedConnector.forInterface(controlInterface),
+								 program);
+			} catch (IllegalArgumentException x) {
+				this.trace("adapter " + adapter.getUid() +
+						   " generated by javassist: " + x.getMessage());
+			}
+		}
+		if (this.directory != null) {
+			return new Entry(adapter, this.persistent(key, adapter, controlInterface));
+		}
+		// javassist and its default class pool are not thread safe
+		synchronized (GENERATION_LOCK) {
+			connectorClass =
+				ConnectorGenerator.makeConnectorClassJavassist(
+					this.packageName + ".Connector_" + key.substring(0, 16) +
+						"_" + GENERATED.incrementAndGet(),
+					this.connectorSuperclass,
+					controlInterface,
+					Class.forName(adapter.getOffered()),
+					adapter.getMethods(),
+					adapter.getParametersOfOperations(),
+					adapter.getAttributes(),
+					adapter.getPackages());
+		}
+		return new Entry(adapter, connectorClass);
+	}
+
+	public long getHits() {
+		return hits.get();
+	}
+
+	public long getMisses() {
+		return misses.get();
+	}
+
+	public long getPrecompiledHits() {
+		return precompiledHits.get();
+	}
+
+	public long getInterpreted() {
+		return interpreted.get();
+	}
+
+	public long getPersistentHits() {
+		return persistentHits.get();
+	}
+
+	public Backend getBackend() {
+		return backend;
+	}
+
+	@Override
+	public String toString() {
+		return "hits = " + this.getHits() + ", misses = " + this.getMisses() +
+			   " (precompiled = " + this.getPrecompiledHits() +
+			   ", interpreted = " + this.getInterpreted() +
+			   ", persisted = " + this.getPersistentHits() + ")" +
+			   ", classes = " + this.connectors.size();
+	}
+}
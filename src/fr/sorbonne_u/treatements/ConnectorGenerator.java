@@ -2,10 +2,12 @@ package fr.sorbonne_u.treatements;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 
 import fr.sorbonne_u.components.connectors.AbstractConnector;
 import fr.sorbonne_u.components.waterHeater.WaterHeaterCI;
+import fr.sorbonne_u.interfaces.EquipmentSnapshot;
 import fr.sorbonne_u.interfaces.SuspensionEquipmentControlCI;
 import javassist.CannotCompileException;
 import javassist.ClassPool;
@@ -17,9 +19,42 @@ import javassist.CtNewConstructor;
 
 public class ConnectorGenerator {
 
+	// print the generated sources, which slows down the registrations
+	public static final String TRACE_PROPERTY = "fr.sorbonne_u.traceConnectorGeneration";
+	protected static boolean trace = Boolean.getBoolean(TRACE_PROPERTY);
+
+	public static void setTrace(boolean trace) {
+		ConnectorGenerator.trace = trace;
+	}
+
 	public ConnectorGenerator() {
 		// TODO Auto-generated constructor stub
 	}
+
+	/**
+	 * return the body of the {@code snapshot} method used when the adapter
+	 * description does not provide one; it gathers the state through the
+	 * other generated methods, so that the controller still pays a single
+	 * call to the connector, but the connector makes one request of the
+	 * equipment per method, except for the mode and the emergency which
+	 * are not read when the equipment is off; a description which
+	 * equipment offers a bulk read should give a {@code snapshot} body
+	 * using it.
+	 *
+	 * @param connectorImplementedInterface	interface implemented by the generated connector.
+	 * @return								the source code of the body of {@code snapshot}.
+	 */
+	protected static String defaultSnapshotBody(Class<?> connectorImplementedInterface) {
+		String snapshot = EquipmentSnapshot.class.getCanonicalName();
+		if (SuspensionEquipmentControlCI.class.isAssignableFrom(connectorImplementedInterface)) {
+			return "boolean isOn = on();\n" +
+				   "return new " + snapshot + "(isOn, isOn ? currentMode() : 0, maxMode(), " +
+				   "suspended(), isOn ? emergency() : 0.0);";
+		} else {
+			return "boolean isOn = on();\n" +
+				   "return new " + snapshot + "(isOn, isOn ? currentMode() : 0, maxMode());";
+		}
+	}
 	
 	public static Class<?> makeConnectorClassJavassist(String connectorCanonicalClassName, 
 			Class<?> connectorSuperclass,
@@ -28,6 +63,26 @@ public class ConnectorGenerator {
 			HashMap<String,String> methodNamesMap,
 			HashMap<String, ArrayList<String>> parametres, ArrayList<Attribute> attributes,
 													   ArrayList<String> packages) throws Exception {
+		CtClass connectorCtClass = makeConnectorCtClass(connectorCanonicalClassName,
+				connectorSuperclass, connectorImplementedInterface, offeredInterface,
+				methodNamesMap, parametres, attributes, packages);
+		Class<?> ret = connectorCtClass.toClass() ;
+		connectorCtClass.detach() ;
+		return ret ;
+	}
+
+	/**
+	 * compile the connector class without loading it, so that it can also
+	 * be written to a class file ahead of time; the caller must detach the
+	 * returned class from the class pool once done with it.
+	 */
+	public static CtClass makeConnectorCtClass(String connectorCanonicalClassName, 
+			Class<?> connectorSuperclass,
+			Class<?> connectorImplementedInterface,
+			Class<?> offeredInterface,
+			HashMap<String,String> methodNamesMap,
+			HashMap<String, ArrayList<String>> parametres, ArrayList<Attribute> attributes,
+													   ArrayList<String> packages) throws Exception {
 		ClassPool pool = ClassPool.getDefault() ;
 		for(String packag : packages)
 			pool.importPackage(packag);
@@ -39,15 +94,17 @@ public class ConnectorGenerator {
 
 		for(Attribute attribute : attributes) {
 			String att = "protected "+attribute.getType()+" "+attribute.getName()+";";
-			System.out.println(att);
+			if (trace)
+				System.out.println(att);
 			CtField ct = CtField.make(att, connectorCtClass);
 			connectorCtClass.addField(ct);
 		}
 
 		String attIntialisation ="";
 		for(Attribute attribute : attributes) {
-			attIntialisation = attribute.getName()+" = "+attribute.getValue()+";";
-			System.out.println(attIntialisation);
+			attIntialisation += attribute.getName()+" = "+attribute.getValue()+";\n";
+			if (trace)
+				System.out.println(attIntialisation);
 		}
 
 		CtConstructor defaultConstructor = CtNewConstructor.make("public " + connectorCtClass.getSimpleName() + "() {\nsuper();\n" +
@@ -57,14 +114,19 @@ public class ConnectorGenerator {
 		
 		
 		/*------------------------Methodes----------------------------*/
-		System.out.println(connectorImplementedInterface.getMethods().length);
+		if (trace)
+			System.out.println(connectorImplementedInterface.getMethods().length);
 		Method[] methodsToImplement = connectorImplementedInterface.getMethods() ;
+		// snapshot is compiled last as its body may call the other methods
+		Arrays.sort(methodsToImplement,
+					(m1, m2) -> Boolean.compare(m1.getName().equals("snapshot"),
+												m2.getName().equals("snapshot")));
 		for (int i = 0 ; i < methodsToImplement.length ; i++) {
 			String source = "public " ;
 			source += methodsToImplement[i].getReturnType().getName() + " " ;
 			source += methodsToImplement[i].getName() + "(" ;
 			Class<?>[] pt = methodsToImplement[i].getParameterTypes() ;
-			if(methodsToImplement[i].getName()=="setMode")
+			if(trace && methodsToImplement[i].getName()=="setMode")
 			System.out.println( methodsToImplement[i].getParameters()[0].getAnnotatedType());
 			for (int j = 0 ; j < pt.length ; j++) {
 				String pName = parametres.get(methodsToImplement[i].getName()).get(j);
@@ -85,17 +147,20 @@ public class ConnectorGenerator {
 			}
 		}
 		source += "\n{" ;
-		source += methodNamesMap.get(methodsToImplement[i].getName())+"\n}";
-		System.out.println(source);
+		String body = methodNamesMap.get(methodsToImplement[i].getName());
+		if (body == null && methodsToImplement[i].getName().equals("snapshot")) {
+			body = defaultSnapshotBody(connectorImplementedInterface);
+		}
+		source += body+"\n}";
+		if (trace)
+			System.out.println(source);
 		CtMethod theCtMethod = CtMethod.make(source, connectorCtClass) ;
 		connectorCtClass.addMethod(theCtMethod) ;
 		//System.out.println("test");
 	}
 	connectorCtClass.setInterfaces(new CtClass[]{cii}) ;
 	cii.detach() ; cs.detach() ; oi.detach() ;
-	Class<?> ret = connectorCtClass.toClass() ;
-	connectorCtClass.detach() ;
-	return ret ;
+	return connectorCtClass ;
 	}
 	
 	public static Class generateClass(String className, String methodName, String methodBody)
@@ -0,0 +1,147 @@
+package fr.sorbonne_u.treatements;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import fr.sorbonne_u.components.interfaces.OfferedCI;
+import fr.sorbonne_u.components.interfaces.RequiredCI;
+import fr.sorbonne_u.interfaces.EquipmentSnapshot;
+import fr.sorbonne_u.interfaces.PlanningEquipmentControlCI;
+import fr.sorbonne_u.interfaces.StandardEquipmentControlCI;
+import fr.sorbonne_u.interfaces.SuspensionEquipmentControlCI;
+
+/**
+ * The class <code>InterpretedConnector</code> implements a standard control
+ * connector executing the operations of an {@code AdapterProgram}.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * BCM creates the connectors from their class name, so the interpreted
+ * connectors are ordinary classes, one per type of control, which get their
+ * program from the outbound port they connect, an
+ * {@code AdapterProgram.Holder}, and their own state of the instance
+ * variables of the description.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ *
+ * <pre>
+ * invariant	true
+ * </pre>
+ *
+ * <p>Created on : 2026-10-17</p>
+ *
+ * @author	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+ */
+public class InterpretedConnector extends AdapterConnector implements StandardEquipmentControlCI {
+
+	protected AdapterProgram program;
+	protected Object[] state;
+
+	/**
+	 * return the interpreted connector class implementing
+	 * {@code controlInterface}.
+	 *
+	 * @param controlInterface	control interface of the connectors.
+	 * @return					the interpreted connector class.
+	 */
+	public static Class<? extends InterpretedConnector> forInterface(Class<?> controlInterface) {
+		if (SuspensionEquipmentControlCI.class.equals(controlInterface))
+			return InterpretedSuspensionConnector.class;
+		if (PlanningEquipmentControlCI.class.equals(controlInterface))
+			return InterpretedPlanningConnector.class;
+		return InterpretedConnector.class;
+	}
+
+	@Override
+	public void connect(OfferedCI offering, RequiredCI requiring) throws Exception {
+		if (!(requiring instanceof AdapterProgram.Holder) ||
+				((AdapterProgram.Holder) requiring).getAdapterProgram() == null)
+			throw new Exception("the port " + requiring + " gives no adapter program");
+		AdapterProgram p = ((AdapterProgram.Holder) requiring).getAdapterProgram();
+		if (!p.getControlInterface().isAssignableFrom(this.getClass()))
+			throw new Exception("the adapter program implements " +
+								p.getControlInterface().getName());
+		this.program = p;
+		this.state = p.newState();
+		super.connect(offering, requiring);
+	}
+
+	// the instance variables are in the state rather than in fields.
+	@Override
+	public Map<String,Object> exportState() {
+		LinkedHashMap<String,Object> s = new LinkedHashMap<>();
+		for (int i = 0; i < this.state.length; i++)
+			s.put(this.program.fieldNames[i], this.state[i]);
+		return s;
+	}
+
+	@Override
+	public List<String> importState(Map<String,Object> s) {
+		ArrayList<String> set = new ArrayList<>();
+		for (int i = 0; i < this.state.length; i++) {
+			String name = this.program.fieldNames[i];
+			if (s.containsKey(name) && assignable(this.program.fieldTypes[i], s.get(name))) {
+				this.state[i] = s.get(name);
+				set.add(name);
+			}
+		}
+		return set;
+	}
+
+	protected Object call(String name, Object... arguments) throws Exception {
+		return this.program.invoke(name, this.offering, this.state, arguments);
+	}
+
+	@Override
+	public boolean on() throws Exception {
+		return (Boolean) this.call("on");
+	}
+
+	@Override
+	public boolean switchOn() throws Exception {
+		return (Boolean) this.call("switchOn");
+	}
+
+	@Override
+	public boolean switchOff() throws Exception {
+		return (Boolean) this.call("switchOff");
+	}
+
+	@Override
+	public int maxMode() throws Exception {
+		return (Integer) this.call("maxMode");
+	}
+
+	@Override
+	public boolean upMode() throws Exception {
+		return (Boolean) this.call("upMode");
+	}
+
+	@Override
+	public boolean downMode() throws Exception {
+		return (Boolean) this.call("downMode");
+	}
+
+	@Override
+	public boolean setMode(int modeIndex) throws Exception {
+		return (Boolean) this.call("setMode", modeIndex);
+	}
+
+	@Override
+	public int currentMode() throws Exception {
+		return (Integer) this.call("currentMode");
+	}
+
+	@Override
+	public EquipmentSnapshot snapshot() throws Exception {
+		if (this.program.has("snapshot"))
+			return (EquipmentSnapshot) this.call("snapshot");
+		// the mode of an equipment which is off is not read
+		boolean on = this.on();
+		return new EquipmentSnapshot(on, on ? this.currentMode() : 0, this.maxMode());
+	}
+}
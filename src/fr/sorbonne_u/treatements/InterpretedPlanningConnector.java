@@ -0,0 +1,48 @@
+package fr.sorbonne_u.treatements;
+
+import java.time.Duration;
+import java.time.LocalTime;
+
+import fr.sorbonne_u.interfaces.PlanningEquipmentControlCI;
+
+/**
+ * The class <code>InterpretedPlanningConnector</code> implements a planning
+ * control connector executing the operations of an {@code AdapterProgram}.
+ *
+ * <p>Created on : 2026-10-17</p>
+ *
+ * @author	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+ */
+public class InterpretedPlanningConnector extends InterpretedConnector
+implements PlanningEquipmentControlCI {
+
+	@Override
+	public boolean hasPlan() throws Exception {
+		return (Boolean) this.call("hasPlan");
+	}
+
+	@Override
+	public LocalTime startTime() throws Exception {
+		return (LocalTime) this.call("startTime");
+	}
+
+	@Override
+	public Duration duration() throws Exception {
+		return (Duration) this.call("duration");
+	}
+
+	@Override
+	public LocalTime deadline() throws Exception {
+		return (LocalTime) this.call("deadline");
+	}
+
+	@Override
+	public boolean postpone(Duration d) throws Exception {
+		return (Boolean) this.call("postpone", d);
+	}
+
+	@Override
+	public boolean cancel() throws Exception {
+		return (Boolean) this.call("cancel");
+	}
+}
@@ -0,0 +1,47 @@
+package fr.sorbonne_u.treatements;
+
+import fr.sorbonne_u.interfaces.EquipmentSnapshot;
+import fr.sorbonne_u.interfaces.SuspensionEquipmentControlCI;
+
+/**
+ * The class <code>InterpretedSuspensionConnector</code> implements a
+ * suspension control connector executing the operations of an
+ * {@code AdapterProgram}.
+ *
+ * <p>Created on : 2026-10-17</p>
+ *
+ * @author	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+ */
+public class InterpretedSuspensionConnector extends InterpretedConnector
+implements SuspensionEquipmentControlCI {
+
+	@Override
+	public double emergency() throws Exception {
+		return (Double) this.call("emergency");
+	}
+
+	@Override
+	public boolean suspended() throws Exception {
+		return (Boolean) this.call("suspended");
+	}
+
+	@Override
+	public boolean suspend() throws Exception {
+		return (Boolean) this.call("suspend");
+	}
+
+	@Override
+	public boolean resume() throws Exception {
+		return (Boolean) this.call("resume");
+	}
+
+	@Override
+	public EquipmentSnapshot snapshot() throws Exception {
+		if (this.program.has("snapshot"))
+			return (EquipmentSnapshot) this.call("snapshot");
+		// the mode and the emergency of an equipment which is off are not read
+		boolean on = this.on();
+		return new EquipmentSnapshot(on, on ? this.currentMode() : 0, this.maxMode(),
+									 this.suspended(), on ? this.emergency() : 0.0);
+	}
+}
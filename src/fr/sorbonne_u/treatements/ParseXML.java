@@ -5,14 +5,6 @@ import java.util.ArrayList;
 import java.util.HashMap;
 
 import org.w3c.dom.*;
-import org.xml.sax.SAXException;
-
-import javax.xml.XMLConstants;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import java.io.File;
-import java.io.IOException;
 
 
 public class ParseXML {
@@ -89,6 +81,7 @@ public class ParseXML {
 		methods.putAll(getStandardOperations(doc, "on", canonicalRef));
 		methods.putAll(getStandardOperations(doc, "switchOn", canonicalRef));
 		methods.putAll(getStandardOperations(doc, "switchOff", canonicalRef));
+		methods.putAll(getStandardOperations(doc, "snapshot", canonicalRef));
 		return methods;
 	}
 
@@ -163,11 +156,11 @@ public class ParseXML {
 		ArrayList<Attribute> attributes = new ArrayList<>();
 		doc.getDocumentElement().normalize();
 		NodeList on = doc.getElementsByTagName("instance-var");
-		if(on.getLength()>0)
+		for(int i = 0; i < on.getLength(); i++)
 		{
-			Node name = on.item(0).getAttributes().getNamedItem("name");
-			Node type = on.item(0).getAttributes().getNamedItem("type");
-			Node value = on.item(0).getAttributes().getNamedItem("static-init");
+			Node name = on.item(i).getAttributes().getNamedItem("name");
+			Node type = on.item(i).getAttributes().getNamedItem("type");
+			Node value = on.item(i).getAttributes().getNamedItem("static-init");
 			if(name!=null && type!=null && value!=null)
 			{
 				attributes.add(new Attribute(type.getNodeValue(), name.getNodeValue(), value.getNodeValue()));
@@ -176,6 +169,18 @@ public class ParseXML {
 		return attributes;
 	}
 
+	public static double getNominalConsumption(Document doc)
+	{
+		NodeList consumption = doc.getElementsByTagName("consumption");
+		if(consumption.getLength()>0)
+		{
+			Node nominal = consumption.item(0).getAttributes().getNamedItem("nominal");
+			if(nominal!=null)
+				return Double.parseDouble(nominal.getNodeValue());
+		}
+		return 0.0;
+	}
+
 	public static String  getRef(Document doc){
 		NodeList parameters = doc.getElementsByTagName("body");
 		int i = 0;
@@ -205,32 +210,55 @@ public class ParseXML {
 		return packages;
 	}
 
+	// the descriptions are parsed in one forward scan, without DOM (see
+	// StreamParseXML); getXmlElements(Document) remains for the callers
+	// which already have a DOM.
 	public static XML getXmlElements(String fileName)
 	{
-		XML xmlElements = new XML();
-		DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
 		try {
-			dbf.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
-			DocumentBuilder db = dbf.newDocumentBuilder();
-			Document doc = db.parse(new File(fileName));
-			xmlElements.setMethods(getMethods(doc));
-			xmlElements.setParametersOfOperations(getParameters(doc));
-			xmlElements.setAttributes(getAttributes(doc));
-			xmlElements.setPackages(getPackages(doc));
-			xmlElements.setRef(getRef(doc));
-			NodeList control = doc.getElementsByTagName("control-adapter");
-			String type = "";
-			String offered = "";
-			if(control.getLength()>0)
-			{
-				type = control.item(0).getAttributes().getNamedItem("type").getNodeValue();
-				offered = control.item(0).getAttributes().getNamedItem("offered").getNodeValue();
-			}
-			xmlElements.setType(type);
-			xmlElements.setOffered(offered);
-		} catch (ParserConfigurationException | SAXException | IOException e) {
+			return StreamParseXML.getXmlElements(fileName);
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+		return new XML();
+	}
+
+	// parse an adapter description already read, e.g. to hash its content
+	// before parsing it.
+	public static XML getXmlElements(byte[] content)
+	{
+		try {
+			return StreamParseXML.getXmlElements(content);
+		} catch (Exception e) {
 			e.printStackTrace();
 		}
+		return new XML();
+	}
+
+	public static XML getXmlElements(Document doc)
+	{
+		XML xmlElements = new XML();
+		xmlElements.setMethods(getMethods(doc));
+		xmlElements.setParametersOfOperations(getParameters(doc));
+		xmlElements.setAttributes(getAttributes(doc));
+		xmlElements.setPackages(getPackages(doc));
+		xmlElements.setRef(getRef(doc));
+		xmlElements.setNominalConsumption(getNominalConsumption(doc));
+		NodeList control = doc.getElementsByTagName("control-adapter");
+		String type = "";
+		String offered = "";
+		String uid = "";
+		if(control.getLength()>0)
+		{
+			type = control.item(0).getAttributes().getNamedItem("type").getNodeValue();
+			offered = control.item(0).getAttributes().getNamedItem("offered").getNodeValue();
+			Node uidNode = control.item(0).getAttributes().getNamedItem("uid");
+			if(uidNode!=null)
+				uid = uidNode.getNodeValue();
+		}
+		xmlElements.setType(type);
+		xmlElements.setOffered(offered);
+		xmlElements.setUid(uid);
 		return xmlElements;
 	}
 	public static void main(String[] args) {
@@ -0,0 +1,148 @@
+package fr.sorbonne_u.treatements;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+/**
+ * The class <code>ParseXMLBenchmark</code> compares the parsing of control
+ * adapter descriptions through a DOM ({@code ParseXML}) and in one forward
+ * scan ({@code StreamParseXML}).
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * The benchmark first checks that both parsers produce the same model for
+ * the shipped adapter descriptions and for generated ones, then measures
+ * the mean time to parse generated descriptions of increasing sizes: each
+ * group of operations gets {@code n} operations which bodies have
+ * {@code n} statements, with {@code n} instance variables and required
+ * packages.
+ * </p>
+ *
+ * <p>Created on : 2026-10-17</p>
+ *
+ * @author	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+ */
+public class ParseXMLBenchmark {
+
+	protected static final String ADAPTERS = "src/fr/sorbonne_u/xml/";
+	protected static final String[] SHIPPED =
+		{"fan.xml", "refrigerator.xml", "washingMachine.xml", "waterHeater.xml"};
+	protected static final int[] SIZES = {10, 50, 200};
+	// total number of operations parsed for each size, to keep the
+	// durations of the measures comparable
+	protected static final int WORK = 200000;
+
+	// return a generated adapter description of size n.
+	public static byte[] generate(int n) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("<control-adapter\n")
+		  .append("\txmlns=\"http://www.sorbonne-universite.fr/alasca/control-adapter\"\n")
+		  .append("\tuid=\"BENCH\"\n")
+		  .append("\toffered=\"fr.sorbonne_u.components.waterHeater.WaterHeaterCI\"\n")
+		  .append("\ttype=\"suspension\">\n")
+		  .append("\t<consumption nominal=\"1500\"/>\n");
+		for (int i = 0; i < n; i++) {
+			sb.append("\t<required>fr.sorbonne_u.bench.p").append(i).append("</required>\n");
+			sb.append("\t<instance-var type=\"int\" name=\"v").append(i)
+			  .append("\" static-init=\"").append(i).append("\"/>\n");
+		}
+		for (String op : new String[]{"on", "switchOn", "switchOff"}) {
+			sb.append("\t<").append(op).append(">\n")
+			  .append("\t\t<body equipmentRef=\"eq\">return eq.isRunning();</body>\n")
+			  .append("\t</").append(op).append(">\n");
+		}
+		for (String group : new String[]{"mode-control", "planning-control", "suspension-control"}) {
+			sb.append("\t<").append(group).append(">\n");
+			for (int i = 0; i < n; i++) {
+				sb.append("\t\t<op").append(i).append(">")
+				  .append("<parameter name=\"a\"/><parameter name=\"b\"/>\n")
+				  .append("\t\t\t<body equipmentRef=\"eq\">\n");
+				for (int j = 0; j < n; j++) {
+					sb.append("\t\t\tif (a &lt; ").append(j)
+					  .append(" &amp;&amp; eq.isRunning()) { v").append(j)
+					  .append(" = b; }\n");
+				}
+				sb.append("\t\t\treturn true;\n\t\t\t</body>\n")
+				  .append("\t\t</op").append(i).append(">\n");
+			}
+			sb.append("\t</").append(group).append(">\n");
+		}
+		sb.append("</control-adapter>");
+		return sb.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	public static XML parseWithDOM(byte[] content) throws Exception {
+		DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+		dbf.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+		DocumentBuilder db = dbf.newDocumentBuilder();
+		return ParseXML.getXmlElements(db.parse(new ByteArrayInputStream(content)));
+	}
+
+	// return true if both models are the same.
+	public static boolean sameModel(XML x1, XML x2) {
+		if (!x1.getMethods().equals(x2.getMethods()) ||
+				!x1.getParametersOfOperations().equals(x2.getParametersOfOperations()) ||
+				!x1.getPackages().equals(x2.getPackages()) ||
+				!x1.getRef().equals(x2.getRef()) ||
+				!x1.getType().equals(x2.getType()) ||
+				!x1.getOffered().equals(x2.getOffered()) ||
+				!x1.getUid().equals(x2.getUid()) ||
+				x1.getNominalConsumption() != x2.getNominalConsumption()) {
+			return false;
+		}
+		ArrayList<Attribute> a1 = x1.getAttributes();
+		ArrayList<Attribute> a2 = x2.getAttributes();
+		if (a1.size() != a2.size()) {
+			return false;
+		}
+		for (int i = 0; i < a1.size(); i++) {
+			if (!a1.get(i).getType().equals(a2.get(i).getType()) ||
+					!a1.get(i).getName().equals(a2.get(i).getName()) ||
+					!a1.get(i).getValue().equals(a2.get(i).getValue())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// return the mean time in microseconds to parse content with DOM or not.
+	protected static double measure(byte[] content, boolean dom, int runs) throws Exception {
+		long start = System.nanoTime();
+		for (int i = 0; i < runs; i++) {
+			if (dom)
+				parseWithDOM(content);
+			else
+				StreamParseXML.getXmlElements(content);
+		}
+		return (System.nanoTime() - start)/1000.0/runs;
+	}
+
+	public static void main(String[] args) throws Exception {
+		for (String name : SHIPPED) {
+			byte[] content = Files.readAllBytes(Paths.get(ADAPTERS + name));
+			System.out.println(name + ": same model = " +
+					sameModel(parseWithDOM(content), StreamParseXML.getXmlElements(content)));
+		}
+		for (int n : SIZES) {
+			byte[] content = generate(n);
+			int runs = Math.max(WORK/(3*n*n), 5);
+			boolean same = sameModel(parseWithDOM(content), StreamParseXML.getXmlElements(content));
+			// warm up
+			measure(content, true, runs);
+			measure(content, false, runs);
+			double dom = measure(content, true, runs);
+			double stax = measure(content, false, runs);
+			System.out.printf("n = %d, %d bytes, same model = %b, DOM = %.1f us, " +
+							  "StAX = %.1f us, speed-up = %.2f%n",
+							  n, content.length, same, dom, stax, dom/stax);
+		}
+	}
+}
@@ -0,0 +1,283 @@
+package fr.sorbonne_u.treatements;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.ref.Reference;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import fr.sorbonne_u.interfaces.PlanningEquipmentControlCI;
+import fr.sorbonne_u.interfaces.StandardEquipmentControlCI;
+import fr.sorbonne_u.interfaces.SuspensionEquipmentControlCI;
+import fr.sorbonne_u.utils.LatencyHistogram;
+import javassist.CtClass;
+
+/**
+ * The class <code>RegistrationBenchmark</code> measures the registration
+ * path of the equipments on synthetic control adapter descriptions.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * The benchmark generates descriptions of the three types of control, with
+ * {@code SIZES} instance variables and {@code SIZES} required packages,
+ * each combination in turn, and runs each one through {@code ParseXML} and
+ * {@code ConnectorGenerator}, as a registration does. It reports for each
+ * type, number of instance variables and number of required packages the
+ * times to parse the description, to generate the bytecode of its connector
+ * and to define the class (definition, verification and initialisation),
+ * and the bytes allocated per description; then, for the whole run, the
+ * metaspace used per connector class and the collections which happened.
+ * The classes are defined in a class loader of their own, as in
+ * {@code ConnectorBackendBenchmark}, and kept until the end of the run.
+ * </p>
+ * <p>
+ * The number of descriptions is given by the first argument, by default
+ * {@code DEFAULT_ADAPTERS}, after {@code WARM_UP_ADAPTERS} descriptions
+ * which are not measured.
+ * </p>
+ *
+ * <p>Created on : 2026-10-17</p>
+ *
+ * @author	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+ */
+public class RegistrationBenchmark {
+
+	protected static final String PACKAGE = "fr.sorbonne_u.hem.generated";
+	protected static final String OFFERED = "fr.sorbonne_u.components.waterHeater.WaterHeaterCI";
+	protected static final String[] TYPES = {"standard", "suspension", "planning"};
+	// numbers of instance variables and of required packages
+	protected static final int[] SIZES = {0, 4, 16, 64};
+	protected static final int DEFAULT_ADAPTERS = 3000;
+	protected static final int WARM_UP_ADAPTERS = 300;
+
+	// measures of a group of descriptions.
+	protected static class Measures {
+		protected final LatencyHistogram parse = new LatencyHistogram();
+		protected final LatencyHistogram generation = new LatencyHistogram();
+		protected final LatencyHistogram definition = new LatencyHistogram();
+		protected long allocated;
+
+		protected void print(String group) {
+			long n = parse.getCount();
+			System.out.printf("%-16s %6d  parse %7.1f us (p99 %7.1f)  generation %8.1f us (p99 %8.1f)  " +
+							  "definition %7.1f us (p99 %7.1f)  allocated %8.1f KB%n",
+							  group, n, parse.getMean()/1000.0, parse.getValueAtPercentile(99.0)/1000.0,
+							  generation.getMean()/1000.0, generation.getValueAtPercentile(99.0)/1000.0,
+							  definition.getMean()/1000.0, definition.getValueAtPercentile(99.0)/1000.0,
+							  allocated/1024.0/n);
+		}
+	}
+
+	// return the control interface of a type of control.
+	protected static Class<?> controlInterface(String type) {
+		switch (type) {
+		case "suspension":
+			return SuspensionEquipmentControlCI.class;
+		case "planning":
+			return PlanningEquipmentControlCI.class;
+		default:
+			return StandardEquipmentControlCI.class;
+		}
+	}
+
+	// return a synthetic adapter description of the given type, with vars
+	// instance variables used by its operations and required packages.
+	public static byte[] generate(String uid, String type, int vars, int required) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("<control-adapter\n")
+		  .append("\txmlns=\"http://www.sorbonne-universite.fr/alasca/control-adapter\"\n")
+		  .append("\tuid=\"").append(uid).append("\"\n")
+		  .append("\toffered=\"").append(OFFERED).append("\"\n")
+		  .append("\ttype=\"").append(type).append("\">\n")
+		  .append("\t<consumption nominal=\"1000\"/>\n");
+		for (int i = 0; i < required; i++)
+			sb.append("\t<required>fr.sorbonne_u.synthetic.p").append(i).append("</required>\n");
+		if (type.equals("planning"))
+			sb.append("\t<required>java.time</required>\n");
+		for (int i = 0; i < vars; i++) {
+			sb.append("\t<instance-var type=\"int\" name=\"v").append(i)
+			  .append("\" static-init=\"").append(i).append("\"/>\n");
+		}
+		if (type.equals("suspension"))
+			sb.append("\t<instance-var type=\"boolean\" name=\"isSuspended\" static-init=\"false\"/>\n");
+		if (type.equals("planning")) {
+			sb.append("\t<instance-var type=\"boolean\" name=\"isPlanned\" static-init=\"false\"/>\n")
+			  .append("\t<instance-var type=\"LocalTime\" name=\"startTime\" static-init=\"null\"/>\n")
+			  .append("\t<instance-var type=\"Duration\" name=\"duration\" static-init=\"null\"/>\n");
+		}
+		operation(sb, "on", null, "return eq.isRunning();");
+		operation(sb, "switchOn", null, "eq.startWaterHeater();\n\t\treturn true;");
+		operation(sb, "switchOff", null, "eq.stopWaterHeater();\n\t\treturn true;");
+
+		// the operations changing the mode read and update the variables
+		StringBuilder update = new StringBuilder();
+		for (int i = 0; i < vars; i++)
+			update.append("v").append(i).append(" = v").append(i).append(" + l;\n\t\t");
+		sb.append("\t<mode-control>\n");
+		operation(sb, "maxMode", null, "return 3;");
+		operation(sb, "upMode", null,
+				  "int l = eq.getPowerLevel();\n\t\tif (l &gt;= 3) {\n\t\t\treturn false;\n\t\t}\n\t\t" +
+				  update + "eq.setPowerLevel(l + 1);\n\t\treturn true;");
+		operation(sb, "downMode", null,
+				  "int l = eq.getPowerLevel();\n\t\tif (l &lt;= 1) {\n\t\t\treturn false;\n\t\t}\n\t\t" +
+				  update + "eq.setPowerLevel(l - 1);\n\t\treturn true;");
+		operation(sb, "setMode", "modeIndex",
+				  "if (modeIndex &lt; 1 || modeIndex &gt; 3) {\n\t\t\treturn false;\n\t\t}\n\t\t" +
+				  "int l = modeIndex;\n\t\t" + update + "eq.setPowerLevel(l);\n\t\treturn true;");
+		operation(sb, "currentMode", null, "return eq.getPowerLevel();");
+		sb.append("\t</mode-control>\n");
+
+		if (type.equals("suspension")) {
+			sb.append("\t<suspension-control>\n");
+			operation(sb, "suspended", null, "return isSuspended;");
+			operation(sb, "suspend", null,
+					  "eq.stopWaterHeater();\n\t\tisSuspended = true;\n\t\treturn true;");
+			operation(sb, "resume", null,
+					  "eq.startWaterHeater();\n\t\tisSuspended = false;\n\t\treturn true;");
+			operation(sb, "emergency", null,
+					  "double d = eq.getTargetTemperature() - eq.getCurrentTemperature();\n\t\t" +
+					  "if (d &lt; 0.0) {\n\t\t\treturn 0.0;\n\t\t}\n\t\treturn Math.min(1.0, d / 50.0);");
+			sb.append("\t</suspension-control>\n");
+		}
+		if (type.equals("planning")) {
+			sb.append("\t<planning-control>\n");
+			operation(sb, "hasPlan", null, "return isPlanned;");
+			operation(sb, "startTime", null, "return startTime;");
+			operation(sb, "duration", null, "return duration;");
+			operation(sb, "deadline", null,
+					  "if (isPlanned) {\n\t\t\treturn startTime.plus(duration);\n\t\t}\n\t\treturn null;");
+			operation(sb, "postpone", "d",
+					  "if (!isPlanned) {\n\t\t\treturn false;\n\t\t}\n\t\t" +
+					  "startTime = startTime.plus(d);\n\t\treturn true;");
+			operation(sb, "cancel", null,
+					  "isPlanned = false;\n\t\tstartTime = null;\n\t\tduration = null;\n\t\treturn true;");
+			sb.append("\t</planning-control>\n");
+		}
+		sb.append("</control-adapter>");
+		return sb.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	protected static void operation(StringBuilder sb, String name, String parameter, String body) {
+		sb.append("\t<").append(name).append(">");
+		if (parameter != null)
+			sb.append("<parameter name=\"").append(parameter).append("\"/>");
+		sb.append("\n\t\t<body equipmentRef=\"eq\">\n\t\t").append(body)
+		  .append("\n\t\t</body>\n\t</").append(name).append(">\n");
+	}
+
+	// return the number of bytes allocated by the current thread, or 0 if
+	// the virtual machine does not count them.
+	protected static long allocated() {
+		ThreadMXBean t = ManagementFactory.getThreadMXBean();
+		if (t instanceof com.sun.management.ThreadMXBean)
+			return ((com.sun.management.ThreadMXBean) t).getThreadAllocatedBytes(
+					Thread.currentThread().getId());
+		return 0;
+	}
+
+	protected static long collections() {
+		long count = 0;
+		for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans())
+			count += Math.max(0, gc.getCollectionCount());
+		return count;
+	}
+
+	protected static long collectionTime() {
+		long time = 0;
+		for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans())
+			time += Math.max(0, gc.getCollectionTime());
+		return time;
+	}
+
+	// register the description i through the parser and the generator,
+	// adding its measures to the groups.
+	protected static void register(int i, String uid, ConnectorBackendBenchmark.Loader loader,
+								   Measures... groups) throws Exception {
+		String type = TYPES[i % TYPES.length];
+		int vars = SIZES[(i / TYPES.length) % SIZES.length];
+		int required = SIZES[(i / (TYPES.length * SIZES.length)) % SIZES.length];
+		byte[] content = generate(uid, type, vars, required);
+		String name = PACKAGE + ".Registered_" + uid.replace('-', '_');
+
+		long allocated = allocated();
+		long start = System.nanoTime();
+		XML x = ParseXML.getXmlElements(content);
+		long parsed = System.nanoTime();
+		if (!uid.equals(x.getUid()))
+			throw new Exception("the description " + uid + " cannot be parsed");
+		CtClass c = ConnectorGenerator.makeConnectorCtClass(name, AdapterConnector.class,
+				controlInterface(x.getType()), Class.forName(x.getOffered()),
+				x.getMethods(), x.getParametersOfOperations(), x.getAttributes(), x.getPackages());
+		byte[] bytecode = c.toBytecode();
+		c.detach();
+		long generated = System.nanoTime();
+		loader.define(name, bytecode);
+		Class.forName(name, true, loader);
+		long defined = System.nanoTime();
+		allocated = allocated() - allocated;
+
+		for (Measures m : groups) {
+			m.parse.record(parsed - start);
+			m.generation.record(generated - parsed);
+			m.definition.record(defined - generated);
+			m.allocated += allocated;
+		}
+	}
+
+	protected static void print(Map<String,Measures> groups) {
+		for (Map.Entry<String,Measures> g : groups.entrySet())
+			g.getValue().print(g.getKey());
+		System.out.println();
+	}
+
+	public static void main(String[] args) throws Exception {
+		ConnectorGenerator.setTrace(false);
+		int adapters = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ADAPTERS;
+
+		ConnectorBackendBenchmark.Loader loader = new ConnectorBackendBenchmark.Loader();
+		for (int i = 0; i < WARM_UP_ADAPTERS; i++)
+			register(i, "WARM-" + i, loader);
+		loader = new ConnectorBackendBenchmark.Loader();
+
+		Measures all = new Measures();
+		LinkedHashMap<String,Measures> byType = new LinkedHashMap<>();
+		LinkedHashMap<String,Measures> byVars = new LinkedHashMap<>();
+		LinkedHashMap<String,Measures> byRequired = new LinkedHashMap<>();
+		for (String type : TYPES)
+			byType.put(type, new Measures());
+		for (int size : SIZES) {
+			byVars.put(size + " vars", new Measures());
+			byRequired.put(size + " required", new Measures());
+		}
+
+		long metaspace = ConnectorBackendBenchmark.metaspace();
+		long collections = collections();
+		long collectionTime = collectionTime();
+		long start = System.nanoTime();
+		for (int i = 0; i < adapters; i++) {
+			register(i, "SYN-" + i, loader, all,
+					 byType.get(TYPES[i % TYPES.length]),
+					 byVars.get(SIZES[(i / TYPES.length) % SIZES.length] + " vars"),
+					 byRequired.get(SIZES[(i / (TYPES.length * SIZES.length)) % SIZES.length] +
+									" required"));
+		}
+		double elapsed = (System.nanoTime() - start) / 1e9;
+		collections = collections() - collections;
+		collectionTime = collectionTime() - collectionTime;
+		// the classes are still reachable through the loader
+		metaspace = ConnectorBackendBenchmark.metaspace() - metaspace;
+		Reference.reachabilityFence(loader);
+
+		print(byType);
+		print(byVars);
+		print(byRequired);
+		all.print("all");
+		System.out.printf("%d adapters in %.2f s (%.0f adapters/s), metaspace %.1f KB per class, " +
+						  "%d collections taking %d ms (%.2f ms per 100 adapters)%n",
+						  adapters, elapsed, adapters / elapsed, metaspace / 1024.0 / adapters,
+						  collections, collectionTime, collectionTime * 100.0 / adapters);
+	}
+}
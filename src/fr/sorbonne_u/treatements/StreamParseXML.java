@@ -0,0 +1,260 @@
+package fr.sorbonne_u.treatements;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * The class <code>StreamParseXML</code> parses a control adapter description
+ * in one forward scan with a StAX pull parser, without building a DOM.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * The parser produces the same {@code XML} model as {@code ParseXML} does
+ * from a DOM: the operations of the first {@code mode-control},
+ * {@code planning-control} and {@code suspension-control} elements and the
+ * first {@code on}, {@code switchOn}, {@code switchOff} and {@code snapshot}
+ * elements, with the equipment references of their bodies replaced by the
+ * offering end of the connector, the operations of the later groups
+ * overriding the ones of the earlier groups with the same name; the
+ * parameters of these operations but {@code snapshot}; the instance
+ * variables, the required packages, the equipment reference of the first
+ * body, the nominal consumption and the attributes of the root element.
+ * The parameters of an operation are all its {@code parameter} children, in
+ * document order.
+ * </p>
+ *
+ * <p><strong>Invariant</strong></p>
+ *
+ * <pre>
+ * invariant	true
+ * </pre>
+ *
+ * <p>Created on : 2026-10-17</p>
+ *
+ * @author	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+ */
+public class StreamParseXML {
+
+	// groups of operations, in the order in which their operations are
+	// merged into the model.
+	protected static final String[] GROUPS =
+		{"mode-control", "planning-control", "suspension-control"};
+	// standard operations, merged after the groups.
+	protected static final String[] STANDARD_OPERATIONS =
+		{"on", "switchOn", "switchOff", "snapshot"};
+
+	protected static final XMLInputFactory FACTORY = createFactory();
+
+	protected static XMLInputFactory createFactory() {
+		XMLInputFactory f = XMLInputFactory.newInstance();
+		// adapter descriptions are received from the equipments: no DTD
+		// nor external entity may be resolved
+		f.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		f.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		f.setProperty(XMLInputFactory.IS_COALESCING, true);
+		return f;
+	}
+
+	// operation being parsed.
+	protected static class Operation {
+		protected final String name;
+		protected final ArrayList<String> parameters = new ArrayList<>();
+		protected final int depth;
+		protected String equipmentRef;
+		protected StringBuilder body;
+		protected boolean bodyDone;
+
+		protected Operation(String name, int depth) {
+			this.name = name;
+			this.depth = depth;
+		}
+
+		// return the body with the equipment reference replaced.
+		protected String body(String canonicalNameReference) {
+			String b = this.body.toString();
+			if (this.equipmentRef != null)
+				return b.replaceAll(this.equipmentRef + ".", canonicalNameReference + ".");
+			return b;
+		}
+	}
+
+	public static XML getXmlElements(String fileName) throws Exception {
+		return getXmlElements(Files.readAllBytes(Paths.get(fileName)));
+	}
+
+	public static XML getXmlElements(byte[] content) throws XMLStreamException {
+		return getXmlElements(new ByteArrayInputStream(content));
+	}
+
+	public static XML getXmlElements(InputStream in) throws XMLStreamException {
+		XMLStreamReader r = FACTORY.createXMLStreamReader(in);
+		try {
+			return parse(r);
+		} finally {
+			r.close();
+		}
+	}
+
+	protected static int indexOf(String[] names, String name) {
+		for (int i = 0; i < names.length; i++)
+			if (names[i].equals(name))
+				return i;
+		return -1;
+	}
+
+	protected static XML parse(XMLStreamReader r) throws XMLStreamException {
+		String type = "";
+		String offered = "";
+		String uid = "";
+		String canonicalRef = "";
+		String ref = null;
+		double nominal = 0.0;
+		boolean consumptionSeen = false;
+		ArrayList<Attribute> attributes = new ArrayList<>();
+		ArrayList<String> packages = new ArrayList<>();
+		StringBuilder required = null;
+
+		// operations and parameters by group, then by standard operation
+		ArrayList<HashMap<String,String>> groupMethods = new ArrayList<>();
+		ArrayList<HashMap<String,ArrayList<String>>> groupParameters = new ArrayList<>();
+		for (int i = 0; i < GROUPS.length; i++) {
+			groupMethods.add(null);
+			groupParameters.add(null);
+		}
+		HashMap<String,Operation> standard = new HashMap<>();
+
+		boolean rootSeen = false;
+		int depth = 0;
+		int group = -1;			// index of the group being parsed
+		int groupDepth = -1;
+		Operation op = null;	// operation being parsed
+
+		while (r.hasNext()) {
+			int event = r.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				depth++;
+				String name = r.getLocalName();
+				if (!rootSeen && name.equals("control-adapter")) {
+					rootSeen = true;
+					String t = r.getAttributeValue(null, "type");
+					if (t != null)
+						type = t;
+					String o = r.getAttributeValue(null, "offered");
+					if (o != null)
+						offered = o;
+					String u = r.getAttributeValue(null, "uid");
+					if (u != null)
+						uid = u;
+					canonicalRef = "((" + offered + ")this.offering)";
+				} else if (op != null) {
+					if (name.equals("body") && op.body == null) {
+						op.equipmentRef = r.getAttributeValue(null, "equipmentRef");
+						op.body = new StringBuilder();
+					} else if (name.equals("parameter") && depth == op.depth + 1) {
+						String p = r.getAttributeValue(null, "name");
+						if (p != null)
+							op.parameters.add(p);
+					}
+				} else if (group >= 0 && depth == groupDepth + 1) {
+					op = new Operation(name, depth);
+				} else if (indexOf(GROUPS, name) >= 0 &&
+						groupMethods.get(indexOf(GROUPS, name)) == null) {
+					group = indexOf(GROUPS, name);
+					groupDepth = depth;
+					groupMethods.set(group, new HashMap<>());
+					groupParameters.set(group, new HashMap<>());
+				} else if (indexOf(STANDARD_OPERATIONS, name) >= 0 &&
+						!standard.containsKey(name)) {
+					op = new Operation(name, depth);
+					standard.put(name, op);
+				} else if (name.equals("instance-var")) {
+					String n = r.getAttributeValue(null, "name");
+					String t = r.getAttributeValue(null, "type");
+					String v = r.getAttributeValue(null, "static-init");
+					if (n != null && t != null && v != null)
+						attributes.add(new Attribute(t, n, v));
+				} else if (name.equals("required")) {
+					required = new StringBuilder();
+				} else if (name.equals("consumption") && !consumptionSeen) {
+					consumptionSeen = true;
+					String n = r.getAttributeValue(null, "nominal");
+					if (n != null)
+						nominal = Double.parseDouble(n);
+				}
+				// the reference of the model is the one of the first body
+				if (name.equals("body") && ref == null) {
+					String e = r.getAttributeValue(null, "equipmentRef");
+					ref = e == null ? "" : e;
+				}
+			} else if (event == XMLStreamConstants.CHARACTERS ||
+					event == XMLStreamConstants.CDATA ||
+					event == XMLStreamConstants.SPACE) {
+				if (op != null && op.body != null && !op.bodyDone)
+					op.body.append(r.getText());
+				else if (required != null)
+					required.append(r.getText());
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				String name = r.getLocalName();
+				if (op != null) {
+					if (depth == op.depth) {
+						// operations of a group are put in the group
+						if (group >= 0 && depth == groupDepth + 1) {
+							if (op.body != null)
+								groupMethods.get(group).put(op.name, op.body(canonicalRef));
+							if (!op.parameters.isEmpty())
+								groupParameters.get(group).put(op.name, op.parameters);
+						}
+						op = null;
+					} else if (name.equals("body") && op.body != null) {
+						op.bodyDone = true;
+					}
+				} else if (group >= 0 && depth == groupDepth) {
+					group = -1;
+					groupDepth = -1;
+				} else if (required != null && name.equals("required")) {
+					packages.add(required.toString());
+					required = null;
+				}
+				depth--;
+			}
+		}
+
+		HashMap<String,String> methods = new HashMap<>();
+		HashMap<String,ArrayList<String>> parameters = new HashMap<>();
+		for (int i = 0; i < GROUPS.length; i++) {
+			if (groupMethods.get(i) != null) {
+				methods.putAll(groupMethods.get(i));
+				parameters.putAll(groupParameters.get(i));
+			}
+		}
+		for (String name : STANDARD_OPERATIONS) {
+			Operation o = standard.get(name);
+			if (o != null && o.body != null)
+				methods.put(name, o.body(canonicalRef));
+			if (o != null && !o.parameters.isEmpty() && !name.equals("snapshot"))
+				parameters.put(name, o.parameters);
+		}
+
+		XML xmlElements = new XML();
+		xmlElements.setMethods(methods);
+		xmlElements.setParametersOfOperations(parameters);
+		xmlElements.setAttributes(attributes);
+		xmlElements.setPackages(packages);
+		xmlElements.setRef(ref == null ? "" : ref);
+		xmlElements.setNominalConsumption(nominal);
+		xmlElements.setType(type);
+		xmlElements.setOffered(offered);
+		xmlElements.setUid(uid);
+		return xmlElements;
+	}
+}
@@ -0,0 +1,117 @@
+package fr.sorbonne_u.treatements;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The class <code>StreamParseXMLUnitTester</code> checks that the forward
+ * scan of {@code StreamParseXML} gives the same model as the DOM parser
+ * {@code ParseXML}.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ * The models are compared field by field for the shipped adapter
+ * descriptions, for the generated descriptions of {@code ParseXMLBenchmark}
+ * and for a description using the constructs of XML which a forward scan
+ * must handle like the DOM: entities, character sections, comments and
+ * bodies split by them.
+ * </p>
+ *
+ * <p>Created on : 2026-10-17</p>
+ *
+ * @author	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+ */
+public class StreamParseXMLUnitTester {
+
+	protected static final String CONSTRUCTS =
+		"<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+		"<!-- adapter using the constructs of XML -->\n" +
+		"<control-adapter\n" +
+		"\txmlns=\"http://www.sorbonne-universite.fr/alasca/control-adapter\"\n" +
+		"\tuid=\"TEST\"\n" +
+		"\toffered=\"fr.sorbonne_u.components.waterHeater.WaterHeaterCI\"\n" +
+		"\ttype=\"suspension\">\n" +
+		"\t<consumption nominal=\"1500.5\"/>\n" +
+		"\t<required>java.time</required>\n" +
+		"\t<instance-var type=\"boolean\" name=\"isSuspended\" static-init=\"false\"/>\n" +
+		"\t<on><body equipmentRef=\"wh\">return wh.isRunning();</body></on>\n" +
+		"\t<switchOn><body equipmentRef=\"wh\"><![CDATA[if (1 < 2 && wh != null) {]]>\n" +
+		"\t\t<!-- comment inside a body -->\n" +
+		"\t\twh.startWaterHeater(); }\n" +
+		"\t\treturn true;</body></switchOn>\n" +
+		"\t<switchOff><body equipmentRef=\"wh\">wh.stopWaterHeater(); return &quot;a&quot; != null;</body></switchOff>\n" +
+		"\t<mode-control>\n" +
+		"\t\t<setMode><parameter name=\"modeIndex\"/>\n" +
+		"\t\t\t<body equipmentRef=\"wh\">if (modeIndex &lt; 1 || modeIndex &gt; 3) { return false; }\n" +
+		"\t\t\twh.setPowerLevel(modeIndex); return true;</body>\n" +
+		"\t\t</setMode>\n" +
+		"\t</mode-control>\n" +
+		"\t<suspension-control>\n" +
+		"\t\t<suspend><body equipmentRef=\"wh\">isSuspended = true; return true;</body></suspend>\n" +
+		"\t</suspension-control>\n" +
+		"</control-adapter>\n";
+
+	// check that both parsers give the same model of content.
+	protected static void check(String name, byte[] content) throws Exception {
+		XML dom = ParseXML.getXmlElements(content);
+		XML stream = StreamParseXML.getXmlElements(content);
+		assertEquals(dom.getUid(), stream.getUid(), name);
+		assertEquals(dom.getOffered(), stream.getOffered(), name);
+		assertEquals(dom.getType(), stream.getType(), name);
+		assertEquals(dom.getRef(), stream.getRef(), name);
+		assertEquals(dom.getNominalConsumption(), stream.getNominalConsumption(), name);
+		assertEquals(dom.getPackages(), stream.getPackages(), name);
+		assertEquals(dom.getMethods(), stream.getMethods(), name);
+		assertEquals(dom.getParametersOfOperations(), stream.getParametersOfOperations(), name);
+		assertEquals(attributes(dom), attributes(stream), name);
+	}
+
+	protected static ArrayList<String> attributes(XML x) {
+		ArrayList<String> ret = new ArrayList<>();
+		for (Attribute a : x.getAttributes())
+			ret.add(a.getType() + " " + a.getName() + " = " + a.getValue());
+		return ret;
+	}
+
+	@Test
+	public void shippedAdapters() throws Exception {
+		for (String name : ParseXMLBenchmark.SHIPPED)
+			check(name, Files.readAllBytes(Paths.get(ParseXMLBenchmark.ADAPTERS + name)));
+	}
+
+	@Test
+	public void generatedAdapters() throws Exception {
+		for (int n : new int[]{0, 1, 10, 50})
+			check("generated " + n, ParseXMLBenchmark.generate(n));
+	}
+
+	@Test
+	public void xmlConstructs() throws Exception {
+		check("constructs", CONSTRUCTS.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void streamsAndBytesGiveTheSameModel() throws Exception {
+		byte[] content = CONSTRUCTS.getBytes(StandardCharsets.UTF_8);
+		assertEquals(StreamParseXML.getXmlElements(content).toString(),
+					 StreamParseXML.getXmlElements(new ByteArrayInputStream(content)).toString());
+	}
+
+	@Test
+	public void rejectsMalformedDescriptions() {
+		byte[] content = "<control-adapter uid=\"X\"><on><body>return true;</on>"
+							.getBytes(StandardCharsets.UTF_8);
+		assertThrows(XMLStreamException.class, () -> StreamParseXML.getXmlElements(content));
+	}
+}
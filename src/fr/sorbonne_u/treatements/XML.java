@@ -11,6 +11,8 @@ public class XML {
     private String ref;
     private String type;
     private String offered;
+    private String uid;
+    private double nominalConsumption;
 
     public XML(HashMap<String, String> methods, HashMap<String, ArrayList<String>> parametersOfOperations, ArrayList<Attribute> attributes, ArrayList<String> packages) {
         this.methods = methods;
@@ -70,6 +72,22 @@ public class XML {
         this.type = type;
     }
 
+    public String getUid() {
+        return uid;
+    }
+
+    public void setUid(String uid) {
+        this.uid = uid;
+    }
+
+    public double getNominalConsumption() {
+        return nominalConsumption;
+    }
+
+    public void setNominalConsumption(double nominalConsumption) {
+        this.nominalConsumption = nominalConsumption;
+    }
+
     public String getOffered() {
         return offered;
     }
@@ -88,6 +106,8 @@ public class XML {
                 ", ref='" + ref + '\'' +
                 ", type='" + type + '\'' +
                 ", offered='" + offered + '\'' +
+                ", uid='" + uid + '\'' +
+                ", nominalConsumption=" + nominalConsumption +
                 '}';
     }
 }
@@ -0,0 +1,318 @@
+package fr.sorbonne_u.utils;
+
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to provide a basic
+// household management systems as an example of a cyber-physical system.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+import fr.sorbonne_u.components.ComponentI;
+import fr.sorbonne_u.components.interfaces.OfferedCI;
+import fr.sorbonne_u.components.ports.AbstractInboundPort;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>DirectBinding</code> binds a connector directly to the
+ * implementation interface of the component offering a service when both
+ * live in the same JVM.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * Within one JVM, a call through a connector goes to the inbound port of
+ * the offering component, which hands it over to the component as a request
+ * and executes it against the implementation interface of the component.
+ * A direct binding skips the inbound port: it hands over the operation to
+ * the owner of the port, on the same executor service as the port, so that
+ * the component still executes all of its requests in its own threads. An
+ * operation may make several calls to the implementation interface, which
+ * are then performed in one request instead of one request per call.
+ * </p>
+ * <p>
+ * The direct bindings are optional: they are only made when enabled, either
+ * by {@code setEnabled} or by the system property {@code ENABLED_PROPERTY},
+ * and when the offering port is a plain inbound port of this JVM owned by a
+ * component implementing the implementation interface; otherwise, the
+ * connector keeps calling the inbound port.
+ * </p>
+ * <p>
+ * When the inbound port coalesces its reads (see {@code ReadCoalescer}),
+ * the operations performed by {@code call} and {@code run} invalidate its
+ * reads once done, as they may write as the port does; the operations
+ * which only read are performed by {@code read}, which does not.
+ * </p>
+ * 
+ * <p><strong>Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	true
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-17</p>
+ * 
+ *  @authors	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+ *              <a href="maedeh.daemi@etu.sorbonne-universite.fr">DAEMI Maedeh</a>
+ */
+public class			DirectBinding<I>
+{
+	/**
+	 * The interface <code>Operation</code> defines an operation performed
+	 * against an implementation interface.
+	 *
+	 * <p>Created on : 2026-10-17</p>
+	 * 
+	 *  @authors	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+	 *              <a href="maedeh.daemi@etu.sorbonne-universite.fr">DAEMI Maedeh</a>
+	 */
+	@FunctionalInterface
+	public static interface	Operation<I,T>
+	{
+		/**
+		 * perform the operation against {@code target}.
+		 *
+		 * @param target		implementation interface of the offering component.
+		 * @return				the result of the operation.
+		 * @throws Exception	<i>to do</i>.
+		 */
+		public T		apply(I target) throws Exception;
+	}
+
+	/** system property enabling the direct bindings when set to true.		*/
+	public static final String		ENABLED_PROPERTY =
+											"fr.sorbonne_u.directBindings";
+	/** true if the connectors bind directly to the co-located components.	*/
+	protected static volatile boolean	enabled =
+									Boolean.getBoolean(ENABLED_PROPERTY);
+
+	/** component offering the service.										*/
+	protected final ComponentI	owner;
+	/** index of the executor service of the offering port.				*/
+	protected final int			executorServiceIndex;
+	/** implementation interface of the offering component.					*/
+	protected final Class<I>	implementation;
+	/** coalescer of the reads of the offering port or null if none.		*/
+	protected final ReadCoalescer<?>	reads;
+
+	/**
+	 * create a direct binding to a component.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code implementation.isInstance(owner)}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param owner					component offering the service.
+	 * @param executorServiceIndex	index of the executor service of the offering port.
+	 * @param implementation		implementation interface of the component.
+	 * @param reads					coalescer of the reads of the offering port or null if none.
+	 */
+	protected			DirectBinding(
+		ComponentI owner,
+		int executorServiceIndex,
+		Class<I> implementation,
+		ReadCoalescer<?> reads
+		)
+	{
+		assert	implementation.isInstance(owner);
+
+		this.owner = owner;
+		this.executorServiceIndex = executorServiceIndex;
+		this.implementation = implementation;
+		this.reads = reads;
+	}
+
+	/**
+	 * return true if the connectors bind directly to the co-located
+	 * components.
+	 *
+	 * @return	true if the connectors bind directly to the co-located components.
+	 */
+	public static boolean	isEnabled()
+	{
+		return enabled;
+	}
+
+	/**
+	 * enable or disable the direct bindings of the connections made from now
+	 * on; the existing connections keep their binding.
+	 *
+	 * @param b	true to enable the direct bindings, false to disable them.
+	 */
+	public static void	setEnabled(boolean b)
+	{
+		enabled = b;
+	}
+
+	/**
+	 * return a direct binding to the component owning {@code offering}, or
+	 * null if the direct bindings are disabled or if {@code offering} is not
+	 * a plain inbound port of this JVM owned by a component implementing
+	 * {@code implementation}.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code implementation != null}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param <I>				type of the implementation interface.
+	 * @param offering			offering end of a connector.
+	 * @param implementation	implementation interface of the offering component.
+	 * @return					a direct binding to the offering component or null.
+	 */
+	public static <I> DirectBinding<I>	bind(
+		OfferedCI offering,
+		Class<I> implementation
+		)
+	{
+		assert	implementation != null;
+
+		// remote ports are proxies, never inbound port objects
+		if (!enabled || !(offering instanceof AbstractInboundPort)) {
+			return null;
+		}
+		AbstractInboundPort port = (AbstractInboundPort) offering;
+		// the requests of plug-in ports are executed by the plug-in, not
+		// by the component itself
+		if (port.getPluginURI() != null) {
+			return null;
+		}
+		ComponentI owner = port.getOwner();
+		if (!implementation.isInstance(owner)) {
+			return null;
+		}
+		return new DirectBinding<>(
+					owner, port.getExecutorServiceIndex(), implementation,
+					port instanceof ReadCoalescer.Holder ?
+						((ReadCoalescer.Holder) port).getReadCoalescer()
+					:	null);
+	}
+
+	/**
+	 * perform {@code op} as one request of the component and return its
+	 * result, waiting for it; the reads of the offering port are invalidated
+	 * once the operation is done.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code op != null}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param <T>			type of the result of the operation.
+	 * @param op			operation to be performed.
+	 * @return				the result of the operation.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	public <T> T		call(Operation<I,T> op) throws Exception
+	{
+		assert	op != null;
+
+		return this.owner.handleRequest(
+						this.executorServiceIndex,
+						o -> {	try {
+									return op.apply(this.implementation.cast(o));
+								} finally {
+									this.invalidate();
+								}
+							 });
+	}
+
+	/**
+	 * perform {@code op}, which must not change the state of the component,
+	 * as one request of the component and return its result, waiting for it.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code op != null}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param <T>			type of the result of the operation.
+	 * @param op			read-only operation to be performed.
+	 * @return				the result of the operation.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	public <T> T		read(Operation<I,T> op) throws Exception
+	{
+		assert	op != null;
+
+		return this.owner.handleRequest(
+						this.executorServiceIndex,
+						o -> op.apply(this.implementation.cast(o)));
+	}
+
+	/**
+	 * perform {@code op} as one task of the component, without waiting for
+	 * it; an exception raised by the operation is only printed and the reads
+	 * of the offering port are invalidated once the operation is done.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code op != null}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param op			operation to be performed.
+	 * @throws Exception	<i>to do</i>.
+	 */
+	public void			run(Operation<I,?> op) throws Exception
+	{
+		assert	op != null;
+
+		this.owner.runTask(
+				this.executorServiceIndex,
+				o -> {	try {
+							op.apply(this.implementation.cast(o));
+						} catch (Exception e) {
+							e.printStackTrace();
+						} finally {
+							this.invalidate();
+						}
+					 });
+	}
+
+	/**
+	 * invalidate the reads of the offering port, if it coalesces them.
+	 */
+	protected void		invalidate()
+	{
+		if (this.reads != null) {
+			this.reads.invalidate();
+		}
+	}
+}
+// -----------------------------------------------------------------------------
@@ -0,0 +1,254 @@
+package fr.sorbonne_u.utils;
+
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to provide a basic
+// household management systems as an example of a cyber-physical system.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>LatencyHistogram</code> implements a concurrent histogram
+ * of latencies in nanoseconds with log-linear buckets, in the spirit of HDR
+ * histograms.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * Values below {@code 2^SUB_BITS} have their own bucket; above, each power
+ * of two is split into {@code 2^SUB_BITS} linear sub-buckets, giving a
+ * relative error under {@code 2^-SUB_BITS} (6.25%). Values are clamped to
+ * {@code MAX_VALUE} (about 68 seconds). All the storage is allocated at
+ * creation: recording a value only increments counters and never allocates,
+ * so that it can be done on the hot path by any number of threads.
+ * </p>
+ * <p>
+ * Queries read the counters without stopping the recording threads, so
+ * their results are consistent only when no recording is in progress.
+ * </p>
+ * 
+ * <p><strong>Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code getCount() >= 0}
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-17</p>
+ * 
+ *  @authors	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+ *              <a href="maedeh.daemi@etu.sorbonne-universite.fr">DAEMI Maedeh</a>
+ */
+public class			LatencyHistogram
+{
+	/** number of bits used to split each power of two.					*/
+	protected static final int	SUB_BITS = 4;
+	/** number of sub-buckets per power of two.								*/
+	protected static final int	SUB_COUNT = 1 << SUB_BITS;
+	/** largest recorded value in nanoseconds; larger ones are clamped.	*/
+	public static final long	MAX_VALUE = (1L << 36) - 1;
+	/** number of buckets needed to cover values up to {@code MAX_VALUE}.	*/
+	protected static final int	BUCKET_COUNT = bucketIndex(MAX_VALUE) + 1;
+
+	/** number of values recorded in each bucket.							*/
+	protected final AtomicLongArray	counts;
+	/** total number of recorded values.									*/
+	protected final AtomicLong		count;
+	/** sum of the recorded values, to compute the mean.					*/
+	protected final AtomicLong		sum;
+	/** largest recorded value.												*/
+	protected final AtomicLong		max;
+
+	/**
+	 * create an empty histogram.
+	 */
+	public				LatencyHistogram()
+	{
+		this.counts = new AtomicLongArray(BUCKET_COUNT);
+		this.count = new AtomicLong();
+		this.sum = new AtomicLong();
+		this.max = new AtomicLong();
+	}
+
+	/**
+	 * return the index of the bucket of the value {@code v}.
+	 *
+	 * @param v	a value between 0 and {@code MAX_VALUE}.
+	 * @return	the index of its bucket.
+	 */
+	protected static int	bucketIndex(long v)
+	{
+		if (v < SUB_COUNT) {
+			return (int) v;
+		}
+		int shift = 63 - Long.numberOfLeadingZeros(v) - SUB_BITS;
+		return (shift + 1)*SUB_COUNT + (int) ((v >>> shift) - SUB_COUNT);
+	}
+
+	/**
+	 * return the largest value falling in the bucket of index {@code i}.
+	 *
+	 * @param i	index of a bucket.
+	 * @return	the largest value falling in this bucket.
+	 */
+	protected static long	bucketUpperBound(int i)
+	{
+		if (i < SUB_COUNT) {
+			return i;
+		}
+		int shift = i/SUB_COUNT - 1;
+		long sub = SUB_COUNT + i%SUB_COUNT;
+		return ((sub + 1) << shift) - 1;
+	}
+
+	/**
+	 * record a latency; never allocates.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	true		// no precondition.
+	 * post	{@code getCount() == getCount()@pre + 1}
+	 * </pre>
+	 *
+	 * @param nanos	latency in nanoseconds, negative values count as 0.
+	 */
+	public void			record(long nanos)
+	{
+		long v = nanos < 0 ? 0 : (nanos > MAX_VALUE ? MAX_VALUE : nanos);
+		this.counts.incrementAndGet(bucketIndex(v));
+		this.count.incrementAndGet();
+		this.sum.addAndGet(v);
+		long m = this.max.get();
+		while (v > m && !this.max.compareAndSet(m, v)) {
+			m = this.max.get();
+		}
+	}
+
+	/**
+	 * return the number of recorded values.
+	 *
+	 * @return	the number of recorded values.
+	 */
+	public long			getCount()
+	{
+		return this.count.get();
+	}
+
+	/**
+	 * return the largest recorded value in nanoseconds.
+	 *
+	 * @return	the largest recorded value in nanoseconds.
+	 */
+	public long			getMax()
+	{
+		return this.max.get();
+	}
+
+	/**
+	 * return the mean of the recorded values in nanoseconds.
+	 *
+	 * @return	the mean of the recorded values, 0.0 if none.
+	 */
+	public double		getMean()
+	{
+		long c = this.count.get();
+		return c == 0 ? 0.0 : ((double) this.sum.get())/c;
+	}
+
+	/**
+	 * return an upper bound of the value at the given percentile, within
+	 * the precision of the buckets.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code percentile >= 0.0 && percentile <= 100.0}
+	 * post	{@code return >= 0}
+	 * </pre>
+	 *
+	 * @param percentile	percentile between 0.0 and 100.0.
+	 * @return				the value at the percentile in nanoseconds, 0 if no value was recorded.
+	 */
+	public long			getValueAtPercentile(double percentile)
+	{
+		assert	percentile >= 0.0 && percentile <= 100.0;
+
+		long total = 0;
+		for (int i = 0 ; i < BUCKET_COUNT ; i++) {
+			total += this.counts.get(i);
+		}
+		if (total == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(percentile*total/100.0));
+		long seen = 0;
+		for (int i = 0 ; i < BUCKET_COUNT ; i++) {
+			seen += this.counts.get(i);
+			if (seen >= rank) {
+				return Math.min(bucketUpperBound(i), this.max.get());
+			}
+		}
+		return this.max.get();
+	}
+
+	/**
+	 * reset the histogram to its empty state.
+	 */
+	public void			reset()
+	{
+		for (int i = 0 ; i < BUCKET_COUNT ; i++) {
+			this.counts.set(i, 0);
+		}
+		this.count.set(0);
+		this.sum.set(0);
+		this.max.set(0);
+	}
+
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String		toString()
+	{
+		return String.format(
+				"count = %d, mean = %.1f us, p50 = %.1f us, p90 = %.1f us, " +
+				"p99 = %.1f us, max = %.1f us",
+				this.getCount(),
+				this.getMean()/1000.0,
+				this.getValueAtPercentile(50.0)/1000.0,
+				this.getValueAtPercentile(90.0)/1000.0,
+				this.getValueAtPercentile(99.0)/1000.0,
+				this.getMax()/1000.0);
+	}
+}
+// -----------------------------------------------------------------------------
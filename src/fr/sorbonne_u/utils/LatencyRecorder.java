@@ -0,0 +1,146 @@
+package fr.sorbonne_u.utils;
+
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to provide a basic
+// household management systems as an example of a cyber-physical system.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>LatencyRecorder</code> keeps one latency histogram per
+ * constant of an enumeration, typically the methods of a port.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * Histograms are indexed by the ordinal of the constants. A histogram is
+ * created the first time its constant is recorded, so that the methods never
+ * called cost no memory; later recordings do not allocate.
+ * </p>
+ * 
+ * <p><strong>Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	true
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-17</p>
+ * 
+ *  @authors	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+ *              <a href="maedeh.daemi@etu.sorbonne-universite.fr">DAEMI Maedeh</a>
+ *
+ * @param <E>	enumeration which constants name the histograms.
+ */
+public class			LatencyRecorder<E extends Enum<E>>
+{
+	/** constants of the enumeration, in ordinal order.						*/
+	protected final E[]								keys;
+	/** histograms indexed by the ordinal of the constants.					*/
+	protected final AtomicReferenceArray<LatencyHistogram>	histograms;
+
+	/**
+	 * create a recorder for the constants of {@code keyClass}.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code keyClass != null}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param keyClass	enumeration which constants name the histograms.
+	 */
+	public				LatencyRecorder(Class<E> keyClass)
+	{
+		assert	keyClass != null;
+
+		this.keys = keyClass.getEnumConstants();
+		this.histograms = new AtomicReferenceArray<>(this.keys.length);
+	}
+
+	/**
+	 * record a latency for {@code key}.
+	 *
+	 * @param key	constant naming the histogram.
+	 * @param nanos	latency in nanoseconds.
+	 */
+	public void			record(E key, long nanos)
+	{
+		this.histogram(key).record(nanos);
+	}
+
+	/**
+	 * return the histogram of {@code key}, creating it if needed.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code key != null}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @param key	constant naming the histogram.
+	 * @return		the histogram of {@code key}.
+	 */
+	public LatencyHistogram	histogram(E key)
+	{
+		int i = key.ordinal();
+		LatencyHistogram h = this.histograms.get(i);
+		if (h == null) {
+			this.histograms.compareAndSet(i, null, new LatencyHistogram());
+			h = this.histograms.get(i);
+		}
+		return h;
+	}
+
+	/**
+	 * return a report of the histograms which recorded values, one per line,
+	 * each line starting with {@code prefix}.
+	 *
+	 * @param prefix	prefix of each line.
+	 * @return			the report.
+	 */
+	public String		report(String prefix)
+	{
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0 ; i < this.keys.length ; i++) {
+			LatencyHistogram h = this.histograms.get(i);
+			if (h != null && h.getCount() > 0) {
+				sb.append(prefix).append(this.keys[i]).append(": ")
+				  .append(h).append('\n');
+			}
+		}
+		return sb.toString();
+	}
+}
+// -----------------------------------------------------------------------------
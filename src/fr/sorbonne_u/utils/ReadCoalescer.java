@@ -0,0 +1,312 @@
+package fr.sorbonne_u.utils;
+
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to provide a basic
+// household management systems as an example of a cyber-physical system.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>ReadCoalescer</code> shares the executions of identical
+ * idempotent reads made at the same time or within a staleness window.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * A read is identified by a key. A caller reading a key which is being read
+ * waits for that read and gets its result instead of executing the read
+ * again; a caller reading a key which read completed successfully less than
+ * the staleness window ago gets that result at once. A failed read is never
+ * shared with later callers, only with the ones waiting for it. With a
+ * window of zero, only the reads in progress are shared.
+ * </p>
+ * <p>
+ * The writes which change the values read must call {@code invalidate}
+ * once performed: the reads started before are no longer shared with the
+ * callers coming after, so that a caller reading after its own write always
+ * sees its effect. The inbound ports coalescing their reads implement
+ * {@code Holder}, so that the writes made by the direct bindings, which skip
+ * the ports, also invalidate their reads (see {@code DirectBinding}).
+ * </p>
+ * 
+ * <p><strong>Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code getWindow(TimeUnit.NANOSECONDS) >= 0}
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-17</p>
+ * 
+ *  @authors	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+ *              <a href="maedeh.daemi@etu.sorbonne-universite.fr">DAEMI Maedeh</a>
+ */
+public class			ReadCoalescer<K>
+{
+	/** default staleness window.											*/
+	public static final long		DEFAULT_WINDOW = 5L;
+	/** time unit of the default staleness window.							*/
+	public static final TimeUnit	DEFAULT_WINDOW_TIME_UNIT =
+													TimeUnit.MILLISECONDS;
+
+	/**
+	 * The interface <code>Holder</code> is implemented by the ports which
+	 * coalesce the reads they forward to their owner.
+	 *
+	 * <p>Created on : 2026-10-17</p>
+	 * 
+	 *  @authors	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+	 *              <a href="maedeh.daemi@etu.sorbonne-universite.fr">DAEMI Maedeh</a>
+	 */
+	public static interface	Holder
+	{
+		/**
+		 * return the coalescer of the reads made through this port.
+		 *
+		 * @return	the coalescer of the reads made through this port.
+		 */
+		public ReadCoalescer<?>	getReadCoalescer();
+	}
+
+	/**
+	 * The class <code>Read</code> records one execution of a read.
+	 */
+	protected static class	Read
+	{
+		/** generation of the values when the read started.					*/
+		protected final long						generation;
+		/** result of the read.												*/
+		protected final CompletableFuture<Object>	result =
+													new CompletableFuture<>();
+		/** time in nanoseconds at which the read completed successfully.	*/
+		protected volatile long						completedAt;
+
+		protected		Read(long generation)
+		{
+			this.generation = generation;
+		}
+	}
+
+	/** staleness window in nanoseconds.									*/
+	protected volatile long					window;
+	/** generation of the values, incremented by each invalidation.			*/
+	protected final AtomicLong				generation = new AtomicLong();
+	/** last read of each key.												*/
+	protected final ConcurrentHashMap<K,Read>	reads =
+												new ConcurrentHashMap<>();
+	/** number of reads executed.											*/
+	protected final AtomicLong				executed = new AtomicLong();
+	/** number of reads answered by the execution of another caller.		*/
+	protected final AtomicLong				shared = new AtomicLong();
+
+	/**
+	 * create a coalescer with the default staleness window.
+	 */
+	public				ReadCoalescer()
+	{
+		this(DEFAULT_WINDOW, DEFAULT_WINDOW_TIME_UNIT);
+	}
+
+	/**
+	 * create a coalescer with the given staleness window.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code window >= 0}
+	 * pre	{@code u != null}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param window	staleness window.
+	 * @param u			time unit of {@code window}.
+	 */
+	public				ReadCoalescer(long window, TimeUnit u)
+	{
+		this.setWindow(window, u);
+	}
+
+	/**
+	 * return the staleness window in the given time unit.
+	 *
+	 * @param u	time unit of the result.
+	 * @return	the staleness window in {@code u}.
+	 */
+	public long			getWindow(TimeUnit u)
+	{
+		return u.convert(this.window, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * set the staleness window, applying to the reads already completed too.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code window >= 0}
+	 * pre	{@code u != null}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param window	staleness window.
+	 * @param u			time unit of {@code window}.
+	 */
+	public void			setWindow(long window, TimeUnit u)
+	{
+		assert	window >= 0;
+		assert	u != null;
+
+		this.window = u.toNanos(window);
+	}
+
+	/**
+	 * return the result of the read of {@code key}, executing {@code read}
+	 * only if no read of this key is in progress or completed within the
+	 * staleness window since the last invalidation.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code key != null && read != null}
+	 * post	true		// no postcondition.
+	 * </pre>
+	 *
+	 * @param <T>			type of the result of the read.
+	 * @param key			key identifying the read.
+	 * @param read			execution of the read.
+	 * @return				the result of the read.
+	 * @throws Exception	the exception raised by the execution of the read.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T		read(K key, Callable<T> read) throws Exception
+	{
+		assert	key != null && read != null;
+
+		long g = this.generation.get();
+		Read mine = new Read(g);
+		Read current = this.reads.compute(
+							key,
+							(k, r) -> this.isShareable(r, g) ? r : mine);
+		if (current != mine) {
+			this.shared.incrementAndGet();
+			try {
+				return (T) current.result.get();
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof Exception) {
+					throw (Exception) e.getCause();
+				}
+				if (e.getCause() instanceof Error) {
+					throw (Error) e.getCause();
+				}
+				throw e;
+			}
+		}
+
+		this.executed.incrementAndGet();
+		try {
+			T ret = read.call();
+			mine.completedAt = System.nanoTime();
+			mine.result.complete(ret);
+			return ret;
+		} catch (Throwable t) {
+			// errors too, or the callers sharing the read would wait forever
+			this.reads.remove(key, mine);
+			mine.result.completeExceptionally(t);
+			throw t;
+		}
+	}
+
+	/**
+	 * return true if the result of {@code r} can be given to a caller
+	 * reading at generation {@code g}.
+	 *
+	 * @param r	last read of a key, possibly null.
+	 * @param g	generation of the values for the caller.
+	 * @return	true if the result of {@code r} can be given to the caller.
+	 */
+	protected boolean	isShareable(Read r, long g)
+	{
+		if (r == null || r.generation != g) {
+			return false;
+		}
+		if (!r.result.isDone()) {
+			return true;
+		}
+		return !r.result.isCompletedExceptionally() &&
+						System.nanoTime() - r.completedAt <= this.window;
+	}
+
+	/**
+	 * invalidate the reads started so far, after a write which may have
+	 * changed the values read.
+	 */
+	public void			invalidate()
+	{
+		this.generation.incrementAndGet();
+	}
+
+	/**
+	 * return the number of reads executed.
+	 *
+	 * @return	the number of reads executed.
+	 */
+	public long			getExecuted()
+	{
+		return this.executed.get();
+	}
+
+	/**
+	 * return the number of reads answered by the execution of another caller.
+	 *
+	 * @return	the number of reads answered by the execution of another caller.
+	 */
+	public long			getShared()
+	{
+		return this.shared.get();
+	}
+
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String		toString()
+	{
+		return "executed = " + this.getExecuted() +
+			   ", shared = " + this.getShared();
+	}
+}
+// -----------------------------------------------------------------------------
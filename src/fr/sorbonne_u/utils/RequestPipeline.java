@@ -0,0 +1,385 @@
+package fr.sorbonne_u.utils;
+
+
+
+// Copyright Jacques Malenfant, Sorbonne Universite.
+// Jacques.Malenfant@lip6.fr
+//
+// This software is a computer program whose purpose is to provide a basic
+// household management systems as an example of a cyber-physical system.
+//
+// This software is governed by the CeCILL-C license under French law and
+// abiding by the rules of distribution of free software.  You can use,
+// modify and/ or redistribute the software under the terms of the
+// CeCILL-C license as circulated by CEA, CNRS and INRIA at the following
+// URL "http://www.cecill.info".
+//
+// As a counterpart to the access to the source code and  rights to copy,
+// modify and redistribute granted by the license, users are provided only
+// with a limited warranty  and the software's author,  the holder of the
+// economic rights,  and the successive licensors  have only  limited
+// liability. 
+//
+// In this respect, the user's attention is drawn to the risks associated
+// with loading,  using,  modifying and/or developing or reproducing the
+// software by the user in light of its specific status of free software,
+// that may mean  that it is complicated to manipulate,  and  that  also
+// therefore means  that it is reserved for developers  and  experienced
+// professionals having in-depth computer knowledge. Users are therefore
+// encouraged to load and test the software's suitability as regards their
+// requirements in conditions enabling the security of their systems and/or 
+// data to be ensured and,  more generally, to use and operate it in the 
+// same conditions as regards security. 
+//
+// The fact that you are presently reading this means that you have had
+// knowledge of the CeCILL-C license and that you accept its terms.
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+// -----------------------------------------------------------------------------
+/**
+ * The class <code>RequestPipeline</code> performs asynchronously the requests
+ * sent to one device, in the order in which they are submitted.
+ *
+ * <p><strong>Description</strong></p>
+ * 
+ * <p>
+ * Each submission returns at once a future on the result of its request,
+ * so that several requests can be sent to the device without waiting for
+ * the previous replies; a request is executed on the executor of the
+ * pipeline once the previous one has completed, normally or not, so that
+ * the device never sees two requests at the same time nor in another order.
+ * A request which cannot be executed because the executor rejects it
+ * completes exceptionally with the rejection.
+ * </p>
+ * <p>
+ * The requests waiting for the device are bounded, so that a device which
+ * does not answer cannot make them pile up without limit: a request
+ * submitted when {@code getCapacity()} requests are already pending, or
+ * when the request being executed has been running for more than the
+ * overdue delay, is not queued but completes at once exceptionally with a
+ * {@code RejectedExecutionException}. A request whose future is cancelled
+ * before it starts is never executed, the next ones still waiting for the
+ * completion of the request executed before it. Once started, a request can
+ * no longer be cancelled: {@code cancel} returns false, so that the caller
+ * knows whether the device may still perform it.
+ * </p>
+ * <p>
+ * The executor can be changed at any time; the requests submitted before
+ * keep the previous one. The default executor runs each request in the
+ * thread completing the previous one, so that a pipeline used without
+ * executor behaves as blocking calls made in sequence.
+ * </p>
+ * 
+ * <p><strong>Invariant</strong></p>
+ * 
+ * <pre>
+ * invariant	{@code getExecutor() != null}
+ * invariant	{@code getCapacity() > 0}
+ * invariant	{@code getPending() >= 0 && getPending() <= getCapacity()}
+ * </pre>
+ * 
+ * <p>Created on : 2026-10-17</p>
+ * 
+ *  @authors	<a href="kaoutar.nhaila@etu.sorbonne-universite.fr">NHAILA Kaoutar</a>
+ *              <a href="maedeh.daemi@etu.sorbonne-universite.fr">DAEMI Maedeh</a>
+ */
+public class			RequestPipeline
+{
+	/** executor running the requests in the calling thread.				*/
+	public static final Executor		DIRECT = Runnable::run;
+	/** default maximum number of pending requests.						*/
+	public static final int				DEFAULT_CAPACITY = 16;
+	/** default delay after which a running request is overdue.			*/
+	public static final long			DEFAULT_OVERDUE = 5;
+	/** time unit to interpret {@code DEFAULT_OVERDUE}.					*/
+	public static final TimeUnit		DEFAULT_OVERDUE_TIME_UNIT =
+															TimeUnit.SECONDS;
+
+	/** executor of the requests.											*/
+	protected volatile Executor			executor;
+	/** maximum number of requests waiting or running.					*/
+	protected final int					capacity;
+	/** delay in nanoseconds after which a running request is overdue.	*/
+	protected final long				overdue;
+	/** completion of the last request submitted, executed or skipped.	*/
+	protected CompletableFuture<?>		tail =
+									CompletableFuture.completedFuture(null);
+	/** number of requests waiting or running.							*/
+	protected int						pending;
+	/** true when a request is being executed.								*/
+	protected boolean					running;
+	/** time in nanoseconds at which the running request started.			*/
+	protected long						started;
+
+	/**
+	 * create a pipeline executing its requests in the calling thread.
+	 */
+	public				RequestPipeline()
+	{
+		this(DIRECT);
+	}
+
+	/**
+	 * create a pipeline executing its requests on {@code executor}.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code executor != null}
+	 * post	{@code getExecutor() == executor}
+	 * </pre>
+	 *
+	 * @param executor	executor of the requests.
+	 */
+	public				RequestPipeline(Executor executor)
+	{
+		this(executor, DEFAULT_CAPACITY, DEFAULT_OVERDUE,
+			 DEFAULT_OVERDUE_TIME_UNIT);
+	}
+
+	/**
+	 * create a pipeline executing its requests on {@code executor}, with at
+	 * most {@code capacity} pending requests and rejecting the new ones
+	 * while a request runs for more than {@code overdue}.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code executor != null}
+	 * pre	{@code capacity > 0}
+	 * pre	{@code overdue > 0 && unit != null}
+	 * post	{@code getExecutor() == executor}
+	 * post	{@code getCapacity() == capacity}
+	 * </pre>
+	 *
+	 * @param executor	executor of the requests.
+	 * @param capacity	maximum number of requests waiting or running.
+	 * @param overdue	delay after which a running request is overdue.
+	 * @param unit		time unit to interpret {@code overdue}.
+	 */
+	public				RequestPipeline(
+		Executor executor,
+		int capacity,
+		long overdue,
+		TimeUnit unit
+		)
+	{
+		assert	executor != null;
+		assert	capacity > 0;
+		assert	overdue > 0 && unit != null;
+
+		this.executor = executor;
+		this.capacity = capacity;
+		this.overdue = unit.toNanos(overdue);
+	}
+
+	/**
+	 * return the executor of the requests.
+	 *
+	 * @return	the executor of the requests.
+	 */
+	public Executor		getExecutor()
+	{
+		return this.executor;
+	}
+
+	/**
+	 * return the maximum number of requests waiting or running.
+	 *
+	 * @return	the maximum number of requests waiting or running.
+	 */
+	public int			getCapacity()
+	{
+		return this.capacity;
+	}
+
+	/**
+	 * return the number of requests waiting or running.
+	 *
+	 * @return	the number of requests waiting or running.
+	 */
+	public synchronized int	getPending()
+	{
+		return this.pending;
+	}
+
+	/**
+	 * set the executor of the requests submitted from now on.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code executor != null}
+	 * post	{@code getExecutor() == executor}
+	 * </pre>
+	 *
+	 * @param executor	executor of the requests.
+	 */
+	public void			setExecutor(Executor executor)
+	{
+		assert	executor != null;
+
+		this.executor = executor;
+	}
+
+	/**
+	 * The class <code>Request</code> is the future on the result of a request
+	 * submitted to the pipeline, which can be cancelled only until the
+	 * request starts.
+	 */
+	protected static class	Request<T>
+	extends		CompletableFuture<T>
+	{
+		/** true once the request has started.								*/
+		protected boolean	started;
+
+		/**
+		 * mark the request as started unless it is already done.
+		 *
+		 * @return	true if the request must be executed.
+		 */
+		protected synchronized boolean	start()
+		{
+			if (this.isDone()) {
+				return false;
+			}
+			this.started = true;
+			return true;
+		}
+
+		/**
+		 * cancel the request if it has not started yet.
+		 * 
+		 * @see java.util.concurrent.CompletableFuture#cancel(boolean)
+		 */
+		@Override
+		public synchronized boolean	cancel(boolean mayInterruptIfRunning)
+		{
+			if (this.started) {
+				return false;
+			}
+			return super.cancel(mayInterruptIfRunning);
+		}
+	}
+
+	/**
+	 * submit a request, executed once all the requests submitted before have
+	 * completed, and return the future on its result; the future completes
+	 * at once exceptionally with a {@code RejectedExecutionException} when
+	 * the pipeline is full or its running request is overdue.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code request != null}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @param <T>		type of the result of the request.
+	 * @param request	request to be executed.
+	 * @return			the future on the result of the request.
+	 */
+	public <T> CompletableFuture<T>	submit(Callable<T> request)
+	{
+		assert	request != null;
+
+		Request<T> f = new Request<>();
+		CompletableFuture<Void> done = new CompletableFuture<>();
+		Executor e = this.executor;
+		CompletableFuture<?> previous;
+		synchronized (this) {
+			if (this.pending >= this.capacity) {
+				f.completeExceptionally(new RejectedExecutionException(
+						"pipeline full: " + this.pending +
+						" pending requests"));
+				return f;
+			}
+			if (this.running &&
+						System.nanoTime() - this.started > this.overdue) {
+				f.completeExceptionally(new RejectedExecutionException(
+						"pipeline blocked by an overdue request"));
+				return f;
+			}
+			this.pending++;
+			previous = this.tail;
+			this.tail = done;
+		}
+		previous.whenComplete(
+			(r, t) -> {
+				try {
+					e.execute(() -> this.perform(request, f, done));
+				} catch (RejectedExecutionException x) {
+					f.completeExceptionally(x);
+					this.finish(done);
+				}
+			});
+		return f;
+	}
+
+	/**
+	 * execute {@code request} unless its future is already done, typically
+	 * because it has been cancelled, complete the future with its result and
+	 * then let the next request start.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code request != null && f != null && done != null}
+	 * post	{@code f.isDone() && done.isDone()}
+	 * </pre>
+	 *
+	 * @param <T>		type of the result of the request.
+	 * @param request	request to be executed.
+	 * @param f			future on the result of the request.
+	 * @param done		completion of the request in the pipeline.
+	 */
+	protected <T> void	perform(
+		Callable<T> request,
+		Request<T> f,
+		CompletableFuture<Void> done
+		)
+	{
+		try {
+			if (f.start()) {
+				synchronized (this) {
+					this.running = true;
+					this.started = System.nanoTime();
+				}
+				try {
+					f.complete(request.call());
+				} catch (Throwable x) {
+					f.completeExceptionally(x);
+				}
+			}
+		} finally {
+			this.finish(done);
+		}
+	}
+
+	/**
+	 * record the end of a request and let the next one start.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code done != null}
+	 * post	{@code done.isDone()}
+	 * </pre>
+	 *
+	 * @param done	completion of the request in the pipeline.
+	 */
+	protected void		finish(CompletableFuture<Void> done)
+	{
+		synchronized (this) {
+			this.running = false;
+			this.pending--;
+		}
+		done.complete(null);
+	}
+}
+// -----------------------------------------------------------------------------